@@ -0,0 +1,72 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of grouping a collection by color with volume statistics: boxed
+ * stream collectors over shape objects against ShapeAggregator over the
+ * same shapes and over a columnar store.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class AggregationBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Shape3D> shapes;
+    private ShapeStore store;
+
+    @Setup
+    public void setUp() {
+        shapes = BenchmarkShapes.mixed(size, 42);
+        store = new ShapeStore(size);
+        store.addAll(shapes);
+    }
+
+    @Benchmark
+    public Map<String, DoubleSummaryStatistics> collectorsByColor() {
+        return shapes.stream()
+            .collect(Collectors.groupingBy(Shape3D::getColor, Collectors.summarizingDouble(Shape3D::getVolume)));
+    }
+
+    @Benchmark
+    public ShapeGroups shapesByColor() {
+        return ShapeAggregator.byColor().aggregate(shapes);
+    }
+
+    @Benchmark
+    public ShapeGroups storeByColor() {
+        return ShapeAggregator.byColor().aggregate(store);
+    }
+
+    @Benchmark
+    public ShapeGroups storeByColorParallel() {
+        return ShapeAggregator.byColor().aggregateParallel(store);
+    }
+
+    @Benchmark
+    public ShapeGroups storeByType() {
+        return ShapeAggregator.byType().aggregate(store);
+    }
+}
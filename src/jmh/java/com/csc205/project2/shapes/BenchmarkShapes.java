@@ -0,0 +1,87 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic shape collections shared by the benchmarks.
+ */
+final class BenchmarkShapes {
+    private static final String[] COLORS = {"Crimson", "Navy", "Forest", "Gold", "Violet", "Silver"};
+
+    private BenchmarkShapes() {
+    }
+
+    /**
+     * Creates a shape of the given type with random dimensions between 0.5 and 10.5
+     * @param type The shape type
+     * @param random The random source
+     * @param index Used to build a unique name
+     * @return A new shape
+     */
+    static Shape3D random(ShapeType type, Random random, int index) {
+        return type.create(type.getSimpleName() + " " + index, COLORS[random.nextInt(COLORS.length)],
+            0.5 + random.nextDouble() * 10, 0.5 + random.nextDouble() * 10, 0.5 + random.nextDouble() * 10);
+    }
+
+    /**
+     * Creates shapes that all share one type
+     * @param type The shape type
+     * @param count The number of shapes
+     * @param seed The random seed
+     * @return A new list of shapes
+     */
+    static List<Shape3D> ofType(ShapeType type, int count, long seed) {
+        Random random = new Random(seed);
+        List<Shape3D> shapes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shapes.add(random(type, random, i));
+        }
+        return shapes;
+    }
+
+    /**
+     * Creates shapes whose types are drawn uniformly from the given types
+     * @param count The number of shapes
+     * @param seed The random seed
+     * @param types The types to mix
+     * @return A new list of shapes
+     */
+    static List<Shape3D> mixed(int count, long seed, ShapeType... types) {
+        Random random = new Random(seed);
+        List<Shape3D> shapes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shapes.add(random(types[random.nextInt(types.length)], random, i));
+        }
+        return shapes;
+    }
+
+    /**
+     * Creates shapes whose types are drawn uniformly from all shape types
+     * @param count The number of shapes
+     * @param seed The random seed
+     * @return A new list of shapes
+     */
+    static List<Shape3D> mixed(int count, long seed) {
+        return mixed(count, seed, ShapeType.values());
+    }
+
+    /**
+     * Places shapes at random positions and orientations inside a cube centered on the origin
+     * @param shapes The shapes to place
+     * @param seed The random seed
+     * @param extent The side length of the cube
+     * @return The same shapes
+     */
+    static List<Shape3D> scattered(List<Shape3D> shapes, long seed, double extent) {
+        Random random = new Random(seed);
+        for (Shape3D shape : shapes) {
+            shape.setPlacement(new Placement(new Vector3((random.nextDouble() - 0.5) * extent,
+                (random.nextDouble() - 0.5) * extent, (random.nextDouble() - 0.5) * extent),
+                new Orientation(random.nextGaussian(), random.nextGaussian(), random.nextGaussian(),
+                    random.nextGaussian())));
+        }
+        return shapes;
+    }
+}
@@ -0,0 +1,112 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest-shape and box-overlap queries through the bounding volume
+ * hierarchy versus a linear scan, and the cost of refitting after a move.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BvhBenchmark {
+
+    @Param({"100000"})
+    public int count;
+
+    private List<Shape3D> shapes;
+    private BoundingVolumeHierarchy tree;
+    private double[] points;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Space the shapes so a typical one is a few diameters from its neighbours
+        shapes = BenchmarkShapes.scattered(BenchmarkShapes.mixed(count, 42), 7, 20 * Math.cbrt(count));
+        tree = new BoundingVolumeHierarchy(shapes);
+        Random random = new Random(3);
+        BoundingBox bounds = tree.getBounds();
+        points = new double[3 * 1024];
+        for (int i = 0; i < points.length; i += 3) {
+            points[i] = bounds.minX() + random.nextDouble() * (bounds.maxX() - bounds.minX());
+            points[i + 1] = bounds.minY() + random.nextDouble() * (bounds.maxY() - bounds.minY());
+            points[i + 2] = bounds.minZ() + random.nextDouble() * (bounds.maxZ() - bounds.minZ());
+        }
+    }
+
+    private int nextPoint() {
+        next = (next + 3) % points.length;
+        return next;
+    }
+
+    @Benchmark
+    public Shape3D treeNearest() {
+        int i = nextPoint();
+        return tree.nearest(points[i], points[i + 1], points[i + 2]);
+    }
+
+    @Benchmark
+    public Shape3D scanNearest() {
+        int i = nextPoint();
+        Shape3D best = null;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (Shape3D shape : shapes) {
+            double distance = ShapeGeometry.distance(shape, points[i], points[i + 1], points[i + 2]);
+            if (distance < bestDistance) {
+                best = shape;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    public int treeOverlapping() {
+        int i = nextPoint();
+        return tree.overlapping(BoundingBox.around(new Vector3(points[i], points[i + 1], points[i + 2]), 25, 25, 25))
+            .size();
+    }
+
+    @Benchmark
+    public int scanOverlapping() {
+        int i = nextPoint();
+        BoundingBox box = BoundingBox.around(new Vector3(points[i], points[i + 1], points[i + 2]), 25, 25, 25);
+        int matches = 0;
+        for (Shape3D shape : shapes) {
+            if (ShapeGeometry.bounds(shape).overlaps(box)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public Placement refitAfterMove() {
+        int i = nextPoint();
+        Shape3D shape = shapes.get(i % count);
+        Placement placement = shape.getPlacement();
+        // Nudging by a fraction of a unit keeps the tree's quality stable across iterations
+        Placement moved = new Placement(placement.position().plus(new Vector3(points[i] % 1e-3, 0, 0)),
+            placement.orientation());
+        shape.setPlacement(moved);
+        return moved;
+    }
+}
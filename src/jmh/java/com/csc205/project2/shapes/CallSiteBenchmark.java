@@ -0,0 +1,110 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of getVolume at a call site that sees one, two or all five shape classes,
+ * and of the pattern-matching {@link ShapeMath} path over the same mixed list.
+ * Each benchmark forks its own JVM, so the type profile of one call site cannot
+ * leak into another. Scores are per shape.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CallSiteBenchmark {
+    static final int SIZE = 4096;
+
+    private Shape3D[] monomorphic;
+    private Shape3D[] bimorphic;
+    private Shape3D[] megamorphic;
+
+    @Setup
+    public void setUp() {
+        monomorphic = BenchmarkShapes.ofType(ShapeType.SPHERE, SIZE, 1).toArray(new Shape3D[0]);
+        bimorphic = BenchmarkShapes.mixed(SIZE, 2, ShapeType.SPHERE, ShapeType.CUBE).toArray(new Shape3D[0]);
+        megamorphic = BenchmarkShapes.mixed(SIZE, 3).toArray(new Shape3D[0]);
+    }
+
+    private static double totalVolume(Shape3D[] shapes) {
+        double total = 0.0;
+        for (Shape3D shape : shapes) {
+            total += shape.getVolume();
+        }
+        return total;
+    }
+
+    private static double totalVolumeBySwitch(Shape3D[] shapes) {
+        double total = 0.0;
+        for (Shape3D shape : shapes) {
+            total += ShapeMath.volume(shape);
+        }
+        return total;
+    }
+
+    private static double totalSurfaceArea(Shape3D[] shapes) {
+        double total = 0.0;
+        for (Shape3D shape : shapes) {
+            total += shape.getSurfaceArea();
+        }
+        return total;
+    }
+
+    private static double totalSurfaceAreaBySwitch(Shape3D[] shapes) {
+        double total = 0.0;
+        for (Shape3D shape : shapes) {
+            total += ShapeMath.surfaceArea(shape);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double monomorphic() {
+        return totalVolume(monomorphic);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double bimorphic() {
+        return totalVolume(bimorphic);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double megamorphic() {
+        return totalVolume(megamorphic);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double megamorphicSwitch() {
+        return totalVolumeBySwitch(megamorphic);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double megamorphicSurfaceArea() {
+        return totalSurfaceArea(megamorphic);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double megamorphicSurfaceAreaSwitch() {
+        return totalSurfaceAreaBySwitch(megamorphic);
+    }
+}
@@ -0,0 +1,81 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each ShapeDriver analysis section over a mixed collection.
+ * Reports are formatted in full and written to a discarding stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CollectionAnalysisBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private List<Shape3D> shapes;
+    private PrintStream out;
+
+    @Setup
+    public void setUp() {
+        shapes = BenchmarkShapes.mixed(size, 42);
+        out = new PrintStream(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void displayAllShapes() {
+        ShapeDriver.displayAllShapes(shapes, out);
+    }
+
+    @Benchmark
+    public void comparativeAnalysis() {
+        ShapeDriver.performComparativeAnalysis(shapes, out);
+    }
+
+    @Benchmark
+    public void statisticalAnalysis() {
+        ShapeDriver.performStatisticalAnalysis(shapes, out);
+    }
+
+    @Benchmark
+    public void efficiencyAnalysis() {
+        ShapeDriver.performEfficiencyAnalysis(shapes, out);
+    }
+
+    @Benchmark
+    public void comprehensiveAnalysis() {
+        ShapeDriver.analyze(shapes, out);
+    }
+
+    @Benchmark
+    public void sequentialAnalysis() {
+        ShapeDriver.displayAllShapes(shapes, out);
+        ShapeDriver.performComparativeAnalysis(shapes, out);
+        ShapeDriver.performStatisticalAnalysis(shapes, out);
+        ShapeDriver.performEfficiencyAnalysis(shapes, out);
+    }
+
+    @Benchmark
+    public void parallelAnalysis() {
+        new ParallelShapeAnalysis(shapes).print(out);
+    }
+}
@@ -0,0 +1,94 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding every intersecting pair in a placed collection, one operation per
+ * full search. The {@code pairs} counter reports intersecting pairs found
+ * per second. Uniform scatters shapes evenly through a cube; clustered
+ * packs them into 64 Gaussian blobs, so the octree is deep and uneven.
+ * {@code threads} of 1 runs the search on a single-thread pool.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollisionBenchmark {
+
+    @Param({"200000"})
+    public int count;
+
+    @Param({"uniform", "clustered"})
+    public String distribution;
+
+    @Param({"1", "0"})
+    public int threads;
+
+    private List<Shape3D> shapes;
+    private ForkJoinPool pool;
+
+    /**
+     * Pairs found during the measured operations, reported as a rate
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Pairs {
+        public long pairs;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // About three intersecting pairs for every four shapes in the uniform case
+        double extent = 14 * Math.cbrt(count);
+        shapes = BenchmarkShapes.scattered(BenchmarkShapes.mixed(count, 42), 7, extent);
+        if (distribution.equals("clustered")) {
+            Random random = new Random(11);
+            double[] centers = new double[64 * 3];
+            for (int i = 0; i < centers.length; i++) {
+                centers[i] = (random.nextDouble() - 0.5) * extent;
+            }
+            double spread = extent / 24;
+            for (Shape3D shape : shapes) {
+                int cluster = random.nextInt(64) * 3;
+                shape.setPlacement(new Placement(new Vector3(centers[cluster] + random.nextGaussian() * spread,
+                    centers[cluster + 1] + random.nextGaussian() * spread,
+                    centers[cluster + 2] + random.nextGaussian() * spread), shape.getPlacement().orientation()));
+            }
+        }
+        pool = threads == 0 ? ForkJoinPool.commonPool() : new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != ForkJoinPool.commonPool()) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int findAll(Pairs counter) {
+        int found = ShapeCollisions.findAll(shapes, pool).size();
+        counter.pairs += found;
+        return found;
+    }
+}
@@ -0,0 +1,98 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reopening a journal of shapes: mapping a snapshot and replaying a short
+ * log tail versus replaying every change from the log alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Path withSnapshot;
+    private Path logOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        withSnapshot = Files.createTempDirectory("journal-snapshot");
+        logOnly = Files.createTempDirectory("journal-log");
+        fill(withSnapshot, true);
+        fill(logOnly, false);
+    }
+
+    // Every shape is added and then has one dimension changed; the snapshot covers all but the last 1%
+    private void fill(Path directory, boolean snapshot) throws IOException {
+        try (ShapeJournal journal = ShapeJournal.open(directory, ShapeJournal.DEFAULT_COMMIT_INTERVAL, 0)) {
+            List<Shape3D> shapes = BenchmarkShapes.mixed(rows, 42);
+            for (Shape3D shape : shapes) {
+                journal.add(shape);
+            }
+            int tail = rows / 100;
+            for (int i = 0; i < rows - tail; i++) {
+                shapes.get(i).setName("Renamed " + i);
+            }
+            if (snapshot) {
+                journal.snapshot();
+            }
+            for (int i = rows - tail; i < rows; i++) {
+                shapes.get(i).setName("Renamed " + i);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(withSnapshot);
+        delete(logOnly);
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public int recoverFromSnapshot() throws IOException {
+        try (ShapeJournal journal = ShapeJournal.open(withSnapshot, ShapeJournal.DEFAULT_COMMIT_INTERVAL, 0)) {
+            return journal.size();
+        }
+    }
+
+    @Benchmark
+    public int recoverFromLog() throws IOException {
+        try (ShapeJournal journal = ShapeJournal.open(logOnly, ShapeJournal.DEFAULT_COMMIT_INTERVAL, 0)) {
+            return journal.size();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totalling volume and surface area over the on-heap columns versus the
+ * off-heap fixed-width records.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OffHeapStoreBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ShapeStore heap;
+    private OffHeapShapeStore offHeap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Shape3D> shapes = BenchmarkShapes.mixed(rows, 42);
+        heap = new ShapeStore(rows);
+        heap.addAll(shapes);
+        offHeap = new OffHeapShapeStore(rows);
+        offHeap.addAll(shapes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        offHeap.close();
+    }
+
+    @Benchmark
+    public double heapTotals() {
+        return heap.totalVolume() + heap.totalSurfaceArea();
+    }
+
+    @Benchmark
+    public double offHeapTotals() {
+        return offHeap.totalVolume() + offHeap.totalSurfaceArea();
+    }
+}
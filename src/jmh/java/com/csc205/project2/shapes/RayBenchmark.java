@@ -0,0 +1,99 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Casting a camera's worth of rays into a placed scene, one operation per
+ * full image. The {@code rays} counter reports rays cast per second. The
+ * rays leave a pinhole camera in front of the scene row by row, so each
+ * packet holds neighbouring pixels. castEachRay walks the tree once per
+ * ray for comparison with the packet traversal.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RayBenchmark {
+
+    @Param({"100000"})
+    public int count;
+
+    @Param({"128"})
+    public int resolution;
+
+    private BoundingVolumeHierarchy tree;
+    private RayBatch rays;
+    private Vector3[] origins;
+    private Vector3[] directions;
+
+    /**
+     * Rays cast during the measured operations, reported as a rate
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rays {
+        public long rays;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        double extent = 14 * Math.cbrt(count);
+        tree = new BoundingVolumeHierarchy(BenchmarkShapes.scattered(BenchmarkShapes.mixed(count, 42), 7, extent));
+        // A 60 degree view of the whole scene from just outside one face
+        Vector3 eye = new Vector3(0, 0, -extent);
+        double span = Math.tan(Math.toRadians(30));
+        rays = new RayBatch(resolution * resolution);
+        origins = new Vector3[resolution * resolution];
+        directions = new Vector3[resolution * resolution];
+        for (int row = 0; row < resolution; row++) {
+            for (int column = 0; column < resolution; column++) {
+                Vector3 direction = new Vector3((2.0 * column / (resolution - 1) - 1) * span,
+                    (2.0 * row / (resolution - 1) - 1) * span, 1);
+                int index = rays.add(eye, direction);
+                origins[index] = eye;
+                directions[index] = direction;
+            }
+        }
+    }
+
+    @Benchmark
+    public int castPackets(Rays counter) {
+        tree.cast(rays);
+        counter.rays += rays.size();
+        return rays.hitCount();
+    }
+
+    @Benchmark
+    public int castForkJoin(Rays counter) {
+        tree.cast(rays, ForkJoinPool.commonPool());
+        counter.rays += rays.size();
+        return rays.hitCount();
+    }
+
+    @Benchmark
+    public int castEachRay(Rays counter) {
+        int hits = 0;
+        for (int i = 0; i < origins.length; i++) {
+            hits += tree.raycast(origins[i], directions[i]) != null ? 1 : 0;
+        }
+        counter.rays += origins.length;
+        return hits;
+    }
+}
@@ -0,0 +1,74 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing the shape summary table: one printf per row against
+ * ReportWriter. Both write the same bytes to a discarding stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Shape3D> shapes;
+    private double[] volumes;
+    private double[] surfaceAreas;
+    private PrintStream out;
+
+    @Setup
+    public void setUp() {
+        shapes = BenchmarkShapes.mixed(size, 42);
+        volumes = new double[size];
+        surfaceAreas = new double[size];
+        for (int i = 0; i < size; i++) {
+            volumes[i] = shapes.get(i).getVolume();
+            surfaceAreas[i] = shapes.get(i).getSurfaceArea();
+        }
+        out = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream(), 1 << 16),
+            false, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void printf() {
+        for (int i = 0; i < size; i++) {
+            Shape3D shape = shapes.get(i);
+            out.printf("%-3d %-20s %-15s %10.2f %10.2f %6.3f%n", i + 1, shape.getName(),
+                shape.getClass().getSimpleName(), volumes[i], surfaceAreas[i], volumes[i] / surfaceAreas[i]);
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    public void reportWriter() {
+        ReportWriter report = new ReportWriter(out);
+        for (int i = 0; i < size; i++) {
+            ShapeDriver.printShapeTableRow(report, i + 1, shapes.get(i), volumes[i], surfaceAreas[i]);
+        }
+        report.flush();
+        out.flush();
+    }
+}
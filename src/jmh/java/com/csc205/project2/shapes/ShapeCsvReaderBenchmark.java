@@ -0,0 +1,114 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingest cost of a generated shape file, one operation per full read.
+ * Throughput in MB/s is the file size printed during setup divided by the
+ * score. {@code lineReader} is the previous BufferedReader/split/parseDouble
+ * approach, kept as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShapeCsvReaderBenchmark {
+    private static final ShapeType[] TYPES = ShapeType.values();
+    private static final String[] COLORS = {"Crimson", "Navy", "Forest", "Gold", "Violet", "Silver"};
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("shapes", ".csv");
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("type,name,color,dim1,dim2,dim3\n");
+            for (int i = 0; i < rows; i++) {
+                ShapeType type = TYPES[random.nextInt(TYPES.length)];
+                writer.write(type.getSimpleName());
+                writer.write(',');
+                writer.write(type.getSimpleName() + " " + random.nextInt(1000));
+                writer.write(',');
+                writer.write(COLORS[random.nextInt(COLORS.length)]);
+                for (int slot = 0; slot < type.getDimensionCount(); slot++) {
+                    writer.write(',');
+                    writer.write(String.format(Locale.ROOT, "%.3f", 0.5 + random.nextDouble() * 10));
+                }
+                writer.write('\n');
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void rowHandler(Blackhole blackhole) throws IOException {
+        new ShapeCsvReader().read(file, (type, name, color, d0, d1, d2) -> {
+            blackhole.consume(type);
+            blackhole.consume(name);
+            blackhole.consume(color);
+            blackhole.consume(d0 + d1 + d2);
+        });
+    }
+
+    @Benchmark
+    public ShapeStore columnarStore() throws IOException {
+        ShapeStore store = new ShapeStore();
+        new ShapeCsvReader().readInto(file, store);
+        return store;
+    }
+
+    @Benchmark
+    public void shapeObjects(Blackhole blackhole) throws IOException {
+        new ShapeCsvReader().readShapes(file, blackhole::consume);
+    }
+
+    @Benchmark
+    public void lineReader(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",", -1);
+                ShapeType type = ShapeType.parse(fields[0]);
+                double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+                for (int slot = 0; slot < type.getDimensionCount(); slot++) {
+                    dims[slot] = Double.parseDouble(fields[3 + slot]);
+                }
+                blackhole.consume(type.create(fields[1], fields[2], dims[0], dims[1], dims[2]));
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloading a persisted batch and totalling its volume: reparsing the text
+ * form versus mapping the binary form and reading rows through the columns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShapeFileBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Path textFile;
+    private Path binaryFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ShapeStore store = new ShapeStore(rows);
+        store.addAll(BenchmarkShapes.mixed(rows, 42));
+        textFile = Files.createTempFile("shapes", ".csv");
+        binaryFile = Files.createTempFile("shapes", ".bin");
+        try (BufferedWriter writer = Files.newBufferedWriter(textFile, StandardCharsets.UTF_8)) {
+            for (int row = 0; row < store.size(); row++) {
+                ShapeType type = store.getType(row);
+                writer.write(type.getSimpleName() + "," + store.getName(row) + "," + store.getColor(row));
+                for (int slot = 0; slot < type.getDimensionCount(); slot++) {
+                    // Shortest repr so the text form is as exact as the binary one
+                    writer.write("," + Double.toString(store.getDimension(row, slot)).toLowerCase(Locale.ROOT));
+                }
+                writer.write('\n');
+            }
+        }
+        ShapeFileWriter.write(binaryFile, store);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(textFile);
+        Files.deleteIfExists(binaryFile);
+    }
+
+    @Benchmark
+    public double parseText() throws IOException {
+        ShapeStore store = new ShapeStore();
+        new ShapeCsvReader().readInto(textFile, store);
+        return store.totalVolume();
+    }
+
+    @Benchmark
+    public double mapBinary() throws IOException {
+        MappedShapeFile file = MappedShapeFile.open(binaryFile);
+        double total = 0.0;
+        for (int row = 0; row < file.size(); row++) {
+            total += file.getVolume(row);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,53 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-shape cost of getVolume, getSurfaceArea and toString for every concrete Shape3D.
+ * Results are returned to JMH so the calculations cannot be eliminated as dead code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ShapeMetricsBenchmark {
+
+    @Param({"SPHERE", "CUBE", "CYLINDER", "RECTANGULAR_PRISM", "CONE"})
+    public ShapeType type;
+
+    private Shape3D shape;
+
+    @Setup
+    public void setUp() {
+        shape = type.create(type.getSimpleName(), "Benchmark", 3.0, 4.0, 5.0);
+    }
+
+    @Benchmark
+    public double volume() {
+        return shape.getVolume();
+    }
+
+    @Benchmark
+    public double surfaceArea() {
+        return shape.getSurfaceArea();
+    }
+
+    @Benchmark
+    public String formatted() {
+        return shape.toString();
+    }
+}
@@ -0,0 +1,59 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a short resize pipeline: grow a cylinder step by step and sum the
+ * volumes along the way. Intermediate values never escape, so with
+ * {@code -prof gc} the value variant should show no allocation per step.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ShapeValueBenchmark {
+    private static final int STEPS = 16;
+
+    private double radius;
+    private double height;
+
+    @Setup
+    public void setUp() {
+        radius = 3.0;
+        height = 4.0;
+    }
+
+    @Benchmark
+    public double mutableCopies() {
+        double total = 0;
+        for (int i = 1; i <= STEPS; i++) {
+            Cylinder cylinder = new Cylinder("Tube", "Benchmark", radius, height);
+            cylinder.setHeight(height * i);
+            total += cylinder.getVolume();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double values() {
+        double total = 0;
+        CylinderValue cylinder = new CylinderValue("Tube", "Benchmark", radius, height);
+        for (int i = 1; i <= STEPS; i++) {
+            total += cylinder.withHeight(height * i).getVolume();
+        }
+        return total;
+    }
+}
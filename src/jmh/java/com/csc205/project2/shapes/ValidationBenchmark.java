@@ -0,0 +1,81 @@
+package com.csc205.project2.shapes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of loading cylinder rows of which a fraction is invalid: one
+ * constructor call per row with the exception caught, against a bulk
+ * validation pass followed by construction of the valid rows only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"0.05"})
+    public double invalidFraction;
+
+    private String[] names;
+    private String[] colors;
+    private double[] radii;
+    private double[] heights;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        names = new String[size];
+        colors = new String[size];
+        radii = new double[size];
+        heights = new double[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = "Cylinder " + i;
+            colors[i] = "Benchmark";
+            radii[i] = random.nextDouble() < invalidFraction ? -1.0 : 0.5 + random.nextDouble() * 10;
+            heights[i] = 0.5 + random.nextDouble() * 10;
+        }
+    }
+
+    @Benchmark
+    public List<Shape3D> constructorsWithCatch() {
+        List<Shape3D> shapes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            try {
+                shapes.add(new Cylinder(names[i], colors[i], radii[i], heights[i]));
+            } catch (IllegalArgumentException e) {
+                // Rejected row
+            }
+        }
+        return shapes;
+    }
+
+    @Benchmark
+    public List<Shape3D> validateThenCreate() {
+        return ShapeValidator.validate(ShapeType.CYLINDER, radii, heights, null).createValid(names, colors);
+    }
+
+    @Benchmark
+    public ValidationReport validateOnly() {
+        return ShapeValidator.validate(ShapeType.CYLINDER, radii, heights, null);
+    }
+}
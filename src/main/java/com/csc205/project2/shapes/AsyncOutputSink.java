@@ -0,0 +1,215 @@
+package com.csc205.project2.shapes;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Output stream that hands its bytes to a background writer thread.
+ *
+ * Writes are copied into a chunk buffer. A full chunk is queued for the
+ * writer thread, which writes chunks to the target in order and returns
+ * their buffers for reuse. Callers only wait on the target when the bounded
+ * queue is full, which holds back a producer that outpaces the terminal or
+ * file. {@link #flush()} waits until everything written so far has reached
+ * the target and the target has been flushed, so call it before prompting
+ * for input or exiting.
+ *
+ * The writer thread is a daemon started on first use. An I/O error on the
+ * target is reported by the next write, flush or close; data queued after
+ * the error is discarded.
+ */
+public final class AsyncOutputSink extends OutputStream {
+    /** Default chunk size in bytes */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    /** Default number of full chunks that may wait for the writer */
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    private final OutputStream target;
+    private final boolean closeTarget;
+    private final int chunkSize;
+    private final BlockingQueue<Chunk> queue;
+    private final BlockingQueue<byte[]> spare;
+
+    private byte[] buffer;
+    private int count;
+    private Thread writer;
+    private boolean closed;
+    private volatile IOException failure;
+
+    // A chunk with a latch asks the writer to flush the target and signal; the last one also ends the thread
+    private record Chunk(byte[] data, int length, CountDownLatch done, boolean last) {
+    }
+
+    /**
+     * Constructor with target, using the default chunk size and queue capacity
+     * @param target The stream the writer thread writes to
+     * @param closeTarget Whether closing this sink also closes the target
+     */
+    public AsyncOutputSink(OutputStream target, boolean closeTarget) {
+        this(target, closeTarget, DEFAULT_CHUNK_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructor with target, chunk size and queue capacity
+     * @param target The stream the writer thread writes to
+     * @param closeTarget Whether closing this sink also closes the target
+     * @param chunkSize The number of bytes gathered before a chunk is queued
+     * @param queueCapacity The number of full chunks that may wait before writers block
+     * @throws IllegalArgumentException if chunkSize or queueCapacity is less than one
+     */
+    public AsyncOutputSink(OutputStream target, boolean closeTarget, int chunkSize, int queueCapacity) {
+        if (chunkSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Chunk size and queue capacity must be at least one");
+        }
+        this.target = target;
+        this.closeTarget = closeTarget;
+        this.chunkSize = chunkSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Every buffer in circulation: the queued ones, the one being written and the one being filled
+        this.spare = new ArrayBlockingQueue<>(queueCapacity + 2);
+        this.buffer = new byte[chunkSize];
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+        ensureOpen();
+        if (count == chunkSize) {
+            handOff(null, false);
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        while (length > 0) {
+            if (count == chunkSize) {
+                handOff(null, false);
+            }
+            int copied = Math.min(length, chunkSize - count);
+            System.arraycopy(bytes, offset, buffer, count, copied);
+            count += copied;
+            offset += copied;
+            length -= copied;
+        }
+    }
+
+    /**
+     * Waits until everything written so far has been written to the target and the target flushed
+     * @throws IOException if the target failed or the wait was interrupted
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+        CountDownLatch done = new CountDownLatch(1);
+        handOff(done, false);
+        await(done);
+        checkFailure();
+    }
+
+    /**
+     * Flushes, stops the writer thread and closes the target if this sink owns it
+     * @throws IOException if the target failed or the wait was interrupted
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        handOff(done, true);
+        closed = true;
+        await(done);
+        checkFailure();
+    }
+
+    private void handOff(CountDownLatch done, boolean last) throws IOException {
+        if (writer == null) {
+            writer = new Thread(this::drain, "async-output-sink");
+            writer.setDaemon(true);
+            writer.start();
+        }
+        try {
+            queue.put(new Chunk(buffer, count, done, last));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the output writer");
+        }
+        byte[] next = spare.poll();
+        buffer = next != null ? next : new byte[chunkSize];
+        count = 0;
+    }
+
+    private void drain() {
+        while (true) {
+            Chunk chunk;
+            try {
+                chunk = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                if (failure == null) {
+                    target.write(chunk.data(), 0, chunk.length());
+                    if (chunk.done() != null) {
+                        target.flush();
+                    }
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+            spare.offer(chunk.data());
+            if (chunk.last()) {
+                closeTarget();
+            }
+            if (chunk.done() != null) {
+                chunk.done().countDown();
+            }
+            if (chunk.last()) {
+                return;
+            }
+        }
+    }
+
+    private void closeTarget() {
+        if (!closeTarget) {
+            return;
+        }
+        try {
+            target.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+    }
+
+    private static void await(CountDownLatch done) throws IOException {
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the output writer");
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        IOException e = failure;
+        if (e != null) {
+            throw new IOException("Output writer failed", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for AsyncOutputSink
+ * Tests ordering across chunks, flush and close semantics,
+ * backpressure from a slow target and error reporting
+ */
+@DisplayName("AsyncOutputSink Tests")
+class AsyncOutputSinkTest {
+
+    // Collects bytes and counts flushes and closes
+    private static class RecordingStream extends ByteArrayOutputStream {
+        final AtomicInteger flushes = new AtomicInteger();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public void flush() {
+            flushes.incrementAndGet();
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+
+    @Nested
+    @DisplayName("Ordering Tests")
+    class OrderingTests {
+
+        @Test
+        @DisplayName("Bytes reach the target in order across many small chunks")
+        void orderAcrossChunks() throws IOException {
+            RecordingStream target = new RecordingStream();
+            StringBuilder expected = new StringBuilder();
+            try (PrintStream out = new PrintStream(new AsyncOutputSink(target, true, 7, 2), false, StandardCharsets.UTF_8)) {
+                for (int i = 0; i < 20_000; i++) {
+                    out.println("Line " + i + " ⚡");
+                    expected.append("Line ").append(i).append(" ⚡").append(System.lineSeparator());
+                }
+            }
+
+            assertEquals(expected.toString(), target.toString(StandardCharsets.UTF_8));
+            assertTrue(target.closed.get());
+        }
+
+        @Test
+        @DisplayName("Flush waits for the target and flushes it")
+        void flushWaitsForTarget() throws IOException {
+            RecordingStream target = new RecordingStream();
+            AsyncOutputSink sink = new AsyncOutputSink(target, false);
+
+            sink.write("Press Enter to continue...".getBytes(StandardCharsets.UTF_8));
+            assertEquals(0, target.size());
+            sink.flush();
+
+            assertEquals("Press Enter to continue...", target.toString(StandardCharsets.UTF_8));
+            assertEquals(1, target.flushes.get());
+            sink.close();
+            assertFalse(target.closed.get());
+            assertThrows(IOException.class, () -> sink.write(1));
+            sink.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("Backpressure Tests")
+    class BackpressureTests {
+
+        @Test
+        @DisplayName("Writers block once the queue is full and resume when the target drains")
+        void writersBlockWhenQueueIsFull() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            ByteArrayOutputStream written = new ByteArrayOutputStream();
+            OutputStream slow = new OutputStream() {
+                @Override
+                public void write(int b) {
+                    written.write(b);
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    written.write(bytes, offset, length);
+                }
+            };
+            AsyncOutputSink sink = new AsyncOutputSink(slow, false, 4, 2);
+            AtomicBoolean finished = new AtomicBoolean();
+            Thread producer = new Thread(() -> {
+                try {
+                    sink.write(new byte[64]);
+                    sink.flush();
+                    finished.set(true);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            producer.start();
+            // One chunk with the writer and two queued leave the producer waiting on the rest
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (producer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(Thread.State.WAITING, producer.getState());
+            assertFalse(finished.get());
+
+            release.countDown();
+            producer.join(10_000);
+            assertTrue(finished.get());
+            assertEquals(64, written.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Error Tests")
+    class ErrorTests {
+
+        @Test
+        @DisplayName("A failing target is reported by the next flush")
+        void failuresAreReported() {
+            OutputStream failing = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("Disk full");
+                }
+            };
+            AsyncOutputSink sink = new AsyncOutputSink(failing, true);
+
+            IOException exception = assertThrows(IOException.class, () -> {
+                sink.write(42);
+                sink.flush();
+            });
+            assertEquals("Disk full", exception.getCause().getMessage());
+            assertThrows(IOException.class, () -> sink.write(1));
+        }
+
+        @Test
+        @DisplayName("Chunk size and queue capacity must be positive")
+        void invalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> new AsyncOutputSink(OutputStream.nullOutputStream(), false, 0, 1));
+            assertThrows(IllegalArgumentException.class, () -> new AsyncOutputSink(OutputStream.nullOutputStream(), false, 1, 0));
+        }
+    }
+}
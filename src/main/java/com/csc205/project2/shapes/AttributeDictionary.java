@@ -0,0 +1,93 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary that maps repeated string attributes (names, colors) to small
+ * integer codes. Codes are assigned densely in first-seen order starting at zero,
+ * so they can be used directly as array indexes.
+ *
+ * Thread-safe. Looking up a known value and decoding take no lock; only
+ * assigning a new code is serialized. A code obtained from {@link #encode}
+ * in one thread can be decoded in any other.
+ */
+public class AttributeDictionary {
+    /** Code used to represent a null attribute */
+    public static final int NULL_CODE = -1;
+    /** Code returned by {@link #lookup} for a value that has no code yet */
+    public static final int ABSENT_CODE = -2;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[16];
+    private volatile int size;
+
+    /**
+     * Gets the code for a value, assigning a new code if it has not been seen
+     * @param value The attribute value (may be null)
+     * @return The code for the value
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : assign(value);
+    }
+
+    /**
+     * Gets the code for a value without assigning one
+     * @param value The attribute value (may be null)
+     * @return The code for the value, {@link #NULL_CODE} for null, or {@link #ABSENT_CODE} if it has not been seen
+     */
+    public int lookup(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : ABSENT_CODE;
+    }
+
+    private synchronized int assign(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        int assigned = size;
+        String[] current = values;
+        if (assigned == current.length) {
+            current = Arrays.copyOf(current, assigned * 2);
+            values = current;
+        }
+        current[assigned] = value;
+        // Publish the value before the code so that any holder of the code can decode it
+        size = assigned + 1;
+        codes.put(value, assigned);
+        return assigned;
+    }
+
+    /**
+     * Gets the value for a previously assigned code
+     * @param code The code to decode
+     * @return The attribute value, or null for {@link #NULL_CODE}
+     * @throws IndexOutOfBoundsException if the code was never assigned
+     */
+    public String decode(int code) {
+        if (code == NULL_CODE) {
+            return null;
+        }
+        if (code < 0 || code >= size) {
+            throw new IndexOutOfBoundsException("Unknown attribute code: " + code);
+        }
+        return values[code];
+    }
+
+    /**
+     * Gets the number of distinct values in the dictionary
+     * @return The number of assigned codes
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,90 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable axis-aligned box, closed on every side.
+ * @param minX The lowest x coordinate
+ * @param minY The lowest y coordinate
+ * @param minZ The lowest z coordinate
+ * @param maxX The highest x coordinate
+ * @param maxY The highest y coordinate
+ * @param maxZ The highest z coordinate
+ */
+public record BoundingBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+
+    /**
+     * Canonical constructor
+     * @throws IllegalArgumentException if a minimum exceeds its maximum or a coordinate is NaN
+     */
+    public BoundingBox {
+        if (!(minX <= maxX && minY <= maxY && minZ <= maxZ)) {
+            throw new IllegalArgumentException("Box minimum must not exceed its maximum");
+        }
+    }
+
+    /**
+     * Creates a box from its center and half extents
+     * @param center The center of the box
+     * @param halfX Half the width along x
+     * @param halfY Half the width along y
+     * @param halfZ Half the width along z
+     * @return The box
+     */
+    public static BoundingBox around(Vector3 center, double halfX, double halfY, double halfZ) {
+        return new BoundingBox(center.x() - halfX, center.y() - halfY, center.z() - halfZ,
+            center.x() + halfX, center.y() + halfY, center.z() + halfZ);
+    }
+
+    /**
+     * Checks whether this box shares at least one point with another
+     * @param other The other box
+     * @return true if the boxes overlap or touch
+     */
+    public boolean overlaps(BoundingBox other) {
+        return minX <= other.maxX && other.minX <= maxX
+            && minY <= other.maxY && other.minY <= maxY
+            && minZ <= other.maxZ && other.minZ <= maxZ;
+    }
+
+    /**
+     * Checks whether a point lies inside or on this box
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return true if the point is contained
+     */
+    public boolean contains(double x, double y, double z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * Computes the smallest box containing this box and another
+     * @param other The other box
+     * @return The union of the two boxes
+     */
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(Math.min(minX, other.minX), Math.min(minY, other.minY), Math.min(minZ, other.minZ),
+            Math.max(maxX, other.maxX), Math.max(maxY, other.maxY), Math.max(maxZ, other.maxZ));
+    }
+
+    /**
+     * Computes the squared distance from a point to the nearest point of this box
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return The squared distance, zero if the point is inside
+     */
+    public double distanceSquared(double x, double y, double z) {
+        double dx = Math.max(Math.max(minX - x, x - maxX), 0.0);
+        double dy = Math.max(Math.max(minY - y, y - maxY), 0.0);
+        double dz = Math.max(Math.max(minZ - z, z - maxZ), 0.0);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Gets the center of this box
+     * @return The midpoint of each axis
+     */
+    public Vector3 center() {
+        return new Vector3((minX + maxX) / 2, (minY + maxY) / 2, (minZ + maxZ) / 2);
+    }
+}
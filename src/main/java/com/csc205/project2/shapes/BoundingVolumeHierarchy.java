@@ -0,0 +1,635 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bounding volume hierarchy over a changing set of placed shapes, answering
+ * box-overlap, point-containment and nearest-shape queries without testing
+ * every shape.
+ *
+ * The tree is a binary hierarchy of axis-aligned boxes (see
+ * {@link ShapeGeometry#bounds(Shape3D)}) stored in flat arrays. It is built
+ * by splitting the shapes at the median of their box centers along the
+ * widest axis, down to leaves of at most {@value #LEAF_SIZE} shapes, so its
+ * depth is logarithmic. Tracked shapes are followed through a
+ * {@link ShapeChangeListener}: a dimension setter or a new placement
+ * recomputes the shape's box and refits the boxes on the path to the root
+ * in O(log n), without changing the tree's structure. Adding or removing
+ * shapes marks the tree for a rebuild before the next query, and
+ * {@link #rebuild()} restores query speed after many large moves.
+ *
+ * Rays are cast in batches (see {@link RayBatch}). Each packet of
+ * consecutive rays walks the tree together: a node is opened when any ray
+ * in the packet can still find a nearer hit inside its box, so coherent
+ * rays share one traversal. The fork-join mode casts packets in parallel.
+ *
+ * Not thread-safe: the tree must not change while rays are being cast.
+ */
+public class BoundingVolumeHierarchy {
+    /** Maximum number of shapes in a leaf, unless they share one center */
+    public static final int LEAF_SIZE = 4;
+
+    /** Smallest number of packets worth splitting further */
+    static final int MIN_SPLIT = 16;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int FRAME = ShapeGeometry.FRAME;
+
+    private final Map<Shape3D, Integer> slots = new IdentityHashMap<>();
+    private final ShapeChangeListener listener = new ShapeChangeListener() {
+        @Override
+        public void dimensionsChanged(Shape3D shape) {
+            moved(shape);
+        }
+
+        @Override
+        public void placementChanged(Shape3D shape) {
+            moved(shape);
+        }
+    };
+
+    // Shapes, their frames and boxes (min x, y, z, max x, y, z), reordered by each build so leaves are contiguous
+    private Shape3D[] shapes = new Shape3D[DEFAULT_CAPACITY];
+    private double[] frames = new double[DEFAULT_CAPACITY * FRAME];
+    private double[] shapeBounds = new double[DEFAULT_CAPACITY * 6];
+    private int[] leafOf = new int[DEFAULT_CAPACITY];
+    private int size;
+
+    // Nodes; an inner node has two children, a leaf covers shapes [start, start + count)
+    private double[] nodeBounds = new double[0];
+    private int[] left = new int[0];
+    private int[] right = new int[0];
+    private int[] start = new int[0];
+    private int[] count = new int[0];
+    private int[] parent = new int[0];
+    private int nodes;
+    private int depth;
+    private boolean stale;
+
+    /**
+     * Default constructor
+     */
+    public BoundingVolumeHierarchy() {
+    }
+
+    /**
+     * Constructor tracking an initial set of shapes
+     * @param shapes The shapes to add
+     */
+    public BoundingVolumeHierarchy(Iterable<? extends Shape3D> shapes) {
+        addAll(shapes);
+    }
+
+    /**
+     * Starts tracking a shape
+     * @param shape The shape to add
+     * @return true if the shape was not already tracked
+     * @throws IllegalArgumentException if the shape is a flyweight view, which moves between rows
+     */
+    public boolean add(Shape3D shape) {
+        if (shape instanceof ShapeView) {
+            throw new IllegalArgumentException("Flyweight views cannot be tracked");
+        }
+        if (slots.containsKey(shape)) {
+            return false;
+        }
+        if (size == shapes.length) {
+            int capacity = shapes.length * 2;
+            shapes = Arrays.copyOf(shapes, capacity);
+            frames = Arrays.copyOf(frames, capacity * FRAME);
+            shapeBounds = Arrays.copyOf(shapeBounds, capacity * 6);
+            leafOf = Arrays.copyOf(leafOf, capacity);
+        }
+        shapes[size] = shape;
+        place(size);
+        slots.put(shape, size);
+        size++;
+        shape.addChangeListener(listener);
+        stale = true;
+        return true;
+    }
+
+    /**
+     * Starts tracking several shapes
+     * @param shapes The shapes to add
+     */
+    public void addAll(Iterable<? extends Shape3D> shapes) {
+        for (Shape3D shape : shapes) {
+            add(shape);
+        }
+    }
+
+    /**
+     * Stops tracking a shape
+     * @param shape The shape to remove
+     * @return true if the shape was tracked
+     */
+    public boolean remove(Shape3D shape) {
+        Integer slot = slots.remove(shape);
+        if (slot == null) {
+            return false;
+        }
+        int last = --size;
+        if (slot != last) {
+            shapes[slot] = shapes[last];
+            System.arraycopy(frames, last * FRAME, frames, slot * FRAME, FRAME);
+            System.arraycopy(shapeBounds, last * 6, shapeBounds, slot * 6, 6);
+            slots.put(shapes[slot], slot);
+        }
+        shapes[last] = null;
+        shape.removeChangeListener(listener);
+        stale = true;
+        return true;
+    }
+
+    /**
+     * Stops tracking every shape
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            shapes[i].removeChangeListener(listener);
+            shapes[i] = null;
+        }
+        slots.clear();
+        size = 0;
+        nodes = 0;
+        stale = false;
+    }
+
+    /**
+     * Checks whether a shape is tracked
+     * @param shape The shape to look for
+     * @return true if the shape is tracked
+     */
+    public boolean contains(Shape3D shape) {
+        return slots.containsKey(shape);
+    }
+
+    /**
+     * Gets the number of tracked shapes
+     * @return The shape count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the box enclosing every tracked shape
+     * @return The root box, or null if no shapes are tracked
+     */
+    public BoundingBox getBounds() {
+        ensureBuilt();
+        return nodes == 0 ? null : new BoundingBox(nodeBounds[0], nodeBounds[1], nodeBounds[2],
+            nodeBounds[3], nodeBounds[4], nodeBounds[5]);
+    }
+
+    /**
+     * Rebuilds the tree from the current shape boxes
+     */
+    public void rebuild() {
+        nodes = 0;
+        depth = 0;
+        if (size > 0) {
+            int capacity = 2 * size;
+            if (left.length < capacity) {
+                nodeBounds = new double[capacity * 6];
+                left = new int[capacity];
+                right = new int[capacity];
+                start = new int[capacity];
+                count = new int[capacity];
+                parent = new int[capacity];
+            }
+            build(0, size, -1, 1);
+            for (int i = 0; i < size; i++) {
+                slots.put(shapes[i], i);
+            }
+        }
+        stale = false;
+    }
+
+    /**
+     * Finds the shapes whose bounding boxes overlap a box
+     * @param box The query box
+     * @return A new list of the overlapping shapes, in no particular order
+     */
+    public List<Shape3D> overlapping(BoundingBox box) {
+        ensureBuilt();
+        List<Shape3D> result = new ArrayList<>();
+        if (nodes == 0) {
+            return result;
+        }
+        double[] query = {box.minX(), box.minY(), box.minZ(), box.maxX(), box.maxY(), box.maxZ()};
+        int[] stack = new int[depth + 1];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!overlaps(nodeBounds, node * 6, query)) {
+                continue;
+            }
+            if (left[node] >= 0) {
+                stack[top++] = left[node];
+                stack[top++] = right[node];
+                continue;
+            }
+            for (int i = start[node], end = i + count[node]; i < end; i++) {
+                if (overlaps(shapeBounds, i * 6, query)) {
+                    result.add(shapes[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the shapes containing a point, by their exact geometry
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return A new list of the containing shapes, in no particular order
+     */
+    public List<Shape3D> containing(double x, double y, double z) {
+        ensureBuilt();
+        List<Shape3D> result = new ArrayList<>();
+        if (nodes == 0) {
+            return result;
+        }
+        int[] stack = new int[depth + 1];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!inside(nodeBounds, node * 6, x, y, z)) {
+                continue;
+            }
+            if (left[node] >= 0) {
+                stack[top++] = left[node];
+                stack[top++] = right[node];
+                continue;
+            }
+            for (int i = start[node], end = i + count[node]; i < end; i++) {
+                if (inside(shapeBounds, i * 6, x, y, z) && ShapeGeometry.contains(shapes[i], x, y, z)) {
+                    result.add(shapes[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the shape nearest to a point, by distance to its exact geometry
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return The nearest shape, any one of them if several contain the point, or null if none are tracked
+     */
+    public Shape3D nearest(double x, double y, double z) {
+        ensureBuilt();
+        if (nodes == 0) {
+            return null;
+        }
+        Shape3D best = null;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        int[] stack = new int[depth + 1];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            // Box distance is a lower bound for every shape below the node
+            if (distanceSquared(nodeBounds, node * 6, x, y, z) > bestDistance * bestDistance) {
+                continue;
+            }
+            if (left[node] >= 0) {
+                // The nearer child goes on top, so it is searched first and tightens the bound sooner
+                int near = left[node];
+                int far = right[node];
+                if (distanceSquared(nodeBounds, near * 6, x, y, z) > distanceSquared(nodeBounds, far * 6, x, y, z)) {
+                    near = right[node];
+                    far = left[node];
+                }
+                stack[top++] = far;
+                stack[top++] = near;
+                continue;
+            }
+            for (int i = start[node], end = i + count[node]; i < end; i++) {
+                if (distanceSquared(shapeBounds, i * 6, x, y, z) > bestDistance * bestDistance) {
+                    continue;
+                }
+                double distance = ShapeGeometry.distance(shapes[i], x, y, z);
+                if (distance < bestDistance) {
+                    best = shapes[i];
+                    bestDistance = distance;
+                    if (distance == 0.0) {
+                        return best;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the nearest shape along one ray
+     * @param origin The start of the ray
+     * @param direction The direction of the ray; its length is the unit of the hit distances
+     * @return The nearest hit, or null if the ray misses every shape
+     * @throws IllegalArgumentException if the direction is zero or not finite
+     */
+    public RayHit raycast(Vector3 origin, Vector3 direction) {
+        RayBatch ray = new RayBatch(1);
+        ray.add(origin, direction);
+        cast(ray);
+        return ray.getHit(0);
+    }
+
+    /**
+     * Finds the nearest shape along every ray of a batch, one packet at a time
+     * @param rays The rays; their hits are replaced
+     */
+    public void cast(RayBatch rays) {
+        ensureBuilt();
+        castPackets(rays, 0, rays.size());
+    }
+
+    /**
+     * Finds the nearest shape along every ray of a batch, casting packets in parallel
+     * @param rays The rays; their hits are replaced
+     * @param pool The pool to cast on
+     */
+    public void cast(RayBatch rays, ForkJoinPool pool) {
+        ensureBuilt();
+        int packets = (rays.size() + RayBatch.PACKET_SIZE - 1) / RayBatch.PACKET_SIZE;
+        int threshold = Math.max(MIN_SPLIT, packets / (pool.getParallelism() * 8));
+        pool.invoke(new CastTask(rays, 0, packets, threshold));
+    }
+
+    private final class CastTask extends RecursiveAction {
+        private final RayBatch rays;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        private CastTask(RayBatch rays, int from, int to, int threshold) {
+            this.rays = rays;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                castPackets(rays, from * RayBatch.PACKET_SIZE, Math.min(to * RayBatch.PACKET_SIZE, rays.size()));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new CastTask(rays, from, middle, threshold), new CastTask(rays, middle, to, threshold));
+        }
+    }
+
+    private void castPackets(RayBatch rays, int from, int to) {
+        double[] entries = rays.entryColumn();
+        Arrays.fill(entries, from, to, Double.POSITIVE_INFINITY);
+        Arrays.fill(rays.exitColumn(), from, to, Double.POSITIVE_INFINITY);
+        Arrays.fill(rays.hitColumn(), from, to, null);
+        if (nodes == 0) {
+            return;
+        }
+        int[] stack = new int[depth + 1];
+        double[] span = new double[2];
+        for (int first = from; first < to; first += RayBatch.PACKET_SIZE) {
+            castPacket(rays, first, Math.min(first + RayBatch.PACKET_SIZE, to), stack, span);
+        }
+    }
+
+    /**
+     * Walks the tree once for a packet of rays, keeping each ray's nearest hit
+     */
+    private void castPacket(RayBatch rays, int first, int end, int[] stack, double[] span) {
+        double[] origins = rays.originColumn();
+        double[] directions = rays.directionColumn();
+        double[] inverses = rays.inverseColumn();
+        double[] entries = rays.entryColumn();
+        double[] exits = rays.exitColumn();
+        Shape3D[] hits = rays.hitColumn();
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            // Open the node if any ray can still improve on its nearest hit inside it
+            boolean open = false;
+            for (int ray = first; ray < end && !open; ray++) {
+                open = boxEntry(nodeBounds, node * 6, origins, inverses, ray) < entries[ray];
+            }
+            if (!open) {
+                continue;
+            }
+            if (left[node] >= 0) {
+                // The child the first ray reaches sooner goes on top
+                int near = left[node];
+                int far = right[node];
+                if (boxEntry(nodeBounds, near * 6, origins, inverses, first)
+                    > boxEntry(nodeBounds, far * 6, origins, inverses, first)) {
+                    near = right[node];
+                    far = left[node];
+                }
+                stack[top++] = far;
+                stack[top++] = near;
+                continue;
+            }
+            for (int i = start[node], last = i + count[node]; i < last; i++) {
+                for (int ray = first; ray < end; ray++) {
+                    int r = ray * 3;
+                    if (boxEntry(shapeBounds, i * 6, origins, inverses, ray) < entries[ray]
+                        && ShapeGeometry.intersect(frames, i * FRAME, origins[r], origins[r + 1], origins[r + 2],
+                            directions[r], directions[r + 1], directions[r + 2], span)
+                        && span[0] < entries[ray]) {
+                        entries[ray] = span[0];
+                        exits[ray] = span[1];
+                        hits[ray] = shapes[i];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Slab test of a ray against a box
+     * @return The distance where the ray enters the box, zero if it starts inside, or infinity if it misses
+     */
+    private static double boxEntry(double[] bounds, int base, double[] origins, double[] inverses, int ray) {
+        int r = ray * 3;
+        double near = 0.0;
+        double far = Double.POSITIVE_INFINITY;
+        for (int axis = 0; axis < 3; axis++) {
+            double t0 = (bounds[base + axis] - origins[r + axis]) * inverses[r + axis];
+            double t1 = (bounds[base + axis + 3] - origins[r + axis]) * inverses[r + axis];
+            near = Math.max(near, Math.min(t0, t1));
+            far = Math.min(far, Math.max(t0, t1));
+        }
+        return near <= far ? near : Double.POSITIVE_INFINITY;
+    }
+
+    private void ensureBuilt() {
+        if (stale) {
+            rebuild();
+        }
+    }
+
+    private void moved(Shape3D shape) {
+        Integer slot = slots.get(shape);
+        if (slot == null) {
+            return;
+        }
+        place(slot);
+        if (!stale) {
+            for (int node = leafOf[slot]; node >= 0; node = parent[node]) {
+                fit(node);
+            }
+        }
+    }
+
+    private void place(int slot) {
+        ShapeGeometry.frame(shapes[slot], frames, slot * FRAME);
+        ShapeGeometry.frameBounds(frames, slot * FRAME, shapeBounds, slot * 6);
+    }
+
+    private int build(int from, int to, int parentNode, int level) {
+        int node = nodes++;
+        parent[node] = parentNode;
+        depth = Math.max(depth, level);
+
+        double[] centers = new double[6];
+        Arrays.fill(centers, 0, 3, Double.POSITIVE_INFINITY);
+        Arrays.fill(centers, 3, 6, Double.NEGATIVE_INFINITY);
+        for (int i = from; i < to; i++) {
+            for (int axis = 0; axis < 3; axis++) {
+                double center = center(i, axis);
+                centers[axis] = Math.min(centers[axis], center);
+                centers[axis + 3] = Math.max(centers[axis + 3], center);
+            }
+        }
+        int axis = 0;
+        for (int a = 1; a < 3; a++) {
+            if (centers[a + 3] - centers[a] > centers[axis + 3] - centers[axis]) {
+                axis = a;
+            }
+        }
+        // Shapes sharing one center cannot be separated, so they stay together in one leaf
+        if (to - from <= LEAF_SIZE || !(centers[axis + 3] > centers[axis])) {
+            left[node] = -1;
+            right[node] = -1;
+            start[node] = from;
+            count[node] = to - from;
+            for (int i = from; i < to; i++) {
+                leafOf[i] = node;
+            }
+            fit(node);
+            return node;
+        }
+        int middle = (from + to) >>> 1;
+        select(from, to - 1, middle, axis);
+        left[node] = build(from, middle, node, level + 1);
+        right[node] = build(middle, to, node, level + 1);
+        fit(node);
+        return node;
+    }
+
+    /**
+     * Recomputes a node's box from its children or its shapes
+     */
+    private void fit(int node) {
+        int base = node * 6;
+        if (left[node] >= 0) {
+            union(nodeBounds, left[node] * 6, nodeBounds, right[node] * 6, base);
+            return;
+        }
+        int first = start[node];
+        System.arraycopy(shapeBounds, first * 6, nodeBounds, base, 6);
+        for (int i = first + 1, end = first + count[node]; i < end; i++) {
+            union(nodeBounds, base, shapeBounds, i * 6, base);
+        }
+    }
+
+    private void union(double[] a, int aBase, double[] b, int bBase, int target) {
+        for (int k = 0; k < 3; k++) {
+            nodeBounds[target + k] = Math.min(a[aBase + k], b[bBase + k]);
+            nodeBounds[target + k + 3] = Math.max(a[aBase + k + 3], b[bBase + k + 3]);
+        }
+    }
+
+    /**
+     * Partially sorts shapes [low, high] so that the shape at index k has the
+     * k-th smallest center along the axis, with no larger centers before it
+     */
+    private void select(int low, int high, int k, int axis) {
+        while (low < high) {
+            double pivot = center((low + high) >>> 1, axis);
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (center(i, axis) < pivot) {
+                    i++;
+                }
+                while (center(j, axis) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                high = j;
+            } else if (k >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private double center(int slot, int axis) {
+        return shapeBounds[slot * 6 + axis] + shapeBounds[slot * 6 + axis + 3];
+    }
+
+    private void swap(int a, int b) {
+        Shape3D shape = shapes[a];
+        shapes[a] = shapes[b];
+        shapes[b] = shape;
+        for (int k = 0; k < 6; k++) {
+            double value = shapeBounds[a * 6 + k];
+            shapeBounds[a * 6 + k] = shapeBounds[b * 6 + k];
+            shapeBounds[b * 6 + k] = value;
+        }
+        for (int k = 0; k < FRAME; k++) {
+            double value = frames[a * FRAME + k];
+            frames[a * FRAME + k] = frames[b * FRAME + k];
+            frames[b * FRAME + k] = value;
+        }
+    }
+
+    private static boolean overlaps(double[] bounds, int base, double[] query) {
+        return bounds[base] <= query[3] && query[0] <= bounds[base + 3]
+            && bounds[base + 1] <= query[4] && query[1] <= bounds[base + 4]
+            && bounds[base + 2] <= query[5] && query[2] <= bounds[base + 5];
+    }
+
+    private static boolean inside(double[] bounds, int base, double x, double y, double z) {
+        return x >= bounds[base] && x <= bounds[base + 3]
+            && y >= bounds[base + 1] && y <= bounds[base + 4]
+            && z >= bounds[base + 2] && z <= bounds[base + 5];
+    }
+
+    private static double distanceSquared(double[] bounds, int base, double x, double y, double z) {
+        double dx = Math.max(Math.max(bounds[base] - x, x - bounds[base + 3]), 0.0);
+        double dy = Math.max(Math.max(bounds[base + 1] - y, y - bounds[base + 4]), 0.0);
+        double dz = Math.max(Math.max(bounds[base + 2] - z, z - bounds[base + 5]), 0.0);
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
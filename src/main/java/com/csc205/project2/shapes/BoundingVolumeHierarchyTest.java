@@ -0,0 +1,298 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.BeforeEach;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for BoundingVolumeHierarchy
+ * Tests that overlap, containment, nearest and ray queries agree with
+ * linear scans after insertions, removals, dimension changes and moves
+ */
+@DisplayName("BoundingVolumeHierarchy Tests")
+class BoundingVolumeHierarchyTest {
+
+    private BoundingVolumeHierarchy tree;
+    private List<Shape3D> shapes;
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        random = new Random(42);
+        shapes = ShapeFixtures.randomShapes(500, 42);
+        for (Shape3D shape : shapes) {
+            shape.setPlacement(randomPlacement(random));
+        }
+        tree = new BoundingVolumeHierarchy(shapes);
+    }
+
+    private static Placement randomPlacement(Random random) {
+        return new Placement(new Vector3(random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100,
+            random.nextDouble() * 200 - 100), ShapeFixtures.randomOrientation(random));
+    }
+
+    private static Set<Shape3D> identitySet(List<Shape3D> shapes) {
+        Set<Shape3D> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(shapes);
+        return set;
+    }
+
+    private void assertQueriesMatch() {
+        for (int trial = 0; trial < 50; trial++) {
+            double x = random.nextDouble() * 240 - 120;
+            double y = random.nextDouble() * 240 - 120;
+            double z = random.nextDouble() * 240 - 120;
+            BoundingBox box = BoundingBox.around(new Vector3(x, y, z), random.nextDouble() * 20,
+                random.nextDouble() * 20, random.nextDouble() * 20);
+
+            List<Shape3D> overlapping = new ArrayList<>();
+            List<Shape3D> containing = new ArrayList<>();
+            double nearest = Double.POSITIVE_INFINITY;
+            for (Shape3D shape : shapes) {
+                if (ShapeGeometry.bounds(shape).overlaps(box)) {
+                    overlapping.add(shape);
+                }
+                if (ShapeGeometry.contains(shape, x, y, z)) {
+                    containing.add(shape);
+                }
+                nearest = Math.min(nearest, ShapeGeometry.distance(shape, x, y, z));
+            }
+            assertEquals(identitySet(overlapping), identitySet(tree.overlapping(box)));
+            assertEquals(identitySet(containing), identitySet(tree.containing(x, y, z)));
+            assertEquals(nearest, ShapeGeometry.distance(tree.nearest(x, y, z), x, y, z), 1e-9);
+        }
+    }
+
+    private RayBatch randomRays(int count) {
+        RayBatch rays = new RayBatch(count);
+        for (int i = 0; i < count; i++) {
+            // Rays from outside the scene toward random points inside it
+            rays.add(random.nextGaussian() * 60, random.nextGaussian() * 60, -150,
+                random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100, 150);
+        }
+        return rays;
+    }
+
+    private void assertCastMatches(RayBatch rays) {
+        int hits = 0;
+        for (int i = 0; i < rays.size(); i++) {
+            Vector3 from = new Vector3(rays.originColumn()[i * 3], rays.originColumn()[i * 3 + 1],
+                rays.originColumn()[i * 3 + 2]);
+            Vector3 toward = new Vector3(rays.directionColumn()[i * 3], rays.directionColumn()[i * 3 + 1],
+                rays.directionColumn()[i * 3 + 2]);
+            double nearest = Double.POSITIVE_INFINITY;
+            for (Shape3D shape : shapes) {
+                RayHit hit = ShapeGeometry.intersect(shape, from, toward);
+                if (hit != null) {
+                    nearest = Math.min(nearest, hit.entry());
+                }
+            }
+            assertEquals(nearest, rays.getDistance(i), 1e-9, "ray " + i);
+            RayHit hit = rays.getHit(i);
+            if (hit == null) {
+                assertEquals(Double.POSITIVE_INFINITY, nearest);
+            } else {
+                hits++;
+                assertEquals(nearest, ShapeGeometry.intersect(hit.shape(), from, toward).entry(), 1e-9);
+            }
+        }
+        assertEquals(hits, rays.hitCount());
+    }
+
+    @Nested
+    @DisplayName("Query Tests")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Queries match linear scans")
+        void queriesMatch() {
+            assertQueriesMatch();
+        }
+
+        @Test
+        @DisplayName("Containment query at a known center")
+        void containingCenter() {
+            Vector3 center = shapes.get(0).getPlacement().position();
+            assertTrue(tree.containing(center.x(), center.y(), center.z()).contains(shapes.get(0)));
+            assertEquals(0.0, ShapeGeometry.distance(tree.nearest(center.x(), center.y(), center.z()),
+                center.x(), center.y(), center.z()));
+        }
+
+        @Test
+        @DisplayName("Root box encloses every shape")
+        void rootBounds() {
+            BoundingBox root = tree.getBounds();
+            for (Shape3D shape : shapes) {
+                assertEquals(root, root.union(ShapeGeometry.bounds(shape)));
+            }
+        }
+
+        @Test
+        @DisplayName("Empty tree answers empty")
+        void emptyTree() {
+            BoundingVolumeHierarchy empty = new BoundingVolumeHierarchy();
+            assertNull(empty.nearest(0, 0, 0));
+            assertNull(empty.getBounds());
+            assertTrue(empty.overlapping(new BoundingBox(-1, -1, -1, 1, 1, 1)).isEmpty());
+            assertTrue(empty.containing(0, 0, 0).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Shapes sharing one center stay searchable")
+        void coincidentShapes() {
+            BoundingVolumeHierarchy stacked = new BoundingVolumeHierarchy();
+            for (int i = 1; i <= 20; i++) {
+                stacked.add(new Sphere(i));
+            }
+            assertEquals(20, stacked.containing(0, 0, 0).size());
+            assertEquals(5, stacked.containing(15.5, 0, 0).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Dimension setters refit the tree")
+        void dimensionRefit() {
+            assertQueriesMatch();
+            for (Shape3D shape : shapes.subList(0, 100)) {
+                if (shape instanceof Sphere sphere) {
+                    sphere.setRadius(sphere.getRadius() * 3);
+                } else if (shape instanceof Cube cube) {
+                    cube.setSideLength(cube.getSideLength() * 3);
+                } else if (shape instanceof Cylinder cylinder) {
+                    cylinder.setHeight(cylinder.getHeight() * 3);
+                } else if (shape instanceof Cone cone) {
+                    cone.setRadius(cone.getRadius() * 3);
+                } else if (shape instanceof RectangularPrism prism) {
+                    prism.setLength(prism.getLength() * 3);
+                }
+            }
+            assertQueriesMatch();
+        }
+
+        @Test
+        @DisplayName("Moves refit the tree")
+        void placementRefit() {
+            assertQueriesMatch();
+            for (Shape3D shape : shapes.subList(0, 100)) {
+                shape.setPlacement(randomPlacement(random));
+            }
+            assertQueriesMatch();
+            tree.rebuild();
+            assertQueriesMatch();
+        }
+
+        @Test
+        @DisplayName("Additions and removals are reflected")
+        void addAndRemove() {
+            assertQueriesMatch();
+            List<Shape3D> removed = new ArrayList<>(shapes.subList(0, 200));
+            shapes.removeAll(removed);
+            for (Shape3D shape : removed) {
+                assertTrue(tree.remove(shape));
+            }
+            assertFalse(tree.remove(removed.get(0)));
+            List<Shape3D> added = ShapeFixtures.randomShapes(100, 9);
+            for (Shape3D shape : added) {
+                shape.setPlacement(randomPlacement(random));
+                assertTrue(tree.add(shape));
+            }
+            shapes.addAll(added);
+            assertEquals(shapes.size(), tree.size());
+            assertQueriesMatch();
+
+            // Removed shapes no longer notify the tree
+            removed.get(0).setPlacement(Placement.ORIGIN);
+            assertFalse(tree.contains(removed.get(0)));
+            assertQueriesMatch();
+        }
+
+        @Test
+        @DisplayName("Flyweight views are rejected")
+        void rejectsViews() {
+            ShapeStore store = new ShapeStore();
+            store.add(new Sphere(1.0));
+            assertThrows(IllegalArgumentException.class, () -> tree.add(store.view(0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Ray Tests")
+    class RayTests {
+
+        @Test
+        @DisplayName("Batch casts match testing every shape")
+        void batchMatchesScan() {
+            RayBatch rays = randomRays(300);
+            tree.cast(rays);
+            assertTrue(rays.hitCount() > 0 && rays.hitCount() < rays.size());
+            assertCastMatches(rays);
+        }
+
+        @Test
+        @DisplayName("Casts follow moves and removals")
+        void castAfterUpdates() {
+            for (int i = 0; i < 100; i++) {
+                shapes.get(i).setPlacement(randomPlacement(random));
+            }
+            for (Shape3D shape : new ArrayList<>(shapes.subList(100, 200))) {
+                tree.remove(shape);
+                shapes.remove(shape);
+            }
+            RayBatch rays = randomRays(200);
+            tree.cast(rays);
+            assertCastMatches(rays);
+        }
+
+        @Test
+        @DisplayName("Fork-join and single ray casts match the batch")
+        void modesAgree() {
+            RayBatch rays = randomRays(500);
+            tree.cast(rays);
+            RayBatch parallel = randomRays(0);
+            for (int i = 0; i < rays.size(); i++) {
+                parallel.add(rays.originColumn()[i * 3], rays.originColumn()[i * 3 + 1],
+                    rays.originColumn()[i * 3 + 2], rays.directionColumn()[i * 3],
+                    rays.directionColumn()[i * 3 + 1], rays.directionColumn()[i * 3 + 2]);
+            }
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                tree.cast(parallel, pool);
+            } finally {
+                pool.shutdown();
+            }
+            for (int i = 0; i < rays.size(); i++) {
+                assertEquals(rays.getHit(i), parallel.getHit(i));
+                Vector3 origin = new Vector3(rays.originColumn()[i * 3], rays.originColumn()[i * 3 + 1],
+                    rays.originColumn()[i * 3 + 2]);
+                Vector3 direction = new Vector3(rays.directionColumn()[i * 3], rays.directionColumn()[i * 3 + 1],
+                    rays.directionColumn()[i * 3 + 2]);
+                assertEquals(rays.getHit(i), tree.raycast(origin, direction));
+            }
+        }
+
+        @Test
+        @DisplayName("Misses and empty trees")
+        void misses() {
+            RayBatch rays = new RayBatch();
+            rays.add(new Vector3(0, 0, 500), new Vector3(0, 0, 1));
+            tree.cast(rays);
+            assertNull(rays.getHit(0));
+            assertEquals(Double.POSITIVE_INFINITY, rays.getDistance(0));
+            assertNull(new BoundingVolumeHierarchy().raycast(Vector3.ZERO, new Vector3(1, 0, 0)));
+            assertThrows(IllegalArgumentException.class, () -> rays.add(Vector3.ZERO, Vector3.ZERO));
+        }
+    }
+}
@@ -19,7 +19,7 @@ package com.csc205.project2.shapes;
  * - Volume formula verified against: V = (1/3)πr²h
  * - Surface area formula verified against: SA = πr² + πr√(r² + h²)
  */
-public class Cone extends Shape3D {
+public final class Cone extends Shape3D {
     private double radius;
     private double height;
     
@@ -93,6 +93,7 @@ public class Cone extends Shape3D {
             throw new IllegalArgumentException("Radius must be positive and greater than zero");
         }
         this.radius = radius;
+        dimensionsChanged();
     }
     
     /**
@@ -113,6 +114,7 @@ public class Cone extends Shape3D {
             throw new IllegalArgumentException("Height must be positive and greater than zero");
         }
         this.height = height;
+        dimensionsChanged();
     }
     
     /**
@@ -122,7 +124,7 @@ public class Cone extends Shape3D {
      */
     @Override
     protected double calculateVolume() {
-        return (1.0 / 3.0) * Math.PI * Math.pow(radius, 2) * height;
+        return GeometryMath.coneVolume(radius, height);
     }
     
     /**
@@ -132,10 +134,7 @@ public class Cone extends Shape3D {
      */
     @Override
     protected double calculateSurfaceArea() {
-        double baseArea = Math.PI * Math.pow(radius, 2);
-        double slantHeight = getSlantHeight();
-        double lateralArea = Math.PI * radius * slantHeight;
-        return baseArea + lateralArea;
+        return GeometryMath.coneSurfaceArea(radius, height);
     }
     
     /**
@@ -144,8 +143,12 @@ public class Cone extends Shape3D {
      */
     @Override
     public String toString() {
-        return String.format("%s [Color: %s, Radius: %.2f, Height: %.2f, Volume: %.2f, Surface Area: %.2f]", 
-                           getName(), getColor(), radius, height, getVolume(), getSurfaceArea());
+        StringBuilder text = new StringBuilder(96)
+            .append(getName()).append(" [Color: ").append(getColor()).append(", Radius: ");
+        ReportWriter.appendFixed(text, radius, 2).append(", Height: ");
+        ReportWriter.appendFixed(text, height, 2).append(", Volume: ");
+        ReportWriter.appendFixed(text, getVolume(), 2).append(", Surface Area: ");
+        return ReportWriter.appendFixed(text, getSurfaceArea(), 2).append(']').toString();
     }
     
     /**
@@ -154,7 +157,7 @@ public class Cone extends Shape3D {
      * @return The slant height
      */
     public double getSlantHeight() {
-        return Math.sqrt(Math.pow(radius, 2) + Math.pow(height, 2));
+        return GeometryMath.coneSlantHeight(radius, height);
     }
     
     /**
@@ -170,7 +173,7 @@ public class Cone extends Shape3D {
      * @return The base area (πr²)
      */
     public double getBaseArea() {
-        return Math.PI * Math.pow(radius, 2);
+        return GeometryMath.circleArea(radius);
     }
     
     /**
@@ -0,0 +1,102 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable cone value; see {@link ShapeValue}.
+ * The volume and surface area components are derived: the canonical
+ * constructor always recomputes them from the radius and height.
+ * @param name The name of the cone
+ * @param color The color of the cone
+ * @param radius The base radius
+ * @param height The height
+ * @param volume The volume, (1/3)πr²h
+ * @param surfaceArea The surface area, πr² + πr√(r² + h²)
+ */
+public record ConeValue(String name, String color, double radius, double height,
+                        double volume, double surfaceArea) implements ShapeValue {
+
+    /**
+     * Canonical constructor
+     * @throws IllegalArgumentException if radius or height is negative or zero
+     */
+    public ConeValue {
+        if (radius <= 0) {
+            throw new IllegalArgumentException("Radius must be positive and greater than zero");
+        }
+        if (height <= 0) {
+            throw new IllegalArgumentException("Height must be positive and greater than zero");
+        }
+        volume = GeometryMath.coneVolume(radius, height);
+        surfaceArea = GeometryMath.coneSurfaceArea(radius, height);
+    }
+
+    /**
+     * Constructor with name, color, radius, and height
+     * @param name The name of the cone
+     * @param color The color of the cone
+     * @param radius The base radius of the cone
+     * @param height The height of the cone
+     * @throws IllegalArgumentException if radius or height is negative or zero
+     */
+    public ConeValue(String name, String color, double radius, double height) {
+        this(name, color, radius, height, 0.0, 0.0);
+    }
+
+    /**
+     * Captures the current state of a cone
+     * @param cone The cone to copy
+     * @return A new value
+     */
+    public static ConeValue of(Cone cone) {
+        return new ConeValue(cone.getName(), cone.getColor(), cone.getRadius(), cone.getHeight());
+    }
+
+    /**
+     * Returns a copy with another radius
+     * @param radius The new radius
+     * @return A new value
+     * @throws IllegalArgumentException if radius is negative or zero
+     */
+    public ConeValue withRadius(double radius) {
+        return new ConeValue(name, color, radius, height);
+    }
+
+    /**
+     * Returns a copy with another height
+     * @param height The new height
+     * @return A new value
+     * @throws IllegalArgumentException if height is negative or zero
+     */
+    public ConeValue withHeight(double height) {
+        return new ConeValue(name, color, radius, height);
+    }
+
+    @Override
+    public ConeValue withName(String name) {
+        return new ConeValue(name, color, radius, height);
+    }
+
+    @Override
+    public ConeValue withColor(String color) {
+        return new ConeValue(name, color, radius, height);
+    }
+
+    @Override
+    public ShapeType type() {
+        return ShapeType.CONE;
+    }
+
+    @Override
+    public Cone toShape() {
+        return new Cone(name, color, radius, height);
+    }
+
+    @Override
+    public double getVolume() {
+        return volume;
+    }
+
+    @Override
+    public double getSurfaceArea() {
+        return surfaceArea;
+    }
+}
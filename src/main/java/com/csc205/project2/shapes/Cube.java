@@ -19,7 +19,7 @@ package com.csc205.project2.shapes;
  * - Volume formula verified against: V = s³
  * - Surface area formula verified against: SA = 6s²
  */
-public class Cube extends Shape3D {
+public final class Cube extends Shape3D {
     private double sideLength;
     
     /**
@@ -81,6 +81,7 @@ public class Cube extends Shape3D {
     public void setSideLength(double sideLength) {
         validateSideLength(sideLength);
         this.sideLength = sideLength;
+        dimensionsChanged();
     }
     
     /**
@@ -90,7 +91,7 @@ public class Cube extends Shape3D {
      */
     @Override
     protected double calculateVolume() {
-        return Math.pow(sideLength, 3);
+        return GeometryMath.cubeVolume(sideLength);
     }
     
     /**
@@ -100,7 +101,7 @@ public class Cube extends Shape3D {
      */
     @Override
     protected double calculateSurfaceArea() {
-        return 6 * Math.pow(sideLength, 2);
+        return GeometryMath.cubeSurfaceArea(sideLength);
     }
     
     /**
@@ -109,8 +110,11 @@ public class Cube extends Shape3D {
      */
     @Override
     public String toString() {
-        return String.format("%s [Color: %s, Side Length: %.2f, Volume: %.2f, Surface Area: %.2f]", 
-                           getName(), getColor(), sideLength, getVolume(), getSurfaceArea());
+        StringBuilder text = new StringBuilder(96)
+            .append(getName()).append(" [Color: ").append(getColor()).append(", Side Length: ");
+        ReportWriter.appendFixed(text, sideLength, 2).append(", Volume: ");
+        ReportWriter.appendFixed(text, getVolume(), 2).append(", Surface Area: ");
+        return ReportWriter.appendFixed(text, getSurfaceArea(), 2).append(']').toString();
     }
     
     /**
@@ -118,7 +122,7 @@ public class Cube extends Shape3D {
      * @return The face diagonal (s√2)
      */
     public double getFaceDiagonal() {
-        return sideLength * Math.sqrt(2);
+        return GeometryMath.cubeFaceDiagonal(sideLength);
     }
     
     /**
@@ -126,6 +130,6 @@ public class Cube extends Shape3D {
      * @return The space diagonal (s√3)
      */
     public double getSpaceDiagonal() {
-        return sideLength * Math.sqrt(3);
+        return GeometryMath.cubeSpaceDiagonal(sideLength);
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable cube value; see {@link ShapeValue}.
+ * The volume and surface area components are derived: the canonical
+ * constructor always recomputes them from the side length.
+ * @param name The name of the cube
+ * @param color The color of the cube
+ * @param sideLength The side length
+ * @param volume The volume, s³
+ * @param surfaceArea The surface area, 6s²
+ */
+public record CubeValue(String name, String color, double sideLength, double volume, double surfaceArea)
+        implements ShapeValue {
+
+    /**
+     * Canonical constructor
+     * @throws IllegalArgumentException if sideLength is negative or zero
+     */
+    public CubeValue {
+        if (sideLength <= 0) {
+            throw new IllegalArgumentException("Side length must be positive and greater than zero");
+        }
+        volume = GeometryMath.cubeVolume(sideLength);
+        surfaceArea = GeometryMath.cubeSurfaceArea(sideLength);
+    }
+
+    /**
+     * Constructor with name, color, and side length
+     * @param name The name of the cube
+     * @param color The color of the cube
+     * @param sideLength The side length of the cube
+     * @throws IllegalArgumentException if sideLength is negative or zero
+     */
+    public CubeValue(String name, String color, double sideLength) {
+        this(name, color, sideLength, 0.0, 0.0);
+    }
+
+    /**
+     * Captures the current state of a cube
+     * @param cube The cube to copy
+     * @return A new value
+     */
+    public static CubeValue of(Cube cube) {
+        return new CubeValue(cube.getName(), cube.getColor(), cube.getSideLength());
+    }
+
+    /**
+     * Returns a copy with another side length
+     * @param sideLength The new side length
+     * @return A new value
+     * @throws IllegalArgumentException if sideLength is negative or zero
+     */
+    public CubeValue withSideLength(double sideLength) {
+        return new CubeValue(name, color, sideLength);
+    }
+
+    @Override
+    public CubeValue withName(String name) {
+        return new CubeValue(name, color, sideLength);
+    }
+
+    @Override
+    public CubeValue withColor(String color) {
+        return new CubeValue(name, color, sideLength);
+    }
+
+    @Override
+    public ShapeType type() {
+        return ShapeType.CUBE;
+    }
+
+    @Override
+    public Cube toShape() {
+        return new Cube(name, color, sideLength);
+    }
+
+    @Override
+    public double getVolume() {
+        return volume;
+    }
+
+    @Override
+    public double getSurfaceArea() {
+        return surfaceArea;
+    }
+}
@@ -19,7 +19,7 @@ package com.csc205.project2.shapes;
  * - Volume formula verified against: V = πr²h
  * - Surface area formula verified against: SA = 2πr² + 2πrh
  */
-public class Cylinder extends Shape3D {
+public final class Cylinder extends Shape3D {
     private double radius;
     private double height;
     
@@ -93,6 +93,7 @@ public class Cylinder extends Shape3D {
             throw new IllegalArgumentException("Radius must be positive and greater than zero");
         }
         this.radius = radius;
+        dimensionsChanged();
     }
     
     /**
@@ -113,6 +114,7 @@ public class Cylinder extends Shape3D {
             throw new IllegalArgumentException("Height must be positive and greater than zero");
         }
         this.height = height;
+        dimensionsChanged();
     }
     
     /**
@@ -122,7 +124,7 @@ public class Cylinder extends Shape3D {
      */
     @Override
     protected double calculateVolume() {
-        return Math.PI * Math.pow(radius, 2) * height;
+        return GeometryMath.cylinderVolume(radius, height);
     }
     
     /**
@@ -132,7 +134,7 @@ public class Cylinder extends Shape3D {
      */
     @Override
     protected double calculateSurfaceArea() {
-        return 2 * Math.PI * Math.pow(radius, 2) + 2 * Math.PI * radius * height;
+        return GeometryMath.cylinderSurfaceArea(radius, height);
     }
     
     /**
@@ -141,8 +143,12 @@ public class Cylinder extends Shape3D {
      */
     @Override
     public String toString() {
-        return String.format("%s [Color: %s, Radius: %.2f, Height: %.2f, Volume: %.2f, Surface Area: %.2f]", 
-                           getName(), getColor(), radius, height, getVolume(), getSurfaceArea());
+        StringBuilder text = new StringBuilder(96)
+            .append(getName()).append(" [Color: ").append(getColor()).append(", Radius: ");
+        ReportWriter.appendFixed(text, radius, 2).append(", Height: ");
+        ReportWriter.appendFixed(text, height, 2).append(", Volume: ");
+        ReportWriter.appendFixed(text, getVolume(), 2).append(", Surface Area: ");
+        return ReportWriter.appendFixed(text, getSurfaceArea(), 2).append(']').toString();
     }
     
     /**
@@ -166,6 +172,6 @@ public class Cylinder extends Shape3D {
      * @return The base area (πr²)
      */
     public double getBaseArea() {
-        return Math.PI * Math.pow(radius, 2);
+        return GeometryMath.circleArea(radius);
     }
 }
\ No newline at end of file
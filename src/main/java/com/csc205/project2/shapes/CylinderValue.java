@@ -0,0 +1,102 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable cylinder value; see {@link ShapeValue}.
+ * The volume and surface area components are derived: the canonical
+ * constructor always recomputes them from the radius and height.
+ * @param name The name of the cylinder
+ * @param color The color of the cylinder
+ * @param radius The radius
+ * @param height The height
+ * @param volume The volume, πr²h
+ * @param surfaceArea The surface area, 2πr² + 2πrh
+ */
+public record CylinderValue(String name, String color, double radius, double height,
+                            double volume, double surfaceArea) implements ShapeValue {
+
+    /**
+     * Canonical constructor
+     * @throws IllegalArgumentException if radius or height is negative or zero
+     */
+    public CylinderValue {
+        if (radius <= 0) {
+            throw new IllegalArgumentException("Radius must be positive and greater than zero");
+        }
+        if (height <= 0) {
+            throw new IllegalArgumentException("Height must be positive and greater than zero");
+        }
+        volume = GeometryMath.cylinderVolume(radius, height);
+        surfaceArea = GeometryMath.cylinderSurfaceArea(radius, height);
+    }
+
+    /**
+     * Constructor with name, color, radius, and height
+     * @param name The name of the cylinder
+     * @param color The color of the cylinder
+     * @param radius The radius of the cylinder
+     * @param height The height of the cylinder
+     * @throws IllegalArgumentException if radius or height is negative or zero
+     */
+    public CylinderValue(String name, String color, double radius, double height) {
+        this(name, color, radius, height, 0.0, 0.0);
+    }
+
+    /**
+     * Captures the current state of a cylinder
+     * @param cylinder The cylinder to copy
+     * @return A new value
+     */
+    public static CylinderValue of(Cylinder cylinder) {
+        return new CylinderValue(cylinder.getName(), cylinder.getColor(), cylinder.getRadius(), cylinder.getHeight());
+    }
+
+    /**
+     * Returns a copy with another radius
+     * @param radius The new radius
+     * @return A new value
+     * @throws IllegalArgumentException if radius is negative or zero
+     */
+    public CylinderValue withRadius(double radius) {
+        return new CylinderValue(name, color, radius, height);
+    }
+
+    /**
+     * Returns a copy with another height
+     * @param height The new height
+     * @return A new value
+     * @throws IllegalArgumentException if height is negative or zero
+     */
+    public CylinderValue withHeight(double height) {
+        return new CylinderValue(name, color, radius, height);
+    }
+
+    @Override
+    public CylinderValue withName(String name) {
+        return new CylinderValue(name, color, radius, height);
+    }
+
+    @Override
+    public CylinderValue withColor(String color) {
+        return new CylinderValue(name, color, radius, height);
+    }
+
+    @Override
+    public ShapeType type() {
+        return ShapeType.CYLINDER;
+    }
+
+    @Override
+    public Cylinder toShape() {
+        return new Cylinder(name, color, radius, height);
+    }
+
+    @Override
+    public double getVolume() {
+        return volume;
+    }
+
+    @Override
+    public double getSurfaceArea() {
+        return surfaceArea;
+    }
+}
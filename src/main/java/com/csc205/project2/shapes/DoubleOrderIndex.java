@@ -0,0 +1,283 @@
+package com.csc205.project2.shapes;
+
+import java.util.List;
+
+/**
+ * Ordered multiset of values keyed by a primitive double, implemented as a
+ * treap (randomized balanced binary search tree) whose nodes also store
+ * their subtree size. Insert, remove, rank, select, floor and ceiling run in
+ * expected O(log n), and range queries in O(log n + matches).
+ *
+ * Entries with equal keys are ordered by a caller-supplied tie-breaker,
+ * which must be unique per entry so that an entry can be removed exactly.
+ * Keys are compared with {@link Double#compare(double, double)}.
+ *
+ * @param <T> The type of the stored values
+ */
+final class DoubleOrderIndex<T> {
+
+    private static final class Node<T> {
+        private final double key;
+        private final long tie;
+        private final T value;
+        private final int priority;
+        private int size = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(double key, long tie, T value, int priority) {
+            this.key = key;
+            this.tie = tie;
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private Node<T> root;
+    private int seed = 0x2545F491;
+    private boolean removed;
+
+    /**
+     * Gets the number of entries
+     * @return The entry count
+     */
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Removes every entry
+     */
+    void clear() {
+        root = null;
+    }
+
+    /**
+     * Adds an entry
+     * @param key The ordering key
+     * @param tie The unique tie-breaker among equal keys
+     * @param value The stored value
+     */
+    void insert(double key, long tie, T value) {
+        root = insert(root, new Node<>(key, tie, value, nextPriority()));
+    }
+
+    /**
+     * Removes the entry with a key and tie-breaker
+     * @param key The ordering key the entry was inserted with
+     * @param tie The tie-breaker the entry was inserted with
+     * @return true if the entry was found
+     */
+    boolean remove(double key, long tie) {
+        removed = false;
+        root = remove(root, key, tie);
+        return removed;
+    }
+
+    /**
+     * Counts the entries whose key is below a value
+     * @param key The bound
+     * @param inclusive true to also count entries equal to the bound
+     * @return The number of entries below the bound
+     */
+    int countBelow(double key, boolean inclusive) {
+        int count = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int c = Double.compare(node.key, key);
+            if (c < 0 || (inclusive && c == 0)) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the value at a position in key order
+     * @param rank The zero-based position
+     * @return The value at that position
+     * @throws IndexOutOfBoundsException if rank is outside the index
+     */
+    T select(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException("Rank out of range: " + rank);
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank == leftSize) {
+                return node.value;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Gets the value with the greatest key at or below a bound; the latest entry among equal keys
+     * @param key The bound
+     * @return The value, or null if every key is above the bound
+     */
+    T floor(double key) {
+        Node<T> best = null;
+        Node<T> node = root;
+        while (node != null) {
+            if (Double.compare(node.key, key) <= 0) {
+                best = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return best == null ? null : best.value;
+    }
+
+    /**
+     * Gets the value with the smallest key at or above a bound; the earliest entry among equal keys
+     * @param key The bound
+     * @return The value, or null if every key is below the bound
+     */
+    T ceiling(double key) {
+        Node<T> best = null;
+        Node<T> node = root;
+        while (node != null) {
+            if (Double.compare(node.key, key) >= 0) {
+                best = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best == null ? null : best.value;
+    }
+
+    /**
+     * Appends the values with keys in a closed range, in key order
+     * @param from The lower bound, inclusive
+     * @param to The upper bound, inclusive
+     * @param out The list to append to
+     */
+    void collectRange(double from, double to, List<? super T> out) {
+        collectRange(root, from, to, out);
+    }
+
+    private void collectRange(Node<T> node, double from, double to, List<? super T> out) {
+        if (node == null) {
+            return;
+        }
+        boolean aboveFrom = Double.compare(node.key, from) >= 0;
+        boolean belowTo = Double.compare(node.key, to) <= 0;
+        if (aboveFrom) {
+            collectRange(node.left, from, to, out);
+        }
+        if (aboveFrom && belowTo) {
+            out.add(node.value);
+        }
+        if (belowTo) {
+            collectRange(node.right, from, to, out);
+        }
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.key, added.tie, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        updateSize(node);
+        return node;
+    }
+
+    private Node<T> remove(Node<T> node, double key, long tie) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(key, tie, node);
+        if (c < 0) {
+            node.left = remove(node.left, key, tie);
+        } else if (c > 0) {
+            node.right = remove(node.right, key, tie);
+        } else {
+            removed = true;
+            return merge(node.left, node.right);
+        }
+        updateSize(node);
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every key in the first precedes every key in the second
+     */
+    private Node<T> merge(Node<T> first, Node<T> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            updateSize(first);
+            return first;
+        }
+        second.left = merge(first, second.left);
+        updateSize(second);
+        return second;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        updateSize(node);
+        left.right = node;
+        updateSize(left);
+        return left;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        updateSize(node);
+        right.left = node;
+        updateSize(right);
+        return right;
+    }
+
+    private static int compare(double key, long tie, Node<?> node) {
+        int c = Double.compare(key, node.key);
+        return c != 0 ? c : Long.compare(tie, node.tie);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void updateSize(Node<?> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    // Xorshift; priorities only need to be well spread, not unpredictable
+    private int nextPriority() {
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        seed = x;
+        return x;
+    }
+}
@@ -0,0 +1,203 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Volume, surface area and length formulas shared by every shape representation.
+ *
+ * Powers are expanded into multiplications and sums of products use
+ * {@link Math#fma}, which the JIT compiles to single instructions instead of
+ * {@code Math.pow} calls. Lengths take the square root of a sum of squares
+ * directly rather than going through {@link Math#hypot}, so intermediate
+ * squares overflow for dimensions above about 1e154, as they did with
+ * {@code Math.pow}.
+ *
+ * Precision contract against the former {@code Math.pow} formulas, pinned by
+ * GeometryMathTest: squares and the results built only from them are
+ * bit-identical; cubes and fused sums differ by at most two units in the last
+ * place. The mutable classes, the immutable values and {@link ShapeType} all
+ * call these methods, so they agree with each other exactly.
+ */
+public final class GeometryMath {
+    private static final double FOUR_THIRDS_PI = (4.0 / 3.0) * Math.PI;
+    private static final double ONE_THIRD_PI = (1.0 / 3.0) * Math.PI;
+    private static final double TWO_PI = 2 * Math.PI;
+    private static final double FOUR_PI = 4 * Math.PI;
+    private static final double SQRT_2 = Math.sqrt(2);
+    private static final double SQRT_3 = Math.sqrt(3);
+
+    private GeometryMath() {
+    }
+
+    /**
+     * Squares a value
+     * @param x The value
+     * @return x²
+     */
+    public static double square(double x) {
+        return x * x;
+    }
+
+    /**
+     * Cubes a value
+     * @param x The value
+     * @return x³
+     */
+    public static double cube(double x) {
+        return x * x * x;
+    }
+
+    /**
+     * Computes the length of a two-dimensional vector with a single rounding before the root
+     * @param a The first component
+     * @param b The second component
+     * @return √(a² + b²)
+     */
+    public static double length(double a, double b) {
+        return Math.sqrt(Math.fma(a, a, b * b));
+    }
+
+    /**
+     * Computes the length of a three-dimensional vector
+     * @param a The first component
+     * @param b The second component
+     * @param c The third component
+     * @return √(a² + b² + c²)
+     */
+    public static double length(double a, double b, double c) {
+        return Math.sqrt(Math.fma(a, a, Math.fma(b, b, c * c)));
+    }
+
+    /**
+     * Computes the volume of a sphere: V = (4/3)πr³
+     * @param radius The radius
+     * @return The volume
+     */
+    public static double sphereVolume(double radius) {
+        return FOUR_THIRDS_PI * cube(radius);
+    }
+
+    /**
+     * Computes the surface area of a sphere: A = 4πr²
+     * @param radius The radius
+     * @return The surface area
+     */
+    public static double sphereSurfaceArea(double radius) {
+        return FOUR_PI * square(radius);
+    }
+
+    /**
+     * Computes the volume of a cube: V = s³
+     * @param sideLength The side length
+     * @return The volume
+     */
+    public static double cubeVolume(double sideLength) {
+        return cube(sideLength);
+    }
+
+    /**
+     * Computes the surface area of a cube: A = 6s²
+     * @param sideLength The side length
+     * @return The surface area
+     */
+    public static double cubeSurfaceArea(double sideLength) {
+        return 6 * square(sideLength);
+    }
+
+    /**
+     * Computes the diagonal of a cube face: d = s√2
+     * @param sideLength The side length
+     * @return The face diagonal
+     */
+    public static double cubeFaceDiagonal(double sideLength) {
+        return sideLength * SQRT_2;
+    }
+
+    /**
+     * Computes the space diagonal of a cube: d = s√3
+     * @param sideLength The side length
+     * @return The space diagonal
+     */
+    public static double cubeSpaceDiagonal(double sideLength) {
+        return sideLength * SQRT_3;
+    }
+
+    /**
+     * Computes the area of a circle: A = πr²
+     * @param radius The radius
+     * @return The area
+     */
+    public static double circleArea(double radius) {
+        return Math.PI * square(radius);
+    }
+
+    /**
+     * Computes the volume of a cylinder: V = πr²h
+     * @param radius The base radius
+     * @param height The height
+     * @return The volume
+     */
+    public static double cylinderVolume(double radius, double height) {
+        return circleArea(radius) * height;
+    }
+
+    /**
+     * Computes the surface area of a cylinder: A = 2πr² + 2πrh
+     * @param radius The base radius
+     * @param height The height
+     * @return The surface area
+     */
+    public static double cylinderSurfaceArea(double radius, double height) {
+        return Math.fma(TWO_PI, square(radius), TWO_PI * radius * height);
+    }
+
+    /**
+     * Computes the volume of a rectangular prism: V = lwh
+     * @param length The length
+     * @param width The width
+     * @param height The height
+     * @return The volume
+     */
+    public static double prismVolume(double length, double width, double height) {
+        return length * width * height;
+    }
+
+    /**
+     * Computes the surface area of a rectangular prism: A = 2(lw + lh + wh)
+     * @param length The length
+     * @param width The width
+     * @param height The height
+     * @return The surface area
+     */
+    public static double prismSurfaceArea(double length, double width, double height) {
+        return 2 * Math.fma(length, width, Math.fma(length, height, width * height));
+    }
+
+    /**
+     * Computes the volume of a cone: V = (1/3)πr²h
+     * @param radius The base radius
+     * @param height The height
+     * @return The volume
+     */
+    public static double coneVolume(double radius, double height) {
+        return ONE_THIRD_PI * square(radius) * height;
+    }
+
+    /**
+     * Computes the slant height of a cone: l = √(r² + h²)
+     * @param radius The base radius
+     * @param height The height
+     * @return The slant height
+     */
+    public static double coneSlantHeight(double radius, double height) {
+        return length(radius, height);
+    }
+
+    /**
+     * Computes the surface area of a cone: A = πr² + πrl
+     * @param radius The base radius
+     * @param height The height
+     * @return The surface area
+     */
+    public static double coneSurfaceArea(double radius, double height) {
+        return Math.fma(Math.PI * radius, coneSlantHeight(radius, height), circleArea(radius));
+    }
+}
@@ -0,0 +1,137 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for GeometryMath
+ * Tests the precision contract: the maximum deviation in units in the last
+ * place from the former Math.pow formulas, over dimensions from 1e-3 to 1e6
+ */
+@DisplayName("GeometryMath Tests")
+class GeometryMathTest {
+
+    private static final int SAMPLES = 200_000;
+
+    private interface Formula {
+        double apply(double a, double b, double c);
+    }
+
+    private static double ulps(double actual, double expected) {
+        return Math.abs(actual - expected) / Math.ulp(expected);
+    }
+
+    // Log-uniform dimensions so that every magnitude is sampled equally
+    private static double dimension(Random random) {
+        return Math.pow(10, -3 + 9 * random.nextDouble());
+    }
+
+    private static void assertMaxUlps(double maxUlps, Formula actual, Formula former) {
+        Random random = new Random(205);
+        double worst = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            double a = dimension(random);
+            double b = dimension(random);
+            double c = dimension(random);
+            worst = Math.max(worst, ulps(actual.apply(a, b, c), former.apply(a, b, c)));
+        }
+        assertTrue(worst <= maxUlps, "deviation of " + worst + " ulps");
+    }
+
+    private static void assertMaxUlps(double maxUlps, DoubleBinaryOperator actual, DoubleBinaryOperator former) {
+        assertMaxUlps(maxUlps, (a, b, c) -> actual.applyAsDouble(a, b), (a, b, c) -> former.applyAsDouble(a, b));
+    }
+
+    @Nested
+    @DisplayName("Bit-Identical Formula Tests")
+    class BitIdenticalTests {
+
+        @Test
+        @DisplayName("Formulas built from squares match Math.pow exactly")
+        void squaresAreExact() {
+            assertMaxUlps(0, (r, h) -> GeometryMath.sphereSurfaceArea(r), (r, h) -> 4 * Math.PI * Math.pow(r, 2));
+            assertMaxUlps(0, (s, h) -> GeometryMath.cubeSurfaceArea(s), (s, h) -> 6 * Math.pow(s, 2));
+            assertMaxUlps(0, GeometryMath::cylinderVolume, (r, h) -> Math.PI * Math.pow(r, 2) * h);
+            assertMaxUlps(0, GeometryMath::coneVolume, (r, h) -> (1.0 / 3.0) * Math.PI * Math.pow(r, 2) * h);
+            assertMaxUlps(0, (r, h) -> GeometryMath.circleArea(r), (r, h) -> Math.PI * Math.pow(r, 2));
+            assertMaxUlps(0, GeometryMath::prismVolume, (l, w, h) -> l * w * h);
+        }
+
+        @Test
+        @DisplayName("Cube diagonals match the square root factors exactly")
+        void diagonalsAreExact() {
+            assertMaxUlps(0, (s, h) -> GeometryMath.cubeFaceDiagonal(s), (s, h) -> s * Math.sqrt(2));
+            assertMaxUlps(0, (s, h) -> GeometryMath.cubeSpaceDiagonal(s), (s, h) -> s * Math.sqrt(3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bounded Deviation Tests")
+    class BoundedDeviationTests {
+
+        @Test
+        @DisplayName("Cubes differ from Math.pow by at most two ulps")
+        void cubes() {
+            assertMaxUlps(1, (s, h) -> GeometryMath.cubeVolume(s), (s, h) -> Math.pow(s, 3));
+            assertMaxUlps(2, (r, h) -> GeometryMath.sphereVolume(r), (r, h) -> (4.0 / 3.0) * Math.PI * Math.pow(r, 3));
+        }
+
+        @Test
+        @DisplayName("Fused surface areas differ from the separate products by at most two ulps")
+        void fusedSurfaceAreas() {
+            assertMaxUlps(1, GeometryMath::cylinderSurfaceArea,
+                (r, h) -> 2 * Math.PI * Math.pow(r, 2) + 2 * Math.PI * r * h);
+            assertMaxUlps(2, GeometryMath::prismSurfaceArea, (l, w, h) -> 2 * (l * w + l * h + w * h));
+            assertMaxUlps(2, GeometryMath::coneSurfaceArea,
+                (r, h) -> Math.PI * Math.pow(r, 2) + Math.PI * r * Math.sqrt(Math.pow(r, 2) + Math.pow(h, 2)));
+        }
+
+        @Test
+        @DisplayName("Lengths differ from the Math.pow square roots by at most two ulps")
+        void lengths() {
+            assertMaxUlps(1, GeometryMath::coneSlantHeight, (r, h) -> Math.sqrt(Math.pow(r, 2) + Math.pow(h, 2)));
+            assertMaxUlps(2, GeometryMath::length,
+                (l, w, h) -> Math.sqrt(Math.pow(l, 2) + Math.pow(w, 2) + Math.pow(h, 2)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Consistency Tests")
+    class ConsistencyTests {
+
+        @Test
+        @DisplayName("Classes, values and type formulas produce the same bits")
+        void representationsAgree() {
+            Random random = new Random(42);
+            for (int i = 0; i < 10_000; i++) {
+                double d0 = dimension(random);
+                double d1 = dimension(random);
+                double d2 = dimension(random);
+                for (ShapeType type : ShapeType.values()) {
+                    Shape3D shape = type.create("S", "C", d0, d1, d2);
+                    ShapeValue value = ShapeValue.of(type, "S", "C", d0, d1, d2);
+
+                    assertEquals(type.volume(d0, d1, d2), shape.getVolume(), type.name());
+                    assertEquals(type.surfaceArea(d0, d1, d2), shape.getSurfaceArea(), type.name());
+                    assertEquals(shape.getVolume(), value.getVolume(), type.name());
+                    assertEquals(shape.getSurfaceArea(), value.getSurfaceArea(), type.name());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Derived lengths use the shared formulas")
+        void derivedLengths() {
+            Cone cone = new Cone(3.0, 4.0);
+            RectangularPrism prism = new RectangularPrism(2.0, 3.0, 6.0);
+
+            assertEquals(5.0, cone.getSlantHeight());
+            assertEquals(7.0, prism.getSpaceDiagonal());
+            assertEquals(GeometryMath.circleArea(3.0) + Math.PI * 3.0 * 5.0, cone.getSurfaceArea(), 1e-12);
+        }
+    }
+}
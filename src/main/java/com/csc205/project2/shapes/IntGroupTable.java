@@ -0,0 +1,164 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from int group keys to running volume and
+ * surface area aggregates, stored in parallel primitive arrays. No boxing
+ * or per-group objects are involved, so adding a row is a probe and a few
+ * array updates.
+ *
+ * Groups are numbered densely in first-seen order, which also gives a
+ * deterministic iteration order. Any int, including negative codes, is a
+ * valid key. Not thread-safe; parallel callers fill one table per task and
+ * {@link #merge} them.
+ */
+final class IntGroupTable {
+    private static final int INITIAL_GROUPS = 16;
+
+    // Group index + 1 per hash slot; 0 marks an empty slot
+    private int[] slots = new int[INITIAL_GROUPS * 2];
+    private int mask = slots.length - 1;
+
+    private int[] keys = new int[INITIAL_GROUPS];
+    private long[] counts = new long[INITIAL_GROUPS];
+    private double[] volumeSums = new double[INITIAL_GROUPS];
+    private double[] volumeMins = new double[INITIAL_GROUPS];
+    private double[] volumeMaxs = new double[INITIAL_GROUPS];
+    private double[] surfaceSums = new double[INITIAL_GROUPS];
+    private double[] surfaceMins = new double[INITIAL_GROUPS];
+    private double[] surfaceMaxs = new double[INITIAL_GROUPS];
+    private int size;
+
+    /**
+     * Adds one shape to its group
+     * @param key The group key
+     * @param volume The shape's volume
+     * @param surfaceArea The shape's surface area
+     */
+    void add(int key, double volume, double surfaceArea) {
+        int group = groupOf(key);
+        counts[group]++;
+        volumeSums[group] += volume;
+        volumeMins[group] = Math.min(volumeMins[group], volume);
+        volumeMaxs[group] = Math.max(volumeMaxs[group], volume);
+        surfaceSums[group] += surfaceArea;
+        surfaceMins[group] = Math.min(surfaceMins[group], surfaceArea);
+        surfaceMaxs[group] = Math.max(surfaceMaxs[group], surfaceArea);
+    }
+
+    /**
+     * Folds another table into this one; groups new to this table are numbered after its own
+     * @param other The table to merge
+     */
+    void merge(IntGroupTable other) {
+        for (int source = 0; source < other.size; source++) {
+            int group = groupOf(other.keys[source]);
+            counts[group] += other.counts[source];
+            volumeSums[group] += other.volumeSums[source];
+            volumeMins[group] = Math.min(volumeMins[group], other.volumeMins[source]);
+            volumeMaxs[group] = Math.max(volumeMaxs[group], other.volumeMaxs[source]);
+            surfaceSums[group] += other.surfaceSums[source];
+            surfaceMins[group] = Math.min(surfaceMins[group], other.surfaceMins[source]);
+            surfaceMaxs[group] = Math.max(surfaceMaxs[group], other.surfaceMaxs[source]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int key(int group) {
+        return keys[group];
+    }
+
+    long count(int group) {
+        return counts[group];
+    }
+
+    double volumeSum(int group) {
+        return volumeSums[group];
+    }
+
+    double volumeMin(int group) {
+        return volumeMins[group];
+    }
+
+    double volumeMax(int group) {
+        return volumeMaxs[group];
+    }
+
+    double surfaceAreaSum(int group) {
+        return surfaceSums[group];
+    }
+
+    double surfaceAreaMin(int group) {
+        return surfaceMins[group];
+    }
+
+    double surfaceAreaMax(int group) {
+        return surfaceMaxs[group];
+    }
+
+    private int groupOf(int key) {
+        int slot = hash(key) & mask;
+        while (true) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return insert(key, slot);
+            }
+            if (keys[entry - 1] == key) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int insert(int key, int slot) {
+        if (size == keys.length) {
+            growGroups();
+        }
+        int group = size++;
+        keys[group] = key;
+        volumeMins[group] = Double.POSITIVE_INFINITY;
+        volumeMaxs[group] = Double.NEGATIVE_INFINITY;
+        surfaceMins[group] = Double.POSITIVE_INFINITY;
+        surfaceMaxs[group] = Double.NEGATIVE_INFINITY;
+        slots[slot] = group + 1;
+        // Keep the load factor at or below one half
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return group;
+    }
+
+    private void growGroups() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        volumeSums = Arrays.copyOf(volumeSums, capacity);
+        volumeMins = Arrays.copyOf(volumeMins, capacity);
+        volumeMaxs = Arrays.copyOf(volumeMaxs, capacity);
+        surfaceSums = Arrays.copyOf(surfaceSums, capacity);
+        surfaceMins = Arrays.copyOf(surfaceMins, capacity);
+        surfaceMaxs = Arrays.copyOf(surfaceMaxs, capacity);
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        mask = slots.length - 1;
+        for (int group = 0; group < size; group++) {
+            int slot = hash(keys[group]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = group + 1;
+        }
+    }
+
+    // Dense codes would cluster under identity hashing; spread them with a multiplicative mix
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,104 @@
+package com.csc205.project2.shapes;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the files kept by {@link ShapeJournal}. All values are little-endian.
+ *
+ * A journal directory holds numbered log segments ({@code log-N.wal}) and at
+ * most one complete snapshot ({@code snapshot-N.shf}), where N of a snapshot
+ * is the first segment to replay on top of it. Each segment starts with an
+ * 8-byte header followed by records:
+ *
+ * <pre>
+ * segment header
+ *      0     4  magic "SHJ1"
+ *      4     2  format version
+ *      6     2  reserved
+ *
+ * record
+ *      0     4  payload length in bytes
+ *      4     4  CRC32C of the payload
+ *      8     1  record kind: PUT or REMOVE
+ *      9     8  shape id
+ *   PUT only:
+ *     17     1  type tag
+ *     18  8*n  the type's n dimensions
+ *      .     .  name, then color: an int byte length (-1 for null) and the UTF-8 bytes
+ * </pre>
+ *
+ * A PUT carries the whole state of a shape, so replaying it is an upsert and
+ * replaying a record more than once does no harm. A snapshot is a regular
+ * binary shape file (see {@link ShapeFileFormat}) with an id column after
+ * the shape data and a fixed footer at the very end:
+ *
+ * <pre>
+ * footer
+ *      0     8  offset of the id column    (row count longs, 8-byte aligned)
+ *      8     8  next id to assign
+ *     16     8  first log segment to replay
+ *     24     4  CRC32C of every byte of the file before this field
+ *     28     4  magic "SHSN"
+ * </pre>
+ */
+final class JournalFormat {
+    static final int SEGMENT_MAGIC = 0x314A4853;
+    static final short SEGMENT_VERSION = 1;
+    static final int SEGMENT_HEADER_SIZE = 8;
+
+    static final int RECORD_HEADER_SIZE = 8;
+    static final byte PUT = 1;
+    static final byte REMOVE = 2;
+
+    static final int SNAPSHOT_MAGIC = 0x4E534853;
+    static final int FOOTER_SIZE = 32;
+    static final int FOOTER_IDS_OFFSET = 0;
+    static final int FOOTER_NEXT_ID = 8;
+    static final int FOOTER_FIRST_SEGMENT = 16;
+    static final int FOOTER_CHECKSUM = 24;
+    static final int FOOTER_MAGIC = 28;
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private JournalFormat() {
+    }
+
+    /**
+     * Gets the file name of a log segment
+     * @param segment The segment number
+     * @return The file name
+     */
+    static String segmentName(long segment) {
+        return String.format("log-%012d.wal", segment);
+    }
+
+    /**
+     * Gets the file name of a snapshot
+     * @param firstSegment The first log segment to replay on top of the snapshot
+     * @return The file name
+     */
+    static String snapshotName(long firstSegment) {
+        return String.format("snapshot-%012d.shf", firstSegment);
+    }
+
+    /**
+     * Parses the number out of a segment or snapshot file name
+     * @param fileName The file name
+     * @param prefix The expected prefix
+     * @param suffix The expected suffix
+     * @return The number, or -1 if the name does not match
+     */
+    static long parseNumber(String fileName, String prefix, String suffix) {
+        if (!fileName.startsWith(prefix) || !fileName.endsWith(suffix)
+                || fileName.length() <= prefix.length() + suffix.length()) {
+            return -1;
+        }
+        String digits = fileName.substring(prefix.length(), fileName.length() - suffix.length());
+        for (int i = 0; i < digits.length(); i++) {
+            if (digits.charAt(i) < '0' || digits.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        return digits.length() > 18 ? -1 : Long.parseLong(digits);
+    }
+}
@@ -0,0 +1,271 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+
+/**
+ * Loose octree over a fixed set of axis-aligned boxes, used as the broad
+ * phase of {@link ShapeCollisions}.
+ *
+ * Each node's loose bounds are twice the size of its cell, so a box whose
+ * half extents are at most half the cell's fits in the loose bounds of the
+ * cell holding its center. Every box is therefore stored in exactly one
+ * node, found in O(depth) from its center and size alone: small boxes sink
+ * to small cells and large boxes stay near the root. Each node also keeps
+ * the tight bounds of every box in its subtree, which prune queries better
+ * than the loose bounds alone.
+ *
+ * Once inserted, the boxes are copied out in depth-first node order, so a
+ * node's boxes are contiguous and neighbouring nodes sit close in memory.
+ * Queries and results use these positions; {@link #item(int)} maps a
+ * position back to the caller's index.
+ *
+ * Pairs are found from the deeper box of each pair: a query for one box
+ * only descends to the depth of that box's own node, testing the boxes in
+ * shallower nodes and the later boxes at its own depth. Boxes in deeper
+ * nodes are left to their own queries, which find this one in turn.
+ *
+ * The tree is built once and is read-only afterwards, so any number of
+ * threads may query it at the same time, each with its own {@link Matches}.
+ */
+final class LooseOctree {
+    /** Deepest level; boxes smaller than the cells there share their node */
+    static final int MAX_DEPTH = 20;
+
+    // Boxes and their caller indices by position
+    private final double[] boxes;
+    private final int[] items;
+    private final int[] depthAt;
+
+    private double[] centers;
+    private double[] halves;
+    private double[] bounds;
+    private int[] depths;
+    private int[] children;
+    private int[] start;
+    private int[] count;
+    private int nodes;
+
+    /**
+     * Reusable query results and traversal stack, owned by one thread
+     */
+    static final class Matches {
+        private int[] positions = new int[16];
+        private int size;
+        private final int[] stack = new int[7 * MAX_DEPTH + 8];
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return positions[index];
+        }
+
+        private void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+    }
+
+    /**
+     * Builds the tree
+     * @param boxes Six values per box: min x, y, z then max x, y, z
+     * @param size The number of boxes
+     */
+    LooseOctree(double[] boxes, int size) {
+        // Scattered boxes of similar size need about one node each
+        int capacity = Math.max(64, size);
+        centers = new double[capacity * 3];
+        halves = new double[capacity];
+        bounds = new double[capacity * 6];
+        depths = new int[capacity];
+        children = new int[capacity * 8];
+
+        double[] range = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        double largest = 0.0;
+        for (int i = 0; i < size; i++) {
+            for (int axis = 0; axis < 3; axis++) {
+                double center = center(boxes, i, axis);
+                range[axis] = Math.min(range[axis], center);
+                range[axis + 3] = Math.max(range[axis + 3], center);
+                largest = Math.max(largest, extent(boxes, i, axis));
+            }
+        }
+        double half = 0.0;
+        for (int axis = 0; axis < 3; axis++) {
+            half = Math.max(half, (range[axis + 3] - range[axis]) / 2);
+        }
+        // Boxes sharing one center still need a cell with a size
+        if (!(half > 0)) {
+            half = largest > 0 ? largest : 1.0;
+        }
+        newNode(size == 0 ? 0 : (range[0] + range[3]) / 2, size == 0 ? 0 : (range[1] + range[4]) / 2,
+            size == 0 ? 0 : (range[2] + range[5]) / 2, half, 0);
+        int[] nodeOf = new int[size];
+        for (int i = 0; i < size; i++) {
+            nodeOf[i] = insert(boxes, i);
+        }
+
+        // Number the nodes depth first, then lay each node's boxes out in that order
+        count = new int[nodes];
+        for (int i = 0; i < size; i++) {
+            count[nodeOf[i]]++;
+        }
+        start = new int[nodes];
+        int[] stack = new int[7 * MAX_DEPTH + 8];
+        int top = 0;
+        int position = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            start[node] = position;
+            position += count[node];
+            for (int octant = 7; octant >= 0; octant--) {
+                int child = children[node * 8 + octant];
+                if (child != 0) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        int[] filled = new int[nodes];
+        this.boxes = new double[size * 6];
+        this.items = new int[size];
+        this.depthAt = new int[size];
+        for (int i = 0; i < size; i++) {
+            int node = nodeOf[i];
+            int at = start[node] + filled[node]++;
+            System.arraycopy(boxes, i * 6, this.boxes, at * 6, 6);
+            items[at] = i;
+            depthAt[at] = depths[node];
+        }
+    }
+
+    /**
+     * Gets the number of nodes in the tree
+     * @return The node count, at least one
+     */
+    int nodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Gets the caller's index of the box at a position
+     * @param position The position, from 0 to the number of boxes
+     * @return The index of the box in the array the tree was built from
+     */
+    int item(int position) {
+        return items[position];
+    }
+
+    /**
+     * Finds the boxes overlapping a given one that are stored no deeper than it
+     * @param position The position of the query box
+     * @param matches Receives the positions of overlapping boxes in shallower
+     *                nodes, and of overlapping later boxes at the same depth, in no particular order
+     */
+    void overlapping(int position, Matches matches) {
+        matches.size = 0;
+        int[] stack = matches.stack;
+        int base = position * 6;
+        double minX = boxes[base];
+        double minY = boxes[base + 1];
+        double minZ = boxes[base + 2];
+        double maxX = boxes[base + 3];
+        double maxY = boxes[base + 4];
+        double maxZ = boxes[base + 5];
+        int depth = depthAt[position];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            boolean above = depths[node] < depth;
+            int from = above ? start[node] : Math.max(start[node], position + 1);
+            for (int other = from, end = start[node] + count[node]; other < end; other++) {
+                int o = other * 6;
+                if (boxes[o] <= maxX && minX <= boxes[o + 3] && boxes[o + 1] <= maxY
+                    && minY <= boxes[o + 4] && boxes[o + 2] <= maxZ && minZ <= boxes[o + 5]) {
+                    matches.add(other);
+                }
+            }
+            if (!above) {
+                continue;
+            }
+            for (int octant = 0; octant < 8; octant++) {
+                int child = children[node * 8 + octant];
+                if (child == 0) {
+                    continue;
+                }
+                int b = child * 6;
+                if (bounds[b] <= maxX && minX <= bounds[b + 3] && bounds[b + 1] <= maxY
+                    && minY <= bounds[b + 4] && bounds[b + 2] <= maxZ && minZ <= bounds[b + 5]) {
+                    stack[top++] = child;
+                }
+            }
+        }
+    }
+
+    private int insert(double[] boxes, int item) {
+        double x = center(boxes, item, 0);
+        double y = center(boxes, item, 1);
+        double z = center(boxes, item, 2);
+        double extent = Math.max(extent(boxes, item, 0), Math.max(extent(boxes, item, 1), extent(boxes, item, 2)));
+        int node = 0;
+        grow(node, boxes, item);
+        for (int depth = 0; depth < MAX_DEPTH && extent <= halves[node] / 2; depth++) {
+            int c = node * 3;
+            int octant = (x >= centers[c] ? 1 : 0) | (y >= centers[c + 1] ? 2 : 0) | (z >= centers[c + 2] ? 4 : 0);
+            int child = children[node * 8 + octant];
+            if (child == 0) {
+                double quarter = halves[node] / 2;
+                child = newNode(centers[c] + ((octant & 1) != 0 ? quarter : -quarter),
+                    centers[c + 1] + ((octant & 2) != 0 ? quarter : -quarter),
+                    centers[c + 2] + ((octant & 4) != 0 ? quarter : -quarter), quarter, depth + 1);
+                children[node * 8 + octant] = child;
+            }
+            node = child;
+            grow(node, boxes, item);
+        }
+        return node;
+    }
+
+    // Extends a node's subtree bounds to cover a box
+    private void grow(int node, double[] boxes, int item) {
+        int b = node * 6;
+        int o = item * 6;
+        for (int k = 0; k < 3; k++) {
+            bounds[b + k] = Math.min(bounds[b + k], boxes[o + k]);
+            bounds[b + k + 3] = Math.max(bounds[b + k + 3], boxes[o + k + 3]);
+        }
+    }
+
+    private int newNode(double x, double y, double z, double half, int depth) {
+        if (nodes == halves.length) {
+            int capacity = nodes * 2;
+            centers = Arrays.copyOf(centers, capacity * 3);
+            halves = Arrays.copyOf(halves, capacity);
+            children = Arrays.copyOf(children, capacity * 8);
+            bounds = Arrays.copyOf(bounds, capacity * 6);
+            depths = Arrays.copyOf(depths, capacity);
+        }
+        int node = nodes++;
+        centers[node * 3] = x;
+        centers[node * 3 + 1] = y;
+        centers[node * 3 + 2] = z;
+        halves[node] = half;
+        depths[node] = depth;
+        Arrays.fill(bounds, node * 6, node * 6 + 3, Double.POSITIVE_INFINITY);
+        Arrays.fill(bounds, node * 6 + 3, node * 6 + 6, Double.NEGATIVE_INFINITY);
+        return node;
+    }
+
+    private static double center(double[] boxes, int item, int axis) {
+        return (boxes[item * 6 + axis] + boxes[item * 6 + axis + 3]) / 2;
+    }
+
+    private static double extent(double[] boxes, int item, int axis) {
+        return (boxes[item * 6 + axis + 3] - boxes[item * 6 + axis]) / 2;
+    }
+}
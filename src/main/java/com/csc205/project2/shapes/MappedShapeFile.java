@@ -0,0 +1,185 @@
+package com.csc205.project2.shapes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Read-only shape columns backed by a memory-mapped binary shape file (see
+ * {@link ShapeFileFormat}). Each column section is mapped directly and read
+ * in place, so opening a file costs only the header checks and decoding the
+ * string dictionary, however many rows it holds. Rows are exposed through
+ * {@link ShapeView} flyweights, or can be materialized with
+ * {@link #toShape(int)}.
+ *
+ * The mapping stays valid after {@link #open(Path)} returns and is released
+ * when this object is garbage collected. Renaming and dimension changes are
+ * not supported.
+ */
+public class MappedShapeFile implements ShapeColumns {
+    private final int size;
+    private final ByteBuffer types;
+    private final DoubleBuffer[] dimensions = new DoubleBuffer[ShapeType.MAX_DIMENSIONS];
+    private final IntBuffer nameCodes;
+    private final IntBuffer colorCodes;
+    private final String[] strings;
+
+    private MappedShapeFile(FileChannel channel, Path path) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < ShapeFileFormat.HEADER_SIZE) {
+            throw new IOException("Not a shape file: " + path);
+        }
+        ByteBuffer header = map(channel, 0, ShapeFileFormat.HEADER_SIZE);
+        if (header.getInt(0) != ShapeFileFormat.MAGIC) {
+            throw new IOException("Not a shape file: " + path);
+        }
+        short version = header.getShort(4);
+        if (version != ShapeFileFormat.VERSION) {
+            throw new IOException("Unsupported shape file version: " + version);
+        }
+        size = header.getInt(ShapeFileFormat.ROW_COUNT);
+        int stringCount = header.getInt(ShapeFileFormat.STRING_COUNT);
+        if (size < 0 || stringCount < 0 || header.getShort(6) < ShapeFileFormat.HEADER_SIZE) {
+            throw new IOException("Corrupt shape file header: " + path);
+        }
+
+        types = map(channel, checkSection(header, ShapeFileFormat.TYPES_OFFSET, Byte.BYTES, fileSize), size);
+        for (int slot = 0; slot < dimensions.length; slot++) {
+            long offset = checkSection(header, ShapeFileFormat.DIMENSION_OFFSETS + slot * Long.BYTES, Double.BYTES, fileSize);
+            dimensions[slot] = map(channel, offset, (long) size * Double.BYTES).asDoubleBuffer();
+        }
+        nameCodes = map(channel, checkSection(header, ShapeFileFormat.NAME_CODES_OFFSET, Integer.BYTES, fileSize),
+            (long) size * Integer.BYTES).asIntBuffer();
+        colorCodes = map(channel, checkSection(header, ShapeFileFormat.COLOR_CODES_OFFSET, Integer.BYTES, fileSize),
+            (long) size * Integer.BYTES).asIntBuffer();
+
+        long dictionaryOffset = header.getLong(ShapeFileFormat.DICTIONARY_OFFSET);
+        if (dictionaryOffset < ShapeFileFormat.HEADER_SIZE || dictionaryOffset > fileSize) {
+            throw new IOException("Corrupt shape file dictionary: " + path);
+        }
+        ByteBuffer dictionary = map(channel, dictionaryOffset, fileSize - dictionaryOffset);
+        strings = new String[stringCount];
+        byte[] bytes = new byte[64];
+        for (int code = 0; code < stringCount; code++) {
+            int length = dictionary.remaining() >= Integer.BYTES ? dictionary.getInt() : -1;
+            if (length < 0 || length > dictionary.remaining()) {
+                throw new IOException("Corrupt shape file dictionary: " + path);
+            }
+            if (length > bytes.length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            dictionary.get(bytes, 0, length);
+            strings[code] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Opens and maps a binary shape file
+     * @param path The file to open
+     * @return Read-only columns over the file
+     * @throws IOException if the file cannot be read, is not a shape file or has an unsupported version
+     */
+    public static MappedShapeFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedShapeFile(channel, path);
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Shape file column too large to map: " + length + " bytes");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ShapeFileFormat.BYTE_ORDER);
+    }
+
+    /**
+     * Reads a section offset from the header and checks that the section lies inside the file
+     */
+    private long checkSection(ByteBuffer header, int field, int elementSize, long fileSize) throws IOException {
+        long offset = header.getLong(field);
+        if (offset < ShapeFileFormat.HEADER_SIZE || offset > fileSize - (long) size * elementSize) {
+            throw new IOException("Corrupt shape file: section out of bounds at offset " + offset);
+        }
+        return offset;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public ShapeType getType(int row) {
+        return ShapeType.fromTag(types.get(checkRow(row)));
+    }
+
+    /**
+     * Gets the raw type tag of a row
+     * @param row The row index
+     * @return The type tag
+     */
+    public byte getTypeTag(int row) {
+        return types.get(checkRow(row));
+    }
+
+    @Override
+    public double getDimension(int row, int slot) {
+        if (slot < 0 || slot >= ShapeType.MAX_DIMENSIONS) {
+            throw new IndexOutOfBoundsException("Dimension slot out of range: " + slot);
+        }
+        return dimensions[slot].get(checkRow(row));
+    }
+
+    @Override
+    public String getName(int row) {
+        return decode(nameCodes.get(checkRow(row)));
+    }
+
+    @Override
+    public String getColor(int row) {
+        return decode(colorCodes.get(checkRow(row)));
+    }
+
+    /**
+     * Gets the number of distinct names and colors in the file
+     * @return The string dictionary size
+     */
+    public int getDictionarySize() {
+        return strings.length;
+    }
+
+    /**
+     * Visits every row through a single reused flyweight view.
+     * The view is repositioned between calls, so it must not be retained.
+     * @param action The action to perform for each row
+     */
+    public void forEach(Consumer<? super ShapeView> action) {
+        ShapeView view = new ShapeView(this, 0);
+        for (int i = 0; i < size; i++) {
+            action.accept(view.moveTo(i));
+        }
+    }
+
+    private String decode(int code) {
+        if (code == AttributeDictionary.NULL_CODE) {
+            return null;
+        }
+        if (code < 0 || code >= strings.length) {
+            throw new IllegalStateException("Corrupt shape file: unknown string code " + code);
+        }
+        return strings[code];
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row out of range: " + row);
+        }
+        return row;
+    }
+}
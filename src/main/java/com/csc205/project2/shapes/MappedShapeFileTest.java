@@ -0,0 +1,199 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for the binary shape file format
+ * Tests exact round trips through ShapeFileWriter and MappedShapeFile
+ * and rejection of files that are not valid shape files
+ */
+@DisplayName("Binary Shape File Tests")
+class MappedShapeFileTest {
+
+    @TempDir
+    Path dir;
+
+    private static void assertSameShape(Shape3D expected, Shape3D actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getColor(), actual.getColor());
+        assertEquals(expected.getVolume(), actual.getVolume());
+        assertEquals(expected.getSurfaceArea(), actual.getSurfaceArea());
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Nested
+    @DisplayName("Round Trip Tests")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Every concrete shape class round-trips exactly")
+        void everyClassRoundTrips() throws IOException {
+            ShapeStore store = new ShapeStore();
+            store.add(new Cube("Stored Box", "Silver", 1.0 / 3.0));
+            List<Shape3D> shapes = List.of(
+                new Sphere("Red Ball", "Crimson", 5.0),
+                new Cube("Blue Box", "Navy", 4.0),
+                new Cylinder("Green Tube", "Forest", Math.PI, 6.1),
+                new RectangularPrism("Yellow Block", "Gold", 0.1, 0.2, 0.3),
+                new Cone("Purple Peak", "Violet", Math.E, 8.0),
+                store.view(0)
+            );
+            Path file = dir.resolve("shapes.bin");
+
+            ShapeFileWriter.write(file, shapes);
+            MappedShapeFile mapped = MappedShapeFile.open(file);
+
+            assertEquals(shapes.size(), mapped.size());
+            for (int i = 0; i < 5; i++) {
+                assertSameShape(shapes.get(i), mapped.toShape(i));
+                assertEquals(shapes.get(i).toString(), mapped.view(i).toString());
+            }
+            assertSameShape(store.toShape(0), mapped.toShape(5));
+            assertEquals(ShapeType.CUBE, mapped.getType(5));
+        }
+
+        @Test
+        @DisplayName("Random dimensions round-trip bit for bit")
+        void randomDimensionsRoundTrip() throws IOException {
+            Random random = new Random(205);
+            ShapeType[] types = ShapeType.values();
+            ShapeStore store = new ShapeStore();
+            for (int i = 0; i < 20_000; i++) {
+                store.add(types[random.nextInt(types.length)], "Shape " + (i % 97), "Color " + (i % 13),
+                    Double.MIN_VALUE + random.nextDouble() * 1e6, 1e-300 + random.nextDouble(), random.nextDouble() + 1);
+            }
+            Path file = dir.resolve("random.bin");
+
+            ShapeFileWriter.write(file, store);
+            MappedShapeFile mapped = MappedShapeFile.open(file);
+
+            assertEquals(store.size(), mapped.size());
+            assertEquals(97 + 13, mapped.getDictionarySize());
+            for (int row = 0; row < store.size(); row++) {
+                assertEquals(store.getType(row), mapped.getType(row));
+                for (int slot = 0; slot < ShapeType.MAX_DIMENSIONS; slot++) {
+                    assertEquals(Double.doubleToRawLongBits(store.getDimension(row, slot)),
+                        Double.doubleToRawLongBits(mapped.getDimension(row, slot)));
+                }
+                assertSame(mapped.getName(row), mapped.getName(row));
+                assertEquals(store.getName(row), mapped.getName(row));
+                assertEquals(store.getColor(row), mapped.getColor(row));
+            }
+        }
+
+        @Test
+        @DisplayName("Null and non-ASCII attributes round-trip")
+        void attributesRoundTrip() throws IOException {
+            Sphere sphere = new Sphere("Kugel ü", "Grün ☃", 2.0);
+            Cube cube = new Cube(3.0);
+            cube.setName(null);
+            Path file = dir.resolve("attributes.bin");
+
+            ShapeFileWriter.write(file, List.of(sphere, cube));
+            MappedShapeFile mapped = MappedShapeFile.open(file);
+
+            assertEquals(sphere.getName(), mapped.getName(0));
+            assertEquals(sphere.getColor(), mapped.getColor(0));
+            assertNull(mapped.getName(1));
+        }
+
+        @Test
+        @DisplayName("Mapped files can be written back out unchanged")
+        void rewriteIsIdentical() throws IOException {
+            Path first = dir.resolve("first.bin");
+            Path second = dir.resolve("second.bin");
+            ShapeFileWriter.write(first, List.of(new Cone("Peak", "Violet", 4.0, 8.0), new Cube("Box", "Navy", 2.0)));
+
+            ShapeFileWriter.write(second, MappedShapeFile.open(first));
+
+            assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+        }
+
+        @Test
+        @DisplayName("Views iterate over every row without copying")
+        void viewsIterate() throws IOException {
+            Path file = dir.resolve("views.bin");
+            ShapeFileWriter.write(file, List.of(new Cube("A", "Navy", 2.0), new Cube("B", "Navy", 3.0)));
+            MappedShapeFile mapped = MappedShapeFile.open(file);
+            List<Double> volumes = new ArrayList<>();
+
+            mapped.forEach(view -> volumes.add(view.getVolume()));
+
+            assertEquals(List.of(8.0, 27.0), volumes);
+            assertThrows(UnsupportedOperationException.class, () -> mapped.view(0).setName("C"));
+        }
+
+        @Test
+        @DisplayName("Empty inputs produce a readable empty file")
+        void emptyFile() throws IOException {
+            Path file = dir.resolve("empty.bin");
+
+            ShapeFileWriter.write(file, List.of());
+
+            assertEquals(0, MappedShapeFile.open(file).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalid File Tests")
+    class InvalidFileTests {
+
+        @Test
+        @DisplayName("Files without the magic number are rejected")
+        void wrongMagic() throws IOException {
+            Path file = dir.resolve("text.csv");
+            Files.writeString(file, "cube,Box,Navy,4\n".repeat(10));
+
+            assertThrows(IOException.class, () -> MappedShapeFile.open(file));
+        }
+
+        @Test
+        @DisplayName("Unsupported versions are rejected")
+        void unsupportedVersion() throws IOException {
+            Path file = dir.resolve("future.bin");
+            ShapeFileWriter.write(file, List.of(new Cube(1.0)));
+            byte[] bytes = Files.readAllBytes(file);
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putShort(4, (short) 99);
+            Files.write(file, bytes);
+
+            IOException exception = assertThrows(IOException.class, () -> MappedShapeFile.open(file));
+            assertEquals("Unsupported shape file version: 99", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Truncated files are rejected")
+        void truncatedFile() throws IOException {
+            Path file = dir.resolve("truncated.bin");
+            ShapeFileWriter.write(file, List.of(new Cube(1.0), new Sphere(2.0)));
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, 100));
+
+            assertThrows(IOException.class, () -> MappedShapeFile.open(file));
+        }
+
+        @Test
+        @DisplayName("Rows outside the file are rejected")
+        void rowOutOfRange() throws IOException {
+            Path file = dir.resolve("one.bin");
+            ShapeFileWriter.write(file, List.of(new Cube(1.0)));
+            MappedShapeFile mapped = MappedShapeFile.open(file);
+
+            assertThrows(IndexOutOfBoundsException.class, () -> mapped.getType(1));
+            assertThrows(IndexOutOfBoundsException.class, () -> mapped.getDimension(0, 3));
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.csc205.project2.shapes;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Shape storage outside the Java heap, for stores too large to keep as
+ * primitive arrays under garbage collection. Rows are fixed-width records
+ * in direct buffers, allocated in chunks of {@link #CHUNK_ROWS} rows, so
+ * growing never copies existing rows and the heap holds only one small
+ * buffer object per chunk plus the name and color dictionaries. Volume and
+ * surface area are computed straight from the records.
+ *
+ * <pre>
+ * offset  size  field
+ *      0     8  dimension slot 0
+ *      8     8  dimension slot 1
+ *     16     8  dimension slot 2
+ *     24     4  name code
+ *     28     4  color code
+ *     32     1  type tag
+ *     33     7  padding to an 8-byte boundary
+ * </pre>
+ *
+ * {@link #close()} releases the chunks and makes every later access fail.
+ * The native memory is returned when the released buffers are collected,
+ * not at the moment of closing.
+ *
+ * The chunks are direct buffers, so the store's total size is capped by
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size.
+ * Set it explicitly to keep a large store alongside a small heap: nearing
+ * the cap makes the JDK call {@code System.gc()} before failing with an
+ * {@link OutOfMemoryError}. Like {@link ShapeStore}, a store is not thread-safe.
+ */
+public class OffHeapShapeStore implements ShapeColumns, AutoCloseable {
+    /** Number of rows per off-heap chunk */
+    public static final int CHUNK_ROWS = 1 << 16;
+    /** Size of one row record in bytes */
+    public static final int RECORD_SIZE = 40;
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_MASK = CHUNK_ROWS - 1;
+    private static final int NAME_CODE = 24;
+    private static final int COLOR_CODE = 28;
+    private static final int TYPE_TAG = 32;
+
+    private final AttributeDictionary names = new AttributeDictionary();
+    private final AttributeDictionary colors = new AttributeDictionary();
+
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    private int chunkCount;
+    private int size;
+    private boolean closed;
+
+    /**
+     * Default constructor; the first chunk is allocated by the first row
+     */
+    public OffHeapShapeStore() {
+        this(0);
+    }
+
+    /**
+     * Constructor with initial capacity
+     * @param initialCapacity The number of rows to reserve, rounded up to whole chunks
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public OffHeapShapeStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative");
+        }
+        while ((long) chunkCount * CHUNK_ROWS < initialCapacity) {
+            addChunk();
+        }
+    }
+
+    /**
+     * Appends a copy of an existing shape
+     * @param shape The shape to copy
+     * @return The row index of the new row
+     */
+    public int add(Shape3D shape) {
+        double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+        ShapeType type = ShapeType.dimensionsOf(shape, dims);
+        return append(type, names.encode(shape.getName()), colors.encode(shape.getColor()),
+            dims[0], dims[1], dims[2]);
+    }
+
+    /**
+     * Appends copies of several existing shapes
+     * @param shapes The shapes to copy
+     */
+    public void addAll(Iterable<? extends Shape3D> shapes) {
+        double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+        for (Shape3D shape : shapes) {
+            ShapeType type = ShapeType.dimensionsOf(shape, dims);
+            append(type, names.encode(shape.getName()), colors.encode(shape.getColor()),
+                dims[0], dims[1], dims[2]);
+        }
+    }
+
+    /**
+     * Appends a shape from raw values, validated like the shape constructors
+     * @param type The shape type
+     * @param name The name of the shape
+     * @param color The color of the shape
+     * @param d0 First dimension slot
+     * @param d1 Second dimension slot (ignored if unused)
+     * @param d2 Third dimension slot (ignored if unused)
+     * @return The row index of the new row
+     * @throws IllegalArgumentException if any used dimension is negative or zero
+     */
+    public int add(ShapeType type, String name, String color, double d0, double d1, double d2) {
+        type.validate(d0, d1, d2);
+        int count = type.getDimensionCount();
+        return append(type, names.encode(name), colors.encode(color),
+            d0, count > 1 ? d1 : 0.0, count > 2 ? d2 : 0.0);
+    }
+
+    private int append(ShapeType type, int nameCode, int colorCode, double d0, double d1, double d2) {
+        ensureOpen();
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Store is full");
+        }
+        if (size == chunkCount * CHUNK_ROWS) {
+            addChunk();
+        }
+        int row = size++;
+        ByteBuffer chunk = chunks[row >>> CHUNK_SHIFT];
+        int base = (row & CHUNK_MASK) * RECORD_SIZE;
+        chunk.putDouble(base, d0)
+            .putDouble(base + Double.BYTES, d1)
+            .putDouble(base + 2 * Double.BYTES, d2)
+            .putInt(base + NAME_CODE, nameCode)
+            .putInt(base + COLOR_CODE, colorCode)
+            .put(base + TYPE_TAG, type.getTag());
+        return row;
+    }
+
+    private void addChunk() {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(4, chunks.length * 2));
+        }
+        chunks[chunkCount++] = ByteBuffer.allocateDirect(CHUNK_ROWS * RECORD_SIZE).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Removes all rows, keeping the allocated chunks; dictionaries keep their codes
+     */
+    public void clear() {
+        ensureOpen();
+        size = 0;
+    }
+
+    /**
+     * Releases the off-heap chunks; any later access except closing again fails
+     */
+    @Override
+    public void close() {
+        closed = true;
+        chunks = new ByteBuffer[0];
+        chunkCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Gets the number of bytes reserved outside the heap
+     * @return The allocated chunk capacity in bytes
+     */
+    public long getOffHeapBytes() {
+        return (long) chunkCount * CHUNK_ROWS * RECORD_SIZE;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public ShapeType getType(int row) {
+        return ShapeType.fromTag(getTypeTag(row));
+    }
+
+    /**
+     * Gets the raw type tag of a row
+     * @param row The row index
+     * @return The type tag
+     */
+    public byte getTypeTag(int row) {
+        return chunk(row).get(base(row) + TYPE_TAG);
+    }
+
+    @Override
+    public double getDimension(int row, int slot) {
+        if (slot < 0 || slot >= ShapeType.MAX_DIMENSIONS) {
+            throw new IndexOutOfBoundsException("Dimension slot out of range: " + slot);
+        }
+        return chunk(row).getDouble(base(row) + slot * Double.BYTES);
+    }
+
+    /**
+     * Sets a dimension slot of a row, validated like the shape setters
+     * @param row The row index
+     * @param slot The dimension slot used by the row's type
+     * @param value The new dimension value
+     * @throws IllegalArgumentException if value is negative or zero
+     * @throws IndexOutOfBoundsException if the slot is not used by the row's type
+     */
+    public void setDimension(int row, int slot, double value) {
+        ShapeType type = getType(row);
+        if (slot < 0 || slot >= type.getDimensionCount()) {
+            throw new IndexOutOfBoundsException("Dimension slot " + slot + " is not used by " + type.getSimpleName());
+        }
+        if (value <= 0) {
+            throw new IllegalArgumentException(type.getDimensionName(slot) + " must be positive and greater than zero");
+        }
+        chunk(row).putDouble(base(row) + slot * Double.BYTES, value);
+    }
+
+    @Override
+    public String getName(int row) {
+        return names.decode(getNameCode(row));
+    }
+
+    @Override
+    public String getColor(int row) {
+        return colors.decode(getColorCode(row));
+    }
+
+    @Override
+    public void setName(int row, String name) {
+        chunk(row).putInt(base(row) + NAME_CODE, names.encode(name));
+    }
+
+    @Override
+    public void setColor(int row, String color) {
+        chunk(row).putInt(base(row) + COLOR_CODE, colors.encode(color));
+    }
+
+    /**
+     * Gets the dictionary code of a row's name
+     * @param row The row index
+     * @return The name code
+     */
+    public int getNameCode(int row) {
+        return chunk(row).getInt(base(row) + NAME_CODE);
+    }
+
+    /**
+     * Gets the dictionary code of a row's color
+     * @param row The row index
+     * @return The color code
+     */
+    public int getColorCode(int row) {
+        return chunk(row).getInt(base(row) + COLOR_CODE);
+    }
+
+    /**
+     * Gets the dictionary used to encode names
+     * @return The name dictionary
+     */
+    public AttributeDictionary getNameDictionary() {
+        return names;
+    }
+
+    /**
+     * Gets the dictionary used to encode colors
+     * @return The color dictionary
+     */
+    public AttributeDictionary getColorDictionary() {
+        return colors;
+    }
+
+    @Override
+    public double getVolume(int row) {
+        ByteBuffer chunk = chunk(row);
+        int base = base(row);
+        return ShapeType.fromTag(chunk.get(base + TYPE_TAG)).volume(chunk.getDouble(base),
+            chunk.getDouble(base + Double.BYTES), chunk.getDouble(base + 2 * Double.BYTES));
+    }
+
+    @Override
+    public double getSurfaceArea(int row) {
+        ByteBuffer chunk = chunk(row);
+        int base = base(row);
+        return ShapeType.fromTag(chunk.get(base + TYPE_TAG)).surfaceArea(chunk.getDouble(base),
+            chunk.getDouble(base + Double.BYTES), chunk.getDouble(base + 2 * Double.BYTES));
+    }
+
+    /**
+     * Computes the volume of every row into an output column
+     * @param out Destination array of at least {@link #size()} elements
+     */
+    public void volumes(double[] out) {
+        checkOutput(out);
+        for (int c = 0, row = 0; row < size; c++) {
+            ByteBuffer chunk = chunks[c];
+            int end = Math.min(size - row, CHUNK_ROWS) * RECORD_SIZE;
+            for (int base = 0; base < end; base += RECORD_SIZE) {
+                out[row++] = ShapeType.fromTag(chunk.get(base + TYPE_TAG)).volume(chunk.getDouble(base),
+                    chunk.getDouble(base + Double.BYTES), chunk.getDouble(base + 2 * Double.BYTES));
+            }
+        }
+    }
+
+    /**
+     * Computes the surface area of every row into an output column
+     * @param out Destination array of at least {@link #size()} elements
+     */
+    public void surfaceAreas(double[] out) {
+        checkOutput(out);
+        for (int c = 0, row = 0; row < size; c++) {
+            ByteBuffer chunk = chunks[c];
+            int end = Math.min(size - row, CHUNK_ROWS) * RECORD_SIZE;
+            for (int base = 0; base < end; base += RECORD_SIZE) {
+                out[row++] = ShapeType.fromTag(chunk.get(base + TYPE_TAG)).surfaceArea(chunk.getDouble(base),
+                    chunk.getDouble(base + Double.BYTES), chunk.getDouble(base + 2 * Double.BYTES));
+            }
+        }
+    }
+
+    /**
+     * Computes the total volume of all rows
+     * @return The sum of all volumes
+     */
+    public double totalVolume() {
+        ensureOpen();
+        double total = 0.0;
+        for (int c = 0, row = 0; row < size; c++) {
+            ByteBuffer chunk = chunks[c];
+            int rows = Math.min(size - row, CHUNK_ROWS);
+            int end = rows * RECORD_SIZE;
+            for (int base = 0; base < end; base += RECORD_SIZE) {
+                total += ShapeType.fromTag(chunk.get(base + TYPE_TAG)).volume(chunk.getDouble(base),
+                    chunk.getDouble(base + Double.BYTES), chunk.getDouble(base + 2 * Double.BYTES));
+            }
+            row += rows;
+        }
+        return total;
+    }
+
+    /**
+     * Computes the total surface area of all rows
+     * @return The sum of all surface areas
+     */
+    public double totalSurfaceArea() {
+        ensureOpen();
+        double total = 0.0;
+        for (int c = 0, row = 0; row < size; c++) {
+            ByteBuffer chunk = chunks[c];
+            int rows = Math.min(size - row, CHUNK_ROWS);
+            int end = rows * RECORD_SIZE;
+            for (int base = 0; base < end; base += RECORD_SIZE) {
+                total += ShapeType.fromTag(chunk.get(base + TYPE_TAG)).surfaceArea(chunk.getDouble(base),
+                    chunk.getDouble(base + Double.BYTES), chunk.getDouble(base + 2 * Double.BYTES));
+            }
+            row += rows;
+        }
+        return total;
+    }
+
+    /**
+     * Visits every row through a single reused flyweight view.
+     * The view is repositioned between calls, so it must not be retained.
+     * @param action The action to perform for each row
+     */
+    public void forEach(Consumer<? super ShapeView> action) {
+        ensureOpen();
+        ShapeView view = new ShapeView(this, 0);
+        for (int i = 0; i < size; i++) {
+            action.accept(view.moveTo(i));
+        }
+    }
+
+    private ByteBuffer chunk(int row) {
+        if (row < 0 || row >= size) {
+            ensureOpen();
+            throw new IndexOutOfBoundsException("Row out of range: " + row);
+        }
+        return chunks[row >>> CHUNK_SHIFT];
+    }
+
+    private static int base(int row) {
+        return (row & CHUNK_MASK) * RECORD_SIZE;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Store is closed");
+        }
+    }
+
+    private void checkOutput(double[] out) {
+        ensureOpen();
+        if (out.length < size) {
+            throw new IllegalArgumentException("Output array too small: " + out.length + " < " + size);
+        }
+    }
+}
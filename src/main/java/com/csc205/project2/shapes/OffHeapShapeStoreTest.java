@@ -0,0 +1,128 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for OffHeapShapeStore
+ * Tests that off-heap rows match the on-heap store exactly, across chunk
+ * boundaries, and that a closed store can no longer be read
+ */
+@DisplayName("OffHeapShapeStore Tests")
+class OffHeapShapeStoreTest {
+
+    // Repeated names and colors exercise the dictionaries
+    private static final String[] NAMES = ShapeFixtures.labels("Shape", 100);
+    private static final String[] COLORS = ShapeFixtures.labels("Color", 8);
+
+    @Nested
+    @DisplayName("Storage Tests")
+    class StorageTests {
+
+        @Test
+        @DisplayName("Rows and metrics match the on-heap store across chunk boundaries")
+        void matchesShapeStore() {
+            List<Shape3D> shapes =
+                ShapeFixtures.randomShapes(OffHeapShapeStore.CHUNK_ROWS + 1_000, 205, NAMES, COLORS);
+            ShapeStore heap = new ShapeStore();
+            heap.addAll(shapes);
+            try (OffHeapShapeStore store = new OffHeapShapeStore()) {
+                store.addAll(shapes);
+
+                assertEquals(heap.size(), store.size());
+                assertEquals(2L * OffHeapShapeStore.CHUNK_ROWS * OffHeapShapeStore.RECORD_SIZE, store.getOffHeapBytes());
+                for (int row = 0; row < heap.size(); row += 97) {
+                    assertEquals(heap.getType(row), store.getType(row));
+                    assertEquals(heap.getName(row), store.getName(row));
+                    assertEquals(heap.getColor(row), store.getColor(row));
+                    for (int slot = 0; slot < ShapeType.MAX_DIMENSIONS; slot++) {
+                        assertEquals(heap.getDimension(row, slot), store.getDimension(row, slot));
+                    }
+                    assertEquals(heap.getVolume(row), store.getVolume(row));
+                    assertEquals(heap.getSurfaceArea(row), store.getSurfaceArea(row));
+                }
+                assertEquals(heap.totalVolume(), store.totalVolume());
+                assertEquals(heap.totalSurfaceArea(), store.totalSurfaceArea());
+
+                double[] expected = new double[heap.size()];
+                double[] actual = new double[store.size()];
+                heap.surfaceAreas(expected);
+                store.surfaceAreas(actual);
+                assertArrayEquals(expected, actual);
+                heap.volumes(expected);
+                store.volumes(actual);
+                assertArrayEquals(expected, actual);
+            }
+        }
+
+        @Test
+        @DisplayName("Rows can be updated in place and read through views")
+        void updatesAndViews() {
+            try (OffHeapShapeStore store = new OffHeapShapeStore(10)) {
+                int row = store.add(ShapeType.CYLINDER, "Tube", "Forest", 3.0, 6.0, 99.0);
+                store.setDimension(row, 1, 2.0);
+                store.setName(row, "Pipe");
+                store.setColor(row, null);
+
+                assertEquals(0.0, store.getDimension(row, 2));
+                assertEquals(new CylinderValue("Pipe", null, 3.0, 2.0), ShapeValue.of(store.view(row)));
+                assertEquals(new Cylinder("Pipe", null, 3.0, 2.0).getVolume(), store.toShape(row).getVolume());
+                assertEquals(OffHeapShapeStore.CHUNK_ROWS * (long) OffHeapShapeStore.RECORD_SIZE, store.getOffHeapBytes());
+            }
+        }
+
+        @Test
+        @DisplayName("Invalid dimensions and rows are rejected")
+        void rejections() {
+            try (OffHeapShapeStore store = new OffHeapShapeStore()) {
+                IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> store.add(ShapeType.CONE, "K", "C", 1.0, -2.0, 0.0));
+                assertEquals("Height must be positive and greater than zero", exception.getMessage());
+
+                store.add(new Sphere("Ball", "Red", 1.0));
+                assertThrows(IndexOutOfBoundsException.class, () -> store.getVolume(1));
+                assertThrows(IndexOutOfBoundsException.class, () -> store.setDimension(0, 1, 2.0));
+                assertThrows(IllegalArgumentException.class, () -> store.setDimension(0, 0, 0.0));
+                assertThrows(IllegalArgumentException.class, () -> new OffHeapShapeStore(-1));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Lifecycle Tests")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("A closed store releases its chunks and rejects access")
+        void closeReleases() {
+            OffHeapShapeStore store = new OffHeapShapeStore();
+            store.add(new Cube("Box", "Navy", 2.0));
+            store.close();
+            store.close();
+
+            assertEquals(0, store.size());
+            assertEquals(0, store.getOffHeapBytes());
+            assertThrows(IllegalStateException.class, () -> store.getVolume(0));
+            assertThrows(IllegalStateException.class, () -> store.add(new Cube("Box", "Navy", 2.0)));
+            assertThrows(IllegalStateException.class, store::totalVolume);
+        }
+
+        @Test
+        @DisplayName("Clearing keeps the chunks for reuse")
+        void clearKeepsChunks() {
+            try (OffHeapShapeStore store = new OffHeapShapeStore()) {
+                store.add(new Cube("Box", "Navy", 2.0));
+                long reserved = store.getOffHeapBytes();
+                store.clear();
+                store.add(new Sphere("Ball", "Red", 1.0));
+
+                assertEquals(1, store.size());
+                assertEquals(reserved, store.getOffHeapBytes());
+                assertEquals(ShapeType.SPHERE, store.getType(0));
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable rotation stored as a unit quaternion w + xi + yj + zk.
+ * The canonical constructor normalizes its components, so any non-zero
+ * quaternion describes a valid rotation.
+ * @param w The scalar component
+ * @param x The i component
+ * @param y The j component
+ * @param z The k component
+ */
+public record Orientation(double w, double x, double y, double z) {
+    /** The rotation that leaves every vector unchanged */
+    public static final Orientation IDENTITY = new Orientation(1.0, 0.0, 0.0, 0.0);
+
+    /**
+     * Canonical constructor
+     * @throws IllegalArgumentException if the quaternion has zero or non-finite length
+     */
+    public Orientation {
+        double length = Math.sqrt(w * w + x * x + y * y + z * z);
+        if (!(length > 0) || Double.isInfinite(length)) {
+            throw new IllegalArgumentException("Orientation must be a finite non-zero quaternion");
+        }
+        w /= length;
+        x /= length;
+        y /= length;
+        z /= length;
+    }
+
+    /**
+     * Creates a rotation about an axis
+     * @param axis The axis of rotation; need not be unit length
+     * @param angle The angle in radians, counterclockwise looking down the axis
+     * @return The rotation
+     * @throws IllegalArgumentException if the axis has zero or non-finite length
+     */
+    public static Orientation about(Vector3 axis, double angle) {
+        Vector3 unit = axis.normalized();
+        double sin = Math.sin(angle / 2);
+        return new Orientation(Math.cos(angle / 2), unit.x() * sin, unit.y() * sin, unit.z() * sin);
+    }
+
+    /**
+     * Rotates a vector
+     * @param v The vector to rotate
+     * @return The rotated vector
+     */
+    public Vector3 rotate(Vector3 v) {
+        return rotate(w, x, y, z, v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Applies the opposite rotation to a vector
+     * @param v The vector to rotate back
+     * @return The vector rotated by the inverse of this rotation
+     */
+    public Vector3 inverseRotate(Vector3 v) {
+        return rotate(w, -x, -y, -z, v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Combines this rotation with one applied after it
+     * @param next The rotation to apply second
+     * @return The combined rotation
+     */
+    public Orientation then(Orientation next) {
+        return new Orientation(
+            next.w * w - next.x * x - next.y * y - next.z * z,
+            next.w * x + next.x * w + next.y * z - next.z * y,
+            next.w * y - next.x * z + next.y * w + next.z * x,
+            next.w * z + next.x * y - next.y * x + next.z * w);
+    }
+
+    /**
+     * Checks whether this is the identity rotation
+     * @return true if rotating leaves every vector unchanged
+     */
+    public boolean isIdentity() {
+        return x == 0.0 && y == 0.0 && z == 0.0;
+    }
+
+    // v' = v + 2w(q × v) + 2q × (q × v) for the vector part q
+    private static Vector3 rotate(double w, double qx, double qy, double qz, double vx, double vy, double vz) {
+        double tx = 2 * (qy * vz - qz * vy);
+        double ty = 2 * (qz * vx - qx * vz);
+        double tz = 2 * (qx * vy - qy * vx);
+        return new Vector3(
+            vx + w * tx + (qy * tz - qz * ty),
+            vy + w * ty + (qz * tx - qx * tz),
+            vz + w * tz + (qx * ty - qy * tx));
+    }
+}
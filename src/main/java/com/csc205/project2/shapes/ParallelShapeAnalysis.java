@@ -0,0 +1,217 @@
+package com.csc205.project2.shapes;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Comprehensive analysis of a large collection computed in one fork-join pass.
+ * The collection is split into ranges that are analyzed in parallel: each
+ * range evaluates every shape's volume and surface area once, and finds its
+ * extremes and type counts. Partial results are then combined
+ * pairwise. The efficiency ranking is ordered with a parallel stable sort.
+ *
+ * The report is identical to the sequential sections in {@link ShapeDriver}.
+ * Extremes keep the earliest shape on ties and the type distribution is
+ * built in order of first appearance, as the streams there do. Volume and
+ * surface totals are summed in list order over the computed values,
+ * because compensated summation depends on the order of the additions.
+ */
+class ParallelShapeAnalysis {
+    /** Smallest range worth splitting further */
+    static final int MIN_SPLIT = 1024;
+
+    private static final Comparator<ShapeDriver.ShapeEfficiency> BY_RATIO_DESCENDING =
+        Comparator.comparingDouble(ShapeDriver.ShapeEfficiency::getRatio).reversed();
+
+    private final Shape3D[] shapes;
+    private final double[] volumes;
+    private final double[] surfaceAreas;
+    private final ShapeDriver.ShapeEfficiency[] efficiencies;
+    private final Partial result;
+
+    /**
+     * Extremes and type counts of one range; indices are -1 for an empty range
+     */
+    private static final class Partial {
+        private int largestVolume = -1;
+        private int smallestVolume = -1;
+        private int largestSurface = -1;
+        private int smallestSurface = -1;
+        // Counts per class, in order of first appearance
+        private final Map<Class<?>, long[]> typeCounts = new LinkedHashMap<>();
+    }
+
+    private final class AnalysisTask extends RecursiveTask<Partial> {
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        private AnalysisTask(int from, int to, int threshold) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= threshold) {
+                return analyzeRange(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            AnalysisTask left = new AnalysisTask(from, middle, threshold);
+            left.fork();
+            Partial right = new AnalysisTask(middle, to, threshold).compute();
+            return combine(left.join(), right);
+        }
+    }
+
+    /**
+     * Analyzes a collection on the common pool
+     * @param shapes The shapes to analyze
+     */
+    ParallelShapeAnalysis(List<? extends Shape3D> shapes) {
+        this(shapes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Analyzes a collection on the given pool
+     * @param shapes The shapes to analyze
+     * @param pool The pool to run the analysis on
+     */
+    ParallelShapeAnalysis(List<? extends Shape3D> shapes, ForkJoinPool pool) {
+        this(shapes, pool, Math.max(MIN_SPLIT, shapes.size() / (pool.getParallelism() * 8)));
+    }
+
+    /**
+     * Analyzes a collection on the given pool with an explicit split size
+     * @param shapes The shapes to analyze
+     * @param pool The pool to run the analysis on
+     * @param threshold The largest range analyzed without splitting
+     * @throws IllegalArgumentException if threshold is less than one
+     */
+    ParallelShapeAnalysis(List<? extends Shape3D> shapes, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Split threshold must be at least one");
+        }
+        this.shapes = shapes.toArray(new Shape3D[0]);
+        this.volumes = new double[this.shapes.length];
+        this.surfaceAreas = new double[this.shapes.length];
+        this.efficiencies = new ShapeDriver.ShapeEfficiency[this.shapes.length];
+        this.result = pool.invoke(new AnalysisTask(0, this.shapes.length, threshold));
+        Arrays.parallelSort(efficiencies, BY_RATIO_DESCENDING);
+    }
+
+    /**
+     * Gets the number of shapes analyzed
+     * @return The shape count
+     */
+    int getShapeCount() {
+        return shapes.length;
+    }
+
+    /**
+     * Writes every analysis section, as {@link ShapeDriver#analyze(List, PrintStream)} does
+     * @param out The stream to write the report to
+     */
+    void print(PrintStream out) {
+        ShapeDriver.printShapeTableHeader(out);
+        ReportWriter report = new ReportWriter(out);
+        for (int i = 0; i < shapes.length; i++) {
+            ShapeDriver.printShapeTableRow(report, i + 1, shapes[i], volumes[i], surfaceAreas[i]);
+        }
+        report.flush();
+        out.println();
+
+        ShapeDriver.printComparativeAnalysis(out, shapeAt(result.largestVolume), shapeAt(result.smallestVolume),
+            shapeAt(result.largestSurface), shapeAt(result.smallestSurface));
+
+        DoubleSummaryStatistics volumeStats = new DoubleSummaryStatistics();
+        DoubleSummaryStatistics surfaceStats = new DoubleSummaryStatistics();
+        for (int i = 0; i < shapes.length; i++) {
+            volumeStats.accept(volumes[i]);
+            surfaceStats.accept(surfaceAreas[i]);
+        }
+        Map<String, Long> typeDistribution = new HashMap<>();
+        for (Map.Entry<Class<?>, long[]> entry : result.typeCounts.entrySet()) {
+            typeDistribution.merge(entry.getKey().getSimpleName(), entry.getValue()[0], Long::sum);
+        }
+        ShapeDriver.printStatisticalAnalysis(out, volumeStats, surfaceStats, typeDistribution);
+
+        ShapeDriver.printEfficiencyAnalysis(out, Arrays.asList(efficiencies));
+    }
+
+    private Shape3D shapeAt(int index) {
+        return index < 0 ? null : shapes[index];
+    }
+
+    private Partial analyzeRange(int from, int to) {
+        Partial partial = new Partial();
+        Class<?> lastType = null;
+        long[] lastCount = null;
+        for (int i = from; i < to; i++) {
+            Shape3D shape = shapes[i];
+            double volume = shape.getVolume();
+            double surfaceArea = shape.getSurfaceArea();
+            volumes[i] = volume;
+            surfaceAreas[i] = surfaceArea;
+            efficiencies[i] = new ShapeDriver.ShapeEfficiency(shape, volume / surfaceArea);
+
+            if (partial.largestVolume < 0) {
+                partial.largestVolume = i;
+                partial.smallestVolume = i;
+                partial.largestSurface = i;
+                partial.smallestSurface = i;
+            } else {
+                partial.largestVolume = pick(volumes, partial.largestVolume, i, 1);
+                partial.smallestVolume = pick(volumes, partial.smallestVolume, i, -1);
+                partial.largestSurface = pick(surfaceAreas, partial.largestSurface, i, 1);
+                partial.smallestSurface = pick(surfaceAreas, partial.smallestSurface, i, -1);
+            }
+
+            // Runs of one type are common, so the last counter is checked before the map
+            Class<?> type = shape.getClass();
+            if (type != lastType) {
+                lastType = type;
+                lastCount = partial.typeCounts.computeIfAbsent(type, t -> new long[1]);
+            }
+            lastCount[0]++;
+        }
+        return partial;
+    }
+
+    private Partial combine(Partial left, Partial right) {
+        if (right.largestVolume < 0) {
+            return left;
+        }
+        if (left.largestVolume < 0) {
+            return right;
+        }
+        left.largestVolume = pick(volumes, left.largestVolume, right.largestVolume, 1);
+        left.smallestVolume = pick(volumes, left.smallestVolume, right.smallestVolume, -1);
+        left.largestSurface = pick(surfaceAreas, left.largestSurface, right.largestSurface, 1);
+        left.smallestSurface = pick(surfaceAreas, left.smallestSurface, right.smallestSurface, -1);
+        for (Map.Entry<Class<?>, long[]> entry : right.typeCounts.entrySet()) {
+            left.typeCounts.merge(entry.getKey(), entry.getValue(), (a, b) -> {
+                a[0] += b[0];
+                return a;
+            });
+        }
+        return left;
+    }
+
+    /**
+     * Picks between an earlier and a later index, keeping the earlier one on ties
+     * @param direction 1 to prefer larger values, -1 to prefer smaller ones
+     */
+    private static int pick(double[] values, int earlier, int later, int direction) {
+        return Double.compare(values[later], values[earlier]) * direction > 0 ? later : earlier;
+    }
+}
@@ -0,0 +1,120 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ParallelShapeAnalysis
+ * Tests that the fork-join analysis writes exactly the report
+ * of the sequential analysis sections
+ */
+@DisplayName("ParallelShapeAnalysis Tests")
+class ParallelShapeAnalysisTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private static String sequentialReport(List<Shape3D> shapes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        ShapeDriver.displayAllShapes(shapes, out);
+        ShapeDriver.performComparativeAnalysis(shapes, out);
+        ShapeDriver.performStatisticalAnalysis(shapes, out);
+        ShapeDriver.performEfficiencyAnalysis(shapes, out);
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String parallelReport(ParallelShapeAnalysis analysis) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        analysis.print(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Report Tests")
+    class ReportTests {
+
+        @Test
+        @DisplayName("Small split sizes produce the sequential report")
+        void smallSplitsMatchSequential() {
+            List<Shape3D> shapes = ShapeFixtures.wholeShapes(3_000, 205);
+
+            for (int threshold : new int[] {1, 7, 100, 5_000}) {
+                ParallelShapeAnalysis analysis = new ParallelShapeAnalysis(shapes, pool, threshold);
+                assertEquals(shapes.size(), analysis.getShapeCount());
+                assertEquals(sequentialReport(shapes), parallelReport(analysis), "threshold " + threshold);
+            }
+        }
+
+        @Test
+        @DisplayName("Ties keep the earliest shape")
+        void tiesKeepEarliest() {
+            List<Shape3D> shapes = new LinkedList<>(List.of(
+                new Cube("First", "Navy", 2.0),
+                new Sphere("Ball", "Red", 1.0),
+                new Cube("Second", "Navy", 2.0),
+                new Cube("Third", "Navy", 2.0)));
+
+            assertEquals(sequentialReport(shapes), parallelReport(new ParallelShapeAnalysis(shapes, pool, 1)));
+        }
+
+        @Test
+        @DisplayName("An empty collection produces the sequential report")
+        void emptyCollection() {
+            assertEquals(sequentialReport(List.of()), parallelReport(new ParallelShapeAnalysis(List.of(), pool)));
+        }
+
+        @Test
+        @DisplayName("Large collections are analyzed in parallel by the driver")
+        void driverUsesParallelAnalysis() {
+            List<Shape3D> shapes = ShapeFixtures.wholeShapes(ShapeDriver.PARALLEL_ANALYSIS_THRESHOLD, 42);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            ShapeDriver.analyze(shapes, new PrintStream(bytes, true, StandardCharsets.UTF_8));
+
+            assertEquals(sequentialReport(shapes), bytes.toString(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("Large interactive sessions are analyzed in parallel by the driver")
+        void driverUsesParallelAnalysisWithRunningStructures() {
+            List<Shape3D> shapes = ShapeFixtures.wholeShapes(ShapeDriver.PARALLEL_ANALYSIS_THRESHOLD, 43);
+            ShapeStatistics statistics = new ShapeStatistics();
+            ShapeRankings rankings = new ShapeRankings(10);
+            for (Shape3D shape : shapes) {
+                statistics.add(shape);
+                rankings.add(shape);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            ShapeDriver.analyze(shapes, statistics, rankings, new PrintStream(bytes, true, StandardCharsets.UTF_8));
+
+            assertEquals(sequentialReport(shapes), bytes.toString(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("Split threshold must be positive")
+        void invalidThreshold() {
+            assertThrows(IllegalArgumentException.class, () -> new ParallelShapeAnalysis(List.of(), pool, 0));
+        }
+    }
+}
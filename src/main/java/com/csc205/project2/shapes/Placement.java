@@ -0,0 +1,55 @@
+package com.csc205.project2.shapes;
+
+import java.util.Objects;
+
+/**
+ * Immutable position and orientation of a shape in world space.
+ * A shape's local frame is centered on its bounding box (see
+ * {@link ShapeGeometry}); the placement rotates that frame and then moves
+ * its center to the position.
+ * @param position The world position of the shape's center
+ * @param orientation The rotation from the shape's local frame to world space
+ */
+public record Placement(Vector3 position, Orientation orientation) {
+    /** The placement of a shape that was never placed: at the origin, unrotated */
+    public static final Placement ORIGIN = new Placement(Vector3.ZERO, Orientation.IDENTITY);
+
+    /**
+     * Canonical constructor
+     * @throws NullPointerException if position or orientation is null
+     */
+    public Placement {
+        Objects.requireNonNull(position, "position");
+        Objects.requireNonNull(orientation, "orientation");
+    }
+
+    /**
+     * Creates an unrotated placement
+     * @param x The x coordinate of the center
+     * @param y The y coordinate of the center
+     * @param z The z coordinate of the center
+     * @return The placement
+     */
+    public static Placement at(double x, double y, double z) {
+        return new Placement(new Vector3(x, y, z), Orientation.IDENTITY);
+    }
+
+    /**
+     * Converts a world point into the shape's local frame
+     * @param world The point in world space
+     * @return The point relative to the shape's center and axes
+     */
+    public Vector3 toLocal(Vector3 world) {
+        Vector3 offset = world.minus(position);
+        return orientation.isIdentity() ? offset : orientation.inverseRotate(offset);
+    }
+
+    /**
+     * Converts a point in the shape's local frame into world space
+     * @param local The point relative to the shape's center and axes
+     * @return The point in world space
+     */
+    public Vector3 toWorld(Vector3 local) {
+        return (orientation.isIdentity() ? local : orientation.rotate(local)).plus(position);
+    }
+}
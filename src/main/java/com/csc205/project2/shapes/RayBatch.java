@@ -0,0 +1,192 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+
+/**
+ * A batch of rays and, once cast, the nearest shape each ray hits.
+ *
+ * Rays are stored in flat arrays and cast in packets of
+ * {@link #PACKET_SIZE} consecutive rays (see
+ * {@link BoundingVolumeHierarchy#cast(RayBatch)}), so rays that start
+ * close together and point in similar directions, such as the pixels of
+ * one camera row, should be added next to each other.
+ *
+ * Not thread-safe.
+ */
+public final class RayBatch {
+    /** Number of consecutive rays that traverse the hierarchy together */
+    public static final int PACKET_SIZE = 8;
+
+    private double[] origins;
+    private double[] directions;
+    // Reciprocal directions for slab tests, with zero components replaced so no product is NaN
+    private double[] inverses;
+    private double[] entries;
+    private double[] exits;
+    private Shape3D[] hits;
+    private int size;
+
+    /**
+     * Default constructor
+     */
+    public RayBatch() {
+        this(64);
+    }
+
+    /**
+     * Constructor with an initial capacity
+     * @param capacity The number of rays to allocate for
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public RayBatch(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        origins = new double[capacity * 3];
+        directions = new double[capacity * 3];
+        inverses = new double[capacity * 3];
+        entries = new double[capacity];
+        exits = new double[capacity];
+        hits = new Shape3D[capacity];
+    }
+
+    /**
+     * Adds a ray
+     * @param origin The start of the ray
+     * @param direction The direction of the ray; its length is the unit of hit distances
+     * @return The index of the ray in the batch
+     * @throws IllegalArgumentException if the direction is zero or not finite
+     */
+    public int add(Vector3 origin, Vector3 direction) {
+        return add(origin.x(), origin.y(), origin.z(), direction.x(), direction.y(), direction.z());
+    }
+
+    /**
+     * Adds a ray from its components
+     * @param ox The x coordinate of the origin
+     * @param oy The y coordinate of the origin
+     * @param oz The z coordinate of the origin
+     * @param dx The x component of the direction
+     * @param dy The y component of the direction
+     * @param dz The z component of the direction
+     * @return The index of the ray in the batch
+     * @throws IllegalArgumentException if the direction is zero or not finite
+     */
+    public int add(double ox, double oy, double oz, double dx, double dy, double dz) {
+        double length = dx * dx + dy * dy + dz * dz;
+        if (!(length > 0) || Double.isInfinite(length)) {
+            throw new IllegalArgumentException("Ray direction must be finite and non-zero");
+        }
+        if (size == entries.length) {
+            int capacity = Math.max(16, size * 2);
+            origins = Arrays.copyOf(origins, capacity * 3);
+            directions = Arrays.copyOf(directions, capacity * 3);
+            inverses = Arrays.copyOf(inverses, capacity * 3);
+            entries = Arrays.copyOf(entries, capacity);
+            exits = Arrays.copyOf(exits, capacity);
+            hits = Arrays.copyOf(hits, capacity);
+        }
+        int base = size * 3;
+        origins[base] = ox;
+        origins[base + 1] = oy;
+        origins[base + 2] = oz;
+        directions[base] = dx;
+        directions[base + 1] = dy;
+        directions[base + 2] = dz;
+        inverses[base] = inverse(dx);
+        inverses[base + 1] = inverse(dy);
+        inverses[base + 2] = inverse(dz);
+        entries[size] = Double.POSITIVE_INFINITY;
+        exits[size] = Double.POSITIVE_INFINITY;
+        return size++;
+    }
+
+    /**
+     * Removes every ray
+     */
+    public void clear() {
+        Arrays.fill(hits, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Gets the number of rays
+     * @return The ray count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the nearest hit of a ray from the last cast
+     * @param ray The index of the ray
+     * @return The hit, or null if the ray missed every shape or was not cast
+     * @throws IndexOutOfBoundsException if the index is not in the batch
+     */
+    public RayHit getHit(int ray) {
+        checkIndex(ray);
+        return hits[ray] == null ? null : new RayHit(hits[ray], entries[ray], exits[ray]);
+    }
+
+    /**
+     * Gets the distance to the nearest hit of a ray from the last cast
+     * @param ray The index of the ray
+     * @return The entry distance, or positive infinity if the ray missed every shape
+     * @throws IndexOutOfBoundsException if the index is not in the batch
+     */
+    public double getDistance(int ray) {
+        checkIndex(ray);
+        return entries[ray];
+    }
+
+    /**
+     * Counts the rays that hit a shape in the last cast
+     * @return The number of rays with a hit
+     */
+    public int hitCount() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (hits[i] != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Column access for casting
+
+    double[] originColumn() {
+        return origins;
+    }
+
+    double[] directionColumn() {
+        return directions;
+    }
+
+    double[] inverseColumn() {
+        return inverses;
+    }
+
+    double[] entryColumn() {
+        return entries;
+    }
+
+    double[] exitColumn() {
+        return exits;
+    }
+
+    Shape3D[] hitColumn() {
+        return hits;
+    }
+
+    private void checkIndex(int ray) {
+        if (ray < 0 || ray >= size) {
+            throw new IndexOutOfBoundsException("Ray " + ray + " out of bounds for batch of " + size);
+        }
+    }
+
+    // A huge finite reciprocal keeps 0 * inverse at zero for rays lying in a slab plane
+    private static double inverse(double component) {
+        return component == 0.0 ? Math.copySign(Double.MAX_VALUE, component) : 1.0 / component;
+    }
+}
@@ -0,0 +1,20 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Where a ray passes through a solid shape. Distances are in multiples of
+ * the ray's direction vector, so a unit direction gives world distances;
+ * a ray that starts inside the shape enters it at zero.
+ * @param shape The shape hit
+ * @param entry The distance along the ray where it enters the shape
+ * @param exit The distance along the ray where it leaves the shape
+ */
+public record RayHit(Shape3D shape, double entry, double exit) {
+
+    /**
+     * Gets the length of the ray's path through the shape
+     * @return The exit distance minus the entry distance
+     */
+    public double length() {
+        return exit - entry;
+    }
+}
@@ -19,7 +19,7 @@ package com.csc205.project2.shapes;
  * - Volume formula verified against: V = l × w × h
  * - Surface area formula verified against: SA = 2(lw + lh + wh)
  */
-public class RectangularPrism extends Shape3D {
+public final class RectangularPrism extends Shape3D {
     private double length;
     private double width;
     private double height;
@@ -103,6 +103,7 @@ public class RectangularPrism extends Shape3D {
             throw new IllegalArgumentException("Length must be positive and greater than zero");
         }
         this.length = length;
+        dimensionsChanged();
     }
     
     /**
@@ -123,6 +124,7 @@ public class RectangularPrism extends Shape3D {
             throw new IllegalArgumentException("Width must be positive and greater than zero");
         }
         this.width = width;
+        dimensionsChanged();
     }
     
     /**
@@ -143,6 +145,7 @@ public class RectangularPrism extends Shape3D {
             throw new IllegalArgumentException("Height must be positive and greater than zero");
         }
         this.height = height;
+        dimensionsChanged();
     }
     
     /**
@@ -152,7 +155,7 @@ public class RectangularPrism extends Shape3D {
      */
     @Override
     protected double calculateVolume() {
-        return length * width * height;
+        return GeometryMath.prismVolume(length, width, height);
     }
     
     /**
@@ -162,7 +165,7 @@ public class RectangularPrism extends Shape3D {
      */
     @Override
     protected double calculateSurfaceArea() {
-        return 2 * (length * width + length * height + width * height);
+        return GeometryMath.prismSurfaceArea(length, width, height);
     }
     
     /**
@@ -171,8 +174,13 @@ public class RectangularPrism extends Shape3D {
      */
     @Override
     public String toString() {
-        return String.format("%s [Color: %s, Length: %.2f, Width: %.2f, Height: %.2f, Volume: %.2f, Surface Area: %.2f]", 
-                           getName(), getColor(), length, width, height, getVolume(), getSurfaceArea());
+        StringBuilder text = new StringBuilder(96)
+            .append(getName()).append(" [Color: ").append(getColor()).append(", Length: ");
+        ReportWriter.appendFixed(text, length, 2).append(", Width: ");
+        ReportWriter.appendFixed(text, width, 2).append(", Height: ");
+        ReportWriter.appendFixed(text, height, 2).append(", Volume: ");
+        ReportWriter.appendFixed(text, getVolume(), 2).append(", Surface Area: ");
+        return ReportWriter.appendFixed(text, getSurfaceArea(), 2).append(']').toString();
     }
     
     /**
@@ -180,7 +188,7 @@ public class RectangularPrism extends Shape3D {
      * @return The space diagonal √(l² + w² + h²)
      */
     public double getSpaceDiagonal() {
-        return Math.sqrt(Math.pow(length, 2) + Math.pow(width, 2) + Math.pow(height, 2));
+        return GeometryMath.length(length, width, height);
     }
     
     /**
@@ -0,0 +1,118 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable rectangular prism value; see {@link ShapeValue}.
+ * The volume and surface area components are derived: the canonical
+ * constructor always recomputes them from the length, width and height.
+ * @param name The name of the prism
+ * @param color The color of the prism
+ * @param length The length
+ * @param width The width
+ * @param height The height
+ * @param volume The volume, l × w × h
+ * @param surfaceArea The surface area, 2(lw + lh + wh)
+ */
+public record RectangularPrismValue(String name, String color, double length, double width, double height,
+                                    double volume, double surfaceArea) implements ShapeValue {
+
+    /**
+     * Canonical constructor
+     * @throws IllegalArgumentException if any dimension is negative or zero
+     */
+    public RectangularPrismValue {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length must be positive and greater than zero");
+        }
+        if (width <= 0) {
+            throw new IllegalArgumentException("Width must be positive and greater than zero");
+        }
+        if (height <= 0) {
+            throw new IllegalArgumentException("Height must be positive and greater than zero");
+        }
+        volume = GeometryMath.prismVolume(length, width, height);
+        surfaceArea = GeometryMath.prismSurfaceArea(length, width, height);
+    }
+
+    /**
+     * Constructor with name, color, length, width, and height
+     * @param name The name of the prism
+     * @param color The color of the prism
+     * @param length The length of the prism
+     * @param width The width of the prism
+     * @param height The height of the prism
+     * @throws IllegalArgumentException if any dimension is negative or zero
+     */
+    public RectangularPrismValue(String name, String color, double length, double width, double height) {
+        this(name, color, length, width, height, 0.0, 0.0);
+    }
+
+    /**
+     * Captures the current state of a rectangular prism
+     * @param prism The prism to copy
+     * @return A new value
+     */
+    public static RectangularPrismValue of(RectangularPrism prism) {
+        return new RectangularPrismValue(prism.getName(), prism.getColor(),
+            prism.getLength(), prism.getWidth(), prism.getHeight());
+    }
+
+    /**
+     * Returns a copy with another length
+     * @param length The new length
+     * @return A new value
+     * @throws IllegalArgumentException if length is negative or zero
+     */
+    public RectangularPrismValue withLength(double length) {
+        return new RectangularPrismValue(name, color, length, width, height);
+    }
+
+    /**
+     * Returns a copy with another width
+     * @param width The new width
+     * @return A new value
+     * @throws IllegalArgumentException if width is negative or zero
+     */
+    public RectangularPrismValue withWidth(double width) {
+        return new RectangularPrismValue(name, color, length, width, height);
+    }
+
+    /**
+     * Returns a copy with another height
+     * @param height The new height
+     * @return A new value
+     * @throws IllegalArgumentException if height is negative or zero
+     */
+    public RectangularPrismValue withHeight(double height) {
+        return new RectangularPrismValue(name, color, length, width, height);
+    }
+
+    @Override
+    public RectangularPrismValue withName(String name) {
+        return new RectangularPrismValue(name, color, length, width, height);
+    }
+
+    @Override
+    public RectangularPrismValue withColor(String color) {
+        return new RectangularPrismValue(name, color, length, width, height);
+    }
+
+    @Override
+    public ShapeType type() {
+        return ShapeType.RECTANGULAR_PRISM;
+    }
+
+    @Override
+    public RectangularPrism toShape() {
+        return new RectangularPrism(name, color, length, width, height);
+    }
+
+    @Override
+    public double getVolume() {
+        return volume;
+    }
+
+    @Override
+    public double getSurfaceArea() {
+        return surfaceArea;
+    }
+}
@@ -0,0 +1,325 @@
+package com.csc205.project2.shapes;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.text.DecimalFormatSymbols;
+import java.util.Formatter;
+import java.util.Locale;
+
+/**
+ * Buffered writer for fixed-width report tables.
+ *
+ * Produces the same characters as {@code printf} with the {@code %s},
+ * {@code %d} and {@code %.Nf} conversions used by the reports, but formats
+ * straight into a reusable char buffer instead of parsing a format string
+ * and building intermediate strings on every call. The buffer is encoded
+ * into a reusable byte buffer and written to a channel when it fills up or
+ * is flushed.
+ *
+ * Fixed-point values are rounded from a scaled double. Where that could
+ * round differently from the decimal expansion {@link Formatter} rounds
+ * half-up (values within a hair of a tie, very large values, NaN and
+ * infinities), the value is handed to a Formatter instead, so the output
+ * stays byte-identical.
+ *
+ * The writer does not own its channel. Flush it before writing to the
+ * underlying stream by other means. I/O errors are rethrown as
+ * {@link UncheckedIOException}; a {@link PrintStream} target never reports any.
+ */
+public final class ReportWriter implements Flushable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final double[] POWERS = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9};
+    // Below this the scaled product is within 1e-6 of the exact decimal, well inside the tie guard
+    private static final double FAST_LIMIT = 1e9;
+    private static final double TIE_GUARD = 1e-6;
+    // Room for the sign, the digits below FAST_LIMIT and the separator
+    private static final int MAX_FAST_LENGTH = 24;
+
+    private static volatile Symbols defaultSymbols;
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final Symbols symbols;
+    private final char[] chars = new char[BUFFER_SIZE];
+    private final CharBuffer pending = CharBuffer.wrap(chars);
+    private final ByteBuffer bytes;
+    private final char[] scratch = new char[MAX_FAST_LENGTH];
+    private int position;
+    private StringBuilder fallbackText;
+    private Formatter fallback;
+
+    private record Symbols(Locale locale, char zero, char separator) {
+        static Symbols of(Locale locale) {
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+            return new Symbols(locale, symbols.getZeroDigit(), symbols.getDecimalSeparator());
+        }
+    }
+
+    /**
+     * Constructor writing through a print stream, in its charset and the default format locale
+     * @param out The stream to write to
+     */
+    public ReportWriter(PrintStream out) {
+        this(Channels.newChannel(out), out.charset(), Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    /**
+     * Constructor with channel, charset and locale
+     * @param channel The channel to write encoded text to
+     * @param charset The charset to encode with; unmappable characters become its replacement
+     * @param locale The locale that supplies the zero digit and decimal separator
+     */
+    public ReportWriter(WritableByteChannel channel, Charset charset, Locale locale) {
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.symbols = Symbols.of(locale);
+        this.bytes = ByteBuffer.allocate((int) Math.ceil(BUFFER_SIZE * (double) encoder.maxBytesPerChar()));
+    }
+
+    /**
+     * Writes text as {@code %s} does
+     * @param text The text, or null for "null"
+     * @return This writer
+     */
+    public ReportWriter text(String text) {
+        String value = String.valueOf(text);
+        int length = value.length();
+        int offset = 0;
+        while (offset < length) {
+            ensure(1);
+            int count = Math.min(length - offset, chars.length - position);
+            value.getChars(offset, offset + count, chars, position);
+            position += count;
+            offset += count;
+        }
+        return this;
+    }
+
+    /**
+     * Writes text left-justified, as {@code %-Ns} does
+     * @param text The text, or null for "null"
+     * @param width The minimum width; longer text is written in full
+     * @return This writer
+     */
+    public ReportWriter left(String text, int width) {
+        String value = String.valueOf(text);
+        text(value);
+        return pad(width - value.length());
+    }
+
+    /**
+     * Writes text right-justified, as {@code %Ns} does
+     * @param text The text, or null for "null"
+     * @param width The minimum width; longer text is written in full
+     * @return This writer
+     */
+    public ReportWriter right(String text, int width) {
+        String value = String.valueOf(text);
+        pad(width - value.length());
+        return text(value);
+    }
+
+    /**
+     * Writes an integer left-justified, as {@code %-Nd} does
+     * @param value The value
+     * @param width The minimum width
+     * @return This writer
+     */
+    public ReportWriter left(long value, int width) {
+        int length = formatLong(value, symbols.zero(), scratch);
+        write(scratch, length);
+        return pad(width - length);
+    }
+
+    /**
+     * Writes a fixed-point number, as {@code %.Pf} does
+     * @param value The value
+     * @param precision The number of digits after the decimal separator
+     * @return This writer
+     */
+    public ReportWriter fixed(double value, int precision) {
+        return fixed(value, precision, 0);
+    }
+
+    /**
+     * Writes a right-justified fixed-point number, as {@code %W.Pf} does
+     * @param value The value
+     * @param precision The number of digits after the decimal separator
+     * @param width The minimum width
+     * @return This writer
+     */
+    public ReportWriter fixed(double value, int precision, int width) {
+        int length = formatFixed(value, precision, symbols, scratch);
+        if (length < 0) {
+            return right(formatWithFormatter(value, precision), width);
+        }
+        pad(width - length);
+        write(scratch, length);
+        return this;
+    }
+
+    /**
+     * Ends the line, as {@code %n} does
+     * @return This writer
+     */
+    public ReportWriter newLine() {
+        return text(LINE_SEPARATOR);
+    }
+
+    /**
+     * Encodes and writes everything buffered so far
+     * @throws UncheckedIOException if the channel cannot be written
+     */
+    @Override
+    public void flush() {
+        pending.clear().limit(position);
+        while (true) {
+            CoderResult result = encoder.encode(pending, bytes, false);
+            drain();
+            if (result.isUnderflow()) {
+                break;
+            }
+        }
+        // An unpaired high surrogate waits for the rest of its pair
+        int remaining = pending.remaining();
+        System.arraycopy(chars, pending.position(), chars, 0, remaining);
+        position = remaining;
+    }
+
+    /**
+     * Appends a fixed-point number to a string, as {@code %.Pf} does in the default format locale
+     * @param target The builder to append to
+     * @param value The value
+     * @param precision The number of digits after the decimal separator
+     * @return The builder
+     */
+    static StringBuilder appendFixed(StringBuilder target, double value, int precision) {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        Symbols symbols = defaultSymbols;
+        if (symbols == null || !symbols.locale().equals(locale)) {
+            symbols = Symbols.of(locale);
+            defaultSymbols = symbols;
+        }
+        char[] digits = new char[MAX_FAST_LENGTH];
+        int length = formatFixed(value, precision, symbols, digits);
+        if (length < 0) {
+            return target.append(String.format(locale, "%." + precision + "f", value));
+        }
+        return target.append(digits, 0, length);
+    }
+
+    /**
+     * Formats a fixed-point number when scaled double rounding is known to match Formatter
+     * @return The number of chars written, or -1 if Formatter must be used
+     */
+    private static int formatFixed(double value, int precision, Symbols symbols, char[] target) {
+        if (precision < 0 || precision >= POWERS.length) {
+            return -1;
+        }
+        double scaled = Math.abs(value) * POWERS[precision];
+        if (!(scaled < FAST_LIMIT)) {
+            return -1;
+        }
+        double whole = Math.floor(scaled);
+        double fraction = scaled - whole;
+        if (Math.abs(fraction - 0.5) < TIE_GUARD) {
+            return -1;
+        }
+        long units = (long) whole + (fraction > 0.5 ? 1 : 0);
+
+        // Digits are written backwards from the end of the scratch space
+        int start = target.length;
+        int offset = symbols.zero() - '0';
+        for (int i = 0; i < precision; i++) {
+            target[--start] = (char) ('0' + offset + units % 10);
+            units /= 10;
+        }
+        if (precision > 0) {
+            target[--start] = symbols.separator();
+        }
+        do {
+            target[--start] = (char) ('0' + offset + units % 10);
+            units /= 10;
+        } while (units != 0);
+        // Formatter signs negative zero and values that round to zero
+        if (Double.compare(value, 0.0) < 0) {
+            target[--start] = '-';
+        }
+        int length = target.length - start;
+        System.arraycopy(target, start, target, 0, length);
+        return length;
+    }
+
+    private static int formatLong(long value, char zero, char[] target) {
+        int start = target.length;
+        int offset = zero - '0';
+        // Accumulates negatively so that Long.MIN_VALUE needs no special case
+        long remaining = value < 0 ? value : -value;
+        do {
+            target[--start] = (char) ('0' + offset - remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (value < 0) {
+            target[--start] = '-';
+        }
+        int length = target.length - start;
+        System.arraycopy(target, start, target, 0, length);
+        return length;
+    }
+
+    private String formatWithFormatter(double value, int precision) {
+        if (fallback == null) {
+            fallbackText = new StringBuilder();
+            fallback = new Formatter(fallbackText, symbols.locale());
+        }
+        fallbackText.setLength(0);
+        fallback.format("%." + precision + "f", value);
+        return fallbackText.toString();
+    }
+
+    private ReportWriter pad(int count) {
+        for (int i = 0; i < count; i++) {
+            ensure(1);
+            chars[position++] = ' ';
+        }
+        return this;
+    }
+
+    private void write(char[] source, int length) {
+        ensure(length);
+        System.arraycopy(source, 0, chars, position, length);
+        position += length;
+    }
+
+    private void ensure(int count) {
+        if (position + count > chars.length) {
+            flush();
+        }
+    }
+
+    private void drain() {
+        bytes.flip();
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            bytes.clear();
+        }
+    }
+}
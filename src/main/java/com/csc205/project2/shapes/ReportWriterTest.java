@@ -0,0 +1,190 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Consumer;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ReportWriter
+ * Tests that every conversion writes exactly the bytes printf writes,
+ * including rounding ties, special values, other locales and charsets
+ */
+@DisplayName("ReportWriter Tests")
+class ReportWriterTest {
+
+    private static final double[] SPECIAL_VALUES = {
+        0.0, -0.0, 0.005, 0.015, 0.125, 0.375, 1.005, 2.675, 1.115, 4.35, -0.001, -0.004999, -2.5, 0.5,
+        999_999.995, 1e7 + 0.005, 1e12 + 0.125, 9.999999e8, 1e300, -1e300, Double.MIN_VALUE, Double.MAX_VALUE,
+        Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+    };
+
+    private static byte[] printed(Charset charset, Consumer<PrintStream> action) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, false, charset);
+        action.accept(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] written(Charset charset, Locale locale, Consumer<ReportWriter> action) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReportWriter report = new ReportWriter(Channels.newChannel(bytes), charset, locale);
+        action.accept(report);
+        report.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void assertFixedMatches(Locale locale, double value) {
+        for (int precision = 0; precision <= 4; precision++) {
+            int digits = precision;
+            String expected = String.format(locale, "%10." + digits + "f|%." + digits + "f", value, value);
+            byte[] actual = written(StandardCharsets.UTF_8, locale,
+                report -> report.fixed(value, digits, 10).text("|").fixed(value, digits));
+            assertEquals(expected, new String(actual, StandardCharsets.UTF_8), value + " at precision " + digits);
+        }
+    }
+
+    @Nested
+    @DisplayName("Number Tests")
+    class NumberTests {
+
+        @Test
+        @DisplayName("Fixed-point values match printf, including ties and special values")
+        void fixedMatchesPrintf() {
+            for (double value : SPECIAL_VALUES) {
+                assertFixedMatches(Locale.US, value);
+            }
+            Random random = new Random(205);
+            for (int i = 0; i < 20_000; i++) {
+                assertFixedMatches(Locale.US, (random.nextDouble() - 0.2) * Math.pow(10, random.nextInt(12) - 3));
+                // Values a few ulps from a rounding tie
+                double tie = (random.nextInt(100_000) + 0.5) / 100;
+                assertFixedMatches(Locale.US, tie * (1 + 1e-12));
+                assertFixedMatches(Locale.US, tie * (1 - 1e-12));
+                assertFixedMatches(Locale.US, Math.nextUp(tie));
+                assertFixedMatches(Locale.US, Math.nextDown(tie));
+            }
+        }
+
+        @Test
+        @DisplayName("Localized zero digits and decimal separators match printf")
+        void localizedDigits() {
+            for (Locale locale : List.of(Locale.GERMANY, Locale.forLanguageTag("ar-EG"),
+                                         Locale.forLanguageTag("th-TH-u-nu-thai"))) {
+                for (double value : SPECIAL_VALUES) {
+                    assertFixedMatches(locale, value);
+                }
+                for (long value : new long[] {0, 7, -42, 1_234_567, Long.MIN_VALUE, Long.MAX_VALUE}) {
+                    byte[] actual = written(StandardCharsets.UTF_8, locale, report -> report.left(value, 5).text("|"));
+                    assertEquals(String.format(locale, "%-5d|", value), new String(actual, StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Text Tests")
+    class TextTests {
+
+        @Test
+        @DisplayName("Padding matches printf and long text is written in full")
+        void padding() {
+            byte[] actual = written(StandardCharsets.UTF_8, Locale.US, report -> report
+                .left("ab", 5).text("|").right("ab", 5).text("|").left("abcdef", 3).text("|")
+                .left(null, 6).text("|").newLine());
+
+            assertArrayEquals(printed(StandardCharsets.UTF_8, out -> out.printf("%-5s|%5s|%-3s|%-6s|%n",
+                "ab", "ab", "abcdef", null)), actual);
+        }
+
+        @Test
+        @DisplayName("Text longer than the buffer and split surrogate pairs are encoded as PrintStream does")
+        void encodingAcrossBuffers() {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 5_000; i++) {
+                text.append("Kegel 🔺 Würfel ").append(i % 10);
+            }
+            String unpaired = "Broken \uD83D name";
+
+            for (Charset charset : List.of(StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16)) {
+                byte[] expected = printed(charset, out -> {
+                    out.print(text);
+                    out.print(unpaired);
+                });
+                byte[] actual = written(charset, Locale.US, report -> report.text(text.toString()).text(unpaired));
+                assertArrayEquals(expected, actual, charset.name());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Report Tests")
+    class ReportTests {
+
+        @Test
+        @DisplayName("Summary and efficiency tables match the printf layout")
+        void tablesMatchPrintf() {
+            Random random = new Random(42);
+            ShapeType[] types = ShapeType.values();
+            List<Shape3D> shapes = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                shapes.add(types[i % types.length].create(i % 3 == 0 ? "A rather long shape name " + i : "S" + i,
+                    "C", 0.01 + random.nextDouble() * 40, 0.01 + random.nextDouble() * 40, 0.01 + random.nextDouble() * 40));
+            }
+
+            byte[] expected = printed(StandardCharsets.UTF_8, out -> {
+                for (int i = 0; i < shapes.size(); i++) {
+                    Shape3D shape = shapes.get(i);
+                    String name = shape.getName().length() > 19 ? shape.getName().substring(0, 16) + "..." : shape.getName();
+                    double volume = shape.getVolume();
+                    double area = shape.getSurfaceArea();
+                    out.printf("%-3d %-20s %-15s %10.2f %10.2f %6.3f%n",
+                        i + 1, name, shape.getClass().getSimpleName(), volume, area, volume / area);
+                }
+            });
+            byte[] actual = printed(StandardCharsets.UTF_8, out -> {
+                ReportWriter report = new ReportWriter(out);
+                for (int i = 0; i < shapes.size(); i++) {
+                    Shape3D shape = shapes.get(i);
+                    ShapeDriver.printShapeTableRow(report, i + 1, shape, shape.getVolume(), shape.getSurfaceArea());
+                }
+                report.flush();
+            });
+
+            assertArrayEquals(expected, actual);
+        }
+
+        @Test
+        @DisplayName("Shape descriptions match the previous String.format output")
+        void toStringMatchesFormat() {
+            Sphere sphere = new Sphere("Red Ball", "Crimson", 1.005);
+            Cube cube = new Cube("Blue Box", "Navy", 2.675);
+            Cylinder cylinder = new Cylinder("Tube", null, 3.0, 0.125);
+            RectangularPrism prism = new RectangularPrism(null, "Gold", 2.0, 4.0, 3.0);
+            Cone cone = new Cone("Peak", "Violet", 4.0, 8.0);
+
+            assertEquals(String.format("%s [Color: %s, Radius: %.2f, Volume: %.2f, Surface Area: %.2f]",
+                "Red Ball", "Crimson", 1.005, sphere.getVolume(), sphere.getSurfaceArea()), sphere.toString());
+            assertEquals(String.format("%s [Color: %s, Side Length: %.2f, Volume: %.2f, Surface Area: %.2f]",
+                "Blue Box", "Navy", 2.675, cube.getVolume(), cube.getSurfaceArea()), cube.toString());
+            assertEquals(String.format("%s [Color: %s, Radius: %.2f, Height: %.2f, Volume: %.2f, Surface Area: %.2f]",
+                "Tube", null, 3.0, 0.125, cylinder.getVolume(), cylinder.getSurfaceArea()), cylinder.toString());
+            assertEquals(String.format(
+                "%s [Color: %s, Length: %.2f, Width: %.2f, Height: %.2f, Volume: %.2f, Surface Area: %.2f]",
+                null, "Gold", 2.0, 4.0, 3.0, prism.getVolume(), prism.getSurfaceArea()), prism.toString());
+            assertEquals(String.format("%s [Color: %s, Radius: %.2f, Height: %.2f, Volume: %.2f, Surface Area: %.2f]",
+                "Peak", "Violet", 4.0, 8.0, cone.getVolume(), cone.getSurfaceArea()), cone.toString());
+        }
+    }
+}
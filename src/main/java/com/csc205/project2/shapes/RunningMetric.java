@@ -0,0 +1,126 @@
+package com.csc205.project2.shapes;
+
+import java.util.TreeMap;
+
+/**
+ * Running count, sum, mean and variance of a stream of values that also
+ * supports removing a previously added value.
+ *
+ * The mean and variance are maintained with Welford's update (and its
+ * inverse for removal), and the sum is compensated in the same way as
+ * {@link java.util.DoubleSummaryStatistics}, so an insert-only metric reports
+ * exactly the same sum. When extremes are tracked, the values are also kept
+ * in a sorted multiset, which keeps min and max correct after removals.
+ */
+final class RunningMetric {
+    private final TreeMap<Double, Integer> values;
+    private long count;
+    private double mean;
+    private double m2;
+    private double sum;
+    private double sumCompensation;
+    private double simpleSum;
+
+    /**
+     * Constructor
+     * @param trackExtremes true to maintain min and max under removal
+     */
+    RunningMetric(boolean trackExtremes) {
+        values = trackExtremes ? new TreeMap<>() : null;
+    }
+
+    /**
+     * Adds a value
+     * @param value The value to add
+     */
+    void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        simpleSum += value;
+        sumWithCompensation(value);
+        if (values != null) {
+            values.merge(value, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Removes a value that was previously added
+     * @param value The value to remove
+     */
+    void remove(double value) {
+        if (count <= 1) {
+            clear();
+            return;
+        }
+        count--;
+        double delta = value - mean;
+        mean -= delta / count;
+        m2 = Math.max(0.0, m2 - delta * (value - mean));
+        simpleSum -= value;
+        sumWithCompensation(-value);
+        if (values != null) {
+            values.computeIfPresent(value, (key, occurrences) -> occurrences == 1 ? null : occurrences - 1);
+        }
+    }
+
+    /**
+     * Removes every value
+     */
+    void clear() {
+        count = 0;
+        mean = 0.0;
+        m2 = 0.0;
+        sum = 0.0;
+        sumCompensation = 0.0;
+        simpleSum = 0.0;
+        if (values != null) {
+            values.clear();
+        }
+    }
+
+    private void sumWithCompensation(double value) {
+        double tmp = value - sumCompensation;
+        double velvel = sum + tmp;
+        sumCompensation = (velvel - sum) - tmp;
+        sum = velvel;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getSum() {
+        double tmp = sum - sumCompensation;
+        if (Double.isNaN(tmp) && Double.isInfinite(simpleSum)) {
+            return simpleSum;
+        }
+        return tmp;
+    }
+
+    double getMean() {
+        return count == 0 ? 0.0 : mean;
+    }
+
+    /**
+     * Gets the sum of squared differences from the mean
+     */
+    double getSquaredDeviations() {
+        return m2;
+    }
+
+    /**
+     * Gets the smallest value; only valid when extremes are tracked
+     */
+    double getMin() {
+        return count == 0 ? Double.POSITIVE_INFINITY : values.firstKey();
+    }
+
+    /**
+     * Gets the largest value; only valid when extremes are tracked
+     */
+    double getMax() {
+        return count == 0 ? Double.NEGATIVE_INFINITY : values.lastKey();
+    }
+}
@@ -0,0 +1,90 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Scalar implementations of the batch shape formulas.
+ * Used when the Vector API is unavailable and for the tail elements that do
+ * not fill a whole vector. Every formula performs exactly the same
+ * operations in the same order as {@link VectorShapeKernels}, so both paths
+ * produce bit-identical results.
+ */
+final class ScalarShapeKernels {
+    static final double SPHERE_VOLUME_FACTOR = (4.0 / 3.0) * Math.PI;
+    static final double SPHERE_SURFACE_FACTOR = 4 * Math.PI;
+    static final double TWO_PI = 2 * Math.PI;
+    static final double CONE_VOLUME_FACTOR = Math.PI / 3.0;
+
+    private ScalarShapeKernels() {
+    }
+
+    static void sphereVolumes(double[] radii, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double r = radii[i];
+            out[i] = r * r * r * SPHERE_VOLUME_FACTOR;
+        }
+    }
+
+    static void sphereSurfaceAreas(double[] radii, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double r = radii[i];
+            out[i] = r * r * SPHERE_SURFACE_FACTOR;
+        }
+    }
+
+    static void cubeVolumes(double[] sides, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double s = sides[i];
+            out[i] = s * s * s;
+        }
+    }
+
+    static void cubeSurfaceAreas(double[] sides, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double s = sides[i];
+            out[i] = s * s * 6.0;
+        }
+    }
+
+    static void cylinderVolumes(double[] radii, double[] heights, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double r = radii[i];
+            out[i] = r * r * heights[i] * Math.PI;
+        }
+    }
+
+    static void cylinderSurfaceAreas(double[] radii, double[] heights, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double r = radii[i];
+            out[i] = r * (r + heights[i]) * TWO_PI;
+        }
+    }
+
+    static void prismVolumes(double[] lengths, double[] widths, double[] heights, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = lengths[i] * widths[i] * heights[i];
+        }
+    }
+
+    static void prismSurfaceAreas(double[] lengths, double[] widths, double[] heights, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double l = lengths[i];
+            double w = widths[i];
+            double h = heights[i];
+            out[i] = (l * w + l * h + w * h) * 2.0;
+        }
+    }
+
+    static void coneVolumes(double[] radii, double[] heights, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double r = radii[i];
+            out[i] = r * r * heights[i] * CONE_VOLUME_FACTOR;
+        }
+    }
+
+    static void coneSurfaceAreas(double[] radii, double[] heights, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double r = radii[i];
+            double h = heights[i];
+            out[i] = r * (r + Math.sqrt(r * r + h * h)) * Math.PI;
+        }
+    }
+}
@@ -1,20 +1,74 @@
 package com.csc205.project2.shapes;
 
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Abstract base class for three-dimensional shapes
  * Implements the ThreeDimensionalShape interface and provides common functionality
+ *
+ * Volume and surface area can optionally be memoized per shape with
+ * {@link #setMemoized(boolean)}. Memoized values are computed together on
+ * first access and invalidated by subclasses through {@link #dimensionsChanged()}
+ * whenever a dimension setter changes the shape. The same hook notifies any
+ * registered {@link ShapeChangeListener}, which lets aggregates and indexes
+ * over many shapes stay current without rescanning them. Name and color
+ * setters notify listeners through a separate callback.
+ *
+ * Every shape has a {@link Placement} in world space, the origin until it
+ * is placed. Positions do not affect volume or surface area; spatial
+ * structures read them through {@link ShapeGeometry} and follow moves
+ * through their own listener callback.
+ *
+ * Memoized values are tagged with the dimension version they were computed
+ * for, so a concurrent reader never sees a cached value from before the most
+ * recent dimension change it can observe. Listener registration is
+ * synchronized and copy-on-write, so notification never takes a lock.
+ *
+ * Names and colors are stored as codes in two dictionaries shared by all
+ * shapes. Equal strings map to the same code, so comparing or grouping by
+ * color is an integer comparison. Each distinct string is kept once,
+ * however many shapes use it. Dictionaries only grow, which suits attributes
+ * drawn from a limited vocabulary.
+ *
+ * The hierarchy is sealed over the known shapes so that {@link ShapeMath}
+ * can dispatch with an exhaustive pattern-matching switch.
  */
-public abstract class Shape3D implements ThreeDimensionalShape {
-    // Private fields for encapsulation
-    private String name;
-    private String color;
+public abstract sealed class Shape3D implements ThreeDimensionalShape
+        permits Sphere, Cube, Cylinder, RectangularPrism, Cone, ShapeView {
+    // Counters shared by all memoized shapes
+    private static final LongAdder cacheHits = new LongAdder();
+    private static final LongAdder cacheMisses = new LongAdder();
+    private static final AttributeDictionary names = new AttributeDictionary();
+    private static final AttributeDictionary colors = new AttributeDictionary();
+    private static final AtomicIntegerFieldUpdater<Shape3D> DIMENSION_VERSION =
+        AtomicIntegerFieldUpdater.newUpdater(Shape3D.class, "dimensionVersion");
+    
+    // Private fields for encapsulation, as codes in the shared dictionaries
+    private int nameCode;
+    private int colorCode;
+    
+    // Memoized derived metrics, valid while their version matches
+    private record Metrics(int version, double volume, double surfaceArea) {
+    }
+    
+    private volatile boolean memoized;
+    private volatile int dimensionVersion;
+    private volatile Metrics metrics;
+    
+    // Change listeners, allocated on first registration
+    private volatile ShapeChangeListener[] listeners;
+    
+    private volatile Placement placement = Placement.ORIGIN;
     
     /**
      * Default constructor
      */
     public Shape3D() {
-        this.name = "Unknown Shape";
-        this.color = "Unknown Color";
+        this.nameCode = names.encode("Unknown Shape");
+        this.colorCode = colors.encode("Unknown Color");
     }
     
     /**
@@ -22,8 +76,8 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      * @param name The name of the shape
      */
     public Shape3D(String name) {
-        this.name = name;
-        this.color = "Unknown Color";
+        this.nameCode = names.encode(name);
+        this.colorCode = colors.encode("Unknown Color");
     }
     
     /**
@@ -32,8 +86,8 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      * @param color The color of the shape
      */
     public Shape3D(String name, String color) {
-        this.name = name;
-        this.color = color;
+        this.nameCode = names.encode(name);
+        this.colorCode = colors.encode(color);
     }
     
     // Getter methods
@@ -42,7 +96,7 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      * @return The name of the shape
      */
     public String getName() {
-        return name;
+        return names.decode(nameCode);
     }
     
     /**
@@ -50,7 +104,7 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      * @return The color of the shape
      */
     public String getColor() {
-        return color;
+        return colors.decode(colorCode);
     }
     
     // Setter methods
@@ -59,7 +113,8 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      * @param name The new name for the shape
      */
     public void setName(String name) {
-        this.name = name;
+        this.nameCode = names.encode(name);
+        attributesChanged();
     }
     
     /**
@@ -67,7 +122,200 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      * @param color The new color for the shape
      */
     public void setColor(String color) {
-        this.color = color;
+        this.colorCode = colors.encode(color);
+        attributesChanged();
+    }
+    
+    /**
+     * Gets the position and orientation of the shape
+     * @return The placement; {@link Placement#ORIGIN} if the shape was never placed
+     */
+    public Placement getPlacement() {
+        return placement;
+    }
+    
+    /**
+     * Moves and rotates the shape
+     * @param placement The new placement
+     * @throws NullPointerException if placement is null
+     */
+    public void setPlacement(Placement placement) {
+        this.placement = Objects.requireNonNull(placement, "placement");
+        ShapeChangeListener[] current = listeners;
+        if (current != null) {
+            for (ShapeChangeListener listener : current) {
+                listener.placementChanged(this);
+            }
+        }
+    }
+    
+    /**
+     * Gets the code of the name in the shared name dictionary
+     * @return The name code; equal names have equal codes, though a {@link ShapeView}
+     *         returns {@link AttributeDictionary#ABSENT_CODE} for a name not in the dictionary
+     */
+    public int getNameCode() {
+        return nameCode;
+    }
+    
+    /**
+     * Gets the code of the color in the shared color dictionary
+     * @return The color code; equal colors have equal codes, though a {@link ShapeView}
+     *         returns {@link AttributeDictionary#ABSENT_CODE} for a color not in the dictionary
+     */
+    public int getColorCode() {
+        return colorCode;
+    }
+    
+    /**
+     * Gets the dictionary shared by all shapes for names
+     * @return The name dictionary
+     */
+    public static AttributeDictionary getNameDictionary() {
+        return names;
+    }
+    
+    /**
+     * Gets the dictionary shared by all shapes for colors
+     * @return The color dictionary
+     */
+    public static AttributeDictionary getColorDictionary() {
+        return colors;
+    }
+    
+    // Memoization
+    /**
+     * Checks whether volume and surface area are memoized for this shape
+     * @return true if derived metrics are cached
+     */
+    public boolean isMemoized() {
+        return memoized;
+    }
+    
+    /**
+     * Enables or disables memoization of volume and surface area for this shape
+     * @param memoized true to cache derived metrics until a dimension changes
+     */
+    public void setMemoized(boolean memoized) {
+        this.memoized = memoized;
+        this.metrics = null;
+    }
+    
+    /**
+     * Must be called by subclasses after any change that affects volume or surface area
+     */
+    protected void dimensionsChanged() {
+        DIMENSION_VERSION.incrementAndGet(this);
+        ShapeChangeListener[] current = listeners;
+        if (current != null) {
+            for (ShapeChangeListener listener : current) {
+                listener.dimensionsChanged(this);
+            }
+        }
+    }
+    
+    /**
+     * Must be called by subclasses that override the name or color setters, after the change
+     */
+    protected void attributesChanged() {
+        ShapeChangeListener[] current = listeners;
+        if (current != null) {
+            for (ShapeChangeListener listener : current) {
+                listener.attributesChanged(this);
+            }
+        }
+    }
+    
+    // Change listeners
+    /**
+     * Registers a listener to be notified after each dimension change
+     * @param listener The listener to add
+     * @throws NullPointerException if listener is null
+     */
+    public synchronized void addChangeListener(ShapeChangeListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        if (listeners == null) {
+            listeners = new ShapeChangeListener[] {listener};
+        } else {
+            ShapeChangeListener[] grown = Arrays.copyOf(listeners, listeners.length + 1);
+            grown[listeners.length] = listener;
+            listeners = grown;
+        }
+    }
+    
+    /**
+     * Removes one registration of a listener
+     * @param listener The listener to remove
+     * @return true if the listener was registered
+     */
+    public synchronized boolean removeChangeListener(ShapeChangeListener listener) {
+        if (listeners == null) {
+            return false;
+        }
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                if (listeners.length == 1) {
+                    listeners = null;
+                } else {
+                    ShapeChangeListener[] shrunk = new ShapeChangeListener[listeners.length - 1];
+                    System.arraycopy(listeners, 0, shrunk, 0, i);
+                    System.arraycopy(listeners, i + 1, shrunk, i, shrunk.length - i);
+                    listeners = shrunk;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Gets the number of memoized reads answered from the cache
+     * @return The total cache hits across all shapes
+     */
+    public static long getCacheHits() {
+        return cacheHits.sum();
+    }
+    
+    /**
+     * Gets the number of memoized reads that had to recalculate
+     * @return The total cache misses across all shapes
+     */
+    public static long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+    
+    /**
+     * Gets the fraction of memoized reads answered from the cache
+     * @return The hit rate between 0 and 1, or 0 if nothing was read
+     */
+    public static double getCacheHitRate() {
+        long hits = cacheHits.sum();
+        long total = hits + cacheMisses.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+    
+    /**
+     * Resets the cache hit and miss counters
+     */
+    public static void resetCacheStatistics() {
+        cacheHits.reset();
+        cacheMisses.reset();
+    }
+    
+    /**
+     * Gets the memoized metrics for the current dimensions, recalculating both on a miss
+     */
+    private Metrics currentMetrics() {
+        int version = dimensionVersion;
+        Metrics current = metrics;
+        if (current != null && current.version() == version) {
+            cacheHits.increment();
+            return current;
+        }
+        cacheMisses.increment();
+        current = new Metrics(version, calculateVolume(), calculateSurfaceArea());
+        metrics = current;
+        return current;
     }
     
     // Abstract methods that subclasses must implement
@@ -85,21 +333,29 @@ public abstract class Shape3D implements ThreeDimensionalShape {
     
     // Concrete implementations of interface methods
     /**
-     * Gets the volume by calling the abstract calculateVolume method
+     * Gets the volume by calling the abstract calculateVolume method,
+     * or from the cache if this shape is memoized
      * @return The volume of the shape
      */
     @Override
     public double getVolume() {
-        return calculateVolume();
+        if (!memoized) {
+            return calculateVolume();
+        }
+        return currentMetrics().volume();
     }
     
     /**
-     * Gets the surface area by calling the abstract calculateSurfaceArea method
+     * Gets the surface area by calling the abstract calculateSurfaceArea method,
+     * or from the cache if this shape is memoized
      * @return The surface area of the shape
      */
     @Override
     public double getSurfaceArea() {
-        return calculateSurfaceArea();
+        if (!memoized) {
+            return calculateSurfaceArea();
+        }
+        return currentMetrics().surfaceArea();
     }
     
     /**
@@ -108,7 +364,9 @@ public abstract class Shape3D implements ThreeDimensionalShape {
      */
     @Override
     public String toString() {
-        return String.format("%s Shape [Color: %s, Volume: %.2f, Surface Area: %.2f]", 
-                           name, color, getVolume(), getSurfaceArea());
+        StringBuilder text = new StringBuilder(96)
+            .append(getName()).append(" Shape [Color: ").append(getColor()).append(", Volume: ");
+        ReportWriter.appendFixed(text, getVolume(), 2).append(", Surface Area: ");
+        return ReportWriter.appendFixed(text, getSurfaceArea(), 2).append(']').toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,305 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.BeforeEach;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for behavior shared by all Shape3D subclasses
+ * Tests opt-in memoization of volume and surface area, invalidation
+ * through the dimension setters, the cache hit/miss counters and
+ * dictionary encoding of names and colors
+ */
+@DisplayName("Shape3D Tests")
+class Shape3DTest {
+
+    @BeforeEach
+    void setUp() {
+        Shape3D.resetCacheStatistics();
+    }
+
+    @Nested
+    @DisplayName("Memoization Tests")
+    class MemoizationTests {
+
+        @Test
+        @DisplayName("Memoization is disabled by default")
+        void disabledByDefault() {
+            Sphere sphere = new Sphere(2.0);
+            sphere.getVolume();
+            sphere.getSurfaceArea();
+
+            assertFalse(sphere.isMemoized());
+            assertEquals(0, Shape3D.getCacheHits());
+            assertEquals(0, Shape3D.getCacheMisses());
+        }
+
+        @Test
+        @DisplayName("Repeated reads are answered from the cache")
+        void repeatedReadsHitCache() {
+            Cube cube = new Cube(3.0);
+            cube.setMemoized(true);
+
+            assertEquals(27.0, cube.getVolume());
+            assertEquals(54.0, cube.getSurfaceArea());
+            assertEquals(27.0, cube.getVolume());
+
+            assertEquals(1, Shape3D.getCacheMisses());
+            assertEquals(2, Shape3D.getCacheHits());
+            assertEquals(2.0 / 3.0, Shape3D.getCacheHitRate(), 1e-12);
+        }
+
+        @Test
+        @DisplayName("Memoized values equal calculated values")
+        void memoizedValuesMatch() {
+            Shape3D[] shapes = {
+                new Sphere(5.0), new Cube(4.0), new Cylinder(3.0, 6.0),
+                new RectangularPrism(2.0, 4.0, 3.0), new Cone(4.0, 8.0)
+            };
+            for (Shape3D shape : shapes) {
+                double volume = shape.getVolume();
+                double surfaceArea = shape.getSurfaceArea();
+                shape.setMemoized(true);
+
+                assertEquals(volume, shape.getVolume());
+                assertEquals(surfaceArea, shape.getSurfaceArea());
+            }
+        }
+
+        @Test
+        @DisplayName("Hit rate is zero before any memoized read")
+        void hitRateWithoutReads() {
+            assertEquals(0.0, Shape3D.getCacheHitRate());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Sphere radius setter invalidates cached metrics")
+        void sphereSetterInvalidates() {
+            Sphere sphere = new Sphere(1.0);
+            sphere.setMemoized(true);
+            sphere.getVolume();
+
+            sphere.setRadius(2.0);
+
+            assertEquals(new Sphere(2.0).getVolume(), sphere.getVolume());
+            assertEquals(new Sphere(2.0).getSurfaceArea(), sphere.getSurfaceArea());
+        }
+
+        @Test
+        @DisplayName("Cylinder setters invalidate cached metrics")
+        void cylinderSettersInvalidate() {
+            Cylinder cylinder = new Cylinder(1.0, 1.0);
+            cylinder.setMemoized(true);
+            cylinder.getVolume();
+
+            cylinder.setRadius(2.0);
+            assertEquals(new Cylinder(2.0, 1.0).getVolume(), cylinder.getVolume());
+            cylinder.setHeight(5.0);
+            assertEquals(new Cylinder(2.0, 5.0).getVolume(), cylinder.getVolume());
+        }
+
+        @Test
+        @DisplayName("RectangularPrism setters invalidate cached metrics")
+        void prismSettersInvalidate() {
+            RectangularPrism prism = new RectangularPrism(1.0, 1.0, 1.0);
+            prism.setMemoized(true);
+            prism.getSurfaceArea();
+
+            prism.setLength(2.0);
+            prism.setWidth(3.0);
+            prism.setHeight(4.0);
+
+            assertEquals(24.0, prism.getVolume());
+            assertEquals(52.0, prism.getSurfaceArea());
+        }
+
+        @Test
+        @DisplayName("Cone and Cube setters invalidate cached metrics")
+        void coneAndCubeSettersInvalidate() {
+            Cone cone = new Cone(1.0, 1.0);
+            Cube cube = new Cube(1.0);
+            cone.setMemoized(true);
+            cube.setMemoized(true);
+            cone.getVolume();
+            cube.getVolume();
+
+            cone.setHeight(3.0);
+            cube.setSideLength(2.0);
+
+            assertEquals(new Cone(1.0, 3.0).getSurfaceArea(), cone.getSurfaceArea());
+            assertEquals(8.0, cube.getVolume());
+        }
+
+        @Test
+        @DisplayName("Rejected setter values keep the cache valid")
+        void rejectedSetterKeepsCache() {
+            Sphere sphere = new Sphere(1.0);
+            sphere.setMemoized(true);
+            sphere.getVolume();
+
+            assertThrows(IllegalArgumentException.class, () -> sphere.setRadius(-1.0));
+            sphere.getVolume();
+
+            assertEquals(1, Shape3D.getCacheMisses());
+            assertEquals(1, Shape3D.getCacheHits());
+        }
+
+        @Test
+        @DisplayName("Name and color changes do not invalidate the cache")
+        void attributeChangesKeepCache() {
+            Cube cube = new Cube(2.0);
+            cube.setMemoized(true);
+            cube.getVolume();
+
+            cube.setName("Renamed");
+            cube.setColor("Blue");
+            cube.getVolume();
+
+            assertEquals(1, Shape3D.getCacheMisses());
+        }
+
+        @Test
+        @DisplayName("Repositioning a memoized view invalidates its cache")
+        void viewMoveInvalidates() {
+            ShapeStore store = new ShapeStore();
+            store.add(new Cube(2.0));
+            store.add(new Cube(3.0));
+            ShapeView view = store.view(0);
+            view.setMemoized(true);
+
+            assertEquals(8.0, view.getVolume());
+            assertEquals(27.0, view.moveTo(1).getVolume());
+        }
+    }
+
+    @Nested
+    @DisplayName("Change Listener Tests")
+    class ChangeListenerTests {
+
+        @Test
+        @DisplayName("Listeners are notified after each dimension change")
+        void listenersNotified() {
+            Cylinder cylinder = new Cylinder(1.0, 1.0);
+            List<Double> volumes = new ArrayList<>();
+            cylinder.addChangeListener(shape -> volumes.add(shape.getVolume()));
+
+            cylinder.setRadius(2.0);
+            cylinder.setHeight(3.0);
+
+            assertEquals(List.of(4 * Math.PI, 12 * Math.PI), volumes);
+        }
+
+        @Test
+        @DisplayName("Rejected values and attribute changes do not notify")
+        void noSpuriousNotifications() {
+            Cube cube = new Cube(2.0);
+            int[] calls = new int[1];
+            cube.addChangeListener(shape -> calls[0]++);
+
+            assertThrows(IllegalArgumentException.class, () -> cube.setSideLength(0.0));
+            cube.setName("Renamed");
+
+            assertEquals(0, calls[0]);
+        }
+
+        @Test
+        @DisplayName("Removed listeners are no longer notified")
+        void removedListeners() {
+            Sphere sphere = new Sphere(1.0);
+            int[] calls = new int[2];
+            ShapeChangeListener first = shape -> calls[0]++;
+            ShapeChangeListener second = shape -> calls[1]++;
+            sphere.addChangeListener(first);
+            sphere.addChangeListener(second);
+
+            assertTrue(sphere.removeChangeListener(first));
+            assertFalse(sphere.removeChangeListener(first));
+            sphere.setRadius(2.0);
+
+            assertArrayEquals(new int[] {0, 1}, calls);
+        }
+    }
+
+    @Nested
+    @DisplayName("Attribute Dictionary Tests")
+    class AttributeDictionaryTests {
+
+        @Test
+        @DisplayName("Equal attributes share a code and a single string")
+        void equalAttributesShareCodes() {
+            Sphere sphere = new Sphere("Ball", new String("Crimson".toCharArray()), 1.0);
+            Cube cube = new Cube("Box", new String("Crimson".toCharArray()), 1.0);
+
+            assertEquals(sphere.getColorCode(), cube.getColorCode());
+            assertNotEquals(sphere.getNameCode(), cube.getNameCode());
+            assertSame(sphere.getColor(), cube.getColor());
+            assertEquals("Crimson", cube.getColor());
+        }
+
+        @Test
+        @DisplayName("Setters and defaults round-trip through the dictionaries")
+        void settersRoundTrip() {
+            Cone cone = new Cone(1.0, 2.0);
+            assertEquals("Cone", cone.getName());
+            assertEquals("Unknown Color", cone.getColor());
+
+            cone.setName("Peak");
+            cone.setColor(null);
+
+            assertEquals("Peak", cone.getName());
+            assertNull(cone.getColor());
+            assertEquals(AttributeDictionary.NULL_CODE, cone.getColorCode());
+            assertEquals("Peak", Shape3D.getNameDictionary().decode(cone.getNameCode()));
+        }
+
+        @Test
+        @DisplayName("Views report codes for their current row")
+        void viewCodes() {
+            ShapeStore store = new ShapeStore();
+            store.add(new Cube("Box", "Navy", 1.0));
+            store.add(new Cube("Box", "Gold", 1.0));
+            ShapeView view = store.view(0);
+
+            assertEquals(new Cube("Other", "Navy", 2.0).getColorCode(), view.getColorCode());
+            assertEquals(new Cube("Box", "Gold", 2.0).getColorCode(), view.moveTo(1).getColorCode());
+        }
+
+        @Test
+        @DisplayName("Concurrent encoding assigns exactly one code per value")
+        void concurrentEncoding() throws Exception {
+            AttributeDictionary dictionary = new AttributeDictionary();
+            int values = 5_000;
+            int[][] codes = new int[8][values];
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < codes.length; t++) {
+                int[] threadCodes = codes[t];
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < values; i++) {
+                        threadCodes[i] = dictionary.encode("Value " + i);
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(values, dictionary.size());
+            for (int[] threadCodes : codes) {
+                assertArrayEquals(codes[0], threadCodes);
+            }
+            for (int i = 0; i < values; i++) {
+                assertEquals("Value " + i, dictionary.decode(codes[0][i]));
+            }
+        }
+    }
+}
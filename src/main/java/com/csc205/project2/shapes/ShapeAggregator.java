@@ -0,0 +1,273 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Group-by aggregation of volume and surface area by type, color or name prefix.
+ *
+ * Shapes are reduced to an int group key (type tag, dictionary color code,
+ * or a code for the name prefix), and the aggregates are kept in an
+ * {@link IntGroupTable}. This avoids boxed keys, string hashing and
+ * per-group objects on the hot path. Shared dictionary codes are mapped to
+ * codes local to each run, and name prefixes are worked out once per
+ * distinct name code rather than once per shape. Flyweight views whose
+ * values are not in the shared dictionaries are keyed by their strings, so
+ * aggregating views never grows those dictionaries. A {@link ShapeStore} is
+ * aggregated straight from its columns, sequentially or split across a
+ * fork-join pool with one table per task.
+ *
+ * Sums are plain (uncompensated) double additions.
+ */
+public final class ShapeAggregator {
+    /** Smallest row range worth splitting further in a parallel run */
+    static final int MIN_SPLIT = 1 << 16;
+
+    private static final ShapeType[] TYPES = ShapeType.values();
+    private static final int UNRESOLVED = Integer.MIN_VALUE;
+
+    private enum Key { TYPE, COLOR, NAME_PREFIX }
+
+    private final Key key;
+    private final int prefixLength;
+
+    private ShapeAggregator(Key key, int prefixLength) {
+        this.key = key;
+        this.prefixLength = prefixLength;
+    }
+
+    /**
+     * Groups by shape type; keys are simple class names such as "RectangularPrism"
+     * @return An aggregator by type
+     */
+    public static ShapeAggregator byType() {
+        return new ShapeAggregator(Key.TYPE, 0);
+    }
+
+    /**
+     * Groups by color
+     * @return An aggregator by color
+     */
+    public static ShapeAggregator byColor() {
+        return new ShapeAggregator(Key.COLOR, 0);
+    }
+
+    /**
+     * Groups by the first characters of the name; shorter names form their own group
+     * @param prefixLength The number of code points in the prefix
+     * @return An aggregator by name prefix
+     * @throws IllegalArgumentException if prefixLength is less than one
+     */
+    public static ShapeAggregator byNamePrefix(int prefixLength) {
+        if (prefixLength < 1) {
+            throw new IllegalArgumentException("Prefix length must be at least one");
+        }
+        return new ShapeAggregator(Key.NAME_PREFIX, prefixLength);
+    }
+
+    /**
+     * Aggregates shape objects
+     * @param shapes The shapes to aggregate
+     * @return The groups in first-seen order
+     */
+    public ShapeGroups aggregate(Iterable<? extends Shape3D> shapes) {
+        IntGroupTable table = new IntGroupTable();
+        KeyCodes codes = switch (key) {
+            case TYPE -> null;
+            case COLOR -> new KeyCodes(Shape3D.getColorDictionary(), false);
+            case NAME_PREFIX -> new KeyCodes(Shape3D.getNameDictionary(), true);
+        };
+        for (Shape3D shape : shapes) {
+            int groupKey = switch (key) {
+                case TYPE -> ShapeType.of(shape).ordinal();
+                case COLOR -> codes.of(shape.getColorCode(), shape.getColor());
+                case NAME_PREFIX -> codes.of(shape.getNameCode(), shape.getName());
+            };
+            table.add(groupKey, shape.getVolume(), shape.getSurfaceArea());
+        }
+        return toGroups(table, codes == null ? null : codes.keys);
+    }
+
+    /**
+     * Aggregates the rows of a columnar store on the calling thread
+     * @param store The store to aggregate
+     * @return The groups in first-seen order
+     */
+    public ShapeGroups aggregate(ShapeStore store) {
+        IntGroupTable table = new IntGroupTable();
+        int[] nameKeys = null;
+        AttributeDictionary labels = store.getColorDictionary();
+        if (key == Key.NAME_PREFIX) {
+            KeyCodes prefixes = new KeyCodes(store.getNameDictionary(), true);
+            nameKeys = prefixes.resolveAll();
+            labels = prefixes.keys;
+        }
+        accumulate(store, nameKeys, 0, store.size(), table);
+        return toGroups(table, labels);
+    }
+
+    /**
+     * Aggregates the rows of a columnar store on the common fork-join pool
+     * @param store The store to aggregate
+     * @return The groups in first-seen order, as from {@link #aggregate(ShapeStore)}
+     */
+    public ShapeGroups aggregateParallel(ShapeStore store) {
+        return aggregateParallel(store, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Aggregates the rows of a columnar store on the given pool
+     * @param store The store to aggregate, which must not change during the call
+     * @param pool The pool to run on
+     * @return The groups in first-seen order, as from {@link #aggregate(ShapeStore)}
+     */
+    public ShapeGroups aggregateParallel(ShapeStore store, ForkJoinPool pool) {
+        int[] nameKeys = null;
+        AttributeDictionary labels = store.getColorDictionary();
+        if (key == Key.NAME_PREFIX) {
+            KeyCodes prefixes = new KeyCodes(store.getNameDictionary(), true);
+            nameKeys = prefixes.resolveAll();
+            labels = prefixes.keys;
+        }
+        int threshold = Math.max(MIN_SPLIT, store.size() / (pool.getParallelism() * 4));
+        IntGroupTable table = pool.invoke(new AggregateTask(store, nameKeys, 0, store.size(), threshold));
+        return toGroups(table, labels);
+    }
+
+    private final class AggregateTask extends RecursiveTask<IntGroupTable> {
+        private final ShapeStore store;
+        private final int[] nameKeys;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        private AggregateTask(ShapeStore store, int[] nameKeys, int from, int to, int threshold) {
+            this.store = store;
+            this.nameKeys = nameKeys;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected IntGroupTable compute() {
+            if (to - from <= threshold) {
+                IntGroupTable table = new IntGroupTable();
+                accumulate(store, nameKeys, from, to, table);
+                return table;
+            }
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(store, nameKeys, from, middle, threshold);
+            left.fork();
+            IntGroupTable right = new AggregateTask(store, nameKeys, middle, to, threshold).compute();
+            // Merging right into left keeps groups in first-seen order
+            IntGroupTable merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+
+    private void accumulate(ShapeStore store, int[] nameKeys, int from, int to, IntGroupTable table) {
+        byte[] tags = store.typeTagColumn();
+        double[] d0 = store.dimensionColumn(0);
+        double[] d1 = store.dimensionColumn(1);
+        double[] d2 = store.dimensionColumn(2);
+        int[] keyColumn = switch (key) {
+            case TYPE -> null;
+            case COLOR -> store.colorCodeColumn();
+            case NAME_PREFIX -> store.nameCodeColumn();
+        };
+        for (int row = from; row < to; row++) {
+            ShapeType type = TYPES[tags[row]];
+            double volume = type.volume(d0[row], d1[row], d2[row]);
+            double surfaceArea = type.surfaceArea(d0[row], d1[row], d2[row]);
+            int groupKey;
+            if (keyColumn == null) {
+                groupKey = tags[row];
+            } else if (nameKeys == null) {
+                groupKey = keyColumn[row];
+            } else {
+                int code = keyColumn[row];
+                groupKey = code < 0 ? AttributeDictionary.NULL_CODE : nameKeys[code];
+            }
+            table.add(groupKey, volume, surfaceArea);
+        }
+    }
+
+    private ShapeGroups toGroups(IntGroupTable table, AttributeDictionary labels) {
+        List<ShapeGroups.Group> groups = new ArrayList<>(table.size());
+        for (int group = 0; group < table.size(); group++) {
+            int groupKey = table.key(group);
+            String label = switch (key) {
+                case TYPE -> TYPES[groupKey].getSimpleName();
+                case COLOR, NAME_PREFIX -> labels.decode(groupKey);
+            };
+            groups.add(new ShapeGroups.Group(label, table.count(group),
+                table.volumeSum(group), table.volumeMin(group), table.volumeMax(group),
+                table.surfaceAreaSum(group), table.surfaceAreaMin(group), table.surfaceAreaMax(group)));
+        }
+        return new ShapeGroups(groups);
+    }
+
+    /**
+     * Maps dictionary codes to group keys local to one run, working out each
+     * key (the value itself or its name prefix) once per distinct code
+     */
+    private final class KeyCodes {
+        private final AttributeDictionary values;
+        private final boolean prefixed;
+        private final AttributeDictionary keys = new AttributeDictionary();
+        private int[] byCode = new int[0];
+
+        private KeyCodes(AttributeDictionary values, boolean prefixed) {
+            this.values = values;
+            this.prefixed = prefixed;
+        }
+
+        private int of(int code) {
+            if (code == AttributeDictionary.NULL_CODE) {
+                return AttributeDictionary.NULL_CODE;
+            }
+            if (code >= byCode.length) {
+                int old = byCode.length;
+                byCode = Arrays.copyOf(byCode, Math.max(code + 1, old * 2));
+                Arrays.fill(byCode, old, byCode.length, UNRESOLVED);
+            }
+            int keyCode = byCode[code];
+            if (keyCode == UNRESOLVED) {
+                keyCode = keys.encode(key(values.decode(code)));
+                byCode[code] = keyCode;
+            }
+            return keyCode;
+        }
+
+        /**
+         * Gets the group key for a shape's code, falling back to its value when the code is absent
+         */
+        private int of(int code, String value) {
+            return code == AttributeDictionary.ABSENT_CODE ? keys.encode(key(value)) : of(code);
+        }
+
+        /**
+         * Resolves every code currently in the dictionary
+         * @return Group keys indexed by code
+         */
+        private int[] resolveAll() {
+            int count = values.size();
+            for (int code = 0; code < count; code++) {
+                of(code);
+            }
+            return byCode;
+        }
+
+        private String key(String name) {
+            if (!prefixed || name.codePointCount(0, name.length()) <= prefixLength) {
+                return name;
+            }
+            return name.substring(0, name.offsetByCodePoints(0, prefixLength));
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ShapeAggregator
+ * Tests that grouping by type, color and name prefix matches the stream
+ * collectors for shape lists and columnar stores, sequentially and in parallel
+ */
+@DisplayName("ShapeAggregator Tests")
+class ShapeAggregatorTest {
+
+    private static final String[] NAMES = {"Alpha", "Alpine", "Beta", "Bet", "Gamma", "Ga", "Z", "Échelle", "Éclat"};
+    private static final String[] COLORS = {"Crimson", "Navy", "Forest", "Gold", "Violet"};
+
+    private static ShapeStore storeOf(List<Shape3D> shapes) {
+        ShapeStore store = new ShapeStore();
+        store.addAll(shapes);
+        return store;
+    }
+
+    private static void assertMatchesCollectors(List<Shape3D> shapes, Function<Shape3D, String> classifier,
+                                                ShapeGroups groups) {
+        Map<String, List<Shape3D>> expected = shapes.stream()
+            .collect(Collectors.groupingBy(classifier, LinkedHashMap::new, Collectors.toList()));
+
+        assertEquals(new ArrayList<>(expected.keySet()),
+            groups.groups().stream().map(ShapeGroups.Group::key).toList(), "first-seen order");
+        for (Map.Entry<String, List<Shape3D>> entry : expected.entrySet()) {
+            ShapeGroups.Group group = groups.get(entry.getKey());
+            DoubleSummaryStatistics volume = entry.getValue().stream()
+                .mapToDouble(Shape3D::getVolume).summaryStatistics();
+            DoubleSummaryStatistics area = entry.getValue().stream()
+                .mapToDouble(Shape3D::getSurfaceArea).summaryStatistics();
+
+            assertEquals(volume.getCount(), group.count(), entry.getKey());
+            assertEquals(volume.getSum(), group.volumeSum(), 1e-9 * volume.getSum(), entry.getKey());
+            assertEquals(volume.getMin(), group.volumeMin(), entry.getKey());
+            assertEquals(volume.getMax(), group.volumeMax(), entry.getKey());
+            assertEquals(volume.getAverage(), group.volumeAverage(), 1e-9 * volume.getAverage(), entry.getKey());
+            assertEquals(area.getSum(), group.surfaceAreaSum(), 1e-9 * area.getSum(), entry.getKey());
+            assertEquals(area.getMin(), group.surfaceAreaMin(), entry.getKey());
+            assertEquals(area.getMax(), group.surfaceAreaMax(), entry.getKey());
+        }
+    }
+
+    private static String prefix(Shape3D shape, int length) {
+        String name = shape.getName();
+        return name.length() <= length ? name : name.substring(0, length);
+    }
+
+    @Nested
+    @DisplayName("Shape List Tests")
+    class ShapeListTests {
+
+        @Test
+        @DisplayName("Grouping by type matches groupingBy on the class name")
+        void byType() {
+            List<Shape3D> shapes = ShapeFixtures.randomShapes(5_000, 205, NAMES, COLORS);
+
+            ShapeGroups groups = ShapeAggregator.byType().aggregate(shapes);
+
+            assertMatchesCollectors(shapes, shape -> shape.getClass().getSimpleName(), groups);
+            assertEquals(shapes.stream().collect(Collectors.groupingBy(
+                shape -> shape.getClass().getSimpleName(), Collectors.counting())), groups.counts());
+            assertEquals(shapes.stream().map(shape -> shape.getClass().getSimpleName()).distinct().toList(),
+                List.copyOf(groups.counts().keySet()));
+        }
+
+        @Test
+        @DisplayName("Grouping by color matches groupingBy on the color")
+        void byColor() {
+            List<Shape3D> shapes = ShapeFixtures.randomShapes(5_000, 42, NAMES, COLORS);
+
+            assertMatchesCollectors(shapes, Shape3D::getColor, ShapeAggregator.byColor().aggregate(shapes));
+        }
+
+        @Test
+        @DisplayName("Grouping by name prefix keeps short names whole")
+        void byNamePrefix() {
+            List<Shape3D> shapes = ShapeFixtures.randomShapes(5_000, 7, NAMES, COLORS);
+
+            for (int length = 1; length <= 4; length++) {
+                int prefixLength = length;
+                assertMatchesCollectors(shapes, shape -> prefix(shape, prefixLength),
+                    ShapeAggregator.byNamePrefix(length).aggregate(shapes));
+            }
+        }
+
+        @Test
+        @DisplayName("Grouping views leaves the shared dictionaries unchanged")
+        void viewsDoNotGrowDictionaries() {
+            ShapeStore store = new ShapeStore();
+            for (int i = 0; i < 30; i++) {
+                store.add(ShapeType.CUBE, "Unshared " + (i % 7), "Unshared color " + (i % 3), 1.0 + i, 0, 0);
+            }
+            List<Shape3D> views = new ArrayList<>();
+            for (int row = 0; row < store.size(); row++) {
+                views.add(store.view(row));
+            }
+            int names = Shape3D.getNameDictionary().size();
+            int colors = Shape3D.getColorDictionary().size();
+
+            assertEquals(ShapeAggregator.byColor().aggregate(store).groups(),
+                ShapeAggregator.byColor().aggregate(views).groups());
+            assertEquals(ShapeAggregator.byNamePrefix(10).aggregate(store).groups(),
+                ShapeAggregator.byNamePrefix(10).aggregate(views).groups());
+            assertEquals(AttributeDictionary.ABSENT_CODE, views.get(0).getColorCode());
+            assertEquals(names, Shape3D.getNameDictionary().size());
+            assertEquals(colors, Shape3D.getColorDictionary().size());
+        }
+
+        @Test
+        @DisplayName("Views are grouped by the type of their row")
+        void viewsGroupByRowType() {
+            ShapeStore store = new ShapeStore();
+            store.add(new Cone("Peak", "Violet", 4.0, 8.0));
+            store.add(new Cube("Box", "Navy", 2.0));
+
+            ShapeGroups groups = ShapeAggregator.byType().aggregate(List.of(store.view(0), store.view(1)));
+
+            assertEquals(Map.of("Cone", 1L, "Cube", 1L), groups.counts());
+            assertEquals(8.0, groups.get("Cube").volumeSum());
+        }
+
+        @Test
+        @DisplayName("Null names form their own group and empty input has no groups")
+        void nullsAndEmpty() {
+            List<Shape3D> shapes = List.of(new Cube(null, "Navy", 1.0), new Cube("Box", null, 2.0));
+
+            assertEquals(1, ShapeAggregator.byNamePrefix(2).aggregate(shapes).get(null).count());
+            assertEquals(8.0, ShapeAggregator.byColor().aggregate(shapes).get(null).volumeSum());
+            assertEquals(0, ShapeAggregator.byType().aggregate(List.of()).size());
+            assertThrows(IllegalArgumentException.class, () -> ShapeAggregator.byNamePrefix(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Store Tests")
+    class StoreTests {
+
+        @Test
+        @DisplayName("Stores aggregate to the same groups as their shapes")
+        void storeMatchesShapes() {
+            List<Shape3D> shapes = ShapeFixtures.randomShapes(5_000, 11, NAMES, COLORS);
+            ShapeStore store = storeOf(shapes);
+
+            assertMatchesCollectors(shapes, shape -> shape.getClass().getSimpleName(),
+                ShapeAggregator.byType().aggregate(store));
+            assertMatchesCollectors(shapes, Shape3D::getColor, ShapeAggregator.byColor().aggregate(store));
+            assertMatchesCollectors(shapes, shape -> prefix(shape, 3), ShapeAggregator.byNamePrefix(3).aggregate(store));
+        }
+
+        @Test
+        @DisplayName("Parallel aggregation matches sequential aggregation exactly")
+        void parallelMatchesSequential() {
+            ShapeStore store =
+                storeOf(ShapeFixtures.randomShapes(3 * ShapeAggregator.MIN_SPLIT + 17, 99, NAMES, COLORS));
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                for (ShapeAggregator aggregator : List.of(ShapeAggregator.byType(), ShapeAggregator.byColor(),
+                                                          ShapeAggregator.byNamePrefix(2))) {
+                    List<ShapeGroups.Group> sequential = aggregator.aggregate(store).groups();
+                    List<ShapeGroups.Group> parallel = aggregator.aggregateParallel(store, pool).groups();
+
+                    assertEquals(sequential.size(), parallel.size());
+                    for (int i = 0; i < sequential.size(); i++) {
+                        ShapeGroups.Group expected = sequential.get(i);
+                        ShapeGroups.Group actual = parallel.get(i);
+                        assertEquals(expected.key(), actual.key());
+                        assertEquals(expected.count(), actual.count());
+                        assertEquals(expected.volumeMin(), actual.volumeMin());
+                        assertEquals(expected.surfaceAreaMax(), actual.surfaceAreaMax());
+                        assertEquals(expected.volumeSum(), actual.volumeSum(), 1e-9 * expected.volumeSum());
+                    }
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
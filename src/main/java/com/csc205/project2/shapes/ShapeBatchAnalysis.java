@@ -0,0 +1,143 @@
+package com.csc205.project2.shapes;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Single-pass comprehensive analysis for batch mode.
+ * Shapes are consumed one at a time: each is written to the summary table as
+ * it arrives and folded into running extremes, summary statistics and the
+ * type distribution, so nothing proportional to the input size is retained.
+ * The efficiency ranking keeps only the best {@code topCount} shapes in a
+ * bounded heap. Sections are printed with the same formatting as the
+ * interactive analysis in {@link ShapeDriver}.
+ */
+class ShapeBatchAnalysis implements Consumer<Shape3D> {
+    private final PrintStream out;
+    private final ReportWriter report;
+    private final int topCount;
+
+    private final DoubleSummaryStatistics volumeStats = new DoubleSummaryStatistics();
+    private final DoubleSummaryStatistics surfaceStats = new DoubleSummaryStatistics();
+    private final Map<String, Long> typeDistribution = new HashMap<>();
+    // Worst ranked entry at the head: lowest ratio, latest arrival on ties
+    private final PriorityQueue<RankedShape> mostEfficient = new PriorityQueue<>(
+        Comparator.comparingDouble(RankedShape::ratio).thenComparing(RankedShape::order, Comparator.reverseOrder()));
+
+    private Shape3D largestVolume;
+    private Shape3D smallestVolume;
+    private Shape3D largestSurface;
+    private Shape3D smallestSurface;
+    private double maxVolume;
+    private double minVolume;
+    private double maxSurface;
+    private double minSurface;
+    private long count;
+
+    private record RankedShape(Shape3D shape, double ratio, long order) {
+    }
+
+    /**
+     * Constructor with report stream and ranking size
+     * @param out The stream to write the report to
+     * @param topCount The number of shapes to keep in the efficiency ranking
+     * @throws IllegalArgumentException if topCount is less than one
+     */
+    ShapeBatchAnalysis(PrintStream out, int topCount) {
+        if (topCount < 1) {
+            throw new IllegalArgumentException("Ranking size must be at least one");
+        }
+        this.out = out;
+        this.report = new ReportWriter(out);
+        this.topCount = topCount;
+    }
+
+    /**
+     * Adds a shape to the analysis and writes its summary table row
+     * @param shape The shape to analyze
+     */
+    @Override
+    public void accept(Shape3D shape) {
+        if (count == 0) {
+            out.println(">>> COMPREHENSIVE ANALYSIS");
+            out.println();
+            ShapeDriver.printShapeTableHeader(out);
+        }
+        count++;
+        double volume = shape.getVolume();
+        double surfaceArea = shape.getSurfaceArea();
+        ShapeDriver.printShapeTableRow(report, count, shape, volume, surfaceArea);
+
+        // Ties keep the earliest shape, as Stream.max and Stream.min do
+        if (largestVolume == null || volume > maxVolume) {
+            largestVolume = shape;
+            maxVolume = volume;
+        }
+        if (smallestVolume == null || volume < minVolume) {
+            smallestVolume = shape;
+            minVolume = volume;
+        }
+        if (largestSurface == null || surfaceArea > maxSurface) {
+            largestSurface = shape;
+            maxSurface = surfaceArea;
+        }
+        if (smallestSurface == null || surfaceArea < minSurface) {
+            smallestSurface = shape;
+            minSurface = surfaceArea;
+        }
+
+        volumeStats.accept(volume);
+        surfaceStats.accept(surfaceArea);
+        typeDistribution.merge(shape.getClass().getSimpleName(), 1L, Long::sum);
+
+        double ratio = volume / surfaceArea;
+        if (mostEfficient.size() < topCount) {
+            mostEfficient.add(new RankedShape(shape, ratio, count));
+        } else if (ratio > mostEfficient.peek().ratio()) {
+            mostEfficient.poll();
+            mostEfficient.add(new RankedShape(shape, ratio, count));
+        }
+    }
+
+    /**
+     * Gets the number of shapes analyzed so far
+     * @return The shape count
+     */
+    long getShapeCount() {
+        return count;
+    }
+
+    /**
+     * Writes the remaining analysis sections after the last shape
+     */
+    void finish() {
+        report.flush();
+        if (count == 0) {
+            out.println("No shapes available for analysis.");
+            return;
+        }
+        out.println();
+
+        ShapeDriver.printComparativeAnalysis(out, largestVolume, smallestVolume, largestSurface, smallestSurface);
+        ShapeDriver.printStatisticalAnalysis(out, volumeStats, surfaceStats, typeDistribution);
+
+        List<RankedShape> ranked = new ArrayList<>(mostEfficient);
+        ranked.sort(Comparator.comparingDouble(RankedShape::ratio).reversed()
+            .thenComparingLong(RankedShape::order));
+        List<ShapeDriver.ShapeEfficiency> efficiencies = new ArrayList<>(ranked.size());
+        for (RankedShape entry : ranked) {
+            efficiencies.add(new ShapeDriver.ShapeEfficiency(entry.shape(), entry.ratio()));
+        }
+        ShapeDriver.printEfficiencyAnalysis(out, efficiencies);
+        if (count > topCount) {
+            out.printf("(Efficiency ranking shows the top %d of %d shapes)%n%n", topCount, count);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for batch mode
+ * Tests streaming input and that the single-pass analysis
+ * produces the same report as the interactive analysis
+ */
+@DisplayName("Batch Mode Tests")
+class ShapeBatchAnalysisTest {
+
+    private static final List<Shape3D> SHAPES = List.of(
+        new Sphere("Red Ball", "Crimson", 5.0),
+        new Cube("Blue Box", "Navy", 4.0),
+        new Cylinder("Green Tube", "Forest", 3.0, 6.0),
+        new RectangularPrism("Yellow Block", "Gold", 2.0, 4.0, 3.0),
+        new Cone("Purple Peak", "Violet", 4.0, 8.0),
+        new Cube("Second Box", "Navy", 4.0)
+    );
+
+    private static String interactiveReport(List<Shape3D> shapes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        out.println(">>> COMPREHENSIVE ANALYSIS");
+        out.println();
+        ShapeDriver.analyze(shapes, out);
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String batchReport(List<Shape3D> shapes, int top) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        ShapeBatchAnalysis analysis = new ShapeBatchAnalysis(out, top);
+        shapes.forEach(analysis);
+        analysis.finish();
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Input Tests")
+    class InputTests {
+
+        @Test
+        @DisplayName("Files are streamed in order, skipping header, comments and invalid rows")
+        void filesAreStreamed(@TempDir Path dir) throws IOException {
+            Path input = dir.resolve("shapes.csv");
+            Files.writeString(input, String.join("\n",
+                "type,name,color,dim1,dim2,dim3",
+                "sphere,Red Ball,Crimson,5",
+                "# comment",
+                "",
+                "cube,Broken,Navy,-4",
+                "cone,Purple Peak,Violet,4,8"));
+            List<Shape3D> read = new ArrayList<>();
+
+            long rejected = ShapeDriver.readShapes(input, read::add);
+
+            assertEquals(1, rejected);
+            assertEquals(2, read.size());
+            assertEquals("Purple Peak", read.get(1).getName());
+        }
+
+        @Test
+        @DisplayName("Tab-separated files are detected by extension")
+        void tabSeparatedFiles(@TempDir Path dir) throws IOException {
+            Path input = dir.resolve("shapes.tsv");
+            Files.writeString(input, "cylinder\tGreen Tube\tForest\t3\t6\n");
+            List<Shape3D> read = new ArrayList<>();
+
+            assertEquals(0, ShapeDriver.readShapes(input, read::add));
+            assertEquals(new Cylinder("Green Tube", "Forest", 3.0, 6.0).getVolume(), read.get(0).getVolume());
+        }
+    }
+
+    @Nested
+    @DisplayName("Report Tests")
+    class ReportTests {
+
+        @Test
+        @DisplayName("Single-pass report matches the interactive analysis")
+        void reportMatchesInteractiveAnalysis() {
+            assertEquals(interactiveReport(SHAPES), batchReport(SHAPES, SHAPES.size()));
+        }
+
+        @Test
+        @DisplayName("Truncated ranking keeps the best shapes in order")
+        void truncatedRanking() {
+            String report = batchReport(SHAPES, 2);
+
+            assertTrue(report.contains("top 2 of 6 shapes"));
+            String ranking = report.substring(report.indexOf("Efficiency Analysis"));
+            assertTrue(ranking.contains("1   Red Ball"));
+            assertTrue(ranking.contains("2   Green Tube"));
+            assertFalse(ranking.contains("3   "));
+        }
+
+        @Test
+        @DisplayName("Empty input reports that no shapes are available")
+        void emptyInput() {
+            assertEquals("No shapes available for analysis." + System.lineSeparator(), batchReport(List.of(), 10));
+        }
+
+        @Test
+        @DisplayName("Batch run writes the report and exits without prompting")
+        void batchRunWritesReport(@TempDir Path dir) throws IOException {
+            Path input = dir.resolve("shapes.csv");
+            Path output = dir.resolve("report.txt");
+            Files.writeString(input, "cube,Blue Box,Navy,4\nsphere,Red Ball,Crimson,5\n");
+
+            int exitCode = ShapeDriver.runBatch(new String[] {"--input", input.toString(), "--output", output.toString()});
+
+            assertEquals(0, exitCode);
+            String report = Files.readString(output, StandardCharsets.UTF_8);
+            assertTrue(report.contains("Largest Volume: Red Ball"));
+            assertTrue(report.contains("Processed 2 shapes successfully"));
+        }
+
+        @Test
+        @DisplayName("Batch run to standard output flushes it but leaves it open")
+        void batchRunLeavesStandardOutputOpen(@TempDir Path dir) throws IOException {
+            Path input = dir.resolve("shapes.csv");
+            Files.writeString(input, "cube,Blue Box,Navy,4\n");
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            boolean[] closed = new boolean[1];
+            PrintStream standardOut = System.out;
+            System.setOut(new PrintStream(bytes, false, StandardCharsets.UTF_8) {
+                @Override
+                public void close() {
+                    closed[0] = true;
+                    super.close();
+                }
+            });
+            try {
+                assertEquals(0, ShapeDriver.runBatch(new String[] {"--input", input.toString()}));
+            } finally {
+                System.setOut(standardOut);
+            }
+
+            assertFalse(closed[0]);
+            assertTrue(bytes.toString(StandardCharsets.UTF_8).contains("Processed 1 shapes successfully"));
+        }
+
+        @Test
+        @DisplayName("Missing input option is a usage error")
+        void missingInputIsUsageError() {
+            assertEquals(2, ShapeDriver.runBatch(new String[] {"--top", "5"}));
+            assertEquals(2, ShapeDriver.runBatch(new String[] {"--input"}));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Callback for derived structures that must follow a shape's dimensions.
+ * Listeners are registered with {@link Shape3D#addChangeListener} and are
+ * notified after every dimension setter, once the new value is in place.
+ * Listeners that also follow names and colors or placements override
+ * {@link #attributesChanged(Shape3D)} or {@link #placementChanged(Shape3D)}.
+ */
+@FunctionalInterface
+public interface ShapeChangeListener {
+
+    /**
+     * Called after a dimension of a shape has changed
+     * @param shape The shape whose volume and surface area may have changed
+     */
+    void dimensionsChanged(Shape3D shape);
+
+    /**
+     * Called after the name or color of a shape has changed; does nothing by default
+     * @param shape The shape whose name or color changed
+     */
+    default void attributesChanged(Shape3D shape) {
+    }
+
+    /**
+     * Called after a shape has been moved or rotated; does nothing by default
+     * @param shape The shape whose placement changed
+     */
+    default void placementChanged(Shape3D shape) {
+    }
+}
@@ -0,0 +1,575 @@
+package com.csc205.project2.shapes;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Collision detection between placed shapes.
+ *
+ * {@link #intersect(Shape3D, Shape3D)} is the exact narrow phase. A sphere
+ * against any shape compares the sphere's radius with the exact distance
+ * from its center to the other shape (see {@link ShapeGeometry}). Two
+ * cubes or prisms are tested on the fifteen separating axes of a pair of
+ * oriented boxes. The remaining pairs, which involve a cylinder or a cone,
+ * run GJK on the Minkowski difference of the two solids, using each
+ * shape's exact support point. Shapes are solid and closed, so touching
+ * shapes intersect; pairs within rounding distance of touching may go
+ * either way.
+ *
+ * {@link #findAll(List)} finds every intersecting pair in a collection. It
+ * takes a snapshot of each shape's frame and bounding box, files the boxes
+ * in a {@link LooseOctree}, and then queries the octree for each shape in
+ * parallel on a fork-join pool, running the narrow phase on every pair of
+ * overlapping boxes. Each pair is reported once, in a fixed order that does
+ * not depend on the pool.
+ */
+public final class ShapeCollisions {
+    /** Smallest range of shapes worth splitting further */
+    static final int MIN_SPLIT = 256;
+
+    private static final int FRAME = ShapeGeometry.FRAME;
+    private static final int MAX_ITERATIONS = 64;
+    private static final double EPSILON = 1e-12;
+
+    /**
+     * Two intersecting shapes
+     * @param first The shape that comes first in the searched list
+     * @param second The shape that comes later in the searched list
+     */
+    public record Pair(Shape3D first, Shape3D second) {
+    }
+
+    private ShapeCollisions() {
+    }
+
+    /**
+     * Checks whether two placed shapes share at least one point
+     * @param a The first shape
+     * @param b The second shape
+     * @return true if the solids intersect or touch
+     */
+    public static boolean intersect(Shape3D a, Shape3D b) {
+        double[] frames = new double[2 * FRAME];
+        ShapeGeometry.frame(a, frames, 0);
+        ShapeGeometry.frame(b, frames, FRAME);
+        return intersect(frames, 0, FRAME);
+    }
+
+    /**
+     * Finds every intersecting pair in a collection on the common pool
+     * @param shapes The shapes to test
+     * @return The pairs, ordered by the index of the first shape, then of the second
+     */
+    public static List<Pair> findAll(List<? extends Shape3D> shapes) {
+        return findAll(shapes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds every intersecting pair in a collection on the given pool
+     * @param shapes The shapes to test
+     * @param pool The pool to run the search on
+     * @return The pairs, ordered by the index of the first shape, then of the second
+     */
+    public static List<Pair> findAll(List<? extends Shape3D> shapes, ForkJoinPool pool) {
+        return findAll(shapes, pool, Math.max(MIN_SPLIT, shapes.size() / (pool.getParallelism() * 8)));
+    }
+
+    /**
+     * Finds every intersecting pair in a collection with an explicit split size
+     * @param shapes The shapes to test
+     * @param pool The pool to run the search on
+     * @param threshold The largest range of shapes searched without splitting
+     * @return The pairs, ordered by the index of the first shape, then of the second
+     * @throws IllegalArgumentException if threshold is less than one
+     */
+    static List<Pair> findAll(List<? extends Shape3D> shapes, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Split threshold must be at least one");
+        }
+        Shape3D[] array = shapes.toArray(new Shape3D[0]);
+        long[] pairs = findPairs(array, pool, threshold);
+        return new AbstractList<>() {
+            @Override
+            public Pair get(int index) {
+                long pair = pairs[index];
+                return new Pair(array[(int) (pair >>> 32)], array[(int) pair]);
+            }
+
+            @Override
+            public int size() {
+                return pairs.length;
+            }
+        };
+    }
+
+    /**
+     * Finds every intersecting pair as packed indices
+     * @return Each pair's first index in the high 32 bits and its second in the low 32 bits, in ascending order
+     */
+    static long[] findPairs(Shape3D[] shapes, ForkJoinPool pool, int threshold) {
+        int count = shapes.length;
+        double[] frames = new double[count * FRAME];
+        double[] boxes = new double[count * 6];
+        for (int i = 0; i < count; i++) {
+            ShapeGeometry.frame(shapes[i], frames, i * FRAME);
+            ShapeGeometry.frameBounds(frames, i * FRAME, boxes, i * 6);
+        }
+        LooseOctree octree = new LooseOctree(boxes, count);
+        // The narrow phase reads frames in the octree's order, as it reads boxes
+        double[] ordered = new double[count * FRAME];
+        for (int position = 0; position < count; position++) {
+            System.arraycopy(frames, octree.item(position) * FRAME, ordered, position * FRAME, FRAME);
+        }
+        long[] pairs = pool.invoke(new PairTask(octree, ordered, 0, count, threshold)).toArray();
+        // Called from a worker, the parallel sort forks its subtasks into the same pool
+        pool.submit(() -> Arrays.parallelSort(pairs)).join();
+        return pairs;
+    }
+
+    /**
+     * Growable list of packed pairs
+     */
+    private static final class PairBuffer {
+        private long[] pairs = new long[16];
+        private int size;
+
+        private void add(long pair) {
+            if (size == pairs.length) {
+                pairs = Arrays.copyOf(pairs, size * 2);
+            }
+            pairs[size++] = pair;
+        }
+
+        private PairBuffer append(PairBuffer other) {
+            if (size + other.size > pairs.length) {
+                pairs = Arrays.copyOf(pairs, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.pairs, 0, pairs, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(pairs, size);
+        }
+    }
+
+    private static final class PairTask extends RecursiveTask<PairBuffer> {
+        private final LooseOctree octree;
+        private final double[] frames;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        private PairTask(LooseOctree octree, double[] frames, int from, int to, int threshold) {
+            this.octree = octree;
+            this.frames = frames;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected PairBuffer compute() {
+            if (to - from <= threshold) {
+                return search();
+            }
+            int middle = (from + to) >>> 1;
+            PairTask left = new PairTask(octree, frames, from, middle, threshold);
+            left.fork();
+            PairBuffer right = new PairTask(octree, frames, middle, to, threshold).compute();
+            return left.join().append(right);
+        }
+
+        private PairBuffer search() {
+            PairBuffer result = new PairBuffer();
+            LooseOctree.Matches matches = new LooseOctree.Matches();
+            for (int p = from; p < to; p++) {
+                octree.overlapping(p, matches);
+                for (int m = 0; m < matches.size(); m++) {
+                    int q = matches.get(m);
+                    if (intersect(frames, p * FRAME, q * FRAME)) {
+                        int i = octree.item(p);
+                        int j = octree.item(q);
+                        result.add(i < j ? (long) i << 32 | j : (long) j << 32 | i);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Exact intersection test between two frames written by {@link ShapeGeometry#frame}
+     * @param frames The frames
+     * @param a Index of the first frame
+     * @param b Index of the second frame
+     * @return true if the solids intersect or touch
+     */
+    static boolean intersect(double[] frames, int a, int b) {
+        ShapeType typeA = ShapeGeometry.frameType(frames, a);
+        ShapeType typeB = ShapeGeometry.frameType(frames, b);
+        if (typeA == ShapeType.SPHERE) {
+            return sphereIntersects(frames, a, b, typeB);
+        }
+        if (typeB == ShapeType.SPHERE) {
+            return sphereIntersects(frames, b, a, typeA);
+        }
+        if (isBox(typeA) && isBox(typeB)) {
+            return boxesIntersect(frames, a, b);
+        }
+        return gjkIntersects(frames, a, b);
+    }
+
+    private static boolean isBox(ShapeType type) {
+        return type == ShapeType.CUBE || type == ShapeType.RECTANGULAR_PRISM;
+    }
+
+    // The sphere touches the other shape when its center is within one radius of it
+    private static boolean sphereIntersects(double[] frames, int sphere, int other, ShapeType otherType) {
+        double dx = frames[sphere] - frames[other];
+        double dy = frames[sphere + 1] - frames[other + 1];
+        double dz = frames[sphere + 2] - frames[other + 2];
+        // Local coordinates multiply by the transposed rotation
+        double lx = frames[other + 3] * dx + frames[other + 6] * dy + frames[other + 9] * dz;
+        double ly = frames[other + 4] * dx + frames[other + 7] * dy + frames[other + 10] * dz;
+        double lz = frames[other + 5] * dx + frames[other + 8] * dy + frames[other + 11] * dz;
+        return ShapeGeometry.localDistance(otherType, frames[other + 12], frames[other + 13], frames[other + 14],
+            lx, ly, lz) <= frames[sphere + 12];
+    }
+
+    /**
+     * Separating axis test between two oriented boxes: the three face
+     * normals of each box and the nine cross products of their edges
+     */
+    static boolean boxesIntersect(double[] frames, int a, int b) {
+        double[] r = new double[9];
+        double[] abs = new double[9];
+        // r[i][j] is the dot product of box a's axis i with box b's axis j, the matrix columns
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                double dot = frames[a + 3 + i] * frames[b + 3 + j] + frames[a + 6 + i] * frames[b + 6 + j]
+                    + frames[a + 9 + i] * frames[b + 9 + j];
+                r[i * 3 + j] = dot;
+                // The epsilon keeps near-parallel edges from producing a false separating axis
+                abs[i * 3 + j] = Math.abs(dot) + EPSILON;
+            }
+        }
+        double dx = frames[b] - frames[a];
+        double dy = frames[b + 1] - frames[a + 1];
+        double dz = frames[b + 2] - frames[a + 2];
+        double[] t = new double[3];
+        for (int i = 0; i < 3; i++) {
+            t[i] = frames[a + 3 + i] * dx + frames[a + 6 + i] * dy + frames[a + 9 + i] * dz;
+        }
+        double a0 = frames[a + 12];
+        double a1 = frames[a + 13];
+        double a2 = frames[a + 14];
+        double b0 = frames[b + 12];
+        double b1 = frames[b + 13];
+        double b2 = frames[b + 14];
+        for (int i = 0; i < 3; i++) {
+            double ra = frames[a + 12 + i];
+            double rb = b0 * abs[i * 3] + b1 * abs[i * 3 + 1] + b2 * abs[i * 3 + 2];
+            if (Math.abs(t[i]) > ra + rb) {
+                return false;
+            }
+        }
+        for (int j = 0; j < 3; j++) {
+            double ra = a0 * abs[j] + a1 * abs[3 + j] + a2 * abs[6 + j];
+            double rb = frames[b + 12 + j];
+            if (Math.abs(t[0] * r[j] + t[1] * r[3 + j] + t[2] * r[6 + j]) > ra + rb) {
+                return false;
+            }
+        }
+        for (int i = 0; i < 3; i++) {
+            int i1 = (i + 1) % 3;
+            int i2 = (i + 2) % 3;
+            double ai1 = frames[a + 12 + i1];
+            double ai2 = frames[a + 12 + i2];
+            for (int j = 0; j < 3; j++) {
+                int j1 = (j + 1) % 3;
+                int j2 = (j + 2) % 3;
+                double ra = ai1 * abs[i2 * 3 + j] + ai2 * abs[i1 * 3 + j];
+                double rb = frames[b + 12 + j1] * abs[i * 3 + j2] + frames[b + 12 + j2] * abs[i * 3 + j1];
+                if (Math.abs(t[i2] * r[i1 * 3 + j] - t[i1] * r[i2 * 3 + j]) > ra + rb) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * GJK intersection test: the solids intersect exactly when their
+     * Minkowski difference contains the origin. The simplex of support
+     * points grows toward the origin until it encloses it, or a support
+     * point fails to pass the origin, which proves a separating plane.
+     */
+    static boolean gjkIntersects(double[] frames, int a, int b) {
+        double[] simplex = new double[12];
+        double[] d = {frames[a] - frames[b], frames[a + 1] - frames[b + 1], frames[a + 2] - frames[b + 2]};
+        double[] w = new double[3];
+        double scale = Math.max(frames[a + 12], Math.max(frames[a + 13], frames[a + 14]))
+            + Math.max(frames[b + 12], Math.max(frames[b + 13], frames[b + 14]));
+        double tolerance = EPSILON * scale;
+        if (dot(d, d) == 0.0) {
+            d[0] = 1.0;
+        }
+        support(frames, a, b, d, w);
+        System.arraycopy(w, 0, simplex, 0, 3);
+        int points = 1;
+        d[0] = -w[0];
+        d[1] = -w[1];
+        d[2] = -w[2];
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            if (dot(d, d) <= tolerance * tolerance) {
+                // The origin lies on the simplex
+                return true;
+            }
+            support(frames, a, b, d, w);
+            if (dot(w, d) < 0) {
+                return false;
+            }
+            // The newest point goes first
+            System.arraycopy(simplex, 0, simplex, 3, 9);
+            System.arraycopy(w, 0, simplex, 0, 3);
+            points = nextSimplex(simplex, points + 1, d, tolerance);
+            if (points == 0) {
+                return true;
+            }
+        }
+        // No separating plane found: the solids touch within rounding
+        return true;
+    }
+
+    /**
+     * Support point of the Minkowski difference a - b in direction d
+     */
+    private static void support(double[] frames, int a, int b, double[] d, double[] out) {
+        supportPoint(frames, b, -d[0], -d[1], -d[2], out, false);
+        supportPoint(frames, a, d[0], d[1], d[2], out, true);
+    }
+
+    /**
+     * Farthest point of one solid in a world direction; with difference
+     * set, out receives the point minus the value already in out
+     */
+    private static void supportPoint(double[] frames, int f, double dx, double dy, double dz, double[] out,
+                                     boolean difference) {
+        double r = frames[f + 12];
+        ShapeType type = ShapeGeometry.frameType(frames, f);
+        if (type == ShapeType.SPHERE) {
+            double length = GeometryMath.length(dx, dy, dz);
+            store(out, difference, frames[f] + (length > 0 ? r * dx / length : r),
+                frames[f + 1] + (length > 0 ? r * dy / length : 0.0), frames[f + 2] + (length > 0 ? r * dz / length : 0.0));
+            return;
+        }
+        double lx = frames[f + 3] * dx + frames[f + 6] * dy + frames[f + 9] * dz;
+        double ly = frames[f + 4] * dx + frames[f + 7] * dy + frames[f + 10] * dz;
+        double lz = frames[f + 5] * dx + frames[f + 8] * dy + frames[f + 11] * dz;
+        double hz = frames[f + 14];
+        double px;
+        double py;
+        double pz;
+        if (isBox(type)) {
+            px = lx >= 0 ? r : -r;
+            py = ly >= 0 ? frames[f + 13] : -frames[f + 13];
+            pz = lz >= 0 ? hz : -hz;
+        } else {
+            double radial = Math.sqrt(lx * lx + ly * ly);
+            double rimX = radial > 0 ? r * lx / radial : 0.0;
+            double rimY = radial > 0 ? r * ly / radial : 0.0;
+            if (type == ShapeType.CYLINDER) {
+                px = rimX;
+                py = rimY;
+                pz = lz >= 0 ? hz : -hz;
+            } else if (lz * hz >= r * radial - lz * hz) {
+                // The cone's apex beats every point of its base rim
+                px = 0.0;
+                py = 0.0;
+                pz = hz;
+            } else {
+                px = rimX;
+                py = rimY;
+                pz = -hz;
+            }
+        }
+        store(out, difference, frames[f] + frames[f + 3] * px + frames[f + 4] * py + frames[f + 5] * pz,
+            frames[f + 1] + frames[f + 6] * px + frames[f + 7] * py + frames[f + 8] * pz,
+            frames[f + 2] + frames[f + 9] * px + frames[f + 10] * py + frames[f + 11] * pz);
+    }
+
+    private static void store(double[] out, boolean difference, double x, double y, double z) {
+        if (difference) {
+            out[0] = x - out[0];
+            out[1] = y - out[1];
+            out[2] = z - out[2];
+        } else {
+            out[0] = x;
+            out[1] = y;
+            out[2] = z;
+        }
+    }
+
+    /**
+     * Reduces the simplex to the feature nearest the origin and points d at
+     * the origin from it
+     * @return The number of points kept, or 0 if the simplex encloses the origin
+     */
+    private static int nextSimplex(double[] s, int points, double[] d, double tolerance) {
+        return switch (points) {
+            case 2 -> line(s, d, tolerance);
+            case 3 -> triangle(s, d, tolerance);
+            default -> tetrahedron(s, d, tolerance);
+        };
+    }
+
+    // Simplex points are A = s[0..2] (newest), B = s[3..5], C = s[6..8], D = s[9..11]
+
+    private static int line(double[] s, double[] d, double tolerance) {
+        double abx = s[3] - s[0];
+        double aby = s[4] - s[1];
+        double abz = s[5] - s[2];
+        double aox = -s[0];
+        double aoy = -s[1];
+        double aoz = -s[2];
+        if (abx * aox + aby * aoy + abz * aoz > 0) {
+            tripleCross(abx, aby, abz, aox, aoy, aoz, d);
+            return onLine(d, abx, aby, abz, tolerance) ? 0 : 2;
+        }
+        d[0] = aox;
+        d[1] = aoy;
+        d[2] = aoz;
+        return 1;
+    }
+
+    private static int triangle(double[] s, double[] d, double tolerance) {
+        double abx = s[3] - s[0];
+        double aby = s[4] - s[1];
+        double abz = s[5] - s[2];
+        double acx = s[6] - s[0];
+        double acy = s[7] - s[1];
+        double acz = s[8] - s[2];
+        double aox = -s[0];
+        double aoy = -s[1];
+        double aoz = -s[2];
+        double nx = aby * acz - abz * acy;
+        double ny = abz * acx - abx * acz;
+        double nz = abx * acy - aby * acx;
+        double normal = nx * nx + ny * ny + nz * nz;
+        if (normal <= EPSILON * EPSILON * (abx * abx + aby * aby + abz * abz) * (acx * acx + acy * acy + acz * acz)) {
+            // Collinear points span no triangle; continue from the edge AB
+            return line(s, d, tolerance);
+        }
+        // Outside edge AC
+        double ex = ny * acz - nz * acy;
+        double ey = nz * acx - nx * acz;
+        double ez = nx * acy - ny * acx;
+        if (ex * aox + ey * aoy + ez * aoz > 0) {
+            if (acx * aox + acy * aoy + acz * aoz > 0) {
+                System.arraycopy(s, 6, s, 3, 3);
+                tripleCross(acx, acy, acz, aox, aoy, aoz, d);
+                return onLine(d, acx, acy, acz, tolerance) ? 0 : 2;
+            }
+            return line(s, d, tolerance);
+        }
+        // Outside edge AB
+        ex = aby * nz - abz * ny;
+        ey = abz * nx - abx * nz;
+        ez = abx * ny - aby * nx;
+        if (ex * aox + ey * aoy + ez * aoz > 0) {
+            return line(s, d, tolerance);
+        }
+        double side = nx * aox + ny * aoy + nz * aoz;
+        if (Math.abs(side) <= tolerance * Math.sqrt(normal)) {
+            // The origin lies in the triangle
+            return 0;
+        }
+        if (side > 0) {
+            d[0] = nx;
+            d[1] = ny;
+            d[2] = nz;
+        } else if (side < 0) {
+            // Swap B and C so the triangle faces the origin
+            for (int k = 0; k < 3; k++) {
+                double tmp = s[3 + k];
+                s[3 + k] = s[6 + k];
+                s[6 + k] = tmp;
+            }
+            d[0] = -nx;
+            d[1] = -ny;
+            d[2] = -nz;
+        }
+        return 3;
+    }
+
+    private static int tetrahedron(double[] s, double[] d, double tolerance) {
+        double abx = s[3] - s[0];
+        double aby = s[4] - s[1];
+        double abz = s[5] - s[2];
+        double acx = s[6] - s[0];
+        double acy = s[7] - s[1];
+        double acz = s[8] - s[2];
+        double adx = s[9] - s[0];
+        double ady = s[10] - s[1];
+        double adz = s[11] - s[2];
+        double aox = -s[0];
+        double aoy = -s[1];
+        double aoz = -s[2];
+
+        // Face ABC, with its normal turned away from D
+        double nx = aby * acz - abz * acy;
+        double ny = abz * acx - abx * acz;
+        double nz = abx * acy - aby * acx;
+        double volume = nx * adx + ny * ady + nz * adz;
+        if (Math.abs(volume) <= tolerance * Math.sqrt(nx * nx + ny * ny + nz * nz)) {
+            // Flat tetrahedron: drop D and continue from the triangle
+            return triangle(s, d, tolerance);
+        }
+        double sign = volume > 0 ? -1.0 : 1.0;
+        if (sign * (nx * aox + ny * aoy + nz * aoz) > 0) {
+            return triangle(s, d, tolerance);
+        }
+        // Face ACD, away from B
+        nx = acy * adz - acz * ady;
+        ny = acz * adx - acx * adz;
+        nz = acx * ady - acy * adx;
+        if ((nx * abx + ny * aby + nz * abz > 0 ? -1.0 : 1.0) * (nx * aox + ny * aoy + nz * aoz) > 0) {
+            System.arraycopy(s, 6, s, 3, 6);
+            return triangle(s, d, tolerance);
+        }
+        // Face ADB, away from C
+        nx = ady * abz - adz * aby;
+        ny = adz * abx - adx * abz;
+        nz = adx * aby - ady * abx;
+        if ((nx * acx + ny * acy + nz * acz > 0 ? -1.0 : 1.0) * (nx * aox + ny * aoy + nz * aoz) > 0) {
+            System.arraycopy(s, 9, s, 6, 3);
+            return triangle(s, d, tolerance);
+        }
+        return 0;
+    }
+
+    // The triple product's length is |u|² times the origin's distance from the line
+    private static boolean onLine(double[] d, double ux, double uy, double uz, double tolerance) {
+        double length = ux * ux + uy * uy + uz * uz;
+        return dot(d, d) <= tolerance * tolerance * length * length;
+    }
+
+    // (u × v) × u, the component of v perpendicular to u, scaled by |u|²
+    private static void tripleCross(double ux, double uy, double uz, double vx, double vy, double vz, double[] out) {
+        double cx = uy * vz - uz * vy;
+        double cy = uz * vx - ux * vz;
+        double cz = ux * vy - uy * vx;
+        out[0] = cy * uz - cz * uy;
+        out[1] = cz * ux - cx * uz;
+        out[2] = cx * uy - cy * ux;
+    }
+
+    private static double dot(double[] u, double[] v) {
+        return u[0] * v[0] + u[1] * v[1] + u[2] * v[2];
+    }
+}
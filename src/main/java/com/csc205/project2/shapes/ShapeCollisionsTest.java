@@ -0,0 +1,236 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ShapeCollisions
+ * Tests the narrow phase against hand-built contacts, the separating axis
+ * and sphere tests against GJK, and the parallel octree search against
+ * testing every pair
+ */
+@DisplayName("ShapeCollisions Tests")
+class ShapeCollisionsTest {
+
+    private static final Orientation QUARTER_TURN_Y = Orientation.about(new Vector3(0, 1, 0), Math.PI / 2);
+
+    private static <T extends Shape3D> T placed(T shape, double x, double y, double z) {
+        shape.setPlacement(Placement.at(x, y, z));
+        return shape;
+    }
+
+    private static List<Shape3D> scattered(int count, long seed, double extent) {
+        Random random = new Random(seed);
+        List<Shape3D> shapes = ShapeFixtures.randomShapes(count, seed);
+        for (Shape3D shape : shapes) {
+            shape.setPlacement(new Placement(new Vector3(random.nextDouble() * extent, random.nextDouble() * extent,
+                random.nextDouble() * extent), ShapeFixtures.randomOrientation(random)));
+        }
+        return shapes;
+    }
+
+    private static List<ShapeCollisions.Pair> bruteForce(List<Shape3D> shapes) {
+        List<ShapeCollisions.Pair> pairs = new ArrayList<>();
+        for (int i = 0; i < shapes.size(); i++) {
+            for (int j = i + 1; j < shapes.size(); j++) {
+                if (ShapeCollisions.intersect(shapes.get(i), shapes.get(j))) {
+                    pairs.add(new ShapeCollisions.Pair(shapes.get(i), shapes.get(j)));
+                }
+            }
+        }
+        return pairs;
+    }
+
+    @Nested
+    @DisplayName("Narrow Phase Tests")
+    class NarrowPhaseTests {
+
+        @Test
+        @DisplayName("Spheres touch at the sum of their radii")
+        void spheres() {
+            assertTrue(ShapeCollisions.intersect(placed(new Sphere(2.0), 0, 0, 0), placed(new Sphere(3.0), 5, 0, 0)));
+            assertFalse(ShapeCollisions.intersect(placed(new Sphere(2.0), 0, 0, 0),
+                placed(new Sphere(3.0), 5.001, 0, 0)));
+        }
+
+        @Test
+        @DisplayName("Sphere near a box corner")
+        void sphereAndCorner() {
+            Cube cube = new Cube(2.0);
+            // The corner (1, 1, 1) is sqrt(3) from (2, 2, 2)
+            assertTrue(ShapeCollisions.intersect(placed(new Sphere(1.75), 2, 2, 2), cube));
+            assertFalse(ShapeCollisions.intersect(placed(new Sphere(1.7), 2, 2, 2), cube));
+        }
+
+        @Test
+        @DisplayName("Cylinder resting on a prism")
+        void cylinderOnPrism() {
+            RectangularPrism slab = new RectangularPrism(10.0, 10.0, 2.0);
+            assertFalse(ShapeCollisions.intersect(placed(new Cylinder(1.0, 4.0), 3, 3, 3.01), slab));
+            assertTrue(ShapeCollisions.intersect(placed(new Cylinder(1.0, 4.0), 3, 3, 2.99), slab));
+            // Lying on its side, the curved surface reaches down one radius
+            Cylinder lying = new Cylinder(1.0, 4.0);
+            lying.setPlacement(new Placement(new Vector3(0, 0, 2.01), QUARTER_TURN_Y));
+            assertFalse(ShapeCollisions.intersect(lying, slab));
+            lying.setPlacement(new Placement(new Vector3(0, 0, 1.99), QUARTER_TURN_Y));
+            assertTrue(ShapeCollisions.intersect(lying, slab));
+        }
+
+        @Test
+        @DisplayName("Cone apex against a cylinder's base")
+        void coneApex() {
+            // Cone of height 4 has its apex at z = 2; the cylinder's base is at its z - 1
+            Cone cone = new Cone(2.0, 4.0);
+            assertTrue(ShapeCollisions.intersect(cone, placed(new Cylinder(0.1, 2.0), 0, 0, 2.99)));
+            assertFalse(ShapeCollisions.intersect(cone, placed(new Cylinder(0.1, 2.0), 0, 0, 3.01)));
+            // Beside the slant: at z = 0 the cone's radius is 1
+            assertFalse(ShapeCollisions.intersect(cone, placed(new Cylinder(0.5, 0.2), 1.6, 0, 0)));
+            assertTrue(ShapeCollisions.intersect(cone, placed(new Cylinder(0.5, 0.2), 1.4, 0, 0)));
+        }
+
+        @Test
+        @DisplayName("Cones base to base and apex to apex")
+        void cones() {
+            Cone lower = new Cone(1.0, 2.0);
+            Cone upper = new Cone(1.0, 2.0);
+            upper.setPlacement(new Placement(new Vector3(0, 0, 1.999),
+                Orientation.about(new Vector3(1, 0, 0), Math.PI)));
+            assertTrue(ShapeCollisions.intersect(lower, upper));
+            upper.setPlacement(new Placement(new Vector3(0, 0, 2.001),
+                Orientation.about(new Vector3(1, 0, 0), Math.PI)));
+            assertFalse(ShapeCollisions.intersect(lower, upper));
+        }
+
+        @Test
+        @DisplayName("Separating axes agree with GJK for boxes")
+        void boxesMatchGjk() {
+            Random random = new Random(5);
+            double[] frames = new double[2 * ShapeGeometry.FRAME];
+            int hits = 0;
+            for (int trial = 0; trial < 2000; trial++) {
+                Shape3D a = new RectangularPrism(0.5 + random.nextDouble() * 4, 0.5 + random.nextDouble() * 4,
+                    0.5 + random.nextDouble() * 4);
+                Shape3D b = new Cube(0.5 + random.nextDouble() * 4);
+                a.setPlacement(new Placement(Vector3.ZERO, ShapeFixtures.randomOrientation(random)));
+                b.setPlacement(new Placement(new Vector3(random.nextGaussian() * 3, random.nextGaussian() * 3,
+                    random.nextGaussian() * 3), ShapeFixtures.randomOrientation(random)));
+                ShapeGeometry.frame(a, frames, 0);
+                ShapeGeometry.frame(b, frames, ShapeGeometry.FRAME);
+                boolean sat = ShapeCollisions.boxesIntersect(frames, 0, ShapeGeometry.FRAME);
+                assertEquals(sat, ShapeCollisions.gjkIntersects(frames, 0, ShapeGeometry.FRAME), "trial " + trial);
+                hits += sat ? 1 : 0;
+            }
+            assertTrue(hits > 200 && hits < 1800);
+        }
+
+        @Test
+        @DisplayName("Exact sphere distances agree with GJK")
+        void spheresMatchGjk() {
+            Random random = new Random(6);
+            ShapeType[] types = ShapeType.values();
+            double[] frames = new double[2 * ShapeGeometry.FRAME];
+            for (int trial = 0; trial < 2000; trial++) {
+                Shape3D other = types[trial % types.length].create("S", "C", 0.5 + random.nextDouble() * 4,
+                    0.5 + random.nextDouble() * 4, 0.5 + random.nextDouble() * 4);
+                other.setPlacement(new Placement(Vector3.ZERO, ShapeFixtures.randomOrientation(random)));
+                Shape3D sphere = placed(new Sphere(0.5 + random.nextDouble() * 2), random.nextGaussian() * 3,
+                    random.nextGaussian() * 3, random.nextGaussian() * 3);
+                ShapeGeometry.frame(sphere, frames, 0);
+                ShapeGeometry.frame(other, frames, ShapeGeometry.FRAME);
+                assertEquals(ShapeCollisions.intersect(sphere, other),
+                    ShapeCollisions.gjkIntersects(frames, 0, ShapeGeometry.FRAME), "trial " + trial);
+            }
+        }
+
+        @Test
+        @DisplayName("Shared interior points are always found")
+        void sharedPointsIntersect() {
+            Random random = new Random(8);
+            List<Shape3D> shapes = scattered(400, 8, 12);
+            for (int i = 0; i + 1 < shapes.size(); i += 2) {
+                Shape3D a = shapes.get(i);
+                Shape3D b = shapes.get(i + 1);
+                boolean intersect = ShapeCollisions.intersect(a, b);
+                assertEquals(intersect, ShapeCollisions.intersect(b, a));
+                BoundingBox box = ShapeGeometry.bounds(a);
+                if (!box.overlaps(ShapeGeometry.bounds(b))) {
+                    assertFalse(intersect);
+                }
+                for (int sample = 0; sample < 2000 && !intersect; sample++) {
+                    double x = box.minX() + random.nextDouble() * (box.maxX() - box.minX());
+                    double y = box.minY() + random.nextDouble() * (box.maxY() - box.minY());
+                    double z = box.minZ() + random.nextDouble() * (box.maxZ() - box.minZ());
+                    assertFalse(ShapeGeometry.contains(a, x, y, z) && ShapeGeometry.contains(b, x, y, z));
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Search Tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Uniform scatter matches every-pair testing")
+        void uniform() {
+            List<Shape3D> shapes = scattered(1500, 1, 120);
+            List<ShapeCollisions.Pair> expected = bruteForce(shapes);
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, ShapeCollisions.findAll(shapes));
+        }
+
+        @Test
+        @DisplayName("Clusters and mixed sizes match every-pair testing")
+        void clustered() {
+            Random random = new Random(2);
+            List<Shape3D> shapes = ShapeFixtures.randomShapes(1500, 2);
+            for (int i = 0; i < shapes.size(); i++) {
+                double cluster = (i % 5) * 60;
+                shapes.get(i).setPlacement(new Placement(new Vector3(cluster + random.nextGaussian() * 6,
+                    random.nextGaussian() * 6, random.nextGaussian() * 6), ShapeFixtures.randomOrientation(random)));
+            }
+            // A few giants that overlap many small shapes sit near the root
+            for (int i = 0; i < 3; i++) {
+                Shape3D giant = new Sphere("Giant " + i, "Gray", 40.0);
+                giant.setPlacement(Placement.at(i * 100, 0, 0));
+                shapes.add(giant);
+            }
+            List<ShapeCollisions.Pair> expected = bruteForce(shapes);
+            assertEquals(expected, ShapeCollisions.findAll(shapes));
+        }
+
+        @Test
+        @DisplayName("Result does not depend on the pool or split size")
+        void poolIndependent() {
+            List<Shape3D> shapes = scattered(3000, 3, 150);
+            List<ShapeCollisions.Pair> sequential = ShapeCollisions.findAll(shapes, new ForkJoinPool(1));
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                assertEquals(sequential, ShapeCollisions.findAll(shapes, pool, 7));
+                assertEquals(sequential, ShapeCollisions.findAll(shapes, pool));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Coincident and empty collections")
+        void edgeCases() {
+            assertTrue(ShapeCollisions.findAll(List.of()).isEmpty());
+            assertTrue(ShapeCollisions.findAll(List.of(new Cube(1.0))).isEmpty());
+            List<Shape3D> stacked = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                stacked.add(new Cone(1.0, 2.0));
+            }
+            assertEquals(45, ShapeCollisions.findAll(stacked).size());
+            assertThrows(IllegalArgumentException.class,
+                () -> ShapeCollisions.findAll(stacked, ForkJoinPool.commonPool(), 0));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Row-addressable access to shapes stored column-wise.
+ * Implementations keep a type tag, up to {@link ShapeType#MAX_DIMENSIONS}
+ * dimension slots and the name and color of each row, and are read through
+ * {@link ShapeView} flyweights by code that expects {@link Shape3D} objects.
+ */
+public interface ShapeColumns {
+
+    /**
+     * Gets the number of rows
+     * @return The row count
+     */
+    int size();
+
+    /**
+     * Gets the type of a row
+     * @param row The row index
+     * @return The shape type
+     */
+    ShapeType getType(int row);
+
+    /**
+     * Gets a dimension slot of a row
+     * @param row The row index
+     * @param slot The dimension slot (0 to 2)
+     * @return The dimension value, or zero for unused slots
+     */
+    double getDimension(int row, int slot);
+
+    /**
+     * Gets the name of a row
+     * @param row The row index
+     * @return The name
+     */
+    String getName(int row);
+
+    /**
+     * Gets the color of a row
+     * @param row The row index
+     * @return The color
+     */
+    String getColor(int row);
+
+    /**
+     * Sets the name of a row
+     * @param row The row index
+     * @param name The new name
+     * @throws UnsupportedOperationException if the columns are read-only
+     */
+    default void setName(int row, String name) {
+        throw new UnsupportedOperationException("Shape columns are read-only");
+    }
+
+    /**
+     * Sets the color of a row
+     * @param row The row index
+     * @param color The new color
+     * @throws UnsupportedOperationException if the columns are read-only
+     */
+    default void setColor(int row, String color) {
+        throw new UnsupportedOperationException("Shape columns are read-only");
+    }
+
+    /**
+     * Calculates the volume of a row
+     * @param row The row index
+     * @return The volume
+     */
+    default double getVolume(int row) {
+        return getType(row).volume(getDimension(row, 0), getDimension(row, 1), getDimension(row, 2));
+    }
+
+    /**
+     * Calculates the surface area of a row
+     * @param row The row index
+     * @return The surface area
+     */
+    default double getSurfaceArea(int row) {
+        return getType(row).surfaceArea(getDimension(row, 0), getDimension(row, 1), getDimension(row, 2));
+    }
+
+    /**
+     * Creates a flyweight view positioned at a row
+     * @param row The row index
+     * @return A view reading through to these columns
+     */
+    default ShapeView view(int row) {
+        return new ShapeView(this, row);
+    }
+
+    /**
+     * Materializes a row as a regular shape object
+     * @param row The row index
+     * @return A new independent shape
+     */
+    default Shape3D toShape(int row) {
+        return getType(row).create(getName(row), getColor(row),
+            getDimension(row, 0), getDimension(row, 1), getDimension(row, 2));
+    }
+}
@@ -0,0 +1,522 @@
+package com.csc205.project2.shapes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for delimited shape files with rows of the form
+ * {@code type,name,color,dim1[,dim2[,dim3]]}.
+ *
+ * Input is read through a channel into a single reusable buffer and parsed
+ * directly from bytes: types are matched without decoding, dimensions are
+ * converted with an exact fast path that only falls back to
+ * {@link Double#parseDouble(String)} for unusual inputs (a mantissa of more
+ * than 18 significant digits or of 2^53 or more, or a power of ten beyond
+ * 10^22), and repeated names and colors are
+ * interned so that a known value never allocates a new String. Valid rows are
+ * pushed to a {@link RowHandler}, a shape consumer, or straight into a
+ * {@link ShapeStore}.
+ *
+ * Blank lines, lines starting with '#' and a header on the first line
+ * ("type,...") are skipped. Rows are validated with the same rules and
+ * messages as the shape constructors; invalid rows are reported to
+ * {@link RowHandler#invalidRow(long, String)} and skipped. Fields are not
+ * quoted, so names and colors cannot contain the delimiter. A reader keeps
+ * its intern table across reads and is not thread-safe.
+ */
+public class ShapeCsvReader {
+    /** Upper bound on the number of distinct strings kept by the intern table */
+    private static final int MAX_INTERNED = 1 << 16;
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    // Any 18-digit mantissa fits in a long; a 19th digit could overflow it
+    private static final int MAX_DIGITS = 18;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final ShapeType[] TYPES = ShapeType.values();
+    private static final byte[][] TYPE_KEYS = new byte[TYPES.length][];
+
+    static {
+        for (ShapeType type : TYPES) {
+            TYPE_KEYS[type.ordinal()] = type.getSimpleName().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * Receives each row parsed by the reader
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * Called for each valid row; unused dimension slots are zero
+         * @param type The shape type
+         * @param name The name of the shape
+         * @param color The color of the shape
+         * @param d0 First dimension slot
+         * @param d1 Second dimension slot
+         * @param d2 Third dimension slot
+         */
+        void row(ShapeType type, String name, String color, double d0, double d1, double d2);
+
+        /**
+         * Called for each rejected row; ignores the row by default
+         * @param lineNumber The one-based line number
+         * @param reason Why the row was rejected
+         */
+        default void invalidRow(long lineNumber, String reason) {
+        }
+    }
+
+    private final byte delimiter;
+    private final int bufferSize;
+
+    private byte[][] internKeys = new byte[1024][];
+    private int[] internHashes = new int[1024];
+    private String[] internValues = new String[1024];
+    private int internSize;
+
+    private final int[] fieldStarts = new int[3 + ShapeType.MAX_DIMENSIONS];
+    private final int[] fieldEnds = new int[3 + ShapeType.MAX_DIMENSIONS];
+    private final double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+    private boolean numberInvalid;
+    private long lineNumber;
+    private long rows;
+
+    /**
+     * Default constructor for comma-separated files
+     */
+    public ShapeCsvReader() {
+        this(',');
+    }
+
+    /**
+     * Constructor with a field delimiter
+     * @param delimiter The field delimiter, e.g. ',' or '\t'
+     * @throws IllegalArgumentException if the delimiter is not a single-byte character
+     */
+    public ShapeCsvReader(char delimiter) {
+        this(delimiter, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor with a field delimiter and read buffer size
+     * @param delimiter The field delimiter, e.g. ',' or '\t'
+     * @param bufferSize The initial read buffer size in bytes; grows for longer lines
+     * @throws IllegalArgumentException if the delimiter is not a single-byte character or bufferSize is not positive
+     */
+    public ShapeCsvReader(char delimiter, int bufferSize) {
+        if (delimiter > 0x7f || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Delimiter must be a single-byte character");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.delimiter = (byte) delimiter;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Creates a reader whose delimiter matches the file extension (tab for .tsv, comma otherwise)
+     * @param path The file that will be read
+     * @return A new reader
+     */
+    public static ShapeCsvReader forPath(Path path) {
+        String fileName = String.valueOf(path.getFileName()).toLowerCase(Locale.ROOT);
+        return new ShapeCsvReader(fileName.endsWith(".tsv") ? '\t' : ',');
+    }
+
+    /**
+     * Reads a file and pushes every valid row to a handler
+     * @param path The file to read
+     * @param handler Receives each row in file order
+     * @return The number of valid rows
+     * @throws IOException if the file cannot be read
+     */
+    public long read(Path path, RowHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, handler);
+        }
+    }
+
+    /**
+     * Reads a file and creates a shape for every valid row
+     * @param path The file to read
+     * @param consumer Receives each shape in file order
+     * @return The number of valid rows
+     * @throws IOException if the file cannot be read
+     */
+    public long readShapes(Path path, Consumer<? super Shape3D> consumer) throws IOException {
+        return read(path, (type, name, color, d0, d1, d2) -> consumer.accept(type.create(name, color, d0, d1, d2)));
+    }
+
+    /**
+     * Reads a file and appends every valid row to a columnar store without creating shape objects
+     * @param path The file to read
+     * @param store The store to append to
+     * @return The number of valid rows
+     * @throws IOException if the file cannot be read
+     */
+    public long readInto(Path path, ShapeStore store) throws IOException {
+        return read(path, store::add);
+    }
+
+    /**
+     * Reads rows from a channel until end of stream and pushes every valid row to a handler
+     * @param channel The channel to read; it is not closed
+     * @param handler Receives each row in input order
+     * @return The number of valid rows
+     * @throws IOException if the channel cannot be read
+     */
+    public long read(ReadableByteChannel channel, RowHandler handler) throws IOException {
+        byte[] buf = new byte[bufferSize];
+        ByteBuffer buffer = ByteBuffer.wrap(buf);
+        int start = 0;
+        int limit = 0;
+        boolean eof = false;
+        lineNumber = 0;
+        rows = 0;
+
+        while (true) {
+            while (start < limit) {
+                int next = parseLine(buf, start, limit, eof, handler);
+                if (next < 0) {
+                    break;
+                }
+                start = next;
+            }
+            if (eof) {
+                return rows;
+            }
+
+            // Move the incomplete last line to the front, growing the buffer for very long lines
+            int remaining = limit - start;
+            if (start == 0 && limit == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+                buffer = ByteBuffer.wrap(buf);
+            } else if (start > 0) {
+                System.arraycopy(buf, start, buf, 0, remaining);
+            }
+            start = 0;
+            limit = remaining;
+
+            buffer.limit(buf.length).position(limit);
+            int read = channel.read(buffer);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+    }
+
+    /**
+     * Splits and handles the line starting at {@code from} in a single pass over its bytes.
+     * @return The index just past the line, or -1 if the buffer does not yet hold the complete line
+     */
+    private int parseLine(byte[] buf, int from, int limit, boolean eof, RowHandler handler) {
+        // Split into at most type, name, color and three dimensions; extra fields are ignored
+        int maxFields = fieldStarts.length;
+        int fieldCount = 0;
+        int fieldStart = from;
+        int i = from;
+        while (true) {
+            if (i == limit) {
+                if (!eof) {
+                    return -1;
+                }
+                break;
+            }
+            byte b = buf[i];
+            if (b == '\n') {
+                break;
+            }
+            if (b == delimiter && fieldCount < maxFields) {
+                addField(buf, fieldCount++, fieldStart, i);
+                fieldStart = i + 1;
+            }
+            i++;
+        }
+        int lineEnd = i > fieldStart && buf[i - 1] == '\r' ? i - 1 : i;
+        if (fieldCount < maxFields) {
+            addField(buf, fieldCount++, fieldStart, lineEnd);
+        }
+        lineNumber++;
+        if (handleRow(buf, fieldCount, handler)) {
+            rows++;
+        }
+        return i + 1;
+    }
+
+    /**
+     * Records a field with surrounding blanks removed
+     */
+    private void addField(byte[] buf, int field, int s, int e) {
+        while (s < e && isBlank(buf[s])) {
+            s++;
+        }
+        while (e > s && isBlank(buf[e - 1])) {
+            e--;
+        }
+        fieldStarts[field] = s;
+        fieldEnds[field] = e;
+    }
+
+    /**
+     * Validates the split fields of the current line; returns true if it was a valid row
+     */
+    private boolean handleRow(byte[] buf, int fieldCount, RowHandler handler) {
+        int typeStart = fieldStarts[0];
+        int typeEnd = fieldEnds[0];
+        if ((fieldCount == 1 && typeStart == typeEnd) || (typeStart < typeEnd && buf[typeStart] == '#')) {
+            return false;
+        }
+
+        ShapeType type = matchType(buf, typeStart, typeEnd);
+        if (type == null) {
+            if (lineNumber == 1 && isHeader(buf, typeStart, typeEnd)) {
+                return false;
+            }
+            return reject(handler, lineNumber, "Unknown shape type: " + text(buf, typeStart, typeEnd));
+        }
+        if (fieldCount < 4) {
+            return reject(handler, lineNumber, "Expected type,name,color,dimensions");
+        }
+        int dimensionCount = type.getDimensionCount();
+        if (fieldCount < 3 + dimensionCount) {
+            return reject(handler, lineNumber, type.getSimpleName() + " requires " + dimensionCount + " dimensions");
+        }
+        if (fieldStarts[1] == fieldEnds[1] || fieldStarts[2] == fieldEnds[2]) {
+            return reject(handler, lineNumber, "Name and color must not be empty");
+        }
+
+        dims[1] = 0.0;
+        dims[2] = 0.0;
+        for (int slot = 0; slot < dimensionCount; slot++) {
+            int s = fieldStarts[3 + slot];
+            int e = fieldEnds[3 + slot];
+            double value = parseNumber(buf, s, e);
+            if (numberInvalid) {
+                return reject(handler, lineNumber, "Invalid number: \"" + text(buf, s, e) + "\"");
+            }
+            if (value <= 0) {
+                return reject(handler, lineNumber, type.invalidDimensionMessage(slot));
+            }
+            dims[slot] = value;
+        }
+
+        String name = intern(buf, fieldStarts[1], fieldEnds[1]);
+        String color = intern(buf, fieldStarts[2], fieldEnds[2]);
+        handler.row(type, name, color, dims[0], dims[1], dims[2]);
+        return true;
+    }
+
+    private static boolean reject(RowHandler handler, long lineNumber, String reason) {
+        handler.invalidRow(lineNumber, reason);
+        return false;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private static String text(byte[] buf, int from, int to) {
+        return new String(buf, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isHeader(byte[] buf, int from, int to) {
+        return to - from == 4
+            && (buf[from] | 0x20) == 't' && (buf[from + 1] | 0x20) == 'y'
+            && (buf[from + 2] | 0x20) == 'p' && (buf[from + 3] | 0x20) == 'e';
+    }
+
+    /**
+     * Matches a type field against the type names, ignoring case, spaces and underscores
+     */
+    static ShapeType matchType(byte[] buf, int from, int to) {
+        candidates:
+        for (int t = 0; t < TYPE_KEYS.length; t++) {
+            byte[] key = TYPE_KEYS[t];
+            int k = 0;
+            for (int i = from; i < to; i++) {
+                byte b = buf[i];
+                if (b == '_' || b == ' ') {
+                    continue;
+                }
+                if (k == key.length || (b | 0x20) != key[k]) {
+                    continue candidates;
+                }
+                k++;
+            }
+            if (k == key.length) {
+                return TYPES[t];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a decimal number from bytes; sets {@link #numberInvalid} on failure.
+     * Mantissas of up to 18 significant digits that fit in 53 bits, scaled by
+     * at most 10^22, are converted with a single correctly rounded operation.
+     */
+    double parseNumber(byte[] buf, int from, int to) {
+        numberInvalid = false;
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean truncated = false;
+        while (i < to && buf[i] >= '0' && buf[i] <= '9') {
+            anyDigit = true;
+            int d = buf[i++] - '0';
+            if (digits < MAX_DIGITS) {
+                mantissa = mantissa * 10 + d;
+                if (mantissa != 0) {
+                    digits++;
+                }
+            } else {
+                exponent++;
+                truncated |= d != 0;
+            }
+        }
+        if (i < to && buf[i] == '.') {
+            i++;
+            while (i < to && buf[i] >= '0' && buf[i] <= '9') {
+                anyDigit = true;
+                int d = buf[i++] - '0';
+                if (digits < MAX_DIGITS) {
+                    mantissa = mantissa * 10 + d;
+                    exponent--;
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                } else {
+                    truncated |= d != 0;
+                }
+            }
+        }
+        if (anyDigit && i < to && (buf[i] == 'e' || buf[i] == 'E')) {
+            int j = i + 1;
+            boolean negativeExponent = false;
+            if (j < to && (buf[j] == '-' || buf[j] == '+')) {
+                negativeExponent = buf[j] == '-';
+                j++;
+            }
+            int value = 0;
+            boolean exponentDigit = false;
+            while (j < to && buf[j] >= '0' && buf[j] <= '9') {
+                exponentDigit = true;
+                value = Math.min(value * 10 + (buf[j++] - '0'), 100_000);
+            }
+            if (exponentDigit) {
+                exponent += negativeExponent ? -value : value;
+                i = j;
+            }
+        }
+
+        if (anyDigit && i == to && !truncated && mantissa < MAX_EXACT_MANTISSA
+                && exponent >= -22 && exponent <= 22) {
+            double value = exponent < 0
+                ? mantissa / POWERS_OF_TEN[-exponent]
+                : mantissa * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(new String(buf, from, to - from, StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException e) {
+            numberInvalid = true;
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Returns the String for a byte range, reusing a previous instance for repeated values
+     */
+    String intern(byte[] buf, int from, int to) {
+        int hash = hash(buf, from, to);
+        int mask = internKeys.length - 1;
+        int index = hash & mask;
+        byte[] key;
+        while ((key = internKeys[index]) != null) {
+            if (internHashes[index] == hash && sameBytes(key, buf, from, to)) {
+                return internValues[index];
+            }
+            index = (index + 1) & mask;
+        }
+
+        String value = new String(buf, from, to - from, StandardCharsets.UTF_8);
+        if (internSize < MAX_INTERNED) {
+            if ((internSize + 1) * 2 > internKeys.length) {
+                growInternTable();
+                index = hash & (internKeys.length - 1);
+                while (internKeys[index] != null) {
+                    index = (index + 1) & (internKeys.length - 1);
+                }
+            }
+            internKeys[index] = Arrays.copyOfRange(buf, from, to);
+            internHashes[index] = hash;
+            internValues[index] = value;
+            internSize++;
+        }
+        return value;
+    }
+
+    private static int hash(byte[] buf, int from, int to) {
+        int hash = 1;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + buf[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    // Names and colors are short, so a plain loop beats the vectorized mismatch setup
+    private static boolean sameBytes(byte[] key, byte[] buf, int from, int to) {
+        if (key.length != to - from) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != buf[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void growInternTable() {
+        byte[][] oldKeys = internKeys;
+        int[] oldHashes = internHashes;
+        String[] oldValues = internValues;
+        internKeys = new byte[oldKeys.length * 2][];
+        internHashes = new int[oldKeys.length * 2];
+        internValues = new String[oldKeys.length * 2];
+        int mask = internKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            int index = oldHashes[i] & mask;
+            while (internKeys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            internKeys[index] = oldKeys[i];
+            internHashes[index] = oldHashes[i];
+            internValues[index] = oldValues[i];
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ShapeCsvReader
+ * Tests row parsing, number conversion, buffer boundaries and
+ * delivery to shapes and columnar stores
+ */
+@DisplayName("ShapeCsvReader Tests")
+class ShapeCsvReaderTest {
+
+    private ShapeCsvReader reader;
+    private List<Shape3D> shapes;
+    private List<String> errors;
+
+    @BeforeEach
+    void setUp() {
+        reader = new ShapeCsvReader();
+        shapes = new ArrayList<>();
+        errors = new ArrayList<>();
+    }
+
+    private long read(ShapeCsvReader csvReader, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return csvReader.read(Channels.newChannel(new ByteArrayInputStream(bytes)), new ShapeCsvReader.RowHandler() {
+            @Override
+            public void row(ShapeType type, String name, String color, double d0, double d1, double d2) {
+                shapes.add(type.create(name, color, d0, d1, d2));
+            }
+
+            @Override
+            public void invalidRow(long lineNumber, String reason) {
+                errors.add(lineNumber + ": " + reason);
+            }
+        });
+    }
+
+    private double parse(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        return reader.parseNumber(bytes, 0, bytes.length);
+    }
+
+    @Nested
+    @DisplayName("Row Parsing Tests")
+    class RowParsingTests {
+
+        @Test
+        @DisplayName("Rows build shapes with the regular constructors")
+        void rowsBuildShapes() throws IOException {
+            assertEquals(1, read(reader, "rectangular_prism, Yellow Block ,Gold,2,4,3"));
+
+            Shape3D prism = shapes.get(0);
+            assertInstanceOf(RectangularPrism.class, prism);
+            assertEquals("Yellow Block", prism.getName());
+            assertEquals(24.0, prism.getVolume());
+        }
+
+        @Test
+        @DisplayName("Type names are matched case-insensitively")
+        void typeNamesIgnoreCase() throws IOException {
+            read(reader, "CONE,Peak,Violet,4,8\nSphere,Ball,Red,5,,\nRectangular Prism,Block,Gold,1,2,3\n");
+
+            assertInstanceOf(Cone.class, shapes.get(0));
+            assertInstanceOf(Sphere.class, shapes.get(1));
+            assertInstanceOf(RectangularPrism.class, shapes.get(2));
+        }
+
+        @Test
+        @DisplayName("Invalid rows are reported with the constructor message")
+        void invalidRowsReported() throws IOException {
+            long rows = read(reader, String.join("\n",
+                "cylinder,Tube,Green,3,-1",
+                "cylinder,Tube,Green,3",
+                "torus,Ring,Gold,3,1",
+                "cube,Box,Gold,abc",
+                "cube,,Gold,2",
+                "cube,Box"));
+
+            assertEquals(0, rows);
+            assertEquals(List.of(
+                "1: Height must be positive and greater than zero",
+                "2: Cylinder requires 2 dimensions",
+                "3: Unknown shape type: torus",
+                "4: Invalid number: \"abc\"",
+                "5: Name and color must not be empty",
+                "6: Expected type,name,color,dimensions"), errors);
+        }
+
+        @Test
+        @DisplayName("Header, comments, blank lines and CRLF endings are handled")
+        void skippedLines() throws IOException {
+            long rows = read(reader, "Type,Name,Color,Dim1\r\n# comment\r\n\r\n   \r\ncube,Box,Navy,4\r\n");
+
+            assertEquals(1, rows);
+            assertTrue(errors.isEmpty());
+            assertEquals("Navy", shapes.get(0).getColor());
+        }
+
+        @Test
+        @DisplayName("Tab delimiter keeps commas inside fields")
+        void tabDelimiter() throws IOException {
+            read(new ShapeCsvReader('\t'), "sphere\tBall, Large\tRed\t2.5\n");
+
+            assertEquals("Ball, Large", shapes.get(0).getName());
+            assertEquals(new Sphere(2.5).getVolume(), shapes.get(0).getVolume());
+        }
+
+        @Test
+        @DisplayName("Repeated names and colors share one String instance")
+        void repeatedValuesAreInterned() throws IOException {
+            read(reader, "cube,Box,Navy,1\ncube,Box,Navy,2\n");
+
+            assertSame(shapes.get(0).getName(), shapes.get(1).getName());
+            assertSame(shapes.get(0).getColor(), shapes.get(1).getColor());
+        }
+
+        @Test
+        @DisplayName("Non-ASCII names are decoded as UTF-8")
+        void utf8Names() throws IOException {
+            read(reader, "cube,Würfel,Grün,1\n");
+
+            assertEquals("Würfel", shapes.get(0).getName());
+            assertEquals("Grün", shapes.get(0).getColor());
+        }
+    }
+
+    @Nested
+    @DisplayName("Number Parsing Tests")
+    class NumberParsingTests {
+
+        @Test
+        @DisplayName("Numbers match Double.parseDouble exactly")
+        void numbersMatchParseDouble() {
+            String[] samples = {
+                "0", "1", "-2", "+3.5", "4.", ".25", "0.1", "123.456", "1e3", "2.5E-4",
+                "1.7976931348623157e308", "4.9e-324", "12345678901234567890.5",
+                "0.000000000000000000000000001", "9007199254740993", "3.141592653589793238462643383279"
+            };
+            for (String sample : samples) {
+                assertEquals(Double.parseDouble(sample), parse(sample), sample);
+            }
+        }
+
+        @Test
+        @DisplayName("Mantissas of 19 and 20 digits do not overflow")
+        void longMantissas() {
+            String[] samples = {
+                "0.9999999999999999999", "9999999999999999999", "99999999999999999999",
+                "0.99999999999999999999", "1234567890123456789", "9223372036854775808.5",
+                "1000000000000000000", "10000000000000000000"
+            };
+            for (String sample : samples) {
+                assertEquals(Double.parseDouble(sample), parse(sample), sample);
+            }
+        }
+
+        @Test
+        @DisplayName("Random decimal strings match Double.parseDouble exactly")
+        void randomNumbersMatchParseDouble() {
+            Random random = new Random(205);
+            for (int i = 0; i < 100_000; i++) {
+                double value = random.nextDouble() * Math.pow(10, random.nextInt(12) - 4);
+                String text = i % 2 == 0 ? Double.toString(value) : String.format(Locale.ROOT, "%.6f", value);
+                assertEquals(Double.parseDouble(text), parse(text), text);
+            }
+        }
+
+        @Test
+        @DisplayName("Malformed numbers are rejected")
+        void malformedNumbers() throws IOException {
+            read(reader, "cube,Box,Navy,1.2.3\ncube,Box,Navy,-\ncube,Box,Navy,1e\n");
+
+            assertEquals(3, errors.size());
+            assertTrue(shapes.isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming Tests")
+    class StreamingTests {
+
+        @Test
+        @DisplayName("Rows spanning buffer boundaries are reassembled")
+        void rowsSpanBufferBoundaries() throws IOException {
+            StringBuilder text = new StringBuilder();
+            List<Shape3D> expected = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                text.append("cone,Peak ").append(i).append(",Violet,").append(i + 1).append(".5,8\n");
+                expected.add(new Cone("Peak " + i, "Violet", i + 1.5, 8.0));
+            }
+            text.append("sphere,A very long name that is longer than the read buffer,Red,3");
+
+            assertEquals(501, read(new ShapeCsvReader(',', 16), text.toString()));
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getName(), shapes.get(i).getName());
+                assertEquals(expected.get(i).getVolume(), shapes.get(i).getVolume());
+            }
+            assertEquals("A very long name that is longer than the read buffer", shapes.get(500).getName());
+        }
+
+        @Test
+        @DisplayName("Rows can be read straight into a columnar store")
+        void readIntoStore(@TempDir Path dir) throws IOException {
+            Path input = dir.resolve("shapes.csv");
+            Files.writeString(input, "sphere,Ball,Red,5\ncylinder,Tube,Green,3,6\ncube,Bad,Navy,0\n");
+            ShapeStore store = new ShapeStore();
+
+            assertEquals(2, reader.readInto(input, store));
+            assertEquals(2, store.size());
+            assertEquals(ShapeType.CYLINDER, store.getType(1));
+            assertEquals(new Cylinder(3.0, 6.0).getVolume(), store.getVolume(1));
+        }
+
+        @Test
+        @DisplayName("Reader picks the delimiter from the file extension")
+        void delimiterFromExtension(@TempDir Path dir) throws IOException {
+            Path input = dir.resolve("shapes.TSV");
+            Files.writeString(input, "cube\tBox\tNavy\t2\n");
+
+            assertEquals(1, ShapeCsvReader.forPath(input).readShapes(input, shapes::add));
+            assertEquals(8.0, shapes.get(0).getVolume());
+        }
+
+        @Test
+        @DisplayName("Multi-byte delimiters are rejected")
+        void invalidDelimiter() {
+            assertThrows(IllegalArgumentException.class, () -> new ShapeCsvReader('§'));
+            assertThrows(IllegalArgumentException.class, () -> new ShapeCsvReader(',', 0));
+        }
+    }
+}
@@ -1,21 +1,47 @@
 package com.csc205.project2.shapes;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Sophisticated 3D Shape Analysis System
  * Demonstrates polymorphism, comparative analysis, interactive features,
  * performance timing, and professional formatted output
+ *
+ * When started with arguments it runs non-interactively in batch mode:
+ * {@code --input shapes.csv [--output report.txt] [--top n]} streams shape
+ * rows of the form {@code type,name,color,dim1[,dim2[,dim3]]} from a file,
+ * writes the comprehensive analysis and exits without prompting.
  */
 public class ShapeDriver {
     private static final Scanner scanner = new Scanner(System.in);
-    private static final List<Shape3D> shapes = new ArrayList<>();
+    // Interactive output; flushed before every prompt and at exit
+    private static final PrintStream console =
+        new PrintStream(new AsyncOutputSink(System.out, false), false, System.out.charset());
+    private static final ShapeRegistry shapes = new ShapeRegistry();
+    private static final ShapeStatistics statistics = new ShapeStatistics();
     private static final String SEPARATOR = "=".repeat(60);
     private static final String SUBSEPARATOR = "-".repeat(40);
+    private static final int DEFAULT_BATCH_TOP = 10;
+    /** Collections at least this large are analyzed in parallel */
+    static final int PARALLEL_ANALYSIS_THRESHOLD = 10_000;
+    private static final ShapeRankings rankings = new ShapeRankings(DEFAULT_BATCH_TOP);
+    private static final String BATCH_USAGE =
+        "Usage: ShapeDriver --input <shapes.csv> [--output <report.txt>] [--top <n>]";
     
     public static void main(String[] args) {
-        printWelcomeHeader();
+        if (args.length > 0) {
+            System.exit(runBatch(args));
+        }
+        
+        printWelcomeHeader(console);
         
         // Demonstrate predefined shapes with polymorphism
         demonstratePolymorphism();
@@ -26,30 +52,109 @@ public class ShapeDriver {
         // Comprehensive analysis
         performComprehensiveAnalysis();
         
-        // Performance timing demonstration
-        performanceAnalysis();
-        
-        printClosingMessage();
+        printClosingMessage(console, shapes.size());
+        console.flush();
     }
     
     /**
      * Prints welcome header with system information
      */
-    private static void printWelcomeHeader() {
-        System.out.println(SEPARATOR);
-        System.out.println("              3D SHAPE ANALYSIS SYSTEM");
-        System.out.println("         Advanced Polymorphic Geometry Tool");
-        System.out.println(SEPARATOR);
-        System.out.println("Features: Polymorphism • Analysis • Timing • Interaction");
-        System.out.println();
+    private static void printWelcomeHeader(PrintStream out) {
+        out.println(SEPARATOR);
+        out.println("              3D SHAPE ANALYSIS SYSTEM");
+        out.println("         Advanced Polymorphic Geometry Tool");
+        out.println(SEPARATOR);
+        out.println("Features: Polymorphism • Analysis • Timing • Interaction");
+        out.println();
+    }
+    
+    /**
+     * Runs the non-interactive batch mode
+     * @param args Command line options: --input, --output and --top
+     * @return The process exit code
+     */
+    static int runBatch(String[] args) {
+        Path input = null;
+        Path output = null;
+        int top = DEFAULT_BATCH_TOP;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                String option = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args[i + 1];
+                switch (option) {
+                    case "--input" -> input = Path.of(value);
+                    case "--output" -> output = Path.of(value);
+                    case "--top" -> top = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            }
+            if (input == null) {
+                throw new IllegalArgumentException("--input is required");
+            }
+            if (top < 1) {
+                throw new IllegalArgumentException("--top must be at least 1");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(BATCH_USAGE);
+            return 2;
+        }
+        
+        try {
+            OutputStream target = output == null ? System.out : Files.newOutputStream(output);
+            // Standard output is flushed at the end but left open
+            AsyncOutputSink sink = new AsyncOutputSink(target, output != null);
+            try (PrintStream out = new PrintStream(sink, false, StandardCharsets.UTF_8)) {
+                printWelcomeHeader(out);
+                ShapeBatchAnalysis analysis = new ShapeBatchAnalysis(out, top);
+                long rejected = readShapes(input, analysis);
+                analysis.finish();
+                printClosingMessage(out, analysis.getShapeCount());
+                if (rejected > 0) {
+                    System.err.printf("%d invalid rows skipped%n", rejected);
+                }
+                return out.checkError() ? 1 : 0;
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            return 1;
+        }
+    }
+    
+    /**
+     * Streams shapes from a delimited text file, one row per line (tab-separated for .tsv files).
+     * Blank lines, lines starting with '#' and a leading "type,..." header are skipped;
+     * invalid rows are reported on standard error and skipped.
+     * @param input The file to read
+     * @param consumer Receives each valid shape in file order
+     * @return The number of rejected rows
+     */
+    static long readShapes(Path input, Consumer<? super Shape3D> consumer) throws IOException {
+        long[] rejected = new long[1];
+        ShapeCsvReader.forPath(input).read(input, new ShapeCsvReader.RowHandler() {
+            @Override
+            public void row(ShapeType type, String name, String color, double d0, double d1, double d2) {
+                consumer.accept(type.create(name, color, d0, d1, d2));
+            }
+            
+            @Override
+            public void invalidRow(long lineNumber, String reason) {
+                rejected[0]++;
+                System.err.printf("Line %d skipped: %s%n", lineNumber, reason);
+            }
+        });
+        return rejected[0];
     }
     
     /**
      * Demonstrates polymorphism with predefined shapes
      */
     private static void demonstratePolymorphism() {
-        System.out.println(">>> POLYMORPHISM DEMONSTRATION");
-        System.out.println();
+        console.println(">>> POLYMORPHISM DEMONSTRATION");
+        console.println();
         
         // Create array of Shape3D references holding different concrete types
         Shape3D[] polymorphicShapes = {
@@ -61,23 +166,25 @@ public class ShapeDriver {
         };
         
         // Add to main collection
-        Collections.addAll(shapes, polymorphicShapes);
+        for (Shape3D shape : polymorphicShapes) {
+            addShape(shape);
+        }
         
-        System.out.println("Created " + polymorphicShapes.length + " shapes using polymorphic references:");
-        System.out.println();
+        console.println("Created " + polymorphicShapes.length + " shapes using polymorphic references:");
+        console.println();
         
         // Demonstrate polymorphic method calls
         for (int i = 0; i < polymorphicShapes.length; i++) {
             Shape3D shape = polymorphicShapes[i];
-            System.out.printf("%d. %s {type=%s, color=%s}%n", 
+            console.printf("%d. %s {type=%s, color=%s}%n", 
                 i + 1, 
                 shape.getName(), 
                 shape.getClass().getSimpleName(), 
                 shape.getColor());
             
-            System.out.printf("   - Volume: %.2f cubic units%n", shape.getVolume());
-            System.out.printf("   - Surface Area: %.2f square units%n", shape.getSurfaceArea());
-            System.out.println();
+            console.printf("   - Volume: %.2f cubic units%n", shape.getVolume());
+            console.printf("   - Surface Area: %.2f square units%n", shape.getSurfaceArea());
+            console.println();
         }
         
         waitForUser();
@@ -87,8 +194,8 @@ public class ShapeDriver {
      * Interactive shape creation allowing user customization
      */
     private static void interactiveShapeCreation() {
-        System.out.println(">>> INTERACTIVE SHAPE CREATION");
-        System.out.println();
+        console.println(">>> INTERACTIVE SHAPE CREATION");
+        console.println();
         
         boolean continueCreating = true;
         while (continueCreating) {
@@ -103,14 +210,14 @@ public class ShapeDriver {
             try {
                 Shape3D newShape = createShapeFromInput(choice);
                 if (newShape != null) {
-                    shapes.add(newShape);
-                    System.out.println("✓ Successfully created: " + newShape.getName());
-                    System.out.printf("  Volume: %.2f | Surface Area: %.2f%n%n", 
+                    addShape(newShape);
+                    console.println("✓ Successfully created: " + newShape.getName());
+                    console.printf("  Volume: %.2f | Surface Area: %.2f%n%n", 
                         newShape.getVolume(), newShape.getSurfaceArea());
                 }
             } catch (IllegalArgumentException e) {
-                System.out.println("❌ Error: " + e.getMessage());
-                System.out.println();
+                console.println("❌ Error: " + e.getMessage());
+                console.println();
             }
         }
     }
@@ -119,21 +226,21 @@ public class ShapeDriver {
      * Displays menu for shape selection
      */
     private static void displayShapeMenu() {
-        System.out.println("Available Shape Types:");
-        System.out.println("1. Sphere");
-        System.out.println("2. Cube");
-        System.out.println("3. Cylinder");
-        System.out.println("4. Rectangular Prism");
-        System.out.println("5. Cone");
-        System.out.println("6. Finish creating shapes");
-        System.out.println();
+        console.println("Available Shape Types:");
+        console.println("1. Sphere");
+        console.println("2. Cube");
+        console.println("3. Cylinder");
+        console.println("4. Rectangular Prism");
+        console.println("5. Cone");
+        console.println("6. Finish creating shapes");
+        console.println();
     }
     
     /**
      * Creates a shape based on user input
      */
     private static Shape3D createShapeFromInput(int choice) {
-        System.out.println(SUBSEPARATOR);
+        console.println(SUBSEPARATOR);
         
         String name = getStringInput("Enter shape name: ");
         String color = getStringInput("Enter color: ");
@@ -173,62 +280,118 @@ public class ShapeDriver {
      */
     private static void performComprehensiveAnalysis() {
         if (shapes.isEmpty()) {
-            System.out.println("No shapes available for analysis.");
+            console.println("No shapes available for analysis.");
             return;
         }
         
-        System.out.println(">>> COMPREHENSIVE ANALYSIS");
-        System.out.println();
+        console.println(">>> COMPREHENSIVE ANALYSIS");
+        console.println();
+        
+        analyze(shapes.snapshot(), statistics, rankings, console);
+        
+        waitForUser();
+    }
+    
+    /**
+     * Registers a shape with the session registry, its running statistics and rankings
+     */
+    private static void addShape(Shape3D shape) {
+        shapes.register(shape);
+        statistics.add(shape);
+        rankings.add(shape);
+    }
+    
+    /**
+     * Writes every analysis section for a non-empty shape collection.
+     * Large collections are analyzed in one parallel pass with identical output.
+     * @param shapes The shapes to analyze
+     * @param out The stream to write the report to
+     */
+    static void analyze(List<? extends Shape3D> shapes, PrintStream out) {
+        if (shapes.size() >= PARALLEL_ANALYSIS_THRESHOLD) {
+            new ParallelShapeAnalysis(shapes).print(out);
+            return;
+        }
         
         // Display all shapes with detailed information
-        displayAllShapes();
+        displayAllShapes(shapes, out);
         
         // Comparative analysis
-        performComparativeAnalysis();
+        performComparativeAnalysis(shapes, out);
         
         // Statistical analysis
-        performStatisticalAnalysis();
+        performStatisticalAnalysis(shapes, out);
         
         // Efficiency analysis
-        performEfficiencyAnalysis();
+        performEfficiencyAnalysis(shapes, out);
+    }
+    
+    /**
+     * Writes every analysis section, taking extremes and statistics from running structures.
+     * Large collections are analyzed in one parallel pass instead, as in {@link #analyze(List, PrintStream)}.
+     * @param shapes The shapes to analyze
+     * @param statistics Running statistics over the same shapes
+     * @param rankings Rankings over the same shapes
+     * @param out The stream to write the report to
+     */
+    static void analyze(List<? extends Shape3D> shapes, ShapeStatistics statistics, ShapeRankings rankings,
+                        PrintStream out) {
+        if (shapes.size() >= PARALLEL_ANALYSIS_THRESHOLD) {
+            new ParallelShapeAnalysis(shapes).print(out);
+            return;
+        }
         
-        waitForUser();
+        displayAllShapes(shapes, out);
+        printComparativeAnalysis(out, rankings);
+        printStatisticalAnalysis(out, statistics);
+        performEfficiencyAnalysis(shapes, out);
     }
     
     /**
      * Displays all shapes in a formatted table
      */
-    private static void displayAllShapes() {
-        System.out.println("Created Shapes Summary:");
-        System.out.println();
-        System.out.printf("%-3s %-20s %-15s %-12s %-12s %-8s%n", 
-            "#", "Name", "Type", "Volume", "Surface", "Ratio");
-        System.out.println(SUBSEPARATOR + "--------------------");
+    static void displayAllShapes(List<? extends Shape3D> shapes, PrintStream out) {
+        printShapeTableHeader(out);
         
+        ReportWriter report = new ReportWriter(out);
         for (int i = 0; i < shapes.size(); i++) {
             Shape3D shape = shapes.get(i);
-            double volume = shape.getVolume();
-            double surfaceArea = shape.getSurfaceArea();
-            double ratio = volume / surfaceArea;
-            
-            System.out.printf("%-3d %-20s %-15s %10.2f %10.2f %6.3f%n", 
-                i + 1, 
-                truncateString(shape.getName(), 19),
-                shape.getClass().getSimpleName(),
-                volume,
-                surfaceArea,
-                ratio);
+            printShapeTableRow(report, i + 1, shape, shape.getVolume(), shape.getSurfaceArea());
         }
-        System.out.println();
+        report.flush();
+        out.println();
+    }
+    
+    /**
+     * Prints the title and column headings of the shape summary table
+     */
+    static void printShapeTableHeader(PrintStream out) {
+        out.println("Created Shapes Summary:");
+        out.println();
+        out.printf("%-3s %-20s %-15s %-12s %-12s %-8s%n", 
+            "#", "Name", "Type", "Volume", "Surface", "Ratio");
+        out.println(SUBSEPARATOR + "--------------------");
+    }
+    
+    /**
+     * Writes one row of the shape summary table, laid out as "%-3d %-20s %-15s %10.2f %10.2f %6.3f%n"
+     */
+    static void printShapeTableRow(ReportWriter report, long number, Shape3D shape, double volume,
+                                   double surfaceArea) {
+        double ratio = volume / surfaceArea;
+        
+        report.left(number, 3).text(" ")
+            .left(truncateString(shape.getName(), 19), 20).text(" ")
+            .left(shape.getClass().getSimpleName(), 15).text(" ")
+            .fixed(volume, 2, 10).text(" ")
+            .fixed(surfaceArea, 2, 10).text(" ")
+            .fixed(ratio, 3, 6).newLine();
     }
     
     /**
      * Performs comparative analysis to find extremes
      */
-    private static void performComparativeAnalysis() {
-        System.out.println("Comparative Analysis Results:");
-        System.out.println();
-        
+    static void performComparativeAnalysis(List<? extends Shape3D> shapes, PrintStream out) {
         // Find shapes with extreme values
         Shape3D largestVolume = shapes.stream()
             .max(Comparator.comparingDouble(Shape3D::getVolume))
@@ -246,26 +409,43 @@ public class ShapeDriver {
             .min(Comparator.comparingDouble(Shape3D::getSurfaceArea))
             .orElse(null);
         
+        printComparativeAnalysis(out, largestVolume, smallestVolume, largestSurface, smallestSurface);
+    }
+    
+    /**
+     * Prints the comparative analysis section from maintained rankings without scanning the shapes
+     */
+    static void printComparativeAnalysis(PrintStream out, ShapeRankings rankings) {
+        printComparativeAnalysis(out,
+            rankings.largest(ShapeMetric.VOLUME), rankings.smallest(ShapeMetric.VOLUME),
+            rankings.largest(ShapeMetric.SURFACE_AREA), rankings.smallest(ShapeMetric.SURFACE_AREA));
+    }
+    
+    /**
+     * Prints the comparative analysis section for precomputed extremes
+     */
+    static void printComparativeAnalysis(PrintStream out, Shape3D largestVolume, Shape3D smallestVolume,
+                                         Shape3D largestSurface, Shape3D smallestSurface) {
+        out.println("Comparative Analysis Results:");
+        out.println();
+        
         if (largestVolume != null) {
-            System.out.printf("🏆 Largest Volume: %s (%.2f cubic units)%n", 
+            out.printf("🏆 Largest Volume: %s (%.2f cubic units)%n", 
                 largestVolume.getName(), largestVolume.getVolume());
-            System.out.printf("🔽 Smallest Volume: %s (%.2f cubic units)%n", 
+            out.printf("🔽 Smallest Volume: %s (%.2f cubic units)%n", 
                 smallestVolume.getName(), smallestVolume.getVolume());
-            System.out.printf("📏 Largest Surface Area: %s (%.2f square units)%n", 
+            out.printf("📏 Largest Surface Area: %s (%.2f square units)%n", 
                 largestSurface.getName(), largestSurface.getSurfaceArea());
-            System.out.printf("📐 Smallest Surface Area: %s (%.2f square units)%n", 
+            out.printf("📐 Smallest Surface Area: %s (%.2f square units)%n", 
                 smallestSurface.getName(), smallestSurface.getSurfaceArea());
         }
-        System.out.println();
+        out.println();
     }
     
     /**
      * Performs statistical analysis on the shape collection
      */
-    private static void performStatisticalAnalysis() {
-        System.out.println("Statistical Analysis:");
-        System.out.println();
-        
+    static void performStatisticalAnalysis(List<? extends Shape3D> shapes, PrintStream out) {
         DoubleSummaryStatistics volumeStats = shapes.stream()
             .mapToDouble(Shape3D::getVolume)
             .summaryStatistics();
@@ -274,140 +454,89 @@ public class ShapeDriver {
             .mapToDouble(Shape3D::getSurfaceArea)
             .summaryStatistics();
         
-        System.out.printf("Volume Statistics:%n");
-        System.out.printf("  Average: %.2f | Total: %.2f%n", volumeStats.getAverage(), volumeStats.getSum());
-        System.out.printf("  Range: %.2f - %.2f%n", volumeStats.getMin(), volumeStats.getMax());
-        System.out.println();
+        // Shape type distribution, listed in the hash order of Collectors.groupingBy like the other report paths
+        Map<String, Long> typeDistribution = new HashMap<>(ShapeAggregator.byType().aggregate(shapes).counts());
         
-        System.out.printf("Surface Area Statistics:%n");
-        System.out.printf("  Average: %.2f | Total: %.2f%n", surfaceStats.getAverage(), surfaceStats.getSum());
-        System.out.printf("  Range: %.2f - %.2f%n", surfaceStats.getMin(), surfaceStats.getMax());
-        System.out.println();
-        
-        // Shape type distribution
-        Map<String, Long> typeDistribution = shapes.stream()
-            .collect(Collectors.groupingBy(
-                shape -> shape.getClass().getSimpleName(),
-                Collectors.counting()));
-        
-        System.out.println("Shape Type Distribution:");
+        printStatisticalAnalysis(out, volumeStats, surfaceStats, typeDistribution);
+    }
+    
+    /**
+     * Prints the statistical analysis section from running statistics without scanning the shapes
+     */
+    static void printStatisticalAnalysis(PrintStream out, ShapeStatistics statistics) {
+        printStatisticalAnalysis(out, statistics.volumeSummary().toDoubleSummaryStatistics(),
+            statistics.surfaceAreaSummary().toDoubleSummaryStatistics(), statistics.getTypeDistribution());
+    }
+    
+    /**
+     * Prints the statistical analysis section for precomputed statistics
+     */
+    static void printStatisticalAnalysis(PrintStream out, DoubleSummaryStatistics volumeStats,
+                                         DoubleSummaryStatistics surfaceStats, Map<String, Long> typeDistribution) {
+        out.println("Statistical Analysis:");
+        out.println();
+        
+        out.printf("Volume Statistics:%n");
+        out.printf("  Average: %.2f | Total: %.2f%n", volumeStats.getAverage(), volumeStats.getSum());
+        out.printf("  Range: %.2f - %.2f%n", volumeStats.getMin(), volumeStats.getMax());
+        out.println();
+        
+        out.printf("Surface Area Statistics:%n");
+        out.printf("  Average: %.2f | Total: %.2f%n", surfaceStats.getAverage(), surfaceStats.getSum());
+        out.printf("  Range: %.2f - %.2f%n", surfaceStats.getMin(), surfaceStats.getMax());
+        out.println();
+        
+        out.println("Shape Type Distribution:");
         typeDistribution.entrySet().stream()
             .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .forEach(entry -> System.out.printf("  %s: %d shapes%n", entry.getKey(), entry.getValue()));
-        System.out.println();
+            .forEach(entry -> out.printf("  %s: %d shapes%n", entry.getKey(), entry.getValue()));
+        out.println();
     }
     
     /**
      * Performs efficiency analysis (volume to surface area ratio)
      */
-    private static void performEfficiencyAnalysis() {
-        System.out.println("Efficiency Analysis (Volume/Surface Ratio):");
-        System.out.println();
-        
+    static void performEfficiencyAnalysis(List<? extends Shape3D> shapes, PrintStream out) {
         List<ShapeEfficiency> efficiencies = shapes.stream()
             .map(shape -> new ShapeEfficiency(shape, shape.getVolume() / shape.getSurfaceArea()))
             .sorted(Comparator.comparingDouble(ShapeEfficiency::getRatio).reversed())
             .collect(Collectors.toList());
         
-        System.out.printf("%-3s %-20s %-15s %10s%n", "Rank", "Name", "Type", "Efficiency");
-        System.out.println(SUBSEPARATOR + "----------");
-        
-        for (int i = 0; i < efficiencies.size(); i++) {
-            ShapeEfficiency eff = efficiencies.get(i);
-            System.out.printf("%-3d %-20s %-15s %10.4f%n", 
-                i + 1,
-                truncateString(eff.getShape().getName(), 19),
-                eff.getShape().getClass().getSimpleName(),
-                eff.getRatio());
-        }
-        System.out.println();
-        
-        if (!efficiencies.isEmpty()) {
-            ShapeEfficiency mostEfficient = efficiencies.get(0);
-            System.out.printf("⚡ Most Efficient Shape: %s (%.4f ratio)%n", 
-                mostEfficient.getShape().getName(), mostEfficient.getRatio());
-        }
-        System.out.println();
+        printEfficiencyAnalysis(out, efficiencies);
     }
     
     /**
-     * Demonstrates performance analysis with timing
+     * Prints the efficiency analysis section for an already ranked list
      */
-    private static void performanceAnalysis() {
-        if (shapes.isEmpty()) {
-            return;
-        }
-        
-        System.out.println(">>> PERFORMANCE ANALYSIS");
-        System.out.println();
-        
-        int iterations = 100000;
-        System.out.printf("Measuring calculation performance (%,d iterations)...%n%n", iterations);
-        
-        // Warm up JVM
-        for (Shape3D shape : shapes) {
-            for (int i = 0; i < 1000; i++) {
-                shape.getVolume();
-                shape.getSurfaceArea();
-            }
-        }
+    static void printEfficiencyAnalysis(PrintStream out, List<ShapeEfficiency> efficiencies) {
+        out.println("Efficiency Analysis (Volume/Surface Ratio):");
+        out.println();
         
-        List<PerformanceResult> results = new ArrayList<>();
+        out.printf("%-3s %-20s %-15s %10s%n", "Rank", "Name", "Type", "Efficiency");
+        out.println(SUBSEPARATOR + "----------");
         
-        for (Shape3D shape : shapes) {
-            // Time volume calculations
-            long startTime = System.nanoTime();
-            for (int i = 0; i < iterations; i++) {
-                shape.getVolume();
-            }
-            long volumeTime = System.nanoTime() - startTime;
-            
-            // Time surface area calculations
-            startTime = System.nanoTime();
-            for (int i = 0; i < iterations; i++) {
-                shape.getSurfaceArea();
-            }
-            long surfaceTime = System.nanoTime() - startTime;
-            
-            results.add(new PerformanceResult(shape, volumeTime, surfaceTime));
-        }
-        
-        // Display performance results
-        System.out.printf("%-20s %-15s %12s %12s %12s%n", 
-            "Shape", "Type", "Volume (ns)", "Surface (ns)", "Total (ns)");
-        System.out.println(SUBSEPARATOR + "------------------------");
-        
-        for (PerformanceResult result : results) {
-            System.out.printf("%-20s %-15s %12.0f %12.0f %12.0f%n",
-                truncateString(result.getShape().getName(), 19),
-                result.getShape().getClass().getSimpleName(),
-                result.getVolumeTime() / (double) iterations,
-                result.getSurfaceTime() / (double) iterations,
-                (result.getVolumeTime() + result.getSurfaceTime()) / (double) iterations);
+        // Rows laid out as "%-3d %-20s %-15s %10.4f%n"
+        ReportWriter report = new ReportWriter(out);
+        for (int i = 0; i < efficiencies.size(); i++) {
+            ShapeEfficiency eff = efficiencies.get(i);
+            report.left(i + 1, 3).text(" ")
+                .left(truncateString(eff.getShape().getName(), 19), 20).text(" ")
+                .left(eff.getShape().getClass().getSimpleName(), 15).text(" ")
+                .fixed(eff.getRatio(), 4, 10).newLine();
         }
+        report.flush();
+        out.println();
         
-        // Find fastest and slowest
-        PerformanceResult fastest = results.stream()
-            .min(Comparator.comparingLong(r -> r.getVolumeTime() + r.getSurfaceTime()))
-            .orElse(null);
-        PerformanceResult slowest = results.stream()
-            .max(Comparator.comparingLong(r -> r.getVolumeTime() + r.getSurfaceTime()))
-            .orElse(null);
-        
-        if (fastest != null && slowest != null) {
-            System.out.println();
-            System.out.printf("🚀 Fastest: %s (%s)%n", 
-                fastest.getShape().getName(), 
-                fastest.getShape().getClass().getSimpleName());
-            System.out.printf("🐌 Slowest: %s (%s)%n", 
-                slowest.getShape().getName(), 
-                slowest.getShape().getClass().getSimpleName());
+        if (!efficiencies.isEmpty()) {
+            ShapeEfficiency mostEfficient = efficiencies.get(0);
+            out.printf("⚡ Most Efficient Shape: %s (%.4f ratio)%n", 
+                mostEfficient.getShape().getName(), mostEfficient.getRatio());
         }
-        System.out.println();
+        out.println();
     }
     
     // Helper Classes
-    private static class ShapeEfficiency {
+    static class ShapeEfficiency {
         private final Shape3D shape;
         private final double ratio;
         
@@ -420,79 +549,68 @@ public class ShapeDriver {
         public double getRatio() { return ratio; }
     }
     
-    private static class PerformanceResult {
-        private final Shape3D shape;
-        private final long volumeTime;
-        private final long surfaceTime;
-        
-        public PerformanceResult(Shape3D shape, long volumeTime, long surfaceTime) {
-            this.shape = shape;
-            this.volumeTime = volumeTime;
-            this.surfaceTime = surfaceTime;
-        }
-        
-        public Shape3D getShape() { return shape; }
-        public long getVolumeTime() { return volumeTime; }
-        public long getSurfaceTime() { return surfaceTime; }
-    }
-    
     // Utility Methods
     private static String truncateString(String str, int maxLength) {
         return str.length() > maxLength ? str.substring(0, maxLength - 3) + "..." : str;
     }
     
     private static void waitForUser() {
-        System.out.print("Press Enter to continue...");
-        scanner.nextLine();
-        System.out.println();
+        console.print("Press Enter to continue...");
+        readLine();
+        console.println();
+    }
+    
+    private static String readLine() {
+        console.flush();
+        return scanner.nextLine();
     }
     
     private static int getIntInput(String prompt, int min, int max) {
         while (true) {
-            System.out.print(prompt);
+            console.print(prompt);
             try {
-                int value = Integer.parseInt(scanner.nextLine().trim());
+                int value = Integer.parseInt(readLine().trim());
                 if (value >= min && value <= max) {
                     return value;
                 }
-                System.out.printf("Please enter a number between %d and %d.%n", min, max);
+                console.printf("Please enter a number between %d and %d.%n", min, max);
             } catch (NumberFormatException e) {
-                System.out.println("Please enter a valid number.");
+                console.println("Please enter a valid number.");
             }
         }
     }
     
     private static double getDoubleInput(String prompt, double min, double max) {
         while (true) {
-            System.out.print(prompt);
+            console.print(prompt);
             try {
-                double value = Double.parseDouble(scanner.nextLine().trim());
+                double value = Double.parseDouble(readLine().trim());
                 if (value >= min && value <= max) {
                     return value;
                 }
-                System.out.printf("Please enter a number between %.3f and %.3f.%n", min, max);
+                console.printf("Please enter a number between %.3f and %.3f.%n", min, max);
             } catch (NumberFormatException e) {
-                System.out.println("Please enter a valid number.");
+                console.println("Please enter a valid number.");
             }
         }
     }
     
     private static String getStringInput(String prompt) {
         while (true) {
-            System.out.print(prompt);
-            String input = scanner.nextLine().trim();
+            console.print(prompt);
+            String input = readLine().trim();
             if (!input.isEmpty()) {
                 return input;
             }
-            System.out.println("Please enter a non-empty string.");
+            console.println("Please enter a non-empty string.");
         }
     }
     
-    private static void printClosingMessage() {
-        System.out.println(SEPARATOR);
-        System.out.println("            ANALYSIS COMPLETE");
-        System.out.printf("        Processed %d shapes successfully%n", shapes.size());
-        System.out.println("    Thank you for using the 3D Shape Analysis System!");
-        System.out.println(SEPARATOR);
+    private static void printClosingMessage(PrintStream out, long shapeCount) {
+        out.println(SEPARATOR);
+        out.println("            ANALYSIS COMPLETE");
+        out.printf("        Processed %d shapes successfully%n", shapeCount);
+        out.println("    Thank you for using the 3D Shape Analysis System!");
+        out.println(SEPARATOR);
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.csc205.project2.shapes;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the binary shape file shared by {@link ShapeFileWriter} and
+ * {@link MappedShapeFile}. All values are little-endian.
+ *
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "SHF3"
+ *      4     2  format version
+ *      6     2  header size in bytes
+ *      8     4  row count
+ *     12     4  dictionary string count
+ *     16     8  offset of the type tag column      (row count bytes)
+ *     24     8  offset of dimension slot 0         (row count doubles)
+ *     32     8  offset of dimension slot 1         (row count doubles)
+ *     40     8  offset of dimension slot 2         (row count doubles)
+ *     48     8  offset of the name code column     (row count ints)
+ *     56     8  offset of the color code column    (row count ints)
+ *     64     8  offset of the string dictionary
+ * </pre>
+ *
+ * Columns start on 8-byte boundaries. Name and color codes index the shared
+ * string dictionary, with {@link AttributeDictionary#NULL_CODE} for null. The
+ * dictionary is a sequence of entries, each an int byte length followed by
+ * the UTF-8 bytes of the string. Readers locate sections through the header
+ * offsets, so later versions can add sections without moving existing ones.
+ */
+final class ShapeFileFormat {
+    static final int MAGIC = 0x33464853;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 72;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int ROW_COUNT = 8;
+    static final int STRING_COUNT = 12;
+    static final int TYPES_OFFSET = 16;
+    static final int DIMENSION_OFFSETS = 24;
+    static final int NAME_CODES_OFFSET = 48;
+    static final int COLOR_CODES_OFFSET = 56;
+    static final int DICTIONARY_OFFSET = 64;
+
+    private ShapeFileFormat() {
+    }
+
+    /**
+     * Rounds a file position up to the next column boundary
+     * @param position The position to align
+     * @return The aligned position
+     */
+    static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+}
@@ -0,0 +1,166 @@
+package com.csc205.project2.shapes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes shapes in the binary shape file format described in
+ * {@link ShapeFileFormat}. Each column is streamed straight from the source
+ * rows through a small buffer, and names and colors are encoded into one
+ * shared string dictionary. Dimensions are stored as raw doubles, so files
+ * read back through {@link MappedShapeFile} reproduce every shape exactly.
+ */
+public final class ShapeFileWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private ShapeFileWriter() {
+    }
+
+    /**
+     * Writes shapes to a file, replacing any existing content
+     * @param path The file to write
+     * @param shapes The shapes to write, in order
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, Iterable<? extends Shape3D> shapes) throws IOException {
+        ShapeStore store = new ShapeStore();
+        store.addAll(shapes);
+        write(path, store);
+    }
+
+    /**
+     * Writes every row of a columnar source to a file, replacing any existing content
+     * @param path The file to write
+     * @param columns The rows to write, in order
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, ShapeColumns columns) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel, columns);
+        }
+    }
+
+    /**
+     * Writes every row of a columnar source to the start of a file channel, truncating anything after it
+     * @param channel The channel to write; it is not closed
+     * @param columns The rows to write, in order
+     * @throws IOException if the channel cannot be written
+     */
+    static void write(FileChannel channel, ShapeColumns columns) throws IOException {
+        int rows = columns.size();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ShapeFileFormat.BYTE_ORDER);
+        long[] dimensionOffsets = new long[ShapeType.MAX_DIMENSIONS];
+        AttributeDictionary strings = new AttributeDictionary();
+
+        // Columns first, after a zeroed header slot that is overwritten once the offsets are known
+        long position = ShapeFileFormat.HEADER_SIZE;
+        buffer.put(new byte[ShapeFileFormat.HEADER_SIZE]);
+
+        long typesOffset = position;
+        for (int row = 0; row < rows; row++) {
+            position = ensure(channel, buffer, position, Byte.BYTES);
+            buffer.put(columns.getType(row).getTag());
+        }
+        position = pad(channel, buffer, position);
+
+        for (int slot = 0; slot < dimensionOffsets.length; slot++) {
+            dimensionOffsets[slot] = position;
+            for (int row = 0; row < rows; row++) {
+                position = ensure(channel, buffer, position, Double.BYTES);
+                buffer.putDouble(columns.getDimension(row, slot));
+            }
+        }
+
+        long nameCodesOffset = position;
+        for (int row = 0; row < rows; row++) {
+            position = ensure(channel, buffer, position, Integer.BYTES);
+            buffer.putInt(strings.encode(columns.getName(row)));
+        }
+        position = pad(channel, buffer, position);
+
+        long colorCodesOffset = position;
+        for (int row = 0; row < rows; row++) {
+            position = ensure(channel, buffer, position, Integer.BYTES);
+            buffer.putInt(strings.encode(columns.getColor(row)));
+        }
+        position = pad(channel, buffer, position);
+
+        long dictionaryOffset = position;
+        for (int code = 0; code < strings.size(); code++) {
+            byte[] bytes = strings.decode(code).getBytes(StandardCharsets.UTF_8);
+            position = ensure(channel, buffer, position, Integer.BYTES);
+            buffer.putInt(bytes.length);
+            for (int written = 0; written < bytes.length; ) {
+                if (!buffer.hasRemaining()) {
+                    flush(channel, buffer, position);
+                }
+                int chunk = Math.min(buffer.remaining(), bytes.length - written);
+                buffer.put(bytes, written, chunk);
+                written += chunk;
+                position += chunk;
+            }
+        }
+        flush(channel, buffer, position);
+        channel.truncate(position);
+
+        ByteBuffer header = ByteBuffer.allocate(ShapeFileFormat.HEADER_SIZE).order(ShapeFileFormat.BYTE_ORDER);
+        header.putInt(ShapeFileFormat.MAGIC)
+            .putShort(ShapeFileFormat.VERSION)
+            .putShort((short) ShapeFileFormat.HEADER_SIZE)
+            .putInt(rows)
+            .putInt(strings.size())
+            .putLong(typesOffset);
+        for (long offset : dimensionOffsets) {
+            header.putLong(offset);
+        }
+        header.putLong(nameCodesOffset)
+            .putLong(colorCodesOffset)
+            .putLong(dictionaryOffset)
+            .flip();
+        long headerPosition = 0;
+        while (header.hasRemaining()) {
+            headerPosition += channel.write(header, headerPosition);
+        }
+    }
+
+    /**
+     * Makes room for a value, flushing the buffer if needed
+     * @return The file position just past the value
+     */
+    private static long ensure(FileChannel channel, ByteBuffer buffer, long position, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            position = flush(channel, buffer, position);
+        }
+        return position + bytes;
+    }
+
+    /**
+     * Pads with zeros up to the next column boundary
+     */
+    private static long pad(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long aligned = ShapeFileFormat.align(position);
+        while (position < aligned) {
+            position = ensure(channel, buffer, position, 1);
+            buffer.put((byte) 0);
+        }
+        return position;
+    }
+
+    /**
+     * Writes out the buffered bytes, which end at the given file position
+     */
+    private static long flush(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        long writePosition = position - buffer.remaining();
+        while (buffer.hasRemaining()) {
+            writePosition += channel.write(buffer, writePosition);
+        }
+        buffer.clear();
+        return position;
+    }
+}
@@ -0,0 +1,93 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic shape collections shared by the tests.
+ */
+final class ShapeFixtures {
+    private ShapeFixtures() {
+    }
+
+    /**
+     * Creates shapes of random types named "Shape i", with one of eight colors and
+     * dimensions between 0.5 and 9.5
+     * @param count The number of shapes
+     * @param seed The random seed
+     * @return A new list of shapes
+     */
+    static List<Shape3D> randomShapes(int count, long seed) {
+        Random random = new Random(seed);
+        ShapeType[] types = ShapeType.values();
+        List<Shape3D> shapes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shapes.add(types[random.nextInt(types.length)].create("Shape " + i, "Color " + random.nextInt(8),
+                0.5 + random.nextDouble() * 9, 0.5 + random.nextDouble() * 9, 0.5 + random.nextDouble() * 9));
+        }
+        return shapes;
+    }
+
+    /**
+     * Creates shapes of random types whose names and colors repeat, with dimensions between 0.5 and 9.5
+     * @param count The number of shapes
+     * @param seed The random seed
+     * @param names The names to draw from
+     * @param colors The colors to draw from
+     * @return A new list of shapes
+     */
+    static List<Shape3D> randomShapes(int count, long seed, String[] names, String[] colors) {
+        Random random = new Random(seed);
+        ShapeType[] types = ShapeType.values();
+        List<Shape3D> shapes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shapes.add(types[random.nextInt(types.length)].create(names[random.nextInt(names.length)],
+                colors[random.nextInt(colors.length)],
+                0.5 + random.nextDouble() * 9, 0.5 + random.nextDouble() * 9, 0.5 + random.nextDouble() * 9));
+        }
+        return shapes;
+    }
+
+    /**
+     * Creates shapes of random types with whole-number dimensions from 1 to 6,
+     * so equal volumes, areas and ratios are common
+     * @param count The number of shapes
+     * @param seed The random seed
+     * @return A new list of shapes
+     */
+    static List<Shape3D> wholeShapes(int count, long seed) {
+        Random random = new Random(seed);
+        ShapeType[] types = ShapeType.values();
+        List<Shape3D> shapes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shapes.add(types[random.nextInt(types.length)].create("Shape " + i, "Color",
+                1 + random.nextInt(6), 1 + random.nextInt(6), 1 + random.nextInt(6)));
+        }
+        return shapes;
+    }
+
+    /**
+     * Creates numbered labels such as "Shape 0", "Shape 1", ...
+     * @param prefix The text before each number
+     * @param count The number of labels
+     * @return A new array of labels
+     */
+    static String[] labels(String prefix, int count) {
+        String[] labels = new String[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = prefix + " " + i;
+        }
+        return labels;
+    }
+
+    /**
+     * Creates a random orientation from a Gaussian quaternion, uniform over all rotations
+     * @param random The random source
+     * @return A new orientation
+     */
+    static Orientation randomOrientation(Random random) {
+        return new Orientation(random.nextGaussian(), random.nextGaussian(), random.nextGaussian(),
+            random.nextGaussian());
+    }
+}
@@ -0,0 +1,395 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Solid geometry of placed shapes: world bounding boxes, point containment
+ * and point distance.
+ *
+ * Every shape is modelled in a local frame centered on its bounding box.
+ * A sphere is centered on the origin. A cube and a rectangular prism span
+ * length along x, width along y and height along z. A cylinder and a cone
+ * stand on the z axis between z = -h/2 and z = +h/2, the cone with its base
+ * at the bottom and its apex at the top. The shape's {@link Placement}
+ * rotates this frame and moves its center into world space.
+ *
+ * Shapes are solid: points inside have distance zero, and points on the
+ * surface count as contained.
+ */
+public final class ShapeGeometry {
+    /** Number of values describing one placed shape; see {@link #frame(Shape3D, double[], int)} */
+    static final int FRAME = 16;
+
+    private static final ShapeType[] TYPES = ShapeType.values();
+
+    private ShapeGeometry() {
+    }
+
+    /**
+     * Computes the axis-aligned world bounding box of a shape
+     * @param shape The shape
+     * @return The smallest box containing the shape's rotated local bounding box
+     */
+    public static BoundingBox bounds(Shape3D shape) {
+        double[] box = new double[6];
+        bounds(shape, box, 0);
+        return new BoundingBox(box[0], box[1], box[2], box[3], box[4], box[5]);
+    }
+
+    /**
+     * Writes the world bounding box of a shape as min x, y, z then max x, y, z
+     * @param shape The shape
+     * @param out Destination array
+     * @param offset Index of the first of the six values
+     */
+    static void bounds(Shape3D shape, double[] out, int offset) {
+        double[] frame = new double[FRAME];
+        frame(shape, frame, 0);
+        frameBounds(frame, 0, out, offset);
+    }
+
+    /**
+     * Writes a placed shape as a flat frame: its center (3 values), the
+     * row-major rotation matrix from local to world space (9 values), its
+     * local half extents (3 values) and its type ordinal
+     * @param shape The shape
+     * @param out Destination array
+     * @param offset Index of the first of the {@value #FRAME} values
+     */
+    static void frame(Shape3D shape, double[] out, int offset) {
+        double[] extents = new double[ShapeType.MAX_DIMENSIONS];
+        ShapeType type = localHalfExtents(shape, extents);
+        Placement placement = shape.getPlacement();
+        Vector3 center = placement.position();
+        Orientation q = placement.orientation();
+        double w = q.w();
+        double x = q.x();
+        double y = q.y();
+        double z = q.z();
+        out[offset] = center.x();
+        out[offset + 1] = center.y();
+        out[offset + 2] = center.z();
+        out[offset + 3] = 1 - 2 * (y * y + z * z);
+        out[offset + 4] = 2 * (x * y - w * z);
+        out[offset + 5] = 2 * (x * z + w * y);
+        out[offset + 6] = 2 * (x * y + w * z);
+        out[offset + 7] = 1 - 2 * (x * x + z * z);
+        out[offset + 8] = 2 * (y * z - w * x);
+        out[offset + 9] = 2 * (x * z - w * y);
+        out[offset + 10] = 2 * (y * z + w * x);
+        out[offset + 11] = 1 - 2 * (x * x + y * y);
+        System.arraycopy(extents, 0, out, offset + 12, 3);
+        out[offset + 15] = type.ordinal();
+    }
+
+    /**
+     * Gets the type of a frame written by {@link #frame(Shape3D, double[], int)}
+     * @param frames The frames
+     * @param offset Index of the frame's first value
+     * @return The shape type
+     */
+    static ShapeType frameType(double[] frames, int offset) {
+        return TYPES[(int) frames[offset + 15]];
+    }
+
+    /**
+     * Writes the world bounding box of a frame as min x, y, z then max x, y, z
+     * @param frames The frames
+     * @param f Index of the frame's first value
+     * @param out Destination array
+     * @param offset Index of the first of the six values
+     */
+    static void frameBounds(double[] frames, int f, double[] out, int offset) {
+        double hx = frames[f + 12];
+        double hy = frames[f + 13];
+        double hz = frames[f + 14];
+        if (frames[f + 15] != ShapeType.SPHERE.ordinal()) {
+            // Each world half extent sums the local extents weighted by the absolute rotation matrix row
+            double ex = hx;
+            double ey = hy;
+            double ez = hz;
+            hx = Math.abs(frames[f + 3]) * ex + Math.abs(frames[f + 4]) * ey + Math.abs(frames[f + 5]) * ez;
+            hy = Math.abs(frames[f + 6]) * ex + Math.abs(frames[f + 7]) * ey + Math.abs(frames[f + 8]) * ez;
+            hz = Math.abs(frames[f + 9]) * ex + Math.abs(frames[f + 10]) * ey + Math.abs(frames[f + 11]) * ez;
+        }
+        out[offset] = frames[f] - hx;
+        out[offset + 1] = frames[f + 1] - hy;
+        out[offset + 2] = frames[f + 2] - hz;
+        out[offset + 3] = frames[f] + hx;
+        out[offset + 4] = frames[f + 1] + hy;
+        out[offset + 5] = frames[f + 2] + hz;
+    }
+
+    /**
+     * Writes the half extents of a shape's local bounding box along x, y and z
+     * @param shape The shape
+     * @param out Destination array of at least {@link ShapeType#MAX_DIMENSIONS} elements
+     * @return The type of the shape
+     */
+    static ShapeType localHalfExtents(Shape3D shape, double[] out) {
+        ShapeType type = ShapeType.dimensionsOf(shape, out);
+        switch (type) {
+            case SPHERE -> {
+                out[1] = out[0];
+                out[2] = out[0];
+            }
+            case CUBE -> {
+                out[0] /= 2;
+                out[1] = out[0];
+                out[2] = out[0];
+            }
+            case RECTANGULAR_PRISM -> {
+                out[0] /= 2;
+                out[1] /= 2;
+                out[2] /= 2;
+            }
+            case CYLINDER, CONE -> {
+                out[2] = out[1] / 2;
+                out[1] = out[0];
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Checks whether a point lies inside or on a shape
+     * @param shape The shape
+     * @param x The x coordinate in world space
+     * @param y The y coordinate in world space
+     * @param z The z coordinate in world space
+     * @return true if the point is contained
+     */
+    public static boolean contains(Shape3D shape, double x, double y, double z) {
+        double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+        ShapeType type = ShapeType.dimensionsOf(shape, dims);
+        Vector3 p = shape.getPlacement().toLocal(new Vector3(x, y, z));
+        double px = p.x();
+        double py = p.y();
+        double pz = p.z();
+        return switch (type) {
+            case SPHERE -> px * px + py * py + pz * pz <= dims[0] * dims[0];
+            case CUBE -> insideBox(px, py, pz, dims[0] / 2, dims[0] / 2, dims[0] / 2);
+            case RECTANGULAR_PRISM -> insideBox(px, py, pz, dims[0] / 2, dims[1] / 2, dims[2] / 2);
+            case CYLINDER -> Math.abs(pz) <= dims[1] / 2 && px * px + py * py <= dims[0] * dims[0];
+            case CONE -> insideCone(Math.sqrt(px * px + py * py), pz, dims[0], dims[1]);
+        };
+    }
+
+    /**
+     * Computes the distance from a point to the nearest point of a shape
+     * @param shape The shape
+     * @param x The x coordinate in world space
+     * @param y The y coordinate in world space
+     * @param z The z coordinate in world space
+     * @return The Euclidean distance, zero if the point is contained
+     */
+    public static double distance(Shape3D shape, double x, double y, double z) {
+        double[] extents = new double[ShapeType.MAX_DIMENSIONS];
+        ShapeType type = localHalfExtents(shape, extents);
+        Vector3 p = shape.getPlacement().toLocal(new Vector3(x, y, z));
+        return localDistance(type, extents[0], extents[1], extents[2], p.x(), p.y(), p.z());
+    }
+
+    /**
+     * Computes the distance from a point in a shape's local frame to the shape
+     * @param type The shape type
+     * @param hx The local half extent along x
+     * @param hy The local half extent along y
+     * @param hz The local half extent along z
+     * @param px The x coordinate in the local frame
+     * @param py The y coordinate in the local frame
+     * @param pz The z coordinate in the local frame
+     * @return The Euclidean distance, zero if the point is contained
+     */
+    static double localDistance(ShapeType type, double hx, double hy, double hz, double px, double py, double pz) {
+        return switch (type) {
+            case SPHERE -> Math.max(GeometryMath.length(px, py, pz) - hx, 0.0);
+            case CUBE, RECTANGULAR_PRISM -> outsideBox(px, py, pz, hx, hy, hz);
+            case CYLINDER -> GeometryMath.length(Math.max(Math.sqrt(px * px + py * py) - hx, 0.0),
+                Math.max(Math.abs(pz) - hz, 0.0));
+            case CONE -> coneDistance(Math.sqrt(px * px + py * py), pz, hx, 2 * hz);
+        };
+    }
+
+    /**
+     * Intersects a ray with a shape
+     * @param shape The shape
+     * @param origin The start of the ray
+     * @param direction The direction of the ray; its length is the unit of the hit distances
+     * @return The hit, or null if the ray misses the shape
+     */
+    public static RayHit intersect(Shape3D shape, Vector3 origin, Vector3 direction) {
+        double[] frame = new double[FRAME];
+        frame(shape, frame, 0);
+        double[] span = new double[2];
+        if (!intersect(frame, 0, origin.x(), origin.y(), origin.z(), direction.x(), direction.y(), direction.z(),
+            span)) {
+            return null;
+        }
+        return new RayHit(shape, span[0], span[1]);
+    }
+
+    /**
+     * Intersects a ray with a frame written by {@link #frame(Shape3D, double[], int)}.
+     * Each solid is convex, so the ray passes through it along one interval.
+     * @param frames The frames
+     * @param f Index of the frame's first value
+     * @param ox The x coordinate of the ray's origin, and likewise oy and oz
+     * @param dx The x component of the ray's direction, and likewise dy and dz
+     * @param span Receives the entry distance, at least zero, and the exit distance
+     * @return true if the ray passes through the shape at or after its origin
+     */
+    static boolean intersect(double[] frames, int f, double ox, double oy, double oz, double dx, double dy,
+                             double dz, double[] span) {
+        // Local coordinates multiply by the transposed rotation, which keeps distances along the ray
+        double px = ox - frames[f];
+        double py = oy - frames[f + 1];
+        double pz = oz - frames[f + 2];
+        double lox = frames[f + 3] * px + frames[f + 6] * py + frames[f + 9] * pz;
+        double loy = frames[f + 4] * px + frames[f + 7] * py + frames[f + 10] * pz;
+        double loz = frames[f + 5] * px + frames[f + 8] * py + frames[f + 11] * pz;
+        double ldx = frames[f + 3] * dx + frames[f + 6] * dy + frames[f + 9] * dz;
+        double ldy = frames[f + 4] * dx + frames[f + 7] * dy + frames[f + 10] * dz;
+        double ldz = frames[f + 5] * dx + frames[f + 8] * dy + frames[f + 11] * dz;
+        double hx = frames[f + 12];
+        double hy = frames[f + 13];
+        double hz = frames[f + 14];
+        span[0] = Double.NEGATIVE_INFINITY;
+        span[1] = Double.POSITIVE_INFINITY;
+        boolean hit = switch (frameType(frames, f)) {
+            case SPHERE -> quadratic(ldx * ldx + ldy * ldy + ldz * ldz, lox * ldx + loy * ldy + loz * ldz,
+                lox * lox + loy * loy + loz * loz - hx * hx, span);
+            case CUBE, RECTANGULAR_PRISM -> slab(lox, ldx, hx, span) && slab(loy, ldy, hy, span)
+                && slab(loz, ldz, hz, span);
+            case CYLINDER -> slab(loz, ldz, hz, span)
+                && quadratic(ldx * ldx + ldy * ldy, lox * ldx + loy * ldy, lox * lox + loy * loy - hx * hx, span);
+            case CONE -> slab(loz, ldz, hz, span) && coneSpan(lox, loy, loz, ldx, ldy, ldz, hx, hz, span);
+        };
+        if (!hit || span[1] < 0) {
+            return false;
+        }
+        span[0] = Math.max(span[0], 0.0);
+        return true;
+    }
+
+    /**
+     * Narrows the span to where the ray lies between the planes at -half and +half
+     */
+    private static boolean slab(double origin, double direction, double half, double[] span) {
+        if (direction == 0.0) {
+            return Math.abs(origin) <= half;
+        }
+        double t0 = (-half - origin) / direction;
+        double t1 = (half - origin) / direction;
+        span[0] = Math.max(span[0], Math.min(t0, t1));
+        span[1] = Math.min(span[1], Math.max(t0, t1));
+        return span[0] <= span[1];
+    }
+
+    /**
+     * Narrows the span to where a t² + 2 b t + c is at most zero, for a
+     * non-negative a; the set is one interval, or empty
+     */
+    private static boolean quadratic(double a, double b, double c, double[] span) {
+        if (a == 0.0) {
+            // The ray runs parallel to the surface, wholly inside or outside
+            return c <= 0;
+        }
+        double discriminant = b * b - a * c;
+        if (discriminant < 0) {
+            return false;
+        }
+        double root = Math.sqrt(discriminant);
+        span[0] = Math.max(span[0], (-b - root) / a);
+        span[1] = Math.min(span[1], (-b + root) / a);
+        return span[0] <= span[1];
+    }
+
+    /**
+     * Narrows a span already inside the cone's height to where the radius
+     * from the axis is at most the cone's radius at that height. That
+     * condition is a t² + 2 b t + c at most zero; an a below zero, for rays
+     * steeper than the slant, gives two rays of solutions, and the height
+     * limits keep at most one of them.
+     */
+    private static boolean coneSpan(double ox, double oy, double oz, double dx, double dy, double dz,
+                                    double radius, double half, double[] span) {
+        double slope = radius / (2 * half);
+        double k = slope * slope;
+        double above = half - oz;
+        double a = dx * dx + dy * dy - k * dz * dz;
+        double b = ox * dx + oy * dy + k * above * dz;
+        double c = ox * ox + oy * oy - k * above * above;
+        if (Math.abs(a) <= 1e-12 * (dx * dx + dy * dy + k * dz * dz)) {
+            // Parallel to the slant: the condition is linear, 2 b t + c at most zero
+            if (b == 0.0) {
+                return c <= 0;
+            }
+            double t = -c / (2 * b);
+            if (b > 0) {
+                span[1] = Math.min(span[1], t);
+            } else {
+                span[0] = Math.max(span[0], t);
+            }
+            return span[0] <= span[1];
+        }
+        double discriminant = b * b - a * c;
+        if (a > 0) {
+            if (discriminant < 0) {
+                return false;
+            }
+            double root = Math.sqrt(discriminant);
+            span[0] = Math.max(span[0], (-b - root) / a);
+            span[1] = Math.min(span[1], (-b + root) / a);
+            return span[0] <= span[1];
+        }
+        if (discriminant <= 0) {
+            return true;
+        }
+        double root = Math.sqrt(discriminant);
+        double t0 = (-b + root) / a;
+        double t1 = (-b - root) / a;
+        boolean before = span[0] <= Math.min(span[1], t0);
+        boolean after = Math.max(span[0], t1) <= span[1];
+        if (before && !after) {
+            span[1] = Math.min(span[1], t0);
+        } else if (after && !before) {
+            span[0] = Math.max(span[0], t1);
+        }
+        return before || after;
+    }
+
+    private static boolean insideBox(double x, double y, double z, double hx, double hy, double hz) {
+        return Math.abs(x) <= hx && Math.abs(y) <= hy && Math.abs(z) <= hz;
+    }
+
+    private static double outsideBox(double x, double y, double z, double hx, double hy, double hz) {
+        return GeometryMath.length(Math.max(Math.abs(x) - hx, 0.0), Math.max(Math.abs(y) - hy, 0.0),
+            Math.max(Math.abs(z) - hz, 0.0));
+    }
+
+    // The cone's radius shrinks linearly from r at the base to zero at the apex
+    private static boolean insideCone(double rho, double z, double radius, double height) {
+        return Math.abs(z) <= height / 2 && rho <= radius * (0.5 - z / height);
+    }
+
+    /**
+     * Measures in the half-plane through the axis, where the cone is the
+     * triangle (0, -h/2), (r, -h/2), (0, h/2); outside points are nearest to
+     * its base or its slant edge
+     */
+    private static double coneDistance(double rho, double z, double radius, double height) {
+        if (insideCone(rho, z, radius, height)) {
+            return 0.0;
+        }
+        double half = height / 2;
+        return Math.min(segmentDistance(rho, z, 0.0, -half, radius, -half),
+            segmentDistance(rho, z, radius, -half, 0.0, half));
+    }
+
+    private static double segmentDistance(double px, double pz, double ax, double az, double bx, double bz) {
+        double dx = bx - ax;
+        double dz = bz - az;
+        double t = ((px - ax) * dx + (pz - az) * dz) / (dx * dx + dz * dz);
+        t = Math.max(0.0, Math.min(1.0, t));
+        return GeometryMath.length(px - (ax + t * dx), pz - (az + t * dz));
+    }
+}
@@ -0,0 +1,256 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ShapeGeometry
+ * Tests bounding boxes, containment, distances and ray intersections of
+ * placed and rotated shapes against hand-computed values and sampled points
+ */
+@DisplayName("ShapeGeometry Tests")
+class ShapeGeometryTest {
+
+    private static final double DELTA = 1e-9;
+
+    private static void assertSpan(double entry, double exit, RayHit hit) {
+        assertNotNull(hit);
+        assertEquals(entry, hit.entry(), DELTA);
+        assertEquals(exit, hit.exit(), DELTA);
+    }
+
+    private static void assertBox(BoundingBox expected, BoundingBox actual) {
+        assertEquals(expected.minX(), actual.minX(), DELTA);
+        assertEquals(expected.minY(), actual.minY(), DELTA);
+        assertEquals(expected.minZ(), actual.minZ(), DELTA);
+        assertEquals(expected.maxX(), actual.maxX(), DELTA);
+        assertEquals(expected.maxY(), actual.maxY(), DELTA);
+        assertEquals(expected.maxZ(), actual.maxZ(), DELTA);
+    }
+
+    @Nested
+    @DisplayName("Bounds Tests")
+    class BoundsTests {
+
+        @Test
+        @DisplayName("Unplaced shapes are centered on the origin")
+        void unplacedBounds() {
+            assertBox(new BoundingBox(-5, -5, -5, 5, 5, 5), ShapeGeometry.bounds(new Sphere(5.0)));
+            assertBox(new BoundingBox(-2, -2, -2, 2, 2, 2), ShapeGeometry.bounds(new Cube(4.0)));
+            assertBox(new BoundingBox(-1, -2, -1.5, 1, 2, 1.5),
+                ShapeGeometry.bounds(new RectangularPrism(2.0, 4.0, 3.0)));
+            assertBox(new BoundingBox(-3, -3, -3, 3, 3, 3), ShapeGeometry.bounds(new Cylinder(3.0, 6.0)));
+            assertBox(new BoundingBox(-4, -4, -4, 4, 4, 4), ShapeGeometry.bounds(new Cone(4.0, 8.0)));
+        }
+
+        @Test
+        @DisplayName("Position moves the box")
+        void translatedBounds() {
+            Shape3D prism = new RectangularPrism(2.0, 4.0, 3.0);
+            prism.setPlacement(Placement.at(10, -10, 1));
+            assertBox(new BoundingBox(9, -12, -0.5, 11, -8, 2.5), ShapeGeometry.bounds(prism));
+        }
+
+        @Test
+        @DisplayName("Quarter turn swaps extents")
+        void rotatedBounds() {
+            Shape3D cylinder = new Cylinder(1.0, 10.0);
+            cylinder.setPlacement(new Placement(Vector3.ZERO, Orientation.about(new Vector3(0, 1, 0), Math.PI / 2)));
+            assertBox(new BoundingBox(-5, -1, -1, 5, 1, 1), ShapeGeometry.bounds(cylinder));
+        }
+
+        @Test
+        @DisplayName("Rotated box encloses every rotated corner")
+        void rotatedCorners() {
+            Random random = new Random(7);
+            for (int trial = 0; trial < 50; trial++) {
+                Shape3D prism = new RectangularPrism(1 + random.nextDouble() * 5, 1 + random.nextDouble() * 5,
+                    1 + random.nextDouble() * 5);
+                Orientation orientation = new Orientation(random.nextGaussian(), random.nextGaussian(),
+                    random.nextGaussian(), random.nextGaussian());
+                Placement placement = new Placement(new Vector3(random.nextDouble(), 2, 3), orientation);
+                prism.setPlacement(placement);
+                BoundingBox box = ShapeGeometry.bounds(prism);
+                double[] half = new double[ShapeType.MAX_DIMENSIONS];
+                ShapeGeometry.localHalfExtents(prism, half);
+                for (int corner = 0; corner < 8; corner++) {
+                    Vector3 local = new Vector3((corner & 1) == 0 ? -half[0] : half[0],
+                        (corner & 2) == 0 ? -half[1] : half[1], (corner & 4) == 0 ? -half[2] : half[2]);
+                    Vector3 world = placement.toWorld(local);
+                    assertTrue(box.distanceSquared(world.x(), world.y(), world.z()) < DELTA);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Setters change the bounds")
+        void setterBounds() {
+            Sphere sphere = new Sphere(1.0);
+            sphere.setRadius(3.0);
+            assertBox(new BoundingBox(-3, -3, -3, 3, 3, 3), ShapeGeometry.bounds(sphere));
+        }
+    }
+
+    @Nested
+    @DisplayName("Containment Tests")
+    class ContainmentTests {
+
+        @Test
+        @DisplayName("Points inside and outside each type")
+        void containsPoints() {
+            assertTrue(ShapeGeometry.contains(new Sphere(5.0), 3, 4, 0));
+            assertFalse(ShapeGeometry.contains(new Sphere(5.0), 3, 4, 0.1));
+            assertTrue(ShapeGeometry.contains(new Cube(4.0), 2, -2, 2));
+            assertFalse(ShapeGeometry.contains(new Cube(4.0), 2.1, 0, 0));
+            assertTrue(ShapeGeometry.contains(new Cylinder(3.0, 6.0), 0, 3, -3));
+            assertFalse(ShapeGeometry.contains(new Cylinder(3.0, 6.0), 2.5, 2.5, 0));
+            // Cone of radius 4 and height 8: radius 2 at z = 0, a point at the apex
+            assertTrue(ShapeGeometry.contains(new Cone(4.0, 8.0), 2, 0, 0));
+            assertFalse(ShapeGeometry.contains(new Cone(4.0, 8.0), 2.1, 0, 0));
+            assertTrue(ShapeGeometry.contains(new Cone(4.0, 8.0), 0, 0, 4));
+        }
+
+        @Test
+        @DisplayName("Containment follows the placement")
+        void placedContainment() {
+            Shape3D cylinder = new Cylinder(1.0, 10.0);
+            cylinder.setPlacement(new Placement(new Vector3(100, 0, 0),
+                Orientation.about(new Vector3(0, 1, 0), Math.PI / 2)));
+            assertTrue(ShapeGeometry.contains(cylinder, 104, 0, 0));
+            assertFalse(ShapeGeometry.contains(cylinder, 100, 0, 4));
+            assertFalse(ShapeGeometry.contains(cylinder, 0, 0, 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Distance Tests")
+    class DistanceTests {
+
+        @Test
+        @DisplayName("Distances to each type")
+        void distances() {
+            assertEquals(5.0, ShapeGeometry.distance(new Sphere(5.0), 10, 0, 0), DELTA);
+            assertEquals(0.0, ShapeGeometry.distance(new Sphere(5.0), 1, 1, 1), DELTA);
+            assertEquals(Math.sqrt(3), ShapeGeometry.distance(new Cube(2.0), 2, 2, 2), DELTA);
+            assertEquals(5.0, ShapeGeometry.distance(new Cylinder(1.0, 2.0), 0, 4, 5), DELTA);
+            // Below the cone's base, then beside its apex
+            assertEquals(1.0, ShapeGeometry.distance(new Cone(4.0, 8.0), 0, 0, -5), DELTA);
+            assertEquals(2.0, ShapeGeometry.distance(new Cone(4.0, 8.0), 0, 0, 6), DELTA);
+        }
+
+        @Test
+        @DisplayName("Distance to the cone's slant matches the perpendicular")
+        void coneSlant() {
+            // Slant from (3, -2) to (0, 2) has outward unit normal (4, 3) / 5
+            Cone cone = new Cone(3.0, 4.0);
+            double rho = 1.5 + 4 * 2.0 / 5;
+            double z = 3 * 2.0 / 5;
+            assertEquals(2.0, ShapeGeometry.distance(cone, rho, 0, z), DELTA);
+        }
+
+        @Test
+        @DisplayName("Distance is zero exactly where points are contained")
+        void distanceAgreesWithContainment() {
+            Random random = new Random(11);
+            ShapeType[] types = ShapeType.values();
+            for (int trial = 0; trial < 200; trial++) {
+                Shape3D shape = types[trial % types.length].create("S", "C", 1 + random.nextDouble() * 4,
+                    1 + random.nextDouble() * 4, 1 + random.nextDouble() * 4);
+                shape.setPlacement(new Placement(new Vector3(1, 2, 3), new Orientation(random.nextGaussian(),
+                    random.nextGaussian(), random.nextGaussian(), random.nextGaussian())));
+                double x = 1 + random.nextGaussian() * 4;
+                double y = 2 + random.nextGaussian() * 4;
+                double z = 3 + random.nextGaussian() * 4;
+                assertEquals(ShapeGeometry.contains(shape, x, y, z), ShapeGeometry.distance(shape, x, y, z) == 0.0);
+                assertFalse(ShapeGeometry.bounds(shape).distanceSquared(x, y, z)
+                    > Math.pow(ShapeGeometry.distance(shape, x, y, z), 2) + DELTA);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Ray Tests")
+    class RayTests {
+
+        private final Vector3 alongX = new Vector3(1, 0, 0);
+        private final Vector3 alongZ = new Vector3(0, 0, 1);
+
+        @Test
+        @DisplayName("Rays through each type")
+        void spans() {
+            assertSpan(8.0, 12.0, ShapeGeometry.intersect(new Sphere(2.0), new Vector3(-10, 0, 0), alongX));
+            assertSpan(4.0, 6.0, ShapeGeometry.intersect(new Cube(2.0), new Vector3(0.5, 0.5, -5), alongZ));
+            assertSpan(2.0, 8.0, ShapeGeometry.intersect(new RectangularPrism(2.0, 4.0, 6.0),
+                new Vector3(0.5, 1.5, -5), alongZ));
+            // Cylinder through both caps, then through its curved side
+            assertSpan(4.0, 6.0, ShapeGeometry.intersect(new Cylinder(1.0, 2.0), new Vector3(0, 0, -5), alongZ));
+            assertSpan(4.0, 6.0, ShapeGeometry.intersect(new Cylinder(1.0, 2.0), new Vector3(-5, 0, 0.5), alongX));
+            // Cone from its base to its apex at z = 2, then across the middle where its radius is 1
+            assertSpan(3.0, 7.0, ShapeGeometry.intersect(new Cone(2.0, 4.0), new Vector3(0, 0, -5), alongZ));
+            assertSpan(4.0, 6.0, ShapeGeometry.intersect(new Cone(2.0, 4.0), new Vector3(-5, 0, 0), alongX));
+        }
+
+        @Test
+        @DisplayName("Distances are measured in direction lengths")
+        void scaledDirection() {
+            assertSpan(4.0, 6.0, ShapeGeometry.intersect(new Sphere(2.0), new Vector3(-10, 0, 0),
+                new Vector3(2, 0, 0)));
+        }
+
+        @Test
+        @DisplayName("Misses, rays leaving the shape and rays starting inside")
+        void edgeCases() {
+            assertNull(ShapeGeometry.intersect(new Sphere(2.0), new Vector3(-10, 3, 0), alongX));
+            assertNull(ShapeGeometry.intersect(new Sphere(2.0), new Vector3(10, 0, 0), alongX));
+            // Near the apex the cone's radius is only 0.05
+            assertNull(ShapeGeometry.intersect(new Cone(2.0, 4.0), new Vector3(-5, 0.2, 1.9), alongX));
+            assertSpan(4.95, 5.05, ShapeGeometry.intersect(new Cone(2.0, 4.0), new Vector3(-5, 0, 1.9), alongX));
+            assertSpan(0.0, 2.0, ShapeGeometry.intersect(new Cube(2.0), Vector3.ZERO, new Vector3(0, 0, -0.5)));
+        }
+
+        @Test
+        @DisplayName("Rays follow the placement")
+        void placed() {
+            Cylinder lying = new Cylinder(1.0, 4.0);
+            lying.setPlacement(new Placement(new Vector3(0, 0, 3), Orientation.about(new Vector3(0, 1, 0),
+                Math.PI / 2)));
+            assertSpan(3.0, 7.0, ShapeGeometry.intersect(lying, new Vector3(-5, 0, 3), alongX));
+            assertSpan(2.0, 4.0, ShapeGeometry.intersect(lying, new Vector3(0, 0, 0), alongZ));
+        }
+
+        @Test
+        @DisplayName("Spans agree with containment along the ray")
+        void spanAgreesWithContainment() {
+            Random random = new Random(13);
+            ShapeType[] types = ShapeType.values();
+            int hits = 0;
+            for (int trial = 0; trial < 400; trial++) {
+                Shape3D shape = types[trial % types.length].create("S", "C", 1 + random.nextDouble() * 4,
+                    1 + random.nextDouble() * 4, 1 + random.nextDouble() * 4);
+                shape.setPlacement(new Placement(new Vector3(1, 2, 3), new Orientation(random.nextGaussian(),
+                    random.nextGaussian(), random.nextGaussian(), random.nextGaussian())));
+                Vector3 origin = new Vector3(1 + random.nextGaussian() * 6, 2 + random.nextGaussian() * 6,
+                    3 + random.nextGaussian() * 6);
+                Vector3 direction = new Vector3(1 + random.nextGaussian() * 2, 2 + random.nextGaussian() * 2,
+                    3 + random.nextGaussian() * 2).minus(origin);
+                RayHit hit = ShapeGeometry.intersect(shape, origin, direction);
+                for (int sample = 0; sample <= 100; sample++) {
+                    double t = sample / 50.0;
+                    Vector3 point = origin.plus(direction.times(t));
+                    boolean inside = hit != null && t > hit.entry() + 1e-6 && t < hit.exit() - 1e-6;
+                    boolean outside = hit == null || t < hit.entry() - 1e-6 || t > hit.exit() + 1e-6;
+                    if (inside) {
+                        assertTrue(ShapeGeometry.contains(shape, point.x(), point.y(), point.z()), "trial " + trial);
+                    } else if (outside) {
+                        assertFalse(ShapeGeometry.contains(shape, point.x(), point.y(), point.z()), "trial " + trial);
+                    }
+                }
+                hits += hit != null ? 1 : 0;
+            }
+            assertTrue(hits > 40);
+        }
+    }
+}
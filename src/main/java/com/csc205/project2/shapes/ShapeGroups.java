@@ -0,0 +1,93 @@
+package com.csc205.project2.shapes;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a {@link ShapeAggregator} run: one aggregate per group, in the
+ * order in which each group was first seen.
+ */
+public final class ShapeGroups {
+
+    /**
+     * Aggregates of one group
+     * @param key The group key (type name, color or name prefix); null for shapes with a null attribute
+     * @param count The number of shapes in the group
+     * @param volumeSum The total volume
+     * @param volumeMin The smallest volume
+     * @param volumeMax The largest volume
+     * @param surfaceAreaSum The total surface area
+     * @param surfaceAreaMin The smallest surface area
+     * @param surfaceAreaMax The largest surface area
+     */
+    public record Group(String key, long count, double volumeSum, double volumeMin, double volumeMax,
+                        double surfaceAreaSum, double surfaceAreaMin, double surfaceAreaMax) {
+
+        /**
+         * Gets the average volume
+         * @return The mean volume of the group
+         */
+        public double volumeAverage() {
+            return volumeSum / count;
+        }
+
+        /**
+         * Gets the average surface area
+         * @return The mean surface area of the group
+         */
+        public double surfaceAreaAverage() {
+            return surfaceAreaSum / count;
+        }
+    }
+
+    private final List<Group> groups;
+    private final Map<String, Group> byKey;
+
+    ShapeGroups(List<Group> groups) {
+        this.groups = Collections.unmodifiableList(groups);
+        this.byKey = new HashMap<>();
+        for (Group group : groups) {
+            byKey.put(group.key(), group);
+        }
+    }
+
+    /**
+     * Gets every group in first-seen order
+     * @return An unmodifiable list of groups
+     */
+    public List<Group> groups() {
+        return groups;
+    }
+
+    /**
+     * Looks up a group by key
+     * @param key The group key
+     * @return The group, or null if no shape fell into it
+     */
+    public Group get(String key) {
+        return byKey.get(key);
+    }
+
+    /**
+     * Gets the number of groups
+     * @return The group count
+     */
+    public int size() {
+        return groups.size();
+    }
+
+    /**
+     * Gets the number of shapes in each group, as {@code Collectors.groupingBy(..., counting())} would
+     * @return A new map filled in first-seen order
+     */
+    public Map<String, Long> counts() {
+        Map<String, Long> counts = LinkedHashMap.newLinkedHashMap(groups.size());
+        for (Group group : groups) {
+            counts.put(group.key(), group.count());
+        }
+        return counts;
+    }
+}
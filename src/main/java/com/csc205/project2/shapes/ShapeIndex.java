@@ -0,0 +1,226 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorted index of a changing set of shapes by volume, surface area and
+ * volume/surface ratio, answering range, count and nearest-value queries
+ * without scanning every shape.
+ *
+ * Each metric is kept in a balanced search tree keyed by the primitive
+ * value, with subtree sizes so that counts and ranks cost O(log n). A range
+ * query costs O(log n + k) for k matches. Tracked shapes are followed
+ * through a {@link ShapeChangeListener}, so resizing a shape with one of its
+ * setters moves it to its new position in O(log n).
+ *
+ * Equal values are ordered by insertion. Not thread-safe.
+ */
+public class ShapeIndex {
+    private static final ShapeMetric[] METRICS = ShapeMetric.values();
+
+    private static final class Tracked {
+        private final long order;
+        private final double[] keys = new double[METRICS.length];
+
+        private Tracked(long order) {
+            this.order = order;
+        }
+    }
+
+    private final Map<Shape3D, Tracked> tracked = new IdentityHashMap<>();
+    private final List<DoubleOrderIndex<Shape3D>> trees = new ArrayList<>(METRICS.length);
+    private final ShapeChangeListener listener = this::update;
+    private long nextOrder;
+
+    /**
+     * Default constructor
+     */
+    public ShapeIndex() {
+        for (int i = 0; i < METRICS.length; i++) {
+            trees.add(new DoubleOrderIndex<>());
+        }
+    }
+
+    /**
+     * Starts tracking a shape
+     * @param shape The shape to add
+     * @return true if the shape was not already tracked
+     * @throws IllegalArgumentException if the shape is a flyweight view, which moves between rows
+     */
+    public boolean add(Shape3D shape) {
+        if (shape instanceof ShapeView) {
+            throw new IllegalArgumentException("Flyweight views cannot be tracked");
+        }
+        if (tracked.containsKey(shape)) {
+            return false;
+        }
+        Tracked entry = new Tracked(nextOrder++);
+        tracked.put(shape, entry);
+        insert(shape, entry);
+        shape.addChangeListener(listener);
+        return true;
+    }
+
+    /**
+     * Starts tracking several shapes
+     * @param shapes The shapes to add
+     */
+    public void addAll(Iterable<? extends Shape3D> shapes) {
+        for (Shape3D shape : shapes) {
+            add(shape);
+        }
+    }
+
+    /**
+     * Stops tracking a shape
+     * @param shape The shape to remove
+     * @return true if the shape was tracked
+     */
+    public boolean remove(Shape3D shape) {
+        Tracked entry = tracked.remove(shape);
+        if (entry == null) {
+            return false;
+        }
+        retract(entry);
+        shape.removeChangeListener(listener);
+        return true;
+    }
+
+    /**
+     * Stops tracking every shape
+     */
+    public void clear() {
+        for (Shape3D shape : tracked.keySet()) {
+            shape.removeChangeListener(listener);
+        }
+        tracked.clear();
+        for (DoubleOrderIndex<Shape3D> tree : trees) {
+            tree.clear();
+        }
+    }
+
+    /**
+     * Checks whether a shape is tracked
+     * @param shape The shape to look for
+     * @return true if the shape is tracked
+     */
+    public boolean contains(Shape3D shape) {
+        return tracked.containsKey(shape);
+    }
+
+    /**
+     * Gets the number of tracked shapes
+     * @return The shape count
+     */
+    public int size() {
+        return tracked.size();
+    }
+
+    /**
+     * Gets the shapes whose value lies in a closed range, smallest first.
+     * Use an infinite bound for an open-ended query.
+     * @param metric The metric to query
+     * @param from The lower bound, inclusive
+     * @param to The upper bound, inclusive
+     * @return A new list of the matching shapes; empty if from is greater than to
+     */
+    public List<Shape3D> range(ShapeMetric metric, double from, double to) {
+        if (!(from <= to)) {
+            return Collections.emptyList();
+        }
+        List<Shape3D> matches = new ArrayList<>();
+        tree(metric).collectRange(from, to, matches);
+        return matches;
+    }
+
+    /**
+     * Counts the shapes whose value lies in a closed range
+     * @param metric The metric to query
+     * @param from The lower bound, inclusive
+     * @param to The upper bound, inclusive
+     * @return The number of matching shapes; zero if from is greater than to
+     */
+    public int count(ShapeMetric metric, double from, double to) {
+        if (!(from <= to)) {
+            return 0;
+        }
+        DoubleOrderIndex<Shape3D> tree = tree(metric);
+        return tree.countBelow(to, true) - tree.countBelow(from, false);
+    }
+
+    /**
+     * Counts the shapes whose value is strictly below a bound
+     * @param metric The metric to query
+     * @param value The bound
+     * @return The number of shapes ranked before the value
+     */
+    public int rank(ShapeMetric metric, double value) {
+        return tree(metric).countBelow(value, false);
+    }
+
+    /**
+     * Gets the shape at a position in ascending order of a metric
+     * @param metric The metric to order by
+     * @param rank The zero-based position
+     * @return The shape at that position
+     * @throws IndexOutOfBoundsException if rank is negative or not less than size()
+     */
+    public Shape3D get(ShapeMetric metric, int rank) {
+        return tree(metric).select(rank);
+    }
+
+    /**
+     * Gets the shape with the largest value at or below a bound
+     * @param metric The metric to query
+     * @param value The bound
+     * @return The closest shape from below, or null if there is none
+     */
+    public Shape3D floor(ShapeMetric metric, double value) {
+        return tree(metric).floor(value);
+    }
+
+    /**
+     * Gets the shape with the smallest value at or above a bound
+     * @param metric The metric to query
+     * @param value The bound
+     * @return The closest shape from above, or null if there is none
+     */
+    public Shape3D ceiling(ShapeMetric metric, double value) {
+        return tree(metric).ceiling(value);
+    }
+
+    private DoubleOrderIndex<Shape3D> tree(ShapeMetric metric) {
+        return trees.get(metric.ordinal());
+    }
+
+    /**
+     * Moves a tracked shape to its new position in every tree
+     */
+    private void update(Shape3D shape) {
+        Tracked entry = tracked.get(shape);
+        if (entry != null) {
+            retract(entry);
+            insert(shape, entry);
+        }
+    }
+
+    private void insert(Shape3D shape, Tracked entry) {
+        double volume = shape.getVolume();
+        double surfaceArea = shape.getSurfaceArea();
+        for (ShapeMetric metric : METRICS) {
+            double key = metric.valueOf(volume, surfaceArea);
+            entry.keys[metric.ordinal()] = key;
+            tree(metric).insert(key, entry.order, shape);
+        }
+    }
+
+    private void retract(Tracked entry) {
+        for (ShapeMetric metric : METRICS) {
+            tree(metric).remove(entry.keys[metric.ordinal()], entry.order);
+        }
+    }
+}
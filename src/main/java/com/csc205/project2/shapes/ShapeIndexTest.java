@@ -0,0 +1,186 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.BeforeEach;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ShapeIndex
+ * Tests that range, count, rank and nearest-value queries agree with
+ * linear filtering after insertions, removals and resizing
+ */
+@DisplayName("ShapeIndex Tests")
+class ShapeIndexTest {
+
+    private ShapeIndex index;
+    private List<Shape3D> shapes;
+
+    @BeforeEach
+    void setUp() {
+        index = new ShapeIndex();
+        shapes = new ArrayList<>(List.of(
+            new Sphere("Red Ball", "Crimson", 5.0),
+            new Cube("Blue Box", "Navy", 4.0),
+            new Cylinder("Green Tube", "Forest", 3.0, 6.0),
+            new RectangularPrism("Yellow Block", "Gold", 2.0, 4.0, 3.0),
+            new Cone("Purple Peak", "Violet", 4.0, 8.0),
+            new Cube("Small Box", "Navy", 1.0)
+        ));
+        index.addAll(shapes);
+    }
+
+    // Stable sort keeps insertion order among equal values, as the index does
+    private static List<Shape3D> expectedRange(List<Shape3D> shapes, ShapeMetric metric, double from, double to) {
+        List<Shape3D> matches = new ArrayList<>();
+        for (Shape3D shape : shapes) {
+            double value = metric.of(shape);
+            if (value >= from && value <= to) {
+                matches.add(shape);
+            }
+        }
+        matches.sort(Comparator.comparingDouble(metric::of));
+        return matches;
+    }
+
+    private void assertQueriesMatch(double from, double to) {
+        for (ShapeMetric metric : ShapeMetric.values()) {
+            List<Shape3D> expected = expectedRange(shapes, metric, from, to);
+            assertEquals(expected, index.range(metric, from, to), metric.name());
+            assertEquals(expected.size(), index.count(metric, from, to), metric.name());
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Tests")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Range and count match linear filtering")
+        void rangeMatchesFilter() {
+            assertQueriesMatch(20.0, 200.0);
+            assertQueriesMatch(0.0, Double.POSITIVE_INFINITY);
+            assertQueriesMatch(64.0, 64.0);
+            assertEquals(List.of(shapes.get(5), shapes.get(3), shapes.get(1)),
+                index.range(ShapeMetric.VOLUME, 0.0, 100.0));
+        }
+
+        @Test
+        @DisplayName("Inverted bounds match nothing")
+        void invertedRange() {
+            assertTrue(index.range(ShapeMetric.VOLUME, 100.0, 10.0).isEmpty());
+            assertEquals(0, index.count(ShapeMetric.SURFACE_AREA, 100.0, 10.0));
+            assertEquals(0, index.count(ShapeMetric.VOLUME, Double.NaN, 10.0));
+        }
+
+        @Test
+        @DisplayName("Floor and ceiling find the nearest shapes")
+        void floorAndCeiling() {
+            assertSame(shapes.get(1), index.floor(ShapeMetric.VOLUME, 64.0));
+            assertSame(shapes.get(1), index.floor(ShapeMetric.VOLUME, 100.0));
+            assertSame(shapes.get(4), index.ceiling(ShapeMetric.VOLUME, 100.0));
+            assertNull(index.floor(ShapeMetric.VOLUME, 0.5));
+            assertNull(index.ceiling(ShapeMetric.VOLUME, 1000.0));
+        }
+
+        @Test
+        @DisplayName("Rank and get follow ascending order")
+        void rankAndGet() {
+            List<Shape3D> sorted = new ArrayList<>(shapes);
+            sorted.sort(Comparator.comparingDouble(Shape3D::getSurfaceArea));
+            for (int i = 0; i < sorted.size(); i++) {
+                assertSame(sorted.get(i), index.get(ShapeMetric.SURFACE_AREA, i));
+                assertEquals(i, index.rank(ShapeMetric.SURFACE_AREA, sorted.get(i).getSurfaceArea()));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> index.get(ShapeMetric.VOLUME, shapes.size()));
+        }
+
+        @Test
+        @DisplayName("Equal values keep insertion order")
+        void tiesKeepInsertionOrder() {
+            ShapeIndex ties = new ShapeIndex();
+            Cube first = new Cube("First", "Navy", 2.0);
+            Cube second = new Cube("Second", "Navy", 2.0);
+            ties.add(first);
+            ties.add(second);
+
+            assertEquals(List.of(first, second), ties.range(ShapeMetric.VOLUME, 8.0, 8.0));
+            assertSame(first, ties.ceiling(ShapeMetric.VOLUME, 8.0));
+            assertSame(second, ties.floor(ShapeMetric.VOLUME, 8.0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Dimension setters move a shape within the index")
+        void settersReorder() {
+            Cube small = (Cube) shapes.get(5);
+            small.setSideLength(10.0);
+
+            assertSame(small, index.get(ShapeMetric.VOLUME, shapes.size() - 1));
+            assertEquals(0, index.count(ShapeMetric.VOLUME, 0.0, 1.0));
+            assertQueriesMatch(0.0, Double.POSITIVE_INFINITY);
+        }
+
+        @Test
+        @DisplayName("Removed shapes leave the index and are no longer followed")
+        void removal() {
+            Cube cube = (Cube) shapes.remove(1);
+
+            assertTrue(index.remove(cube));
+            assertFalse(index.remove(cube));
+            cube.setSideLength(3.0);
+
+            assertFalse(index.contains(cube));
+            assertEquals(shapes.size(), index.size());
+            assertQueriesMatch(0.0, Double.POSITIVE_INFINITY);
+        }
+
+        @Test
+        @DisplayName("Shapes are tracked once and views are rejected")
+        void trackingRules() {
+            assertFalse(index.add(shapes.get(0)));
+            assertEquals(shapes.size(), index.size());
+
+            ShapeStore store = new ShapeStore();
+            store.add(new Cube(1.0));
+            assertThrows(IllegalArgumentException.class, () -> index.add(store.view(0)));
+
+            index.clear();
+            assertEquals(0, index.count(ShapeMetric.VOLUME, 0.0, Double.POSITIVE_INFINITY));
+        }
+
+        @Test
+        @DisplayName("Random churn stays consistent with linear filtering")
+        void randomChurn() {
+            Random random = new Random(205);
+            ShapeType[] types = ShapeType.values();
+            for (int step = 0; step < 5_000; step++) {
+                int action = random.nextInt(3);
+                if (action == 0 || shapes.isEmpty()) {
+                    Shape3D shape = types[random.nextInt(types.length)].create("S", "C",
+                        0.5 + random.nextInt(10), 0.5 + random.nextInt(10), 0.5 + random.nextInt(10));
+                    shapes.add(shape);
+                    index.add(shape);
+                } else if (action == 1) {
+                    index.remove(shapes.remove(random.nextInt(shapes.size())));
+                } else if (shapes.get(random.nextInt(shapes.size())) instanceof Cube cube) {
+                    cube.setSideLength(0.5 + random.nextInt(10));
+                }
+                if (step % 250 == 0) {
+                    double from = random.nextDouble() * 200;
+                    assertQueriesMatch(from, from + random.nextDouble() * 400);
+                }
+            }
+            assertQueriesMatch(0.0, Double.POSITIVE_INFINITY);
+        }
+    }
+}
@@ -0,0 +1,851 @@
+package com.csc205.project2.shapes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable shape collection: a {@link ShapeRegistry} whose changes are
+ * recorded in an append-only log in a directory (see {@link JournalFormat}).
+ *
+ * Adding a shape logs its whole state, and the journal then follows the
+ * shape through a {@link ShapeChangeListener}, so every later dimension,
+ * name or color setter logs the shape's new state. Removing a shape logs
+ * its id. Records are appended to a memory buffer under a short lock; a
+ * background thread writes the buffer and forces it to disk every commit
+ * interval, so one disk sync covers every record appended since the last
+ * one. {@link #sync()} waits until everything appended so far is durable,
+ * joining a commit in progress rather than starting its own where it can.
+ *
+ * A snapshot switches the log to a new segment, writes every shape to a
+ * binary shape file with the shape ids, and then deletes the older segments.
+ * Snapshots are taken by {@link #snapshot()} and automatically after a
+ * given number of records. Shapes keep changing while the snapshot is
+ * written, but every change after the switch is also in the new segment,
+ * and replaying a record is an upsert, so recovery converges on the last
+ * logged state. Opening a journal maps the newest snapshot, replays only
+ * the segments written after it, and cuts off a record torn by a crash.
+ *
+ * An I/O error is reported by the next sync, snapshot or close; records
+ * appended after the error are discarded. Flyweight views cannot be added,
+ * and placements are not recorded.
+ */
+public final class ShapeJournal implements Closeable {
+    /** Default interval between group commits */
+    public static final Duration DEFAULT_COMMIT_INTERVAL = Duration.ofMillis(10);
+    /** Default number of logged records between automatic snapshots */
+    public static final long DEFAULT_SNAPSHOT_INTERVAL = 1_000_000;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int CHECKSUM_CHUNK = 1 << 30;
+    private static final int RESTORE_BATCH = 1 << 16;
+    // Kind and id
+    private static final int MIN_PAYLOAD = 1 + Long.BYTES;
+    private static final String SEGMENT_PREFIX = "log-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".shf";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final ShapeRegistry registry = new ShapeRegistry();
+    private final long commitIntervalNanos;
+    private final long snapshotInterval;
+    private final CRC32C checksum = new CRC32C();
+    private final double[] dimensions = new double[ShapeType.MAX_DIMENSIONS];
+
+    // Lock order: snapshot, commit, append
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    // Guarded by appendLock; appended counts bytes over every segment since opening
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE).order(JournalFormat.BYTE_ORDER);
+    private FileChannel segment;
+    private long segmentNumber;
+    private long appended;
+    private long recordsSinceSnapshot;
+
+    private volatile long durable;
+    private volatile boolean closed;
+    private volatile boolean stopping;
+    private volatile IOException failure;
+    private Thread committer;
+    private long replayedRecords;
+
+    // Follows one registered shape; detaches itself once the shape is removed or the journal closed
+    private final class Tracker implements ShapeChangeListener {
+        private final long id;
+
+        private Tracker(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public void dimensionsChanged(Shape3D shape) {
+            changed(id, shape, this);
+        }
+
+        @Override
+        public void attributesChanged(Shape3D shape) {
+            changed(id, shape, this);
+        }
+    }
+
+    private ShapeJournal(Path directory, Duration commitInterval, long snapshotInterval) {
+        this.directory = directory;
+        this.commitIntervalNanos = commitInterval.toNanos();
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Opens a journal with the default commit and snapshot intervals, recovering any shapes it holds
+     * @param directory The directory holding the journal; created if missing
+     * @return The open journal
+     * @throws IOException if the directory cannot be read or holds a corrupt snapshot or segment
+     */
+    public static ShapeJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_COMMIT_INTERVAL, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Opens a journal, recovering any shapes it holds
+     * @param directory The directory holding the journal; created if missing
+     * @param commitInterval The time between group commits by the background thread
+     * @param snapshotInterval The number of logged records after which a snapshot is taken, or zero for never
+     * @return The open journal
+     * @throws IOException if the directory cannot be read or holds a corrupt snapshot or segment
+     * @throws IllegalArgumentException if commitInterval is not positive or snapshotInterval is negative
+     */
+    public static ShapeJournal open(Path directory, Duration commitInterval, long snapshotInterval)
+            throws IOException {
+        if (commitInterval.isNegative() || commitInterval.isZero() || snapshotInterval < 0) {
+            throw new IllegalArgumentException("Commit interval must be positive and snapshot interval not negative");
+        }
+        ShapeJournal journal = new ShapeJournal(directory, commitInterval, snapshotInterval);
+        journal.recover();
+        journal.committer = new Thread(journal::runCommitter, "shape-journal-commit");
+        journal.committer.setDaemon(true);
+        journal.committer.start();
+        return journal;
+    }
+
+    /**
+     * Adds a shape under a new id and follows its later changes
+     * @param shape The shape to add
+     * @return The id assigned to the shape
+     * @throws NullPointerException if shape is null
+     * @throws IllegalArgumentException if the shape is a flyweight view
+     * @throws IllegalStateException if the journal is closed
+     */
+    public long add(Shape3D shape) {
+        ensureOpen();
+        long id = registry.register(shape);
+        shape.addChangeListener(new Tracker(id));
+        // Logged after the listener is in place, so no change slips between the two
+        appendLock.lock();
+        try {
+            if (registry.get(id) == shape) {
+                appendPut(id, shape);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        return id;
+    }
+
+    /**
+     * Removes a shape and stops logging its changes
+     * @param id The id returned by {@link #add(Shape3D)}
+     * @return The removed shape, or null if no shape was added under the id
+     * @throws IllegalStateException if the journal is closed
+     */
+    public Shape3D remove(long id) {
+        ensureOpen();
+        appendLock.lock();
+        try {
+            Shape3D removed = registry.remove(id);
+            if (removed != null) {
+                appendRemove(id);
+            }
+            return removed;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Looks up a shape
+     * @param id The id returned by {@link #add(Shape3D)}
+     * @return The shape, or null if no shape is held under the id
+     */
+    public Shape3D get(long id) {
+        return registry.get(id);
+    }
+
+    /**
+     * Checks whether an id is held
+     * @param id The id to look for
+     * @return true if a shape is held under the id
+     */
+    public boolean contains(long id) {
+        return registry.contains(id);
+    }
+
+    /**
+     * Gets the number of shapes held; exact only while no writer is active
+     * @return The shape count
+     */
+    public int size() {
+        return registry.size();
+    }
+
+    /**
+     * Copies the shapes held at a single point in time
+     * @return A new list of every shape in id order
+     */
+    public List<Shape3D> shapes() {
+        return registry.snapshot();
+    }
+
+    /**
+     * Gets the number of log records replayed on top of the snapshot when this journal was opened
+     * @return The replayed record count
+     */
+    public long getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    /**
+     * Waits until every record appended so far has been forced to disk
+     * @throws IOException if the log cannot be written or an earlier write failed
+     */
+    public void sync() throws IOException {
+        long target;
+        appendLock.lock();
+        try {
+            target = appended;
+        } finally {
+            appendLock.unlock();
+        }
+        commit(target);
+        checkFailure();
+    }
+
+    /**
+     * Writes a snapshot of every shape and deletes the log segments it replaces
+     * @throws IOException if the snapshot or log cannot be written or an earlier write failed
+     * @throws IllegalStateException if the journal is closed
+     */
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            ensureOpen();
+            checkFailure();
+            long firstSegment = rotate();
+            List<Map.Entry<Long, Shape3D>> entries = registry.entries();
+            // Read after the entries, so it lies above every id in them
+            long nextId = registry.nextId();
+            try {
+                writeSnapshot(firstSegment, entries, nextId);
+                deleteObsoleteFiles(firstSegment);
+            } catch (IOException e) {
+                fail(e);
+                throw e;
+            }
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Commits everything appended, stops the background thread and closes the log
+     * @throws IOException if the log cannot be written, an earlier write failed or the wait was interrupted
+     */
+    @Override
+    public void close() throws IOException {
+        if (committer != null) {
+            stopping = true;
+            LockSupport.unpark(committer);
+            try {
+                committer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the journal commit thread");
+            }
+        }
+        snapshotLock.lock();
+        commitLock.lock();
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (failure == null) {
+                    writePending();
+                    segment.force(false);
+                    durable = appended;
+                }
+            } finally {
+                segment.close();
+            }
+        } catch (IOException e) {
+            fail(e);
+        } finally {
+            appendLock.unlock();
+            commitLock.unlock();
+            snapshotLock.unlock();
+        }
+        checkFailure();
+    }
+
+    private void changed(long id, Shape3D shape, Tracker tracker) {
+        appendLock.lock();
+        try {
+            if (!closed && registry.get(id) == shape) {
+                appendPut(id, shape);
+                return;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        shape.removeChangeListener(tracker);
+    }
+
+    // Appending, with appendLock held
+
+    private void appendPut(long id, Shape3D shape) {
+        ShapeType type = ShapeType.dimensionsOf(shape, dimensions);
+        byte[] name = encode(shape.getName());
+        byte[] color = encode(shape.getColor());
+        int payload = MIN_PAYLOAD + Byte.BYTES + type.getDimensionCount() * Double.BYTES
+            + stringSize(name) + stringSize(color);
+        ByteBuffer buffer = reserve(payload);
+        if (buffer == null) {
+            return;
+        }
+        int start = buffer.position();
+        buffer.position(start + JournalFormat.RECORD_HEADER_SIZE);
+        buffer.put(JournalFormat.PUT).putLong(id).put(type.getTag());
+        for (int slot = 0; slot < type.getDimensionCount(); slot++) {
+            buffer.putDouble(dimensions[slot]);
+        }
+        putString(buffer, name);
+        putString(buffer, color);
+        finishRecord(buffer, start, payload);
+    }
+
+    private void appendRemove(long id) {
+        ByteBuffer buffer = reserve(MIN_PAYLOAD);
+        if (buffer == null) {
+            return;
+        }
+        int start = buffer.position();
+        buffer.position(start + JournalFormat.RECORD_HEADER_SIZE);
+        buffer.put(JournalFormat.REMOVE).putLong(id);
+        finishRecord(buffer, start, MIN_PAYLOAD);
+    }
+
+    /**
+     * Makes room for a record in the pending buffer
+     * @return The buffer, or null if the journal has failed and the record is discarded
+     */
+    private ByteBuffer reserve(int payload) {
+        int size = JournalFormat.RECORD_HEADER_SIZE + payload;
+        if (failure != null) {
+            return null;
+        }
+        if (pending.remaining() < size) {
+            try {
+                writePending();
+            } catch (IOException e) {
+                fail(e);
+                pending.clear();
+                return null;
+            }
+            if (pending.capacity() < size) {
+                pending = ByteBuffer.allocate(size).order(JournalFormat.BYTE_ORDER);
+            }
+        }
+        return pending;
+    }
+
+    private void finishRecord(ByteBuffer buffer, int start, int payload) {
+        checksum.reset();
+        checksum.update(buffer.array(), start + JournalFormat.RECORD_HEADER_SIZE, payload);
+        buffer.putInt(start, payload).putInt(start + Integer.BYTES, (int) checksum.getValue());
+        appended += JournalFormat.RECORD_HEADER_SIZE + payload;
+        recordsSinceSnapshot++;
+    }
+
+    private void writePending() throws IOException {
+        pending.flip();
+        try {
+            while (pending.hasRemaining()) {
+                segment.write(pending);
+            }
+        } finally {
+            pending.clear();
+        }
+    }
+
+    // Committing
+
+    private void commit(long target) throws IOException {
+        if (durable >= target) {
+            return;
+        }
+        commitLock.lock();
+        try {
+            // Another thread's commit may already have covered the target
+            if (durable >= target || closed) {
+                return;
+            }
+            checkFailure();
+            FileChannel channel;
+            long end;
+            appendLock.lock();
+            try {
+                writePending();
+                channel = segment;
+                end = appended;
+            } finally {
+                appendLock.unlock();
+            }
+            channel.force(false);
+            durable = end;
+        } catch (IOException e) {
+            fail(e);
+            throw e;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void runCommitter() {
+        while (!stopping && failure == null) {
+            LockSupport.parkNanos(this, commitIntervalNanos);
+            try {
+                sync();
+                if (snapshotInterval > 0 && recordsSinceSnapshot() >= snapshotInterval && !stopping) {
+                    snapshot();
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private long recordsSinceSnapshot() {
+        appendLock.lock();
+        try {
+            return recordsSinceSnapshot;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Forces the current segment and starts appending to a new one
+     * @return The number of the new segment
+     */
+    private long rotate() throws IOException {
+        commitLock.lock();
+        try {
+            appendLock.lock();
+            try {
+                writePending();
+                segment.force(false);
+                durable = appended;
+                long next = segmentNumber + 1;
+                FileChannel created = createSegment(next);
+                segment.close();
+                segment = created;
+                segmentNumber = next;
+                recordsSinceSnapshot = 0;
+                return next;
+            } finally {
+                appendLock.unlock();
+            }
+        } catch (IOException e) {
+            fail(e);
+            throw e;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private FileChannel createSegment(long number) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(JournalFormat.segmentName(number)),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(JournalFormat.SEGMENT_HEADER_SIZE).order(JournalFormat.BYTE_ORDER);
+            header.putInt(JournalFormat.SEGMENT_MAGIC).putShort(JournalFormat.SEGMENT_VERSION).putShort((short) 0).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            channel.force(false);
+            syncDirectory();
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Snapshots
+
+    private void writeSnapshot(long firstSegment, List<Map.Entry<Long, Shape3D>> entries, long nextId)
+            throws IOException {
+        ShapeStore store = new ShapeStore(entries.size());
+        long[] ids = new long[entries.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Map.Entry<Long, Shape3D> entry = entries.get(i);
+            ids[i] = entry.getKey();
+            store.add(entry.getValue());
+        }
+
+        String name = JournalFormat.snapshotName(firstSegment);
+        Path temp = directory.resolve(name + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ShapeFileWriter.write(channel, store);
+            long idsOffset = ShapeFileFormat.align(channel.size());
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(JournalFormat.BYTE_ORDER);
+            long position = idsOffset;
+            for (long id : ids) {
+                if (!buffer.hasRemaining()) {
+                    position = flush(channel, buffer, position);
+                }
+                buffer.putLong(id);
+            }
+            long footer = flush(channel, buffer, position);
+            buffer.putLong(idsOffset).putLong(nextId).putLong(firstSegment);
+            position = flush(channel, buffer, footer);
+            buffer.putInt(checksum(channel, position)).putInt(JournalFormat.SNAPSHOT_MAGIC);
+            flush(channel, buffer, position);
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+    }
+
+    private static long flush(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+        return position;
+    }
+
+    /**
+     * Computes the CRC32C of the first bytes of a file
+     */
+    private static int checksum(FileChannel channel, long length) throws IOException {
+        CRC32C crc = new CRC32C();
+        for (long offset = 0; offset < length; offset += CHECKSUM_CHUNK) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(CHECKSUM_CHUNK, length - offset)));
+        }
+        return (int) crc.getValue();
+    }
+
+    private void deleteObsoleteFiles(long firstSegment) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long segment = JournalFormat.parseNumber(name, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+                long snapshot = JournalFormat.parseNumber(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+                if ((segment >= 0 && segment < firstSegment) || (snapshot >= 0 && snapshot != firstSegment)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not every platform can open a directory; renames and creations are still ordered by the file syncs
+        }
+    }
+
+    // Recovery
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        TreeMap<Long, Path> snapshots = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long number;
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    // A snapshot that was never completed
+                    Files.delete(file);
+                } else if ((number = JournalFormat.parseNumber(name, SEGMENT_PREFIX, SEGMENT_SUFFIX)) >= 0) {
+                    segments.put(number, file);
+                } else if ((number = JournalFormat.parseNumber(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) >= 0) {
+                    snapshots.put(number, file);
+                }
+            }
+        }
+
+        long firstSegment = 0;
+        if (!snapshots.isEmpty()) {
+            firstSegment = snapshots.lastKey();
+            loadSnapshot(snapshots.lastEntry().getValue(), firstSegment);
+        }
+        long expected = firstSegment;
+        for (Map.Entry<Long, Path> entry : segments.tailMap(firstSegment, true).entrySet()) {
+            if (entry.getKey() != expected) {
+                throw new IOException("Missing journal segment: " + directory.resolve(JournalFormat.segmentName(expected)));
+            }
+            replayedRecords += replay(entry.getValue(), entry.getKey() == segments.lastKey().longValue());
+            expected++;
+        }
+        // A crash between publishing a snapshot and deleting what it replaces leaves older files behind
+        deleteObsoleteFiles(firstSegment);
+
+        segmentNumber = expected;
+        segment = createSegment(segmentNumber);
+    }
+
+    private void loadSnapshot(Path path, long firstSegment) throws IOException {
+        long idsOffset;
+        long nextId;
+        long dataEnd;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < ShapeFileFormat.HEADER_SIZE + JournalFormat.FOOTER_SIZE) {
+                throw new IOException("Corrupt journal snapshot: " + path);
+            }
+            dataEnd = size - JournalFormat.FOOTER_SIZE;
+            ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, dataEnd, JournalFormat.FOOTER_SIZE)
+                .order(JournalFormat.BYTE_ORDER);
+            if (footer.getInt(JournalFormat.FOOTER_MAGIC) != JournalFormat.SNAPSHOT_MAGIC
+                    || footer.getLong(JournalFormat.FOOTER_FIRST_SEGMENT) != firstSegment
+                    || footer.getInt(JournalFormat.FOOTER_CHECKSUM)
+                        != checksum(channel, dataEnd + JournalFormat.FOOTER_CHECKSUM)) {
+                throw new IOException("Corrupt journal snapshot: " + path);
+            }
+            idsOffset = footer.getLong(JournalFormat.FOOTER_IDS_OFFSET);
+            nextId = footer.getLong(JournalFormat.FOOTER_NEXT_ID);
+        }
+
+        MappedShapeFile shapes = MappedShapeFile.open(path);
+        int rows = shapes.size();
+        if (idsOffset < ShapeFileFormat.HEADER_SIZE || idsOffset % Long.BYTES != 0
+                || idsOffset > dataEnd - (long) rows * Long.BYTES) {
+            throw new IOException("Corrupt journal snapshot: " + path);
+        }
+        LongBuffer ids;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ids = channel.map(FileChannel.MapMode.READ_ONLY, idsOffset, (long) rows * Long.BYTES)
+                .order(JournalFormat.BYTE_ORDER).asLongBuffer();
+        }
+        long[] batchIds = new long[Math.min(rows, RESTORE_BATCH)];
+        Shape3D[] batch = new Shape3D[batchIds.length];
+        for (int start = 0; start < rows; start += batch.length) {
+            int count = Math.min(batch.length, rows - start);
+            for (int i = 0; i < count; i++) {
+                batchIds[i] = ids.get(start + i);
+                batch[i] = shapes.toShape(start + i);
+                batch[i].addChangeListener(new Tracker(batchIds[i]));
+            }
+            registry.restoreAll(batchIds, batch, count);
+        }
+        registry.reserveIds(nextId);
+    }
+
+    /**
+     * Applies every intact record of a segment to the registry
+     * @param last Whether this is the newest segment, whose torn tail is cut off rather than reported
+     * @return The number of records applied
+     */
+    private long replay(Path path, boolean last) throws IOException {
+        long records = 0;
+        long position = JournalFormat.SEGMENT_HEADER_SIZE;
+        long size;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            size = channel.size();
+            if (size >= JournalFormat.SEGMENT_HEADER_SIZE) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(JournalFormat.BYTE_ORDER);
+                fill(channel, buffer, 0);
+                if (buffer.getInt(0) != JournalFormat.SEGMENT_MAGIC) {
+                    throw new IOException("Not a journal segment: " + path);
+                }
+                if (buffer.getShort(4) != JournalFormat.SEGMENT_VERSION) {
+                    throw new IOException("Unsupported journal segment version: " + buffer.getShort(4));
+                }
+                long bufferStart = 0;
+                while (position + JournalFormat.RECORD_HEADER_SIZE <= size) {
+                    int offset = (int) (position - bufferStart);
+                    if (buffer.limit() - offset < JournalFormat.RECORD_HEADER_SIZE) {
+                        bufferStart = position;
+                        offset = 0;
+                        fill(channel, buffer, position);
+                    }
+                    int length = buffer.getInt(offset);
+                    if (length < MIN_PAYLOAD || length > size - position - JournalFormat.RECORD_HEADER_SIZE) {
+                        break;
+                    }
+                    if (buffer.limit() - offset < JournalFormat.RECORD_HEADER_SIZE + length) {
+                        if (buffer.capacity() < JournalFormat.RECORD_HEADER_SIZE + length) {
+                            buffer = ByteBuffer.allocate(JournalFormat.RECORD_HEADER_SIZE + length)
+                                .order(JournalFormat.BYTE_ORDER);
+                        }
+                        bufferStart = position;
+                        offset = 0;
+                        fill(channel, buffer, position);
+                    }
+                    checksum.reset();
+                    checksum.update(buffer.array(), offset + JournalFormat.RECORD_HEADER_SIZE, length);
+                    if ((int) checksum.getValue() != buffer.getInt(offset + Integer.BYTES)
+                            || !apply(buffer.slice(offset + JournalFormat.RECORD_HEADER_SIZE, length))) {
+                        break;
+                    }
+                    position += JournalFormat.RECORD_HEADER_SIZE + length;
+                    records++;
+                }
+                if (position < size) {
+                    if (!last) {
+                        throw new IOException("Corrupt journal segment " + path + " at offset " + position);
+                    }
+                    channel.truncate(position);
+                    channel.force(true);
+                }
+                return records;
+            }
+        }
+        // A segment whose header never reached the disk holds no records
+        if (!last) {
+            throw new IOException("Corrupt journal segment: " + path);
+        }
+        Files.delete(path);
+        return 0;
+    }
+
+    private void restore(long id, Shape3D shape) {
+        shape.addChangeListener(new Tracker(id));
+        registry.restore(id, shape);
+    }
+
+    private static void fill(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Applies one record payload
+     * @return false if the payload is malformed
+     */
+    private boolean apply(ByteBuffer record) {
+        record.order(JournalFormat.BYTE_ORDER);
+        try {
+            byte kind = record.get();
+            long id = record.getLong();
+            if (kind == JournalFormat.REMOVE) {
+                registry.remove(id);
+                registry.reserveIds(id + 1);
+                return !record.hasRemaining();
+            }
+            if (kind != JournalFormat.PUT) {
+                return false;
+            }
+            ShapeType type = ShapeType.fromTag(record.get());
+            for (int slot = 0; slot < dimensions.length; slot++) {
+                dimensions[slot] = slot < type.getDimensionCount() ? record.getDouble() : 0.0;
+            }
+            String name = getString(record);
+            String color = getString(record);
+            if (record.hasRemaining()) {
+                return false;
+            }
+            restore(id, type.create(name, color, dimensions[0], dimensions[1], dimensions[2]));
+            return true;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // Strings
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringSize(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > record.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(record.array(), record.arrayOffset() + record.position(), length,
+            StandardCharsets.UTF_8);
+        record.position(record.position() + length);
+        return value;
+    }
+
+    // State checks
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+    }
+
+    private void fail(IOException e) {
+        if (failure == null) {
+            failure = e;
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        IOException e = failure;
+        if (e != null) {
+            throw new IOException("Journal failed", e);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ShapeJournal
+ * Tests that shapes, setter changes and removals survive reopening, that
+ * snapshots replace the log they cover, and that a torn log tail is cut off
+ */
+@DisplayName("ShapeJournal Tests")
+class ShapeJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<ShapeValue> values(ShapeJournal journal) {
+        List<ShapeValue> values = new ArrayList<>();
+        for (Shape3D shape : journal.shapes()) {
+            values.add(ShapeValue.of(shape));
+        }
+        return values;
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".wal"))
+                .sorted()
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        }
+    }
+
+    private long countFiles(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).count();
+        }
+    }
+
+    @Nested
+    @DisplayName("Recovery Tests")
+    class RecoveryTests {
+
+        @Test
+        @DisplayName("Shapes, setter changes and removals survive reopening")
+        void roundTrip() throws IOException {
+            long sphereId;
+            long cubeId;
+            long coneId;
+            List<ShapeValue> expected;
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                Sphere sphere = new Sphere("Ball", "Red", 2.0);
+                Cube cube = new Cube("Box", "Navy", 3.0);
+                Cone cone = new Cone("Peak", null, 1.0, 2.0);
+                sphereId = journal.add(sphere);
+                cubeId = journal.add(cube);
+                coneId = journal.add(cone);
+                journal.add(new RectangularPrism("Block", "Gold", 2.0, 4.0, 3.0));
+
+                sphere.setRadius(5.0);
+                cube.setColor("Teal");
+                cone.setName("Summit");
+                assertSame(cube, journal.remove(cubeId));
+                cube.setSideLength(9.0);
+                expected = values(journal);
+            }
+
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                assertEquals(expected, values(journal));
+                assertEquals(new SphereValue("Ball", "Red", 5.0), ShapeValue.of(journal.get(sphereId)));
+                assertEquals(new ConeValue("Summit", null, 1.0, 2.0), ShapeValue.of(journal.get(coneId)));
+                assertFalse(journal.contains(cubeId));
+                assertEquals(8, journal.getReplayedRecords());
+                assertEquals(4, journal.add(new Cube("New", "White", 1.0)));
+            }
+        }
+
+        @Test
+        @DisplayName("Recovered shapes keep logging their changes")
+        void recoveredShapesAreFollowed() throws IOException {
+            long id;
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                id = journal.add(new Cylinder("Tube", "Forest", 3.0, 6.0));
+            }
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                ((Cylinder) journal.get(id)).setHeight(1.5);
+            }
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                assertEquals(new CylinderValue("Tube", "Forest", 3.0, 1.5), ShapeValue.of(journal.get(id)));
+            }
+        }
+
+        @Test
+        @DisplayName("A torn record at the end of the log is cut off")
+        void tornTail() throws IOException {
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                journal.add(new Sphere("Kept", "Red", 1.0));
+                journal.add(new Sphere("Torn", "Red", 2.0));
+            }
+            Path segment = lastSegment();
+            long size = Files.size(segment);
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(size - 3);
+            }
+
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                assertEquals(List.of(new SphereValue("Kept", "Red", 1.0)), values(journal));
+                assertEquals(1, journal.getReplayedRecords());
+            }
+            assertTrue(Files.size(segment) < size - 3);
+        }
+
+        @Test
+        @DisplayName("A record with a bad checksum ends the replay")
+        void corruptRecord() throws IOException {
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                journal.add(new Cube("First", "Navy", 1.0));
+                journal.add(new Cube("Second", "Navy", 2.0));
+            }
+            Path segment = lastSegment();
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[] {0x7F}), Files.size(segment) - 1);
+            }
+
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                assertEquals(1, journal.size());
+            }
+        }
+
+        @Test
+        @DisplayName("Damage before the newest segment is reported")
+        void corruptOlderSegment() throws IOException {
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                journal.add(new Cube("First", "Navy", 1.0));
+            }
+            Path segment = lastSegment();
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                journal.add(new Cube("Second", "Navy", 2.0));
+            }
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(Files.size(segment) - 1);
+            }
+
+            assertThrows(IOException.class, () -> ShapeJournal.open(directory));
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshot Tests")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Reopening replays only the log written after the snapshot")
+        void replaysOnlyTail() throws IOException {
+            List<ShapeValue> expected;
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                List<Shape3D> shapes = ShapeFixtures.randomShapes(1_000, 205);
+                List<Long> ids = new ArrayList<>();
+                for (Shape3D shape : shapes) {
+                    ids.add(journal.add(shape));
+                }
+                journal.remove(ids.get(10));
+                journal.snapshot();
+
+                shapes.get(0).setColor("Changed");
+                journal.remove(ids.get(1));
+                journal.add(new Sphere("Late", "Red", 4.0));
+                expected = values(journal);
+            }
+            assertEquals(1, countFiles(".shf"));
+
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                assertEquals(expected, values(journal));
+                assertEquals(3, journal.getReplayedRecords());
+                assertEquals(1_001, journal.add(new Cube("Next", "White", 1.0)));
+            }
+        }
+
+        @Test
+        @DisplayName("A snapshot deletes the log segments it replaces")
+        void deletesOldSegments() throws IOException {
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                journal.add(new Cube("Box", "Navy", 1.0));
+                journal.snapshot();
+                journal.add(new Cube("Box", "Navy", 2.0));
+                journal.snapshot();
+            }
+            assertEquals(1, countFiles(".shf"));
+            assertEquals(1, countFiles(".wal"));
+
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                assertEquals(2, journal.size());
+                assertEquals(0, journal.getReplayedRecords());
+            }
+        }
+
+        @Test
+        @DisplayName("Snapshots are readable as regular shape files")
+        void snapshotIsShapeFile() throws IOException {
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                journal.add(new Cone("Peak", "Violet", 4.0, 8.0));
+                journal.snapshot();
+            }
+            Path snapshot;
+            try (Stream<Path> files = Files.list(directory)) {
+                snapshot = files.filter(file -> file.toString().endsWith(".shf")).findFirst().orElseThrow();
+            }
+
+            MappedShapeFile file = MappedShapeFile.open(snapshot);
+            assertEquals(1, file.size());
+            assertEquals(new ConeValue("Peak", "Violet", 4.0, 8.0), ShapeValue.of(file.toShape(0)));
+        }
+
+        @Test
+        @DisplayName("A damaged snapshot is reported instead of silently dropped")
+        void corruptSnapshot() throws IOException {
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                journal.add(new Cube("Box", "Navy", 1.0));
+                journal.snapshot();
+            }
+            Path snapshot;
+            try (Stream<Path> files = Files.list(directory)) {
+                snapshot = files.filter(file -> file.toString().endsWith(".shf")).findFirst().orElseThrow();
+            }
+            try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[] {0x7F}), ShapeFileFormat.HEADER_SIZE);
+            }
+
+            IOException exception = assertThrows(IOException.class, () -> ShapeJournal.open(directory));
+            assertTrue(exception.getMessage().startsWith("Corrupt journal snapshot"));
+        }
+
+        @Test
+        @DisplayName("Snapshots are taken automatically after the configured number of records")
+        void automaticSnapshots() throws Exception {
+            try (ShapeJournal journal = ShapeJournal.open(directory, Duration.ofMillis(1), 100)) {
+                for (Shape3D shape : ShapeFixtures.randomShapes(250, 7)) {
+                    journal.add(shape);
+                }
+                long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+                while (countFiles(".shf") == 0 && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+                }
+            }
+            assertEquals(1, countFiles(".shf"));
+
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                assertEquals(250, journal.size());
+                assertTrue(journal.getReplayedRecords() < 250);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Commit Tests")
+    class CommitTests {
+
+        @Test
+        @DisplayName("Concurrent writers that sync share commits and lose nothing")
+        void concurrentSync() throws Exception {
+            int threads = 4;
+            int perThread = 500;
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                try {
+                    List<Future<?>> futures = new ArrayList<>();
+                    for (int t = 0; t < threads; t++) {
+                        int thread = t;
+                        futures.add(executor.submit(() -> {
+                            for (int i = 0; i < perThread; i++) {
+                                Sphere sphere = new Sphere("S" + thread + "-" + i, "Red", 1.0);
+                                journal.add(sphere);
+                                sphere.setRadius(2.0);
+                                journal.sync();
+                            }
+                            return null;
+                        }));
+                    }
+                    for (Future<?> future : futures) {
+                        future.get();
+                    }
+                } finally {
+                    executor.shutdown();
+                }
+            }
+
+            try (ShapeJournal journal = ShapeJournal.open(directory)) {
+                assertEquals(threads * perThread, journal.size());
+                for (Shape3D shape : journal.shapes()) {
+                    assertEquals(2.0, ((Sphere) shape).getRadius());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Views, closed journals and invalid intervals are rejected")
+        void rejections() throws IOException {
+            ShapeStore store = new ShapeStore();
+            store.add(new Cube("Box", "Navy", 1.0));
+            ShapeJournal journal = ShapeJournal.open(directory);
+            assertThrows(IllegalArgumentException.class, () -> journal.add(store.view(0)));
+            journal.close();
+            journal.close();
+
+            assertThrows(IllegalStateException.class, () -> journal.add(new Cube("Box", "Navy", 1.0)));
+            assertThrows(IllegalArgumentException.class,
+                () -> ShapeJournal.open(directory, Duration.ZERO, 10));
+            assertThrows(IllegalArgumentException.class,
+                () -> ShapeJournal.open(directory, Duration.ofMillis(1), -1));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Batch volume and surface area formulas over primitive arrays.
+ * Each method fills {@code out[i]} from the i-th element of its input arrays,
+ * which lets large homogeneous batches of one shape type be processed without
+ * objects or virtual calls.
+ *
+ * When the JVM is started with {@code --add-modules jdk.incubator.vector} the
+ * kernels run at SIMD width using the Vector API; otherwise (or when the
+ * system property {@code shapes.kernels.scalar} is {@code true}) they fall
+ * back to scalar loops. Both paths produce identical results. Powers are
+ * expanded into multiplications, so results may differ from the per-object
+ * {@link GeometryMath} formulas in the last few bits.
+ */
+public final class ShapeKernels {
+    private static final boolean VECTORIZED =
+        !Boolean.getBoolean("shapes.kernels.scalar")
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private ShapeKernels() {
+    }
+
+    /**
+     * Checks whether the kernels run on the Vector API
+     * @return true if the vectorized path is active
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Computes sphere volumes: V = (4/3)πr³
+     * @param radii The sphere radii
+     * @param out Destination array of at least radii.length elements
+     * @throws IllegalArgumentException if out is too small
+     */
+    public static void sphereVolumes(double[] radii, double[] out) {
+        int n = checkLengths(out, radii);
+        if (VECTORIZED) {
+            VectorShapeKernels.sphereVolumes(radii, out, n);
+        } else {
+            ScalarShapeKernels.sphereVolumes(radii, out, 0, n);
+        }
+    }
+
+    /**
+     * Computes sphere surface areas: SA = 4πr²
+     * @param radii The sphere radii
+     * @param out Destination array of at least radii.length elements
+     * @throws IllegalArgumentException if out is too small
+     */
+    public static void sphereSurfaceAreas(double[] radii, double[] out) {
+        int n = checkLengths(out, radii);
+        if (VECTORIZED) {
+            VectorShapeKernels.sphereSurfaceAreas(radii, out, n);
+        } else {
+            ScalarShapeKernels.sphereSurfaceAreas(radii, out, 0, n);
+        }
+    }
+
+    /**
+     * Computes cube volumes: V = s³
+     * @param sides The cube side lengths
+     * @param out Destination array of at least sides.length elements
+     * @throws IllegalArgumentException if out is too small
+     */
+    public static void cubeVolumes(double[] sides, double[] out) {
+        int n = checkLengths(out, sides);
+        if (VECTORIZED) {
+            VectorShapeKernels.cubeVolumes(sides, out, n);
+        } else {
+            ScalarShapeKernels.cubeVolumes(sides, out, 0, n);
+        }
+    }
+
+    /**
+     * Computes cube surface areas: SA = 6s²
+     * @param sides The cube side lengths
+     * @param out Destination array of at least sides.length elements
+     * @throws IllegalArgumentException if out is too small
+     */
+    public static void cubeSurfaceAreas(double[] sides, double[] out) {
+        int n = checkLengths(out, sides);
+        if (VECTORIZED) {
+            VectorShapeKernels.cubeSurfaceAreas(sides, out, n);
+        } else {
+            ScalarShapeKernels.cubeSurfaceAreas(sides, out, 0, n);
+        }
+    }
+
+    /**
+     * Computes cylinder volumes: V = πr²h
+     * @param radii The cylinder radii
+     * @param heights The cylinder heights
+     * @param out Destination array of at least radii.length elements
+     * @throws IllegalArgumentException if the input lengths differ or out is too small
+     */
+    public static void cylinderVolumes(double[] radii, double[] heights, double[] out) {
+        int n = checkLengths(out, radii, heights);
+        if (VECTORIZED) {
+            VectorShapeKernels.cylinderVolumes(radii, heights, out, n);
+        } else {
+            ScalarShapeKernels.cylinderVolumes(radii, heights, out, 0, n);
+        }
+    }
+
+    /**
+     * Computes cylinder surface areas: SA = 2πr(r + h)
+     * @param radii The cylinder radii
+     * @param heights The cylinder heights
+     * @param out Destination array of at least radii.length elements
+     * @throws IllegalArgumentException if the input lengths differ or out is too small
+     */
+    public static void cylinderSurfaceAreas(double[] radii, double[] heights, double[] out) {
+        int n = checkLengths(out, radii, heights);
+        if (VECTORIZED) {
+            VectorShapeKernels.cylinderSurfaceAreas(radii, heights, out, n);
+        } else {
+            ScalarShapeKernels.cylinderSurfaceAreas(radii, heights, out, 0, n);
+        }
+    }
+
+    /**
+     * Computes rectangular prism volumes: V = l × w × h
+     * @param lengths The prism lengths
+     * @param widths The prism widths
+     * @param heights The prism heights
+     * @param out Destination array of at least lengths.length elements
+     * @throws IllegalArgumentException if the input lengths differ or out is too small
+     */
+    public static void prismVolumes(double[] lengths, double[] widths, double[] heights, double[] out) {
+        int n = checkLengths(out, lengths, widths, heights);
+        if (VECTORIZED) {
+            VectorShapeKernels.prismVolumes(lengths, widths, heights, out, n);
+        } else {
+            ScalarShapeKernels.prismVolumes(lengths, widths, heights, out, 0, n);
+        }
+    }
+
+    /**
+     * Computes rectangular prism surface areas: SA = 2(lw + lh + wh)
+     * @param lengths The prism lengths
+     * @param widths The prism widths
+     * @param heights The prism heights
+     * @param out Destination array of at least lengths.length elements
+     * @throws IllegalArgumentException if the input lengths differ or out is too small
+     */
+    public static void prismSurfaceAreas(double[] lengths, double[] widths, double[] heights, double[] out) {
+        int n = checkLengths(out, lengths, widths, heights);
+        if (VECTORIZED) {
+            VectorShapeKernels.prismSurfaceAreas(lengths, widths, heights, out, n);
+        } else {
+            ScalarShapeKernels.prismSurfaceAreas(lengths, widths, heights, out, 0, n);
+        }
+    }
+
+    /**
+     * Computes cone volumes: V = (1/3)πr²h
+     * @param radii The cone base radii
+     * @param heights The cone heights
+     * @param out Destination array of at least radii.length elements
+     * @throws IllegalArgumentException if the input lengths differ or out is too small
+     */
+    public static void coneVolumes(double[] radii, double[] heights, double[] out) {
+        int n = checkLengths(out, radii, heights);
+        if (VECTORIZED) {
+            VectorShapeKernels.coneVolumes(radii, heights, out, n);
+        } else {
+            ScalarShapeKernels.coneVolumes(radii, heights, out, 0, n);
+        }
+    }
+
+    /**
+     * Computes cone surface areas: SA = πr(r + √(r² + h²))
+     * @param radii The cone base radii
+     * @param heights The cone heights
+     * @param out Destination array of at least radii.length elements
+     * @throws IllegalArgumentException if the input lengths differ or out is too small
+     */
+    public static void coneSurfaceAreas(double[] radii, double[] heights, double[] out) {
+        int n = checkLengths(out, radii, heights);
+        if (VECTORIZED) {
+            VectorShapeKernels.coneSurfaceAreas(radii, heights, out, n);
+        } else {
+            ScalarShapeKernels.coneSurfaceAreas(radii, heights, out, 0, n);
+        }
+    }
+
+    /**
+     * Validates that all inputs have the same length and the output can hold them
+     * @return The number of elements to process
+     */
+    private static int checkLengths(double[] out, double[]... inputs) {
+        int n = inputs[0].length;
+        for (double[] input : inputs) {
+            if (input.length != n) {
+                throw new IllegalArgumentException("Input arrays must have the same length");
+            }
+        }
+        if (out.length < n) {
+            throw new IllegalArgumentException("Output array too small: " + out.length + " < " + n);
+        }
+        return n;
+    }
+}
@@ -0,0 +1,172 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.BeforeEach;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * JUnit 5 test class for ShapeKernels
+ * Cross-checks the batch formulas against the per-object calculations and
+ * verifies that the vectorized and scalar paths agree bit for bit
+ */
+@DisplayName("ShapeKernels Tests")
+class ShapeKernelsTest {
+
+    private static final double RELATIVE_TOLERANCE = 1e-14;
+    // Odd length so the vectorized path always has a scalar tail
+    private static final int COUNT = 1003;
+
+    private double[] a;
+    private double[] b;
+    private double[] c;
+    private double[] out;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(205);
+        a = new double[COUNT];
+        b = new double[COUNT];
+        c = new double[COUNT];
+        out = new double[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            a[i] = 0.001 + random.nextDouble() * 1000;
+            b[i] = 0.001 + random.nextDouble() * 1000;
+            c[i] = 0.001 + random.nextDouble() * 1000;
+        }
+    }
+
+    private static void assertClose(double expected, double actual) {
+        assertEquals(expected, actual, Math.abs(expected) * RELATIVE_TOLERANCE);
+    }
+
+    @Nested
+    @DisplayName("Cross-Check Against Shape Objects")
+    class CrossCheckTests {
+
+        @Test
+        @DisplayName("Sphere kernels match Sphere calculations")
+        void sphereKernels() {
+            ShapeKernels.sphereVolumes(a, out);
+            for (int i = 0; i < COUNT; i++) {
+                assertClose(new Sphere(a[i]).getVolume(), out[i]);
+            }
+            ShapeKernels.sphereSurfaceAreas(a, out);
+            for (int i = 0; i < COUNT; i++) {
+                assertClose(new Sphere(a[i]).getSurfaceArea(), out[i]);
+            }
+        }
+
+        @Test
+        @DisplayName("Cube kernels match Cube calculations")
+        void cubeKernels() {
+            ShapeKernels.cubeVolumes(a, out);
+            for (int i = 0; i < COUNT; i++) {
+                assertClose(new Cube(a[i]).getVolume(), out[i]);
+            }
+            ShapeKernels.cubeSurfaceAreas(a, out);
+            for (int i = 0; i < COUNT; i++) {
+                assertClose(new Cube(a[i]).getSurfaceArea(), out[i]);
+            }
+        }
+
+        @Test
+        @DisplayName("Cylinder kernels match Cylinder calculations")
+        void cylinderKernels() {
+            ShapeKernels.cylinderVolumes(a, b, out);
+            for (int i = 0; i < COUNT; i++) {
+                assertClose(new Cylinder(a[i], b[i]).getVolume(), out[i]);
+            }
+            ShapeKernels.cylinderSurfaceAreas(a, b, out);
+            for (int i = 0; i < COUNT; i++) {
+                assertClose(new Cylinder(a[i], b[i]).getSurfaceArea(), out[i]);
+            }
+        }
+
+        @Test
+        @DisplayName("RectangularPrism kernels match RectangularPrism calculations")
+        void prismKernels() {
+            ShapeKernels.prismVolumes(a, b, c, out);
+            for (int i = 0; i < COUNT; i++) {
+                assertClose(new RectangularPrism(a[i], b[i], c[i]).getVolume(), out[i]);
+            }
+            ShapeKernels.prismSurfaceAreas(a, b, c, out);
+            for (int i = 0; i < COUNT; i++) {
+                assertClose(new RectangularPrism(a[i], b[i], c[i]).getSurfaceArea(), out[i]);
+            }
+        }
+
+        @Test
+        @DisplayName("Cone kernels match Cone calculations")
+        void coneKernels() {
+            ShapeKernels.coneVolumes(a, b, out);
+            for (int i = 0; i < COUNT; i++) {
+                assertClose(new Cone(a[i], b[i]).getVolume(), out[i]);
+            }
+            ShapeKernels.coneSurfaceAreas(a, b, out);
+            for (int i = 0; i < COUNT; i++) {
+                assertClose(new Cone(a[i], b[i]).getSurfaceArea(), out[i]);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Vector and Scalar Agreement Tests")
+    class AgreementTests {
+
+        @Test
+        @DisplayName("Vectorized kernels equal scalar kernels exactly")
+        void vectorEqualsScalar() {
+            assumeTrue(ShapeKernels.isVectorized(), "Vector API module not present");
+            double[] expected = new double[COUNT];
+
+            ScalarShapeKernels.coneSurfaceAreas(a, b, expected, 0, COUNT);
+            VectorShapeKernels.coneSurfaceAreas(a, b, out, COUNT);
+            assertArrayEquals(expected, out);
+
+            ScalarShapeKernels.prismSurfaceAreas(a, b, c, expected, 0, COUNT);
+            VectorShapeKernels.prismSurfaceAreas(a, b, c, out, COUNT);
+            assertArrayEquals(expected, out);
+
+            ScalarShapeKernels.sphereVolumes(a, expected, 0, COUNT);
+            VectorShapeKernels.sphereVolumes(a, out, COUNT);
+            assertArrayEquals(expected, out);
+
+            ScalarShapeKernels.cylinderSurfaceAreas(a, b, expected, 0, COUNT);
+            VectorShapeKernels.cylinderSurfaceAreas(a, b, out, COUNT);
+            assertArrayEquals(expected, out);
+        }
+    }
+
+    @Nested
+    @DisplayName("Input Validation Tests")
+    class InputValidationTests {
+
+        @Test
+        @DisplayName("Mismatched input lengths are rejected")
+        void mismatchedInputs() {
+            assertThrows(IllegalArgumentException.class, () -> {
+                ShapeKernels.cylinderVolumes(a, new double[3], out);
+            });
+        }
+
+        @Test
+        @DisplayName("Too small output array is rejected")
+        void smallOutput() {
+            assertThrows(IllegalArgumentException.class, () -> {
+                ShapeKernels.sphereVolumes(a, new double[COUNT - 1]);
+            });
+        }
+
+        @Test
+        @DisplayName("Empty batches are accepted")
+        void emptyBatch() {
+            double[] empty = new double[0];
+            ShapeKernels.coneSurfaceAreas(empty, empty, empty);
+            assertEquals(0, empty.length);
+        }
+    }
+}
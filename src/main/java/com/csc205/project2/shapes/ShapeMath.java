@@ -0,0 +1,49 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Static volume and surface area dispatch over the sealed {@link Shape3D} hierarchy.
+ * A loop over a list mixing all shape classes makes {@code getVolume()} a
+ * megamorphic virtual call that the JIT cannot inline. These methods instead
+ * switch on the concrete class with pattern matching; every branch calls a
+ * final class directly, so each formula can be inlined into the caller.
+ *
+ * Results are identical to {@link Shape3D#getVolume()} and
+ * {@link Shape3D#getSurfaceArea()}, except that memoized values are not used.
+ */
+public final class ShapeMath {
+
+    private ShapeMath() {
+    }
+
+    /**
+     * Calculates the volume of a shape without virtual dispatch
+     * @param shape The shape
+     * @return The volume
+     */
+    public static double volume(Shape3D shape) {
+        return switch (shape) {
+            case Sphere sphere -> sphere.calculateVolume();
+            case Cube cube -> cube.calculateVolume();
+            case Cylinder cylinder -> cylinder.calculateVolume();
+            case RectangularPrism prism -> prism.calculateVolume();
+            case Cone cone -> cone.calculateVolume();
+            case ShapeView view -> view.calculateVolume();
+        };
+    }
+
+    /**
+     * Calculates the surface area of a shape without virtual dispatch
+     * @param shape The shape
+     * @return The surface area
+     */
+    public static double surfaceArea(Shape3D shape) {
+        return switch (shape) {
+            case Sphere sphere -> sphere.calculateSurfaceArea();
+            case Cube cube -> cube.calculateSurfaceArea();
+            case Cylinder cylinder -> cylinder.calculateSurfaceArea();
+            case RectangularPrism prism -> prism.calculateSurfaceArea();
+            case Cone cone -> cone.calculateSurfaceArea();
+            case ShapeView view -> view.calculateSurfaceArea();
+        };
+    }
+}
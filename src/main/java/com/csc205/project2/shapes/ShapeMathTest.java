@@ -0,0 +1,87 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ShapeMath
+ * Tests that pattern-matching dispatch agrees with the virtual path
+ * and that the shape hierarchy is sealed
+ */
+@DisplayName("ShapeMath Tests")
+class ShapeMathTest {
+
+    private static final List<Shape3D> SHAPES = List.of(
+        new Sphere("Red Ball", "Crimson", 5.0),
+        new Cube("Blue Box", "Navy", 4.0),
+        new Cylinder("Green Tube", "Forest", 3.0, 6.0),
+        new RectangularPrism("Yellow Block", "Gold", 2.0, 4.0, 3.0),
+        new Cone("Purple Peak", "Violet", 4.0, 8.0)
+    );
+
+    @Nested
+    @DisplayName("Dispatch Tests")
+    class DispatchTests {
+
+        @Test
+        @DisplayName("Volume matches the virtual path for every shape class")
+        void volumeMatchesVirtualPath() {
+            for (Shape3D shape : SHAPES) {
+                assertEquals(shape.getVolume(), ShapeMath.volume(shape), shape.getName());
+            }
+        }
+
+        @Test
+        @DisplayName("Surface area matches the virtual path for every shape class")
+        void surfaceAreaMatchesVirtualPath() {
+            for (Shape3D shape : SHAPES) {
+                assertEquals(shape.getSurfaceArea(), ShapeMath.surfaceArea(shape), shape.getName());
+            }
+        }
+
+        @Test
+        @DisplayName("Flyweight views are dispatched through their columns")
+        void viewsAreDispatched() {
+            ShapeStore store = new ShapeStore();
+            store.addAll(SHAPES);
+
+            for (int i = 0; i < SHAPES.size(); i++) {
+                assertEquals(SHAPES.get(i).getVolume(), ShapeMath.volume(store.view(i)));
+                assertEquals(SHAPES.get(i).getSurfaceArea(), ShapeMath.surfaceArea(store.view(i)));
+            }
+        }
+
+        @Test
+        @DisplayName("Dispatch reflects dimension changes")
+        void dispatchReflectsChanges() {
+            Cylinder cylinder = new Cylinder(1.0, 1.0);
+            cylinder.setHeight(4.0);
+
+            assertEquals(4 * Math.PI, ShapeMath.volume(cylinder), 1e-12);
+        }
+    }
+
+    @Nested
+    @DisplayName("Sealed Hierarchy Tests")
+    class SealedHierarchyTests {
+
+        @Test
+        @DisplayName("Shape3D and ThreeDimensionalShape are sealed")
+        void hierarchyIsSealed() {
+            assertTrue(Shape3D.class.isSealed());
+            assertTrue(ThreeDimensionalShape.class.isSealed());
+            assertEquals(6, Shape3D.class.getPermittedSubclasses().length);
+        }
+
+        @Test
+        @DisplayName("ShapeType covers every shape class")
+        void shapeTypeCoversClasses() {
+            for (Shape3D shape : SHAPES) {
+                assertEquals(shape.getClass().getSimpleName(), ShapeType.of(shape).getSimpleName());
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.csc205.project2.shapes;
+
+/**
+ * The derived quantities that shapes can be ranked and indexed by.
+ */
+public enum ShapeMetric {
+    /** Volume */
+    VOLUME,
+    /** Surface area */
+    SURFACE_AREA,
+    /** Volume divided by surface area */
+    EFFICIENCY;
+
+    /**
+     * Gets this metric from precomputed volume and surface area
+     * @param volume The volume
+     * @param surfaceArea The surface area
+     * @return The metric value
+     */
+    public double valueOf(double volume, double surfaceArea) {
+        return switch (this) {
+            case VOLUME -> volume;
+            case SURFACE_AREA -> surfaceArea;
+            case EFFICIENCY -> volume / surfaceArea;
+        };
+    }
+
+    /**
+     * Gets this metric for a shape
+     * @param shape The shape to measure
+     * @return The metric value
+     */
+    public double of(Shape3D shape) {
+        return switch (this) {
+            case VOLUME -> shape.getVolume();
+            case SURFACE_AREA -> shape.getSurfaceArea();
+            case EFFICIENCY -> shape.getVolume() / shape.getSurfaceArea();
+        };
+    }
+}
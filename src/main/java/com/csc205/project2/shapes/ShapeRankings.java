@@ -0,0 +1,318 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Leaderboards of the largest and smallest shapes by volume, surface area
+ * and volume/surface ratio over a changing set of shapes.
+ *
+ * Each leaderboard is a heap bounded to the ranking capacity, with its worst
+ * entry at the head, so an insert costs O(log K) per leaderboard however many
+ * shapes are tracked. Tracked shapes are followed through a
+ * {@link ShapeChangeListener}: a shape that improves enters or moves up in
+ * O(log K). A leaderboard member that is removed or gets worse may have to
+ * be replaced by a shape outside the heap, so that leaderboard is refilled
+ * from the tracked values in one O(n log K) pass on its next read. Sorted
+ * leaderboards are cached between changes, which makes repeated reads O(1).
+ *
+ * Equal values rank in insertion order, matching {@code Stream.max} and
+ * {@code Stream.min}. Not thread-safe.
+ */
+public class ShapeRankings {
+    private static final ShapeMetric[] METRICS = ShapeMetric.values();
+
+    private record Entry(Shape3D shape, double value, long order) {
+    }
+
+    private static final class Tracked {
+        private final long order;
+        private double volume;
+        private double surfaceArea;
+
+        private Tracked(long order) {
+            this.order = order;
+        }
+
+        private Entry entry(Shape3D shape, ShapeMetric metric) {
+            return new Entry(shape, metric.valueOf(volume, surfaceArea), order);
+        }
+    }
+
+    /**
+     * One bounded leaderboard for a metric and direction
+     */
+    private static final class Ranking {
+        private final ShapeMetric metric;
+        private final int capacity;
+        // Best entry first
+        private final Comparator<Entry> order;
+        // Worst entry at the head
+        private final PriorityQueue<Entry> heap;
+        private final Map<Shape3D, Entry> members = new IdentityHashMap<>();
+        private boolean stale;
+        private List<Shape3D> sorted;
+
+        private Ranking(ShapeMetric metric, boolean largest, int capacity) {
+            this.metric = metric;
+            this.capacity = capacity;
+            Comparator<Entry> byValue = Comparator.comparingDouble(Entry::value);
+            this.order = (largest ? byValue.reversed() : byValue).thenComparingLong(Entry::order);
+            this.heap = new PriorityQueue<>(capacity, order.reversed());
+        }
+
+        private void offer(Entry entry) {
+            if (stale) {
+                return;
+            }
+            sorted = null;
+            if (heap.size() < capacity) {
+                heap.add(entry);
+                members.put(entry.shape(), entry);
+            } else if (order.compare(entry, heap.peek()) < 0) {
+                members.remove(heap.poll().shape());
+                heap.add(entry);
+                members.put(entry.shape(), entry);
+            }
+        }
+
+        private void remove(Shape3D shape, int remaining) {
+            Entry entry = members.remove(shape);
+            if (entry != null) {
+                heap.remove(entry);
+                sorted = null;
+                stale |= remaining > heap.size();
+            }
+        }
+
+        private void update(Shape3D shape, Entry updated, int tracked) {
+            Entry previous = members.get(shape);
+            if (previous == null) {
+                offer(updated);
+                return;
+            }
+            members.remove(shape);
+            heap.remove(previous);
+            sorted = null;
+            if (order.compare(updated, previous) > 0 && tracked > capacity) {
+                // A shape outside the heap may now rank higher
+                stale = true;
+            } else {
+                heap.add(updated);
+                members.put(shape, updated);
+            }
+        }
+
+        private void clear() {
+            heap.clear();
+            members.clear();
+            stale = false;
+            sorted = null;
+        }
+
+        private List<Shape3D> sorted(Map<Shape3D, Tracked> tracked) {
+            if (stale) {
+                clear();
+                for (Map.Entry<Shape3D, Tracked> shape : tracked.entrySet()) {
+                    offer(shape.getValue().entry(shape.getKey(), metric));
+                }
+            }
+            if (sorted == null) {
+                List<Entry> entries = new ArrayList<>(heap);
+                entries.sort(order);
+                List<Shape3D> shapes = new ArrayList<>(entries.size());
+                for (Entry entry : entries) {
+                    shapes.add(entry.shape());
+                }
+                sorted = Collections.unmodifiableList(shapes);
+            }
+            return sorted;
+        }
+    }
+
+    private final int capacity;
+    private final Map<Shape3D, Tracked> tracked = new IdentityHashMap<>();
+    private final Ranking[] largest = new Ranking[METRICS.length];
+    private final Ranking[] smallest = new Ranking[METRICS.length];
+    private final ShapeChangeListener listener = this::update;
+    private long nextOrder;
+
+    /**
+     * Constructor with ranking capacity
+     * @param capacity The number of shapes kept in each leaderboard
+     * @throws IllegalArgumentException if capacity is less than one
+     */
+    public ShapeRankings(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ranking capacity must be at least one");
+        }
+        this.capacity = capacity;
+        for (ShapeMetric metric : METRICS) {
+            largest[metric.ordinal()] = new Ranking(metric, true, capacity);
+            smallest[metric.ordinal()] = new Ranking(metric, false, capacity);
+        }
+    }
+
+    /**
+     * Starts tracking a shape
+     * @param shape The shape to add
+     * @return true if the shape was not already tracked
+     * @throws IllegalArgumentException if the shape is a flyweight view, which moves between rows
+     */
+    public boolean add(Shape3D shape) {
+        if (shape instanceof ShapeView) {
+            throw new IllegalArgumentException("Flyweight views cannot be tracked");
+        }
+        if (tracked.containsKey(shape)) {
+            return false;
+        }
+        Tracked values = new Tracked(nextOrder++);
+        values.volume = shape.getVolume();
+        values.surfaceArea = shape.getSurfaceArea();
+        tracked.put(shape, values);
+        for (ShapeMetric metric : METRICS) {
+            Entry entry = values.entry(shape, metric);
+            largest[metric.ordinal()].offer(entry);
+            smallest[metric.ordinal()].offer(entry);
+        }
+        shape.addChangeListener(listener);
+        return true;
+    }
+
+    /**
+     * Starts tracking several shapes
+     * @param shapes The shapes to add
+     */
+    public void addAll(Iterable<? extends Shape3D> shapes) {
+        for (Shape3D shape : shapes) {
+            add(shape);
+        }
+    }
+
+    /**
+     * Stops tracking a shape
+     * @param shape The shape to remove
+     * @return true if the shape was tracked
+     */
+    public boolean remove(Shape3D shape) {
+        if (tracked.remove(shape) == null) {
+            return false;
+        }
+        for (int i = 0; i < METRICS.length; i++) {
+            largest[i].remove(shape, tracked.size());
+            smallest[i].remove(shape, tracked.size());
+        }
+        shape.removeChangeListener(listener);
+        return true;
+    }
+
+    /**
+     * Stops tracking every shape
+     */
+    public void clear() {
+        for (Shape3D shape : tracked.keySet()) {
+            shape.removeChangeListener(listener);
+        }
+        tracked.clear();
+        for (int i = 0; i < METRICS.length; i++) {
+            largest[i].clear();
+            smallest[i].clear();
+        }
+    }
+
+    /**
+     * Checks whether a shape is tracked
+     * @param shape The shape to look for
+     * @return true if the shape is tracked
+     */
+    public boolean contains(Shape3D shape) {
+        return tracked.containsKey(shape);
+    }
+
+    /**
+     * Gets the number of tracked shapes
+     * @return The shape count
+     */
+    public int size() {
+        return tracked.size();
+    }
+
+    /**
+     * Gets the number of shapes kept in each leaderboard
+     * @return The ranking capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the shapes with the largest values, best first
+     * @param metric The metric to rank by
+     * @param count The number of shapes wanted
+     * @return Up to count shapes; fewer if fewer are tracked
+     * @throws IllegalArgumentException if count is negative or exceeds the ranking capacity
+     */
+    public List<Shape3D> top(ShapeMetric metric, int count) {
+        return head(largest[metric.ordinal()].sorted(tracked), count);
+    }
+
+    /**
+     * Gets the shapes with the smallest values, smallest first
+     * @param metric The metric to rank by
+     * @param count The number of shapes wanted
+     * @return Up to count shapes; fewer if fewer are tracked
+     * @throws IllegalArgumentException if count is negative or exceeds the ranking capacity
+     */
+    public List<Shape3D> bottom(ShapeMetric metric, int count) {
+        return head(smallest[metric.ordinal()].sorted(tracked), count);
+    }
+
+    /**
+     * Gets the shape with the largest value
+     * @param metric The metric to rank by
+     * @return The largest shape, or null if no shapes are tracked
+     */
+    public Shape3D largest(ShapeMetric metric) {
+        List<Shape3D> ranked = largest[metric.ordinal()].sorted(tracked);
+        return ranked.isEmpty() ? null : ranked.get(0);
+    }
+
+    /**
+     * Gets the shape with the smallest value
+     * @param metric The metric to rank by
+     * @return The smallest shape, or null if no shapes are tracked
+     */
+    public Shape3D smallest(ShapeMetric metric) {
+        List<Shape3D> ranked = smallest[metric.ordinal()].sorted(tracked);
+        return ranked.isEmpty() ? null : ranked.get(0);
+    }
+
+    private List<Shape3D> head(List<Shape3D> ranked, int count) {
+        if (count < 0 || count > capacity) {
+            throw new IllegalArgumentException("Count must be between 0 and the ranking capacity " + capacity);
+        }
+        return ranked.subList(0, Math.min(count, ranked.size()));
+    }
+
+    /**
+     * Moves a tracked shape to its new place in every leaderboard
+     */
+    private void update(Shape3D shape) {
+        Tracked values = tracked.get(shape);
+        if (values == null) {
+            return;
+        }
+        values.volume = shape.getVolume();
+        values.surfaceArea = shape.getSurfaceArea();
+        for (ShapeMetric metric : METRICS) {
+            Entry entry = values.entry(shape, metric);
+            largest[metric.ordinal()].update(shape, entry, tracked.size());
+            smallest[metric.ordinal()].update(shape, entry, tracked.size());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.BeforeEach;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ShapeRankings
+ * Tests that bounded leaderboards agree with fully sorted collections
+ * after insertions, removals and resizing through the dimension setters
+ */
+@DisplayName("ShapeRankings Tests")
+class ShapeRankingsTest {
+
+    private static final int CAPACITY = 3;
+
+    private ShapeRankings rankings;
+    private List<Shape3D> shapes;
+
+    @BeforeEach
+    void setUp() {
+        rankings = new ShapeRankings(CAPACITY);
+        shapes = new ArrayList<>(List.of(
+            new Sphere("Red Ball", "Crimson", 5.0),
+            new Cube("Blue Box", "Navy", 4.0),
+            new Cylinder("Green Tube", "Forest", 3.0, 6.0),
+            new RectangularPrism("Yellow Block", "Gold", 2.0, 4.0, 3.0),
+            new Cone("Purple Peak", "Violet", 4.0, 8.0),
+            new Cube("Small Box", "Navy", 1.0)
+        ));
+        rankings.addAll(shapes);
+    }
+
+    private static ToDoubleFunction<Shape3D> valueOf(ShapeMetric metric) {
+        return shape -> metric.valueOf(shape.getVolume(), shape.getSurfaceArea());
+    }
+
+    // Stable sorts keep insertion order among equal values, as the rankings do
+    private static List<Shape3D> expectedTop(List<Shape3D> shapes, ShapeMetric metric, int count) {
+        List<Shape3D> sorted = new ArrayList<>(shapes);
+        sorted.sort(Comparator.comparingDouble(valueOf(metric)).reversed());
+        return sorted.subList(0, Math.min(count, sorted.size()));
+    }
+
+    private static List<Shape3D> expectedBottom(List<Shape3D> shapes, ShapeMetric metric, int count) {
+        List<Shape3D> sorted = new ArrayList<>(shapes);
+        sorted.sort(Comparator.comparingDouble(valueOf(metric)));
+        return sorted.subList(0, Math.min(count, sorted.size()));
+    }
+
+    private void assertRankingsMatch() {
+        for (ShapeMetric metric : ShapeMetric.values()) {
+            assertEquals(expectedTop(shapes, metric, CAPACITY), rankings.top(metric, CAPACITY), metric.name());
+            assertEquals(expectedBottom(shapes, metric, CAPACITY), rankings.bottom(metric, CAPACITY), metric.name());
+        }
+    }
+
+    @Nested
+    @DisplayName("Leaderboard Tests")
+    class LeaderboardTests {
+
+        @Test
+        @DisplayName("Leaderboards match a full sort")
+        void leaderboardsMatchSort() {
+            assertRankingsMatch();
+            assertSame(shapes.get(0), rankings.largest(ShapeMetric.VOLUME));
+            assertSame(shapes.get(5), rankings.smallest(ShapeMetric.SURFACE_AREA));
+        }
+
+        @Test
+        @DisplayName("Equal values rank in insertion order")
+        void tiesKeepInsertionOrder() {
+            ShapeRankings ties = new ShapeRankings(2);
+            Cube first = new Cube("First", "Navy", 2.0);
+            Cube second = new Cube("Second", "Navy", 2.0);
+            ties.add(first);
+            ties.add(second);
+
+            assertSame(first, ties.largest(ShapeMetric.VOLUME));
+            assertSame(first, ties.smallest(ShapeMetric.VOLUME));
+            assertEquals(List.of(first, second), ties.top(ShapeMetric.EFFICIENCY, 2));
+        }
+
+        @Test
+        @DisplayName("Comparative report matches the streaming report")
+        void reportMatchesStreamingReport() {
+            ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+            ByteArrayOutputStream ranked = new ByteArrayOutputStream();
+
+            ShapeDriver.performComparativeAnalysis(shapes, new PrintStream(streamed, true, StandardCharsets.UTF_8));
+            ShapeDriver.printComparativeAnalysis(new PrintStream(ranked, true, StandardCharsets.UTF_8), rankings);
+
+            assertEquals(streamed.toString(StandardCharsets.UTF_8), ranked.toString(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("Empty rankings and invalid counts")
+        void emptyAndInvalid() {
+            rankings.clear();
+
+            assertNull(rankings.largest(ShapeMetric.VOLUME));
+            assertTrue(rankings.top(ShapeMetric.VOLUME, CAPACITY).isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> rankings.top(ShapeMetric.VOLUME, CAPACITY + 1));
+            assertThrows(IllegalArgumentException.class, () -> new ShapeRankings(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Removing a leader refills the leaderboard")
+        void removeLeader() {
+            Shape3D leader = shapes.remove(0);
+
+            assertTrue(rankings.remove(leader));
+            assertRankingsMatch();
+        }
+
+        @Test
+        @DisplayName("A shrinking leader is replaced by an outside shape")
+        void shrinkingLeader() {
+            ((Sphere) shapes.get(0)).setRadius(0.1);
+
+            assertRankingsMatch();
+            assertSame(shapes.get(0), rankings.smallest(ShapeMetric.VOLUME));
+        }
+
+        @Test
+        @DisplayName("A growing outside shape enters the leaderboard")
+        void growingOutsider() {
+            ((Cube) shapes.get(5)).setSideLength(20.0);
+
+            assertRankingsMatch();
+            assertSame(shapes.get(5), rankings.largest(ShapeMetric.VOLUME));
+        }
+
+        @Test
+        @DisplayName("Random churn stays consistent with a full sort")
+        void randomChurn() {
+            Random random = new Random(205);
+            ShapeType[] types = ShapeType.values();
+            for (int step = 0; step < 3_000; step++) {
+                int action = random.nextInt(3);
+                if (action == 0 || shapes.isEmpty()) {
+                    Shape3D shape = types[random.nextInt(types.length)].create("S", "C",
+                        0.5 + random.nextInt(20), 0.5 + random.nextInt(20), 0.5 + random.nextInt(20));
+                    shapes.add(shape);
+                    rankings.add(shape);
+                } else if (action == 1) {
+                    rankings.remove(shapes.remove(random.nextInt(shapes.size())));
+                } else if (shapes.get(random.nextInt(shapes.size())) instanceof Cube cube) {
+                    cube.setSideLength(0.5 + random.nextInt(20));
+                }
+                if (step % 100 == 0) {
+                    assertRankingsMatch();
+                }
+            }
+            assertRankingsMatch();
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe collection of shapes keyed by a registry-assigned id.
+ *
+ * Ids are spread over a fixed number of stripes, each guarded by its own
+ * lock, so writers to different stripes never contend. Lookup by id reads a
+ * concurrent map and takes no lock. Each stripe also keeps a sub-index per
+ * {@link ShapeType}. A snapshot acquires every stripe lock in order, copies
+ * the members and releases the locks before sorting, so it reflects a single
+ * point in time and lists shapes in registration order.
+ *
+ * Ids increase in registration order and are never reused. A shape may be
+ * registered more than once under different ids.
+ */
+public class ShapeRegistry {
+    /** Default number of lock stripes */
+    public static final int DEFAULT_STRIPES = 64;
+
+    private static final ShapeType[] TYPES = ShapeType.values();
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Shape3D> shapes = new ConcurrentHashMap<>();
+        private final List<Map<Long, Shape3D>> byType = new ArrayList<>(TYPES.length);
+
+        private Stripe() {
+            for (int i = 0; i < TYPES.length; i++) {
+                byType.add(new HashMap<>());
+            }
+        }
+    }
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final AtomicLong nextId = new AtomicLong();
+    private final LongAdder[] typeCounts = new LongAdder[TYPES.length];
+
+    /**
+     * Default constructor
+     */
+    public ShapeRegistry() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructor with stripe count
+     * @param stripeCount The number of lock stripes, rounded up to a power of two
+     * @throws IllegalArgumentException if stripeCount is less than one or above 2^30
+     */
+    public ShapeRegistry(int stripeCount) {
+        if (stripeCount < 1 || stripeCount > 1 << 30) {
+            throw new IllegalArgumentException("Stripe count must be between 1 and 2^30");
+        }
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        stripeMask = size - 1;
+        for (int i = 0; i < TYPES.length; i++) {
+            typeCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Adds a shape under a new id
+     * @param shape The shape to register
+     * @return The id assigned to the shape
+     * @throws NullPointerException if shape is null
+     * @throws IllegalArgumentException if the shape is a flyweight view, which moves between rows
+     */
+    public long register(Shape3D shape) {
+        if (shape instanceof ShapeView) {
+            throw new IllegalArgumentException("Flyweight views cannot be registered");
+        }
+        ShapeType type = ShapeType.of(shape);
+        long id = nextId.getAndIncrement();
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            stripe.shapes.put(id, shape);
+            stripe.byType.get(type.ordinal()).put(id, shape);
+            typeCounts[type.ordinal()].increment();
+        } finally {
+            stripe.lock.unlock();
+        }
+        return id;
+    }
+
+    /**
+     * Looks up a shape without locking
+     * @param id The id returned at registration
+     * @return The shape, or null if no shape is registered under the id
+     */
+    public Shape3D get(long id) {
+        return stripeFor(id).shapes.get(id);
+    }
+
+    /**
+     * Removes a shape
+     * @param id The id returned at registration
+     * @return The removed shape, or null if no shape was registered under the id
+     */
+    public Shape3D remove(long id) {
+        Stripe stripe = stripeFor(id);
+        Shape3D removed;
+        stripe.lock.lock();
+        try {
+            removed = stripe.shapes.remove(id);
+            if (removed == null) {
+                return null;
+            }
+            int type = ShapeType.of(removed).ordinal();
+            stripe.byType.get(type).remove(id);
+            typeCounts[type].decrement();
+        } finally {
+            stripe.lock.unlock();
+        }
+        return removed;
+    }
+
+    /**
+     * Checks whether an id is registered
+     * @param id The id to look for
+     * @return true if a shape is registered under the id
+     */
+    public boolean contains(long id) {
+        return stripeFor(id).shapes.containsKey(id);
+    }
+
+    /**
+     * Gets the number of registered shapes; exact only while no writer is active
+     * @return The shape count
+     */
+    public int size() {
+        long total = 0;
+        for (LongAdder count : typeCounts) {
+            total += count.sum();
+        }
+        return (int) total;
+    }
+
+    /**
+     * Gets the number of registered shapes of one type; exact only while no writer is active
+     * @param type The shape type
+     * @return The shape count for the type
+     */
+    public int size(ShapeType type) {
+        return (int) typeCounts[type.ordinal()].sum();
+    }
+
+    /**
+     * Checks whether no shapes are registered
+     * @return true if the registry is empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes every shape; ids continue from where they were
+     */
+    public void clear() {
+        lockAll();
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.shapes.clear();
+                for (Map<Long, Shape3D> shapes : stripe.byType) {
+                    shapes.clear();
+                }
+            }
+            for (LongAdder count : typeCounts) {
+                count.reset();
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Copies the registered shapes at a single point in time
+     * @return A new list of every registered shape in registration order
+     */
+    public List<Shape3D> snapshot() {
+        List<Map.Entry<Long, Shape3D>> entries = entries();
+        List<Shape3D> shapes = new ArrayList<>(entries.size());
+        for (Map.Entry<Long, Shape3D> entry : entries) {
+            shapes.add(entry.getValue());
+        }
+        return shapes;
+    }
+
+    /**
+     * Copies the registered shapes of one type at a single point in time
+     * @param type The shape type
+     * @return A new list of the registered shapes of the type in registration order
+     */
+    public List<Shape3D> snapshot(ShapeType type) {
+        List<Map.Entry<Long, Shape3D>> entries = new ArrayList<>();
+        lockAll();
+        try {
+            for (Stripe stripe : stripes) {
+                copyEntries(stripe.byType.get(type.ordinal()), entries);
+            }
+        } finally {
+            unlockAll();
+        }
+        return inIdOrder(entries);
+    }
+
+    /**
+     * Adds a shape under an id assigned earlier, as when recovering a journal;
+     * later registrations get ids above it
+     * @param id The id to register under; any shape already under it is replaced
+     * @param shape The shape to register
+     */
+    void restore(long id, Shape3D shape) {
+        remove(id);
+        ShapeType type = ShapeType.of(shape);
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            stripe.shapes.put(id, shape);
+            stripe.byType.get(type.ordinal()).put(id, shape);
+            typeCounts[type.ordinal()].increment();
+        } finally {
+            stripe.lock.unlock();
+        }
+        reserveIds(id + 1);
+    }
+
+    /**
+     * Adds many shapes under ids assigned earlier, holding every stripe lock once for the whole batch
+     * @param ids The ids to register under; shapes already under them are replaced
+     * @param shapes The shapes to register, one per id
+     * @param count The number of leading elements of both arrays to register
+     */
+    void restoreAll(long[] ids, Shape3D[] shapes, int count) {
+        long[] added = new long[TYPES.length];
+        long maxId = -1;
+        lockAll();
+        try {
+            for (int i = 0; i < count; i++) {
+                // Boxed once for both maps
+                Long id = ids[i];
+                Shape3D shape = shapes[i];
+                int type = ShapeType.of(shape).ordinal();
+                Stripe stripe = stripeFor(id);
+                Shape3D replaced = stripe.shapes.put(id, shape);
+                if (replaced != null) {
+                    int replacedType = ShapeType.of(replaced).ordinal();
+                    stripe.byType.get(replacedType).remove(id);
+                    added[replacedType]--;
+                }
+                stripe.byType.get(type).put(id, shape);
+                added[type]++;
+                maxId = Math.max(maxId, id);
+            }
+            for (int type = 0; type < TYPES.length; type++) {
+                typeCounts[type].add(added[type]);
+            }
+        } finally {
+            unlockAll();
+        }
+        reserveIds(maxId + 1);
+    }
+
+    /**
+     * Makes sure later registrations get ids of at least the given value
+     * @param next The lowest id the next registration may get
+     */
+    void reserveIds(long next) {
+        nextId.accumulateAndGet(next, Math::max);
+    }
+
+    /**
+     * Gets the id the next registration would get
+     * @return The next id
+     */
+    long nextId() {
+        return nextId.get();
+    }
+
+    /**
+     * Copies the registered shapes with their ids at a single point in time
+     * @return A new list of id and shape pairs in registration order
+     */
+    List<Map.Entry<Long, Shape3D>> entries() {
+        List<Map.Entry<Long, Shape3D>> entries = new ArrayList<>();
+        lockAll();
+        try {
+            for (Stripe stripe : stripes) {
+                copyEntries(stripe.shapes, entries);
+            }
+        } finally {
+            unlockAll();
+        }
+        entries.sort(Map.Entry.comparingByKey());
+        return entries;
+    }
+
+    private Stripe stripeFor(long id) {
+        // Fibonacci hashing spreads consecutive ids over the stripes
+        long mixed = id * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (mixed >>> 32) & stripeMask];
+    }
+
+    private void lockAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].lock.unlock();
+        }
+    }
+
+    private static void copyEntries(Map<Long, Shape3D> source, List<Map.Entry<Long, Shape3D>> target) {
+        for (Map.Entry<Long, Shape3D> entry : source.entrySet()) {
+            target.add(Map.entry(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private static List<Shape3D> inIdOrder(List<Map.Entry<Long, Shape3D>> entries) {
+        entries.sort(Map.Entry.comparingByKey());
+        List<Shape3D> shapes = new ArrayList<>(entries.size());
+        for (Map.Entry<Long, Shape3D> entry : entries) {
+            shapes.add(entry.getValue());
+        }
+        return shapes;
+    }
+}
@@ -0,0 +1,227 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.BeforeEach;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ShapeRegistry
+ * Tests single-threaded bookkeeping and, under 32 concurrent writers,
+ * that no update is lost and that snapshots are taken at a single point in time
+ */
+@DisplayName("ShapeRegistry Tests")
+class ShapeRegistryTest {
+
+    private static final int WRITERS = 32;
+
+    private ShapeRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ShapeRegistry();
+    }
+
+    private static void runWriters(int writers, WriterTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(writer);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface WriterTask {
+        void run(int writer) throws Exception;
+    }
+
+    @Nested
+    @DisplayName("Bookkeeping Tests")
+    class BookkeepingTests {
+
+        @Test
+        @DisplayName("Shapes are found by id and listed in registration order")
+        void registerAndLookup() {
+            Sphere sphere = new Sphere("Red Ball", "Crimson", 5.0);
+            Cube cube = new Cube("Blue Box", "Navy", 4.0);
+            Cube second = new Cube("Second Box", "Navy", 2.0);
+
+            long sphereId = registry.register(sphere);
+            long cubeId = registry.register(cube);
+            registry.register(second);
+
+            assertSame(sphere, registry.get(sphereId));
+            assertSame(cube, registry.get(cubeId));
+            assertEquals(List.of(sphere, cube, second), registry.snapshot());
+            assertEquals(List.of(cube, second), registry.snapshot(ShapeType.CUBE));
+            assertEquals(3, registry.size());
+            assertEquals(2, registry.size(ShapeType.CUBE));
+        }
+
+        @Test
+        @DisplayName("Removed ids are not reused")
+        void removeAndReregister() {
+            Cube cube = new Cube("Blue Box", "Navy", 4.0);
+            long id = registry.register(cube);
+
+            assertSame(cube, registry.remove(id));
+            assertNull(registry.remove(id));
+            assertFalse(registry.contains(id));
+            assertTrue(registry.snapshot(ShapeType.CUBE).isEmpty());
+            assertNotEquals(id, registry.register(cube));
+            assertEquals(1, registry.size());
+        }
+
+        @Test
+        @DisplayName("Clear empties every sub-index")
+        void clear() {
+            registry.register(new Sphere(1.0));
+            registry.register(new Cone(1.0, 2.0));
+
+            registry.clear();
+
+            assertTrue(registry.isEmpty());
+            assertEquals(0, registry.size(ShapeType.CONE));
+            assertTrue(registry.snapshot().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Views and invalid stripe counts are rejected")
+        void invalidArguments() {
+            ShapeStore store = new ShapeStore();
+            store.add(new Cube(1.0));
+
+            assertThrows(IllegalArgumentException.class, () -> registry.register(store.view(0)));
+            assertThrows(IllegalArgumentException.class, () -> new ShapeRegistry(0));
+            assertEquals(List.of(), new ShapeRegistry(3).snapshot());
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency Tests")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("No registration or removal is lost under 32 writers")
+        void noLostUpdates() throws Exception {
+            int perWriter = 2_000;
+            Map<Long, Shape3D> kept = new ConcurrentHashMap<>();
+
+            runWriters(WRITERS, writer -> {
+                ShapeType type = ShapeType.values()[writer % ShapeType.values().length];
+                for (int i = 0; i < perWriter; i++) {
+                    Shape3D shape = type.create("Writer " + writer, "C", 1 + i % 7, 2, 3);
+                    long id = registry.register(shape);
+                    if (i % 2 == 0) {
+                        assertSame(shape, registry.remove(id));
+                    } else {
+                        assertNull(kept.put(id, shape));
+                    }
+                }
+            });
+
+            assertEquals(kept.size(), registry.size());
+            assertEquals(WRITERS * perWriter / 2, registry.snapshot().size());
+            for (Map.Entry<Long, Shape3D> entry : kept.entrySet()) {
+                assertSame(entry.getValue(), registry.get(entry.getKey()));
+            }
+            int perType = 0;
+            for (ShapeType type : ShapeType.values()) {
+                assertEquals(registry.size(type), registry.snapshot(type).size());
+                perType += registry.size(type);
+            }
+            assertEquals(kept.size(), perType);
+        }
+
+        @Test
+        @DisplayName("Snapshots never miss a shape that is being replaced")
+        void snapshotsAreAtomic() throws Exception {
+            int writers = WRITERS - 1;
+            long[] current = new long[writers];
+            for (int w = 0; w < writers; w++) {
+                current[w] = registry.register(new Cube("Writer " + w, "C", 1.0));
+            }
+            AtomicBoolean writing = new AtomicBoolean(true);
+            List<String> violations = new ArrayList<>();
+
+            Thread reader = new Thread(() -> {
+                while (writing.get()) {
+                    int[] counts = new int[writers];
+                    for (Shape3D shape : registry.snapshot()) {
+                        counts[Integer.parseInt(shape.getName().substring(7))]++;
+                    }
+                    for (int w = 0; w < writers; w++) {
+                        // The replacement is registered before the original is removed
+                        if (counts[w] < 1 || counts[w] > 2) {
+                            violations.add("Writer " + w + " had " + counts[w] + " shapes");
+                        }
+                    }
+                }
+            });
+            reader.start();
+            try {
+                runWriters(writers, writer -> {
+                    for (int i = 0; i < 3_000; i++) {
+                        long replacement = registry.register(new Cube("Writer " + writer, "C", 1.0 + i));
+                        registry.remove(current[writer]);
+                        current[writer] = replacement;
+                    }
+                });
+            } finally {
+                writing.set(false);
+                reader.join();
+            }
+
+            assertEquals(List.of(), violations);
+            assertEquals(writers, registry.size());
+        }
+
+        @Test
+        @DisplayName("Memoized metrics stay current under concurrent resizing")
+        void memoizedMetricsUnderContention() throws Exception {
+            Cube cube = new Cube("Shared", "C", 1.0);
+            cube.setMemoized(true);
+            long id = registry.register(cube);
+
+            runWriters(WRITERS, writer -> {
+                Cube shared = (Cube) registry.get(id);
+                for (int i = 0; i < 2_000; i++) {
+                    if (writer == 0) {
+                        shared.setSideLength(1.0 + i % 10);
+                    } else {
+                        double side = Math.cbrt(shared.getVolume());
+                        assertEquals(Math.rint(side), side, 1e-9);
+                    }
+                }
+            });
+
+            assertEquals(Math.pow(cube.getSideLength(), 3), cube.getVolume());
+            assertEquals(6 * Math.pow(cube.getSideLength(), 2), cube.getSurfaceArea());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.csc205.project2.shapes;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Running volume and surface area statistics over a changing set of shapes.
+ *
+ * Count, sum, mean and variance are maintained per {@link ShapeType} and in
+ * total, and are updated in O(1) when a shape is added or removed. Tracked
+ * shapes are followed through a {@link ShapeChangeListener}, so resizing a
+ * shape with one of its setters moves its contribution without rescanning
+ * anything. Minimum and maximum are kept in sorted multisets per type and
+ * cost O(log n) to update. All queries are answered from the running state.
+ *
+ * Each shape's last contribution is remembered so that it can be retracted
+ * exactly. Not thread-safe.
+ */
+public class ShapeStatistics {
+    private static final ShapeType[] TYPES = ShapeType.values();
+
+    /**
+     * Statistics of one metric at the time of the query
+     * @param count The number of shapes
+     * @param sum The total
+     * @param mean The average, or zero if there are no shapes
+     * @param variance The population variance, or zero if there are no shapes
+     * @param min The smallest value, or positive infinity if there are no shapes
+     * @param max The largest value, or negative infinity if there are no shapes
+     */
+    public record Summary(long count, double sum, double mean, double variance, double min, double max) {
+
+        /**
+         * Gets the population standard deviation
+         * @return The square root of the variance
+         */
+        public double standardDeviation() {
+            return Math.sqrt(variance);
+        }
+
+        /**
+         * Converts to the summary type used by the report printers
+         * @return Statistics with the same count, sum, min and max
+         */
+        public DoubleSummaryStatistics toDoubleSummaryStatistics() {
+            return count == 0 ? new DoubleSummaryStatistics() : new DoubleSummaryStatistics(count, min, max, sum);
+        }
+    }
+
+    private static final class Contribution {
+        private final ShapeType type;
+        private double volume;
+        private double surfaceArea;
+
+        private Contribution(ShapeType type) {
+            this.type = type;
+        }
+    }
+
+    private final Map<Shape3D, Contribution> tracked = new IdentityHashMap<>();
+    private final RunningMetric[] volumeByType = new RunningMetric[TYPES.length];
+    private final RunningMetric[] surfaceAreaByType = new RunningMetric[TYPES.length];
+    private final RunningMetric volume = new RunningMetric(false);
+    private final RunningMetric surfaceArea = new RunningMetric(false);
+    private final ShapeChangeListener listener = this::update;
+
+    /**
+     * Default constructor
+     */
+    public ShapeStatistics() {
+        for (int i = 0; i < TYPES.length; i++) {
+            volumeByType[i] = new RunningMetric(true);
+            surfaceAreaByType[i] = new RunningMetric(true);
+        }
+    }
+
+    /**
+     * Starts tracking a shape
+     * @param shape The shape to add
+     * @return true if the shape was not already tracked
+     * @throws IllegalArgumentException if the shape is a flyweight view, which moves between rows
+     */
+    public boolean add(Shape3D shape) {
+        if (shape instanceof ShapeView) {
+            throw new IllegalArgumentException("Flyweight views cannot be tracked");
+        }
+        if (tracked.containsKey(shape)) {
+            return false;
+        }
+        Contribution contribution = new Contribution(ShapeType.of(shape));
+        tracked.put(shape, contribution);
+        apply(contribution, shape.getVolume(), shape.getSurfaceArea());
+        shape.addChangeListener(listener);
+        return true;
+    }
+
+    /**
+     * Starts tracking several shapes
+     * @param shapes The shapes to add
+     */
+    public void addAll(Iterable<? extends Shape3D> shapes) {
+        for (Shape3D shape : shapes) {
+            add(shape);
+        }
+    }
+
+    /**
+     * Stops tracking a shape and retracts its contribution
+     * @param shape The shape to remove
+     * @return true if the shape was tracked
+     */
+    public boolean remove(Shape3D shape) {
+        Contribution contribution = tracked.remove(shape);
+        if (contribution == null) {
+            return false;
+        }
+        retract(contribution);
+        shape.removeChangeListener(listener);
+        return true;
+    }
+
+    /**
+     * Stops tracking every shape
+     */
+    public void clear() {
+        for (Shape3D shape : tracked.keySet()) {
+            shape.removeChangeListener(listener);
+        }
+        tracked.clear();
+        for (int i = 0; i < TYPES.length; i++) {
+            volumeByType[i].clear();
+            surfaceAreaByType[i].clear();
+        }
+        volume.clear();
+        surfaceArea.clear();
+    }
+
+    /**
+     * Checks whether a shape is tracked
+     * @param shape The shape to look for
+     * @return true if the shape is tracked
+     */
+    public boolean contains(Shape3D shape) {
+        return tracked.containsKey(shape);
+    }
+
+    /**
+     * Gets the number of tracked shapes
+     * @return The shape count
+     */
+    public int size() {
+        return tracked.size();
+    }
+
+    /**
+     * Gets the number of tracked shapes of one type
+     * @param type The shape type
+     * @return The shape count for the type
+     */
+    public long getCount(ShapeType type) {
+        return volumeByType[type.ordinal()].getCount();
+    }
+
+    /**
+     * Gets volume statistics over all tracked shapes
+     * @return The current volume summary
+     */
+    public Summary volumeSummary() {
+        return summarize(volume, volumeByType);
+    }
+
+    /**
+     * Gets volume statistics over the tracked shapes of one type
+     * @param type The shape type
+     * @return The current volume summary for the type
+     */
+    public Summary volumeSummary(ShapeType type) {
+        RunningMetric metric = volumeByType[type.ordinal()];
+        return summarize(metric, metric.getMin(), metric.getMax());
+    }
+
+    /**
+     * Gets surface area statistics over all tracked shapes
+     * @return The current surface area summary
+     */
+    public Summary surfaceAreaSummary() {
+        return summarize(surfaceArea, surfaceAreaByType);
+    }
+
+    /**
+     * Gets surface area statistics over the tracked shapes of one type
+     * @param type The shape type
+     * @return The current surface area summary for the type
+     */
+    public Summary surfaceAreaSummary(ShapeType type) {
+        RunningMetric metric = surfaceAreaByType[type.ordinal()];
+        return summarize(metric, metric.getMin(), metric.getMax());
+    }
+
+    /**
+     * Gets the number of tracked shapes per type, keyed by simple class name
+     * @return A new map containing only types with at least one shape
+     */
+    public Map<String, Long> getTypeDistribution() {
+        Map<String, Long> distribution = new HashMap<>();
+        for (ShapeType type : TYPES) {
+            long count = getCount(type);
+            if (count > 0) {
+                distribution.put(type.getSimpleName(), count);
+            }
+        }
+        return distribution;
+    }
+
+    /**
+     * Moves a tracked shape's contribution to its new dimensions
+     */
+    private void update(Shape3D shape) {
+        Contribution contribution = tracked.get(shape);
+        if (contribution != null) {
+            retract(contribution);
+            apply(contribution, shape.getVolume(), shape.getSurfaceArea());
+        }
+    }
+
+    private void apply(Contribution contribution, double shapeVolume, double shapeSurfaceArea) {
+        contribution.volume = shapeVolume;
+        contribution.surfaceArea = shapeSurfaceArea;
+        int type = contribution.type.ordinal();
+        volumeByType[type].add(shapeVolume);
+        surfaceAreaByType[type].add(shapeSurfaceArea);
+        volume.add(shapeVolume);
+        surfaceArea.add(shapeSurfaceArea);
+    }
+
+    private void retract(Contribution contribution) {
+        int type = contribution.type.ordinal();
+        volumeByType[type].remove(contribution.volume);
+        surfaceAreaByType[type].remove(contribution.surfaceArea);
+        volume.remove(contribution.volume);
+        surfaceArea.remove(contribution.surfaceArea);
+    }
+
+    private static Summary summarize(RunningMetric total, RunningMetric[] byType) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (RunningMetric metric : byType) {
+            if (metric.getCount() > 0) {
+                min = Math.min(min, metric.getMin());
+                max = Math.max(max, metric.getMax());
+            }
+        }
+        return summarize(total, min, max);
+    }
+
+    private static Summary summarize(RunningMetric metric, double min, double max) {
+        long count = metric.getCount();
+        double variance = count == 0 ? 0.0 : metric.getSquaredDeviations() / count;
+        return new Summary(count, metric.getSum(), metric.getMean(), variance, min, max);
+    }
+}
@@ -0,0 +1,198 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.BeforeEach;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ShapeStatistics
+ * Tests that running statistics match statistics recomputed from scratch
+ * after additions, removals and resizing through the dimension setters
+ */
+@DisplayName("ShapeStatistics Tests")
+class ShapeStatisticsTest {
+
+    private static final double RELATIVE_TOLERANCE = 1e-9;
+
+    private ShapeStatistics statistics;
+    private List<Shape3D> shapes;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new ShapeStatistics();
+        shapes = new ArrayList<>(List.of(
+            new Sphere("Red Ball", "Crimson", 5.0),
+            new Cube("Blue Box", "Navy", 4.0),
+            new Cylinder("Green Tube", "Forest", 3.0, 6.0),
+            new RectangularPrism("Yellow Block", "Gold", 2.0, 4.0, 3.0),
+            new Cone("Purple Peak", "Violet", 4.0, 8.0),
+            new Cube("Second Box", "Navy", 2.0)
+        ));
+        statistics.addAll(shapes);
+    }
+
+    private static void assertClose(double expected, double actual) {
+        assertEquals(expected, actual, Math.abs(expected) * RELATIVE_TOLERANCE);
+    }
+
+    private static void assertMatches(List<? extends Shape3D> expected, ShapeStatistics actual) {
+        DoubleSummaryStatistics volumes = expected.stream().mapToDouble(Shape3D::getVolume).summaryStatistics();
+        ShapeStatistics.Summary summary = actual.volumeSummary();
+        assertEquals(volumes.getCount(), summary.count());
+        assertClose(volumes.getSum(), summary.sum());
+        assertClose(volumes.getAverage(), summary.mean());
+        assertEquals(volumes.getMin(), summary.min());
+        assertEquals(volumes.getMax(), summary.max());
+
+        double mean = volumes.getAverage();
+        double variance = expected.stream().mapToDouble(s -> (s.getVolume() - mean) * (s.getVolume() - mean))
+            .sum() / expected.size();
+        assertClose(variance, summary.variance());
+
+        DoubleSummaryStatistics areas = expected.stream().mapToDouble(Shape3D::getSurfaceArea).summaryStatistics();
+        assertClose(areas.getSum(), actual.surfaceAreaSummary().sum());
+        assertEquals(areas.getMin(), actual.surfaceAreaSummary().min());
+        assertEquals(areas.getMax(), actual.surfaceAreaSummary().max());
+    }
+
+    @Nested
+    @DisplayName("Aggregate Tests")
+    class AggregateTests {
+
+        @Test
+        @DisplayName("Insert-only statistics equal stream statistics exactly")
+        void insertOnlyMatchesStream() {
+            DoubleSummaryStatistics volumes = shapes.stream().mapToDouble(Shape3D::getVolume).summaryStatistics();
+            DoubleSummaryStatistics converted = statistics.volumeSummary().toDoubleSummaryStatistics();
+
+            assertEquals(volumes.getSum(), converted.getSum());
+            assertEquals(volumes.getAverage(), converted.getAverage());
+            assertEquals(volumes.getMin(), converted.getMin());
+            assertEquals(volumes.getMax(), converted.getMax());
+            assertMatches(shapes, statistics);
+        }
+
+        @Test
+        @DisplayName("Per-type statistics cover only that type")
+        void perTypeStatistics() {
+            ShapeStatistics.Summary cubes = statistics.volumeSummary(ShapeType.CUBE);
+
+            assertEquals(2, cubes.count());
+            assertEquals(72.0, cubes.sum());
+            assertEquals(36.0, cubes.mean());
+            assertEquals(28.0 * 28.0, cubes.variance());
+            assertEquals(28.0, cubes.standardDeviation());
+            assertEquals(8.0, cubes.min());
+            assertEquals(64.0, cubes.max());
+            assertEquals(Map.of("Sphere", 1L, "Cube", 2L, "Cylinder", 1L, "RectangularPrism", 1L, "Cone", 1L),
+                statistics.getTypeDistribution());
+        }
+
+        @Test
+        @DisplayName("Empty statistics report neutral values")
+        void emptyStatistics() {
+            statistics.clear();
+            ShapeStatistics.Summary summary = statistics.volumeSummary();
+
+            assertEquals(0, summary.count());
+            assertEquals(0.0, summary.mean());
+            assertEquals(Double.POSITIVE_INFINITY, summary.min());
+            assertEquals(0, summary.toDoubleSummaryStatistics().getCount());
+            assertTrue(statistics.getTypeDistribution().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Statistical report matches the streaming report")
+        void reportMatchesStreamingReport() {
+            ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+            ByteArrayOutputStream running = new ByteArrayOutputStream();
+
+            ShapeDriver.performStatisticalAnalysis(shapes, new PrintStream(streamed, true, StandardCharsets.UTF_8));
+            ShapeDriver.printStatisticalAnalysis(new PrintStream(running, true, StandardCharsets.UTF_8), statistics);
+
+            assertEquals(streamed.toString(StandardCharsets.UTF_8), running.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Removing the extreme shape updates min and max")
+        void removeExtreme() {
+            Shape3D sphere = shapes.remove(0);
+
+            assertTrue(statistics.remove(sphere));
+            assertFalse(statistics.remove(sphere));
+            assertMatches(shapes, statistics);
+            assertEquals(0, statistics.getCount(ShapeType.SPHERE));
+            assertFalse(statistics.getTypeDistribution().containsKey("Sphere"));
+        }
+
+        @Test
+        @DisplayName("Dimension setters move a shape's contribution")
+        void settersUpdateStatistics() {
+            ((Cube) shapes.get(1)).setSideLength(10.0);
+            ((Cylinder) shapes.get(2)).setHeight(0.5);
+            ((RectangularPrism) shapes.get(3)).setWidth(7.0);
+
+            assertMatches(shapes, statistics);
+            assertEquals(1000.0, statistics.volumeSummary(ShapeType.CUBE).max());
+        }
+
+        @Test
+        @DisplayName("Removed shapes are no longer followed")
+        void removedShapesNotFollowed() {
+            Cube cube = (Cube) shapes.remove(1);
+            statistics.remove(cube);
+
+            cube.setSideLength(100.0);
+
+            assertMatches(shapes, statistics);
+        }
+
+        @Test
+        @DisplayName("Shapes are tracked once and views are rejected")
+        void trackingRules() {
+            assertFalse(statistics.add(shapes.get(0)));
+            assertEquals(shapes.size(), statistics.size());
+
+            ShapeStore store = new ShapeStore();
+            store.add(new Cube(1.0));
+            assertThrows(IllegalArgumentException.class, () -> statistics.add(store.view(0)));
+        }
+
+        @Test
+        @DisplayName("Random churn stays consistent with recomputation")
+        void randomChurn() {
+            Random random = new Random(205);
+            ShapeType[] types = ShapeType.values();
+            for (int step = 0; step < 5_000; step++) {
+                int action = random.nextInt(3);
+                if (action == 0 || shapes.isEmpty()) {
+                    Shape3D shape = types[random.nextInt(types.length)].create("S", "C",
+                        0.5 + random.nextDouble() * 10, 0.5 + random.nextDouble() * 10, 0.5 + random.nextDouble() * 10);
+                    shapes.add(shape);
+                    statistics.add(shape);
+                } else if (action == 1) {
+                    statistics.remove(shapes.remove(random.nextInt(shapes.size())));
+                } else if (shapes.get(random.nextInt(shapes.size())) instanceof Sphere sphere) {
+                    sphere.setRadius(0.5 + random.nextDouble() * 10);
+                }
+            }
+
+            assertMatches(shapes, statistics);
+        }
+    }
+}
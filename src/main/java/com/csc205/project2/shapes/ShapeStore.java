@@ -0,0 +1,339 @@
+package com.csc205.project2.shapes;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Columnar (structure-of-arrays) storage for large numbers of shapes.
+ * Instead of one heap object per shape, each attribute lives in its own
+ * primitive array: a type tag column, three dimension columns and
+ * dictionary-encoded name and color code columns. Volume and surface area
+ * can be computed for the whole store in tight loops over these arrays,
+ * and {@link ShapeView} flyweights expose rows to code that expects
+ * {@link Shape3D} objects.
+ */
+public class ShapeStore implements ShapeColumns {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final AttributeDictionary names = new AttributeDictionary();
+    private final AttributeDictionary colors = new AttributeDictionary();
+
+    private byte[] types;
+    private double[] dim0;
+    private double[] dim1;
+    private double[] dim2;
+    private int[] nameCodes;
+    private int[] colorCodes;
+    private int size;
+
+    /**
+     * Default constructor
+     */
+    public ShapeStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with initial capacity
+     * @param initialCapacity The number of rows to reserve
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public ShapeStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative");
+        }
+        types = new byte[initialCapacity];
+        dim0 = new double[initialCapacity];
+        dim1 = new double[initialCapacity];
+        dim2 = new double[initialCapacity];
+        nameCodes = new int[initialCapacity];
+        colorCodes = new int[initialCapacity];
+    }
+
+    /**
+     * Appends a copy of an existing shape
+     * @param shape The shape to copy
+     * @return The row index of the new row
+     */
+    public int add(Shape3D shape) {
+        double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+        ShapeType type = ShapeType.dimensionsOf(shape, dims);
+        return append(type, names.encode(shape.getName()), colors.encode(shape.getColor()),
+            dims[0], dims[1], dims[2]);
+    }
+
+    /**
+     * Appends copies of several existing shapes
+     * @param shapes The shapes to copy
+     */
+    public void addAll(Iterable<? extends Shape3D> shapes) {
+        double[] dims = new double[ShapeType.MAX_DIMENSIONS];
+        for (Shape3D shape : shapes) {
+            ShapeType type = ShapeType.dimensionsOf(shape, dims);
+            append(type, names.encode(shape.getName()), colors.encode(shape.getColor()),
+                dims[0], dims[1], dims[2]);
+        }
+    }
+
+    /**
+     * Appends a shape from raw values, validated like the shape constructors
+     * @param type The shape type
+     * @param name The name of the shape
+     * @param color The color of the shape
+     * @param d0 First dimension slot
+     * @param d1 Second dimension slot (ignored if unused)
+     * @param d2 Third dimension slot (ignored if unused)
+     * @return The row index of the new row
+     * @throws IllegalArgumentException if any used dimension is negative or zero
+     */
+    public int add(ShapeType type, String name, String color, double d0, double d1, double d2) {
+        type.validate(d0, d1, d2);
+        int count = type.getDimensionCount();
+        return append(type, names.encode(name), colors.encode(color),
+            d0, count > 1 ? d1 : 0.0, count > 2 ? d2 : 0.0);
+    }
+
+    private int append(ShapeType type, int nameCode, int colorCode, double d0, double d1, double d2) {
+        if (size == types.length) {
+            grow();
+        }
+        int row = size++;
+        types[row] = type.getTag();
+        dim0[row] = d0;
+        dim1[row] = d1;
+        dim2[row] = d2;
+        nameCodes[row] = nameCode;
+        colorCodes[row] = colorCode;
+        return row;
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, types.length + (types.length >> 1));
+        types = Arrays.copyOf(types, capacity);
+        dim0 = Arrays.copyOf(dim0, capacity);
+        dim1 = Arrays.copyOf(dim1, capacity);
+        dim2 = Arrays.copyOf(dim2, capacity);
+        nameCodes = Arrays.copyOf(nameCodes, capacity);
+        colorCodes = Arrays.copyOf(colorCodes, capacity);
+    }
+
+    /**
+     * Removes all rows; dictionaries keep their codes
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public ShapeType getType(int row) {
+        return ShapeType.fromTag(types[checkRow(row)]);
+    }
+
+    /**
+     * Gets the raw type tag of a row
+     * @param row The row index
+     * @return The type tag
+     */
+    public byte getTypeTag(int row) {
+        return types[checkRow(row)];
+    }
+
+    @Override
+    public double getDimension(int row, int slot) {
+        checkRow(row);
+        return switch (slot) {
+            case 0 -> dim0[row];
+            case 1 -> dim1[row];
+            case 2 -> dim2[row];
+            default -> throw new IndexOutOfBoundsException("Dimension slot out of range: " + slot);
+        };
+    }
+
+    /**
+     * Sets a dimension slot of a row, validated like the shape setters
+     * @param row The row index
+     * @param slot The dimension slot used by the row's type
+     * @param value The new dimension value
+     * @throws IllegalArgumentException if value is negative or zero
+     * @throws IndexOutOfBoundsException if the slot is not used by the row's type
+     */
+    public void setDimension(int row, int slot, double value) {
+        ShapeType type = getType(row);
+        if (slot < 0 || slot >= type.getDimensionCount()) {
+            throw new IndexOutOfBoundsException("Dimension slot " + slot + " is not used by " + type.getSimpleName());
+        }
+        if (value <= 0) {
+            throw new IllegalArgumentException(type.getDimensionName(slot) + " must be positive and greater than zero");
+        }
+        switch (slot) {
+            case 0 -> dim0[row] = value;
+            case 1 -> dim1[row] = value;
+            default -> dim2[row] = value;
+        }
+    }
+
+    @Override
+    public String getName(int row) {
+        return names.decode(nameCodes[checkRow(row)]);
+    }
+
+    @Override
+    public String getColor(int row) {
+        return colors.decode(colorCodes[checkRow(row)]);
+    }
+
+    @Override
+    public void setName(int row, String name) {
+        nameCodes[checkRow(row)] = names.encode(name);
+    }
+
+    @Override
+    public void setColor(int row, String color) {
+        colorCodes[checkRow(row)] = colors.encode(color);
+    }
+
+    /**
+     * Gets the dictionary code of a row's name
+     * @param row The row index
+     * @return The name code
+     */
+    public int getNameCode(int row) {
+        return nameCodes[checkRow(row)];
+    }
+
+    /**
+     * Gets the dictionary code of a row's color
+     * @param row The row index
+     * @return The color code
+     */
+    public int getColorCode(int row) {
+        return colorCodes[checkRow(row)];
+    }
+
+    /**
+     * Gets the dictionary used to encode names
+     * @return The name dictionary
+     */
+    public AttributeDictionary getNameDictionary() {
+        return names;
+    }
+
+    /**
+     * Gets the dictionary used to encode colors
+     * @return The color dictionary
+     */
+    public AttributeDictionary getColorDictionary() {
+        return colors;
+    }
+
+    @Override
+    public double getVolume(int row) {
+        checkRow(row);
+        return ShapeType.fromTag(types[row]).volume(dim0[row], dim1[row], dim2[row]);
+    }
+
+    @Override
+    public double getSurfaceArea(int row) {
+        checkRow(row);
+        return ShapeType.fromTag(types[row]).surfaceArea(dim0[row], dim1[row], dim2[row]);
+    }
+
+    /**
+     * Computes the volume of every row into an output column
+     * @param out Destination array of at least {@link #size()} elements
+     */
+    public void volumes(double[] out) {
+        checkOutput(out);
+        for (int i = 0; i < size; i++) {
+            out[i] = ShapeType.fromTag(types[i]).volume(dim0[i], dim1[i], dim2[i]);
+        }
+    }
+
+    /**
+     * Computes the surface area of every row into an output column
+     * @param out Destination array of at least {@link #size()} elements
+     */
+    public void surfaceAreas(double[] out) {
+        checkOutput(out);
+        for (int i = 0; i < size; i++) {
+            out[i] = ShapeType.fromTag(types[i]).surfaceArea(dim0[i], dim1[i], dim2[i]);
+        }
+    }
+
+    /**
+     * Computes the total volume of all rows
+     * @return The sum of all volumes
+     */
+    public double totalVolume() {
+        double total = 0.0;
+        for (int i = 0; i < size; i++) {
+            total += ShapeType.fromTag(types[i]).volume(dim0[i], dim1[i], dim2[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Computes the total surface area of all rows
+     * @return The sum of all surface areas
+     */
+    public double totalSurfaceArea() {
+        double total = 0.0;
+        for (int i = 0; i < size; i++) {
+            total += ShapeType.fromTag(types[i]).surfaceArea(dim0[i], dim1[i], dim2[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Visits every row through a single reused flyweight view.
+     * The view is repositioned between calls, so it must not be retained.
+     * @param action The action to perform for each row
+     */
+    public void forEach(Consumer<? super ShapeView> action) {
+        ShapeView view = new ShapeView(this, 0);
+        for (int i = 0; i < size; i++) {
+            action.accept(view.moveTo(i));
+        }
+    }
+
+    // Backing columns for bulk readers in this package; valid for rows below size() only
+
+    byte[] typeTagColumn() {
+        return types;
+    }
+
+    double[] dimensionColumn(int slot) {
+        return switch (slot) {
+            case 0 -> dim0;
+            case 1 -> dim1;
+            case 2 -> dim2;
+            default -> throw new IndexOutOfBoundsException("Dimension slot out of range: " + slot);
+        };
+    }
+
+    int[] nameCodeColumn() {
+        return nameCodes;
+    }
+
+    int[] colorCodeColumn() {
+        return colorCodes;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row out of range: " + row);
+        }
+        return row;
+    }
+
+    private void checkOutput(double[] out) {
+        if (out.length < size) {
+            throw new IllegalArgumentException("Output array too small: " + out.length + " < " + size);
+        }
+    }
+}
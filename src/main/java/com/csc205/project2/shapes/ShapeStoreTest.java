@@ -0,0 +1,250 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.BeforeEach;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ShapeStore
+ * Tests columnar storage, bulk calculations, flyweight views
+ * and dictionary encoding of names and colors
+ */
+@DisplayName("ShapeStore Tests")
+class ShapeStoreTest {
+
+    private List<Shape3D> shapes;
+    private ShapeStore store;
+
+    @BeforeEach
+    void setUp() {
+        shapes = List.of(
+            new Sphere("Red Ball", "Crimson", 5.0),
+            new Cube("Blue Box", "Navy", 4.0),
+            new Cylinder("Green Tube", "Forest", 3.0, 6.0),
+            new RectangularPrism("Yellow Block", "Gold", 2.0, 4.0, 3.0),
+            new Cone("Purple Peak", "Violet", 4.0, 8.0)
+        );
+        store = new ShapeStore();
+        store.addAll(shapes);
+    }
+
+    @Nested
+    @DisplayName("Column Storage Tests")
+    class ColumnStorageTests {
+
+        @Test
+        @DisplayName("Rows keep type, dimensions, name and color")
+        void rowsKeepAllAttributes() {
+            assertEquals(5, store.size());
+            assertEquals(ShapeType.CYLINDER, store.getType(2));
+            assertEquals(3.0, store.getDimension(2, 0));
+            assertEquals(6.0, store.getDimension(2, 1));
+            assertEquals(0.0, store.getDimension(2, 2));
+            assertEquals("Green Tube", store.getName(2));
+            assertEquals("Forest", store.getColor(2));
+        }
+
+        @Test
+        @DisplayName("Store grows past its initial capacity")
+        void storeGrows() {
+            ShapeStore small = new ShapeStore(0);
+            for (int i = 0; i < 1000; i++) {
+                small.add(ShapeType.CUBE, "Box " + i, "Gray", i + 1, 0, 0);
+            }
+
+            assertEquals(1000, small.size());
+            assertEquals(1000.0, small.getDimension(999, 0));
+        }
+
+        @Test
+        @DisplayName("Raw rows are validated like constructors")
+        void rawRowsAreValidated() {
+            Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+                store.add(ShapeType.RECTANGULAR_PRISM, "Bad", "Red", 1.0, 0.0, 1.0);
+            });
+
+            assertEquals("Width must be positive and greater than zero", exception.getMessage());
+            assertEquals(5, store.size());
+        }
+
+        @Test
+        @DisplayName("Unused dimension slots are stored as zero")
+        void unusedSlotsAreZero() {
+            int row = store.add(ShapeType.SPHERE, "Ball", "Red", 2.0, 9.0, 9.0);
+
+            assertEquals(0.0, store.getDimension(row, 1));
+            assertEquals(0.0, store.getDimension(row, 2));
+        }
+
+        @Test
+        @DisplayName("Setting a dimension validates the value")
+        void setDimensionValidates() {
+            store.setDimension(0, 0, 2.0);
+            assertEquals(2.0, store.getDimension(0, 0));
+
+            assertThrows(IllegalArgumentException.class, () -> store.setDimension(0, 0, -1.0));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.setDimension(0, 1, 1.0));
+        }
+
+        @Test
+        @DisplayName("Out of range rows are rejected")
+        void outOfRangeRows() {
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getType(5));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getName(-1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Calculation Tests")
+    class CalculationTests {
+
+        @Test
+        @DisplayName("Per-row metrics match the object calculations exactly")
+        void perRowMetricsMatchObjects() {
+            for (int i = 0; i < shapes.size(); i++) {
+                assertEquals(shapes.get(i).getVolume(), store.getVolume(i));
+                assertEquals(shapes.get(i).getSurfaceArea(), store.getSurfaceArea(i));
+            }
+        }
+
+        @Test
+        @DisplayName("Bulk column calculations match the object calculations exactly")
+        void bulkMetricsMatchObjects() {
+            double[] volumes = new double[store.size()];
+            double[] surfaceAreas = new double[store.size()];
+            store.volumes(volumes);
+            store.surfaceAreas(surfaceAreas);
+
+            for (int i = 0; i < shapes.size(); i++) {
+                assertEquals(shapes.get(i).getVolume(), volumes[i]);
+                assertEquals(shapes.get(i).getSurfaceArea(), surfaceAreas[i]);
+            }
+        }
+
+        @Test
+        @DisplayName("Totals equal the sum of the object calculations")
+        void totalsMatchObjects() {
+            double volume = 0.0;
+            double surfaceArea = 0.0;
+            for (Shape3D shape : shapes) {
+                volume += shape.getVolume();
+                surfaceArea += shape.getSurfaceArea();
+            }
+
+            assertEquals(volume, store.totalVolume());
+            assertEquals(surfaceArea, store.totalSurfaceArea());
+        }
+
+        @Test
+        @DisplayName("Too small output arrays are rejected")
+        void smallOutputRejected() {
+            assertThrows(IllegalArgumentException.class, () -> store.volumes(new double[2]));
+        }
+    }
+
+    @Nested
+    @DisplayName("Flyweight View Tests")
+    class FlyweightViewTests {
+
+        @Test
+        @DisplayName("View behaves like the original shape")
+        void viewBehavesLikeShape() {
+            Shape3D view = store.view(4);
+
+            assertEquals("Purple Peak", view.getName());
+            assertEquals("Violet", view.getColor());
+            assertEquals(shapes.get(4).getVolume(), view.getVolume());
+            assertEquals(shapes.get(4).getSurfaceArea(), view.getSurfaceArea());
+            assertEquals(shapes.get(4).toString(), view.toString());
+        }
+
+        @Test
+        @DisplayName("View writes name and color through to the store")
+        void viewWritesThrough() {
+            ShapeView view = store.view(1);
+            view.setColor("Teal");
+            view.setName("Renamed Box");
+
+            assertEquals("Teal", store.getColor(1));
+            assertEquals("Renamed Box", store.getName(1));
+        }
+
+        @Test
+        @DisplayName("View renames and recolors notify listeners")
+        void viewNotifiesAttributeChanges() {
+            ShapeView view = store.view(1);
+            List<Shape3D> changed = new ArrayList<>();
+            view.addChangeListener(new ShapeChangeListener() {
+                @Override
+                public void dimensionsChanged(Shape3D shape) {
+                }
+
+                @Override
+                public void attributesChanged(Shape3D shape) {
+                    changed.add(shape);
+                }
+            });
+            view.setName("Renamed Box");
+            view.setColor("Teal");
+
+            assertEquals(2, changed.size());
+            assertSame(view, changed.get(0));
+        }
+
+        @Test
+        @DisplayName("forEach reuses a single repositioned view")
+        void forEachReusesView() {
+            List<ShapeView> seen = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            store.forEach(view -> {
+                seen.add(view);
+                names.add(view.getName());
+            });
+
+            assertEquals(5, names.size());
+            assertEquals("Red Ball", names.get(0));
+            assertEquals("Purple Peak", names.get(4));
+            assertSame(seen.get(0), seen.get(4));
+        }
+
+        @Test
+        @DisplayName("Materialized shape is an independent concrete object")
+        void materializedShape() {
+            Shape3D shape = store.toShape(3);
+
+            assertInstanceOf(RectangularPrism.class, shape);
+            assertEquals(shapes.get(3).toString(), shape.toString());
+            assertEquals(ShapeType.RECTANGULAR_PRISM, ShapeType.of(store.view(3)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Dictionary Encoding Tests")
+    class DictionaryEncodingTests {
+
+        @Test
+        @DisplayName("Repeated colors share a single code")
+        void repeatedColorsShareCode() {
+            int first = store.add(ShapeType.SPHERE, "A", "Crimson", 1.0, 0, 0);
+            int second = store.add(ShapeType.CUBE, "B", "Crimson", 1.0, 0, 0);
+
+            assertEquals(store.getColorCode(0), store.getColorCode(first));
+            assertEquals(store.getColorCode(first), store.getColorCode(second));
+            assertEquals(5, store.getColorDictionary().size());
+        }
+
+        @Test
+        @DisplayName("Null attributes round-trip")
+        void nullAttributesRoundTrip() {
+            int row = store.add(ShapeType.SPHERE, null, null, 1.0, 0, 0);
+
+            assertNull(store.getName(row));
+            assertNull(store.getColor(row));
+            assertEquals(AttributeDictionary.NULL_CODE, store.getNameCode(row));
+        }
+    }
+}
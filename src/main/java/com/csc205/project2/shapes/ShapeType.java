@@ -0,0 +1,244 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Enumerates the concrete shape types known to the system.
+ * Each constant carries a one-byte tag used by columnar and binary storage,
+ * the names of the dimension slots it uses, and the volume and surface area
+ * formulas expressed over raw dimension values so that shapes can be
+ * evaluated without materializing an object.
+ *
+ * Dimension slots follow constructor order:
+ * Sphere (radius), Cube (side length), Cylinder (radius, height),
+ * RectangularPrism (length, width, height), Cone (radius, height).
+ */
+public enum ShapeType {
+    SPHERE("Sphere", "Radius"),
+    CUBE("Cube", "Side length"),
+    CYLINDER("Cylinder", "Radius", "Height"),
+    RECTANGULAR_PRISM("RectangularPrism", "Length", "Width", "Height"),
+    CONE("Cone", "Radius", "Height");
+
+    /** Maximum number of dimension slots used by any shape type */
+    public static final int MAX_DIMENSIONS = 3;
+
+    private static final ShapeType[] BY_TAG = values();
+
+    private final String simpleName;
+    private final String[] dimensionNames;
+
+    ShapeType(String simpleName, String... dimensionNames) {
+        this.simpleName = simpleName;
+        this.dimensionNames = dimensionNames;
+    }
+
+    /**
+     * Calculates the volume for the given dimension slots
+     * @param d0 First dimension slot
+     * @param d1 Second dimension slot (ignored if unused)
+     * @param d2 Third dimension slot (ignored if unused)
+     * @return The volume
+     */
+    public double volume(double d0, double d1, double d2) {
+        return switch (this) {
+            case SPHERE -> GeometryMath.sphereVolume(d0);
+            case CUBE -> GeometryMath.cubeVolume(d0);
+            case CYLINDER -> GeometryMath.cylinderVolume(d0, d1);
+            case RECTANGULAR_PRISM -> GeometryMath.prismVolume(d0, d1, d2);
+            case CONE -> GeometryMath.coneVolume(d0, d1);
+        };
+    }
+
+    /**
+     * Calculates the surface area for the given dimension slots
+     * @param d0 First dimension slot
+     * @param d1 Second dimension slot (ignored if unused)
+     * @param d2 Third dimension slot (ignored if unused)
+     * @return The surface area
+     */
+    public double surfaceArea(double d0, double d1, double d2) {
+        return switch (this) {
+            case SPHERE -> GeometryMath.sphereSurfaceArea(d0);
+            case CUBE -> GeometryMath.cubeSurfaceArea(d0);
+            case CYLINDER -> GeometryMath.cylinderSurfaceArea(d0, d1);
+            case RECTANGULAR_PRISM -> GeometryMath.prismSurfaceArea(d0, d1, d2);
+            case CONE -> GeometryMath.coneSurfaceArea(d0, d1);
+        };
+    }
+
+    /**
+     * Creates a concrete shape using the regular constructor and its validation
+     * @param name The name of the shape
+     * @param color The color of the shape
+     * @param d0 First dimension slot
+     * @param d1 Second dimension slot (ignored if unused)
+     * @param d2 Third dimension slot (ignored if unused)
+     * @return A new shape instance
+     * @throws IllegalArgumentException if any used dimension is negative or zero
+     */
+    public Shape3D create(String name, String color, double d0, double d1, double d2) {
+        return switch (this) {
+            case SPHERE -> new Sphere(name, color, d0);
+            case CUBE -> new Cube(name, color, d0);
+            case CYLINDER -> new Cylinder(name, color, d0, d1);
+            case RECTANGULAR_PRISM -> new RectangularPrism(name, color, d0, d1, d2);
+            case CONE -> new Cone(name, color, d0, d1);
+        };
+    }
+
+    /**
+     * Gets the one-byte tag used to store this type in columns and files
+     * @return The type tag
+     */
+    public byte getTag() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Gets the simple class name of the concrete shape for this type
+     * @return The simple class name (e.g. "RectangularPrism")
+     */
+    public String getSimpleName() {
+        return simpleName;
+    }
+
+    /**
+     * Gets the number of dimension slots this type uses
+     * @return The dimension count (1 to 3)
+     */
+    public int getDimensionCount() {
+        return dimensionNames.length;
+    }
+
+    /**
+     * Gets the display name of a dimension slot as used in validation messages
+     * @param slot The dimension slot
+     * @return The dimension name (e.g. "Radius")
+     */
+    public String getDimensionName(int slot) {
+        return dimensionNames[slot];
+    }
+
+    /**
+     * Validates dimension slots with the same rules and messages as the constructors
+     * @param d0 First dimension slot
+     * @param d1 Second dimension slot (ignored if unused)
+     * @param d2 Third dimension slot (ignored if unused)
+     * @throws IllegalArgumentException if any used dimension is negative or zero
+     */
+    public void validate(double d0, double d1, double d2) {
+        int slot = firstInvalidSlot(d0, d1, d2);
+        if (slot >= 0) {
+            throw new IllegalArgumentException(invalidDimensionMessage(slot));
+        }
+    }
+
+    /**
+     * Finds the dimension slot the constructors would reject first, without throwing
+     * @param d0 First dimension slot
+     * @param d1 Second dimension slot (ignored if unused)
+     * @param d2 Third dimension slot (ignored if unused)
+     * @return The first used slot that is negative or zero, or -1 if all are valid
+     */
+    public int firstInvalidSlot(double d0, double d1, double d2) {
+        int count = dimensionNames.length;
+        if (d0 <= 0) {
+            return 0;
+        }
+        if (count > 1 && d1 <= 0) {
+            return 1;
+        }
+        if (count > 2 && d2 <= 0) {
+            return 2;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the constructor's message for an invalid dimension slot
+     * @param slot The dimension slot
+     * @return The validation message
+     */
+    public String invalidDimensionMessage(int slot) {
+        return dimensionNames[slot] + " must be positive and greater than zero";
+    }
+
+    /**
+     * Looks up a type by its tag
+     * @param tag The type tag
+     * @return The matching type
+     * @throws IllegalArgumentException if the tag is unknown
+     */
+    public static ShapeType fromTag(byte tag) {
+        if (tag < 0 || tag >= BY_TAG.length) {
+            throw new IllegalArgumentException("Unknown shape type tag: " + tag);
+        }
+        return BY_TAG[tag];
+    }
+
+    /**
+     * Parses a type from its constant name or simple class name, ignoring case,
+     * spaces and underscores (e.g. "cone", "RectangularPrism", "rectangular_prism")
+     * @param text The text to parse
+     * @return The matching type
+     * @throws IllegalArgumentException if no type matches
+     */
+    public static ShapeType parse(String text) {
+        String key = text.replace("_", "").replace(" ", "");
+        for (ShapeType type : BY_TAG) {
+            if (type.simpleName.equalsIgnoreCase(key)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown shape type: " + text);
+    }
+
+    /**
+     * Determines the type of an existing shape
+     * @param shape The shape to inspect
+     * @return The matching type
+     */
+    public static ShapeType of(Shape3D shape) {
+        return switch (shape) {
+            case Sphere sphere -> SPHERE;
+            case Cube cube -> CUBE;
+            case Cylinder cylinder -> CYLINDER;
+            case RectangularPrism prism -> RECTANGULAR_PRISM;
+            case Cone cone -> CONE;
+            case ShapeView view -> view.getType();
+        };
+    }
+
+    /**
+     * Copies the dimensions of a shape into its slots; unused slots are set to zero
+     * @param shape The shape to read
+     * @param out Destination array of at least {@link #MAX_DIMENSIONS} elements
+     * @return The type of the shape
+     */
+    public static ShapeType dimensionsOf(Shape3D shape, double[] out) {
+        out[1] = 0.0;
+        out[2] = 0.0;
+        switch (shape) {
+            case Sphere sphere -> out[0] = sphere.getRadius();
+            case Cube cube -> out[0] = cube.getSideLength();
+            case Cylinder cylinder -> {
+                out[0] = cylinder.getRadius();
+                out[1] = cylinder.getHeight();
+            }
+            case RectangularPrism prism -> {
+                out[0] = prism.getLength();
+                out[1] = prism.getWidth();
+                out[2] = prism.getHeight();
+            }
+            case Cone cone -> {
+                out[0] = cone.getRadius();
+                out[1] = cone.getHeight();
+            }
+            case ShapeView view -> {
+                for (int slot = 0; slot < MAX_DIMENSIONS; slot++) {
+                    out[slot] = view.getDimension(slot);
+                }
+            }
+        }
+        return of(shape);
+    }
+}
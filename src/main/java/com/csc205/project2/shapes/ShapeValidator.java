@@ -0,0 +1,96 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Exception-free validation of shape dimensions in bulk.
+ *
+ * The shape constructors throw on the first invalid dimension, which is
+ * fine for one shape at a time but makes exception construction and stack
+ * capture the dominant cost when loading large inputs with many bad rows.
+ * These methods apply the same rules in a single pass over dimension
+ * arrays and collect the outcome in a {@link ValidationReport}, which can
+ * then create shapes or store rows for the valid rows only.
+ *
+ * Arrays hold one dimension slot each, in constructor order (see
+ * {@link ShapeType}); row i is {@code d0[i], d1[i], d2[i]}.
+ */
+public final class ShapeValidator {
+
+    private ShapeValidator() {
+    }
+
+    /**
+     * Validates rows that all have the same shape type
+     * @param type The shape type of every row
+     * @param d0 First dimension slot of each row; its length is the row count
+     * @param d1 Second dimension slot of each row, or null if the type does not use it
+     * @param d2 Third dimension slot of each row, or null if the type does not use it
+     * @return The validation report
+     * @throws IllegalArgumentException if a used slot has no array or a shorter array than d0
+     */
+    public static ValidationReport validate(ShapeType type, double[] d0, double[] d1, double[] d2) {
+        int rows = d0.length;
+        int count = type.getDimensionCount();
+        checkSlot(count > 1, d1, rows);
+        checkSlot(count > 2, d2, rows);
+        ValidationReport report = new ValidationReport(type, null, d0, count > 1 ? d1 : null, count > 2 ? d2 : null, rows);
+        switch (count) {
+            case 1 -> {
+                for (int row = 0; row < rows; row++) {
+                    if (d0[row] <= 0) {
+                        report.reject(row, 0);
+                    }
+                }
+            }
+            case 2 -> {
+                for (int row = 0; row < rows; row++) {
+                    if (d0[row] <= 0 | d1[row] <= 0) {
+                        report.reject(row, d0[row] <= 0 ? 0 : 1);
+                    }
+                }
+            }
+            default -> {
+                for (int row = 0; row < rows; row++) {
+                    if (d0[row] <= 0 | d1[row] <= 0 | d2[row] <= 0) {
+                        report.reject(row, type.firstInvalidSlot(d0[row], d1[row], d2[row]));
+                    }
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Validates rows of mixed shape types; unused slots are ignored
+     * @param types The shape type of each row, null marking a row without a type; its length is the row count
+     * @param d0 First dimension slot of each row
+     * @param d1 Second dimension slot of each row
+     * @param d2 Third dimension slot of each row
+     * @return The validation report
+     * @throws IllegalArgumentException if a dimension array is shorter than types
+     */
+    public static ValidationReport validate(ShapeType[] types, double[] d0, double[] d1, double[] d2) {
+        int rows = types.length;
+        checkSlot(true, d0, rows);
+        checkSlot(true, d1, rows);
+        checkSlot(true, d2, rows);
+        ValidationReport report = new ValidationReport(null, types, d0, d1, d2, rows);
+        for (int row = 0; row < rows; row++) {
+            ShapeType type = types[row];
+            if (type == null) {
+                report.rejectMissingType(row);
+                continue;
+            }
+            int slot = type.firstInvalidSlot(d0[row], d1[row], d2[row]);
+            if (slot >= 0) {
+                report.reject(row, slot);
+            }
+        }
+        return report;
+    }
+
+    private static void checkSlot(boolean used, double[] values, int rows) {
+        if (used && (values == null || values.length < rows)) {
+            throw new IllegalArgumentException("Every used dimension slot needs a value for each row");
+        }
+    }
+}
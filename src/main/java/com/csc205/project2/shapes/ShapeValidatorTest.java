@@ -0,0 +1,154 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for ShapeValidator and ValidationReport
+ * Tests that bulk validation accepts and rejects exactly what the
+ * constructors do, with the same messages, and builds only valid shapes
+ */
+@DisplayName("ShapeValidator Tests")
+class ShapeValidatorTest {
+
+    // About one value in ten is zero or negative
+    private static double[] dirtyColumn(Random random, int rows) {
+        double[] values = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            int pick = random.nextInt(20);
+            values[i] = pick == 0 ? 0.0 : pick == 1 ? -random.nextDouble() : 0.1 + random.nextDouble() * 10;
+        }
+        return values;
+    }
+
+    private static String constructorMessage(ShapeType type, double d0, double d1, double d2) {
+        try {
+            type.create("S", "C", d0, d1, d2);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Nested
+    @DisplayName("Agreement Tests")
+    class AgreementTests {
+
+        @Test
+        @DisplayName("Single-type reports agree with the constructors row by row")
+        void singleTypeMatchesConstructors() {
+            Random random = new Random(205);
+            for (ShapeType type : ShapeType.values()) {
+                double[] d0 = dirtyColumn(random, 5_000);
+                double[] d1 = dirtyColumn(random, 5_000);
+                double[] d2 = dirtyColumn(random, 5_000);
+
+                ValidationReport report = ShapeValidator.validate(type, d0, d1, d2);
+
+                int invalid = 0;
+                for (int row = 0; row < d0.length; row++) {
+                    String expected = constructorMessage(type, d0[row], d1[row], d2[row]);
+                    assertEquals(expected == null, report.isValid(row), type + " row " + row);
+                    assertEquals(expected, report.reason(row), type + " row " + row);
+                    invalid += expected == null ? 0 : 1;
+                }
+                assertEquals(invalid, report.invalidCount());
+                assertEquals(d0.length - invalid, report.validCount());
+            }
+        }
+
+        @Test
+        @DisplayName("Mixed-type reports agree with the constructors and flag missing types")
+        void mixedTypesMatchConstructors() {
+            Random random = new Random(42);
+            int rows = 3_000;
+            ShapeType[] types = new ShapeType[rows];
+            for (int row = 0; row < rows; row++) {
+                types[row] = row % 97 == 0 ? null : ShapeType.values()[random.nextInt(ShapeType.values().length)];
+            }
+            double[] d0 = dirtyColumn(random, rows);
+            double[] d1 = dirtyColumn(random, rows);
+            double[] d2 = dirtyColumn(random, rows);
+
+            ValidationReport report = ShapeValidator.validate(types, d0, d1, d2);
+
+            List<ValidationReport.Violation> expected = new ArrayList<>();
+            for (int row = 0; row < rows; row++) {
+                String message = types[row] == null ? "Shape type is missing"
+                    : constructorMessage(types[row], d0[row], d1[row], d2[row]);
+                if (message != null) {
+                    expected.add(new ValidationReport.Violation(row, message));
+                }
+            }
+            assertEquals(expected, report.violations());
+            assertArrayEquals(expected.stream().mapToInt(ValidationReport.Violation::row).toArray(),
+                report.invalidRows());
+        }
+    }
+
+    @Nested
+    @DisplayName("Report Tests")
+    class ReportTests {
+
+        @Test
+        @DisplayName("The bitmap is scanned across word boundaries")
+        void nextInvalidRow() {
+            double[] radii = new double[200];
+            Arrays.fill(radii, 1.0);
+            radii[0] = 0.0;
+            radii[63] = -1.0;
+            radii[64] = 0.0;
+            radii[199] = 0.0;
+
+            ValidationReport report = ShapeValidator.validate(ShapeType.SPHERE, radii, null, null);
+
+            List<Integer> rows = new ArrayList<>();
+            for (int row = report.nextInvalidRow(0); row >= 0; row = report.nextInvalidRow(row + 1)) {
+                rows.add(row);
+            }
+            assertEquals(List.of(0, 63, 64, 199), rows);
+            assertEquals(-1, report.nextInvalidRow(200));
+            assertTrue(report.hasErrors());
+            assertThrows(IndexOutOfBoundsException.class, () -> report.isValid(200));
+        }
+
+        @Test
+        @DisplayName("Only valid rows become shapes and store rows")
+        void createValidOnly() {
+            String[] names = {"A", "B", "C", "D"};
+            String[] colors = {"Red", "Green", "Blue", "Gold"};
+            double[] radii = {1.0, 0.0, 2.0, 3.0};
+            double[] heights = {4.0, 5.0, -6.0, 7.0};
+
+            ValidationReport report = ShapeValidator.validate(ShapeType.CONE, radii, heights, new double[0]);
+            List<Shape3D> shapes = report.createValid(names, colors);
+            ShapeStore store = new ShapeStore();
+
+            assertEquals(2, report.addValidTo(store, names, colors));
+            assertEquals(2, shapes.size());
+            assertEquals("A", shapes.get(0).getName());
+            assertEquals(new Cone("D", "Gold", 3.0, 7.0).getVolume(), shapes.get(1).getVolume());
+            assertEquals("D", store.getName(1));
+            assertEquals(7.0, store.getDimension(1, 1));
+            assertEquals("Radius must be positive and greater than zero", report.reason(1));
+            assertEquals("Height must be positive and greater than zero", report.reason(2));
+        }
+
+        @Test
+        @DisplayName("Missing or short dimension arrays are rejected")
+        void invalidArguments() {
+            assertThrows(IllegalArgumentException.class,
+                () -> ShapeValidator.validate(ShapeType.CYLINDER, new double[2], null, null));
+            assertThrows(IllegalArgumentException.class,
+                () -> ShapeValidator.validate(new ShapeType[2], new double[2], new double[2], new double[1]));
+            ValidationReport report = ShapeValidator.validate(ShapeType.CUBE, new double[] {1.0}, null, null);
+            assertThrows(IllegalArgumentException.class, () -> report.createValid(new String[0], new String[1]));
+        }
+    }
+}
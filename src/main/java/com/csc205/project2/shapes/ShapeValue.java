@@ -0,0 +1,90 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable counterpart of a {@link Shape3D}.
+ * Values are records: their volume and surface area are computed once at
+ * construction with the same formulas as the mutable classes, so both give
+ * bit-identical results. Modifications return a new value through "wither"
+ * methods. Because a value never changes and has no identity worth keeping,
+ * values can be shared between threads and cached freely, and short-lived
+ * values in hot loops are candidates for scalar replacement by the JIT.
+ */
+public sealed interface ShapeValue extends ThreeDimensionalShape
+        permits SphereValue, CubeValue, CylinderValue, RectangularPrismValue, ConeValue {
+
+    /**
+     * Gets the name of the shape
+     * @return The name
+     */
+    String name();
+
+    /**
+     * Gets the color of the shape
+     * @return The color
+     */
+    String color();
+
+    /**
+     * Gets the type of the shape
+     * @return The shape type
+     */
+    ShapeType type();
+
+    /**
+     * Returns a copy with another name
+     * @param name The new name
+     * @return A new value
+     */
+    ShapeValue withName(String name);
+
+    /**
+     * Returns a copy with another color
+     * @param color The new color
+     * @return A new value
+     */
+    ShapeValue withColor(String color);
+
+    /**
+     * Creates a mutable shape with the same name, color and dimensions
+     * @return A new shape
+     */
+    Shape3D toShape();
+
+    /**
+     * Captures the current state of a mutable shape
+     * @param shape The shape to copy
+     * @return A new value with the shape's name, color and dimensions
+     */
+    static ShapeValue of(Shape3D shape) {
+        return switch (shape) {
+            case Sphere sphere -> SphereValue.of(sphere);
+            case Cube cube -> CubeValue.of(cube);
+            case Cylinder cylinder -> CylinderValue.of(cylinder);
+            case RectangularPrism prism -> RectangularPrismValue.of(prism);
+            case Cone cone -> ConeValue.of(cone);
+            case ShapeView view -> of(view.getType(), view.getName(), view.getColor(),
+                view.getDimension(0), view.getDimension(1), view.getDimension(2));
+        };
+    }
+
+    /**
+     * Creates a value of the given type from dimension slots
+     * @param type The shape type
+     * @param name The name of the shape
+     * @param color The color of the shape
+     * @param d0 First dimension slot
+     * @param d1 Second dimension slot (ignored if unused)
+     * @param d2 Third dimension slot (ignored if unused)
+     * @return A new value
+     * @throws IllegalArgumentException if any used dimension is negative or zero
+     */
+    static ShapeValue of(ShapeType type, String name, String color, double d0, double d1, double d2) {
+        return switch (type) {
+            case SPHERE -> new SphereValue(name, color, d0);
+            case CUBE -> new CubeValue(name, color, d0);
+            case CYLINDER -> new CylinderValue(name, color, d0, d1);
+            case RECTANGULAR_PRISM -> new RectangularPrismValue(name, color, d0, d1, d2);
+            case CONE -> new ConeValue(name, color, d0, d1);
+        };
+    }
+}
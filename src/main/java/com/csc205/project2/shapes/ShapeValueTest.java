@@ -0,0 +1,150 @@
+package com.csc205.project2.shapes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test class for the immutable shape values
+ * Tests that values match the mutable classes exactly, convert in both
+ * directions and never change once constructed
+ */
+@DisplayName("ShapeValue Tests")
+class ShapeValueTest {
+
+    @Nested
+    @DisplayName("Metric Tests")
+    class MetricTests {
+
+        @Test
+        @DisplayName("Values compute the same bits as the mutable classes")
+        void metricsMatchMutableClasses() {
+            Random random = new Random(205);
+            for (int i = 0; i < 1_000; i++) {
+                for (ShapeType type : ShapeType.values()) {
+                    double d0 = 0.1 + random.nextDouble() * 50;
+                    double d1 = 0.1 + random.nextDouble() * 50;
+                    double d2 = 0.1 + random.nextDouble() * 50;
+                    Shape3D shape = type.create("S", "C", d0, d1, d2);
+                    ShapeValue value = ShapeValue.of(type, "S", "C", d0, d1, d2);
+
+                    assertEquals(shape.getVolume(), value.getVolume(), type.name());
+                    assertEquals(shape.getSurfaceArea(), value.getSurfaceArea(), type.name());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("The canonical constructor derives volume and surface area")
+        void canonicalConstructorDerivesMetrics() {
+            CubeValue cube = new CubeValue("Box", "Navy", 2.0, -1.0, 99.0);
+
+            assertEquals(8.0, cube.volume());
+            assertEquals(24.0, cube.surfaceArea());
+            assertEquals(new CubeValue("Box", "Navy", 2.0), cube);
+            assertEquals(new CubeValue("Box", "Navy", 2.0).hashCode(), cube.hashCode());
+        }
+
+        @Test
+        @DisplayName("Invalid dimensions are rejected with the mutable classes' messages")
+        void invalidDimensions() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new RectangularPrismValue("P", "C", 1.0, 0.0, 1.0));
+            assertEquals("Width must be positive and greater than zero", exception.getMessage());
+
+            exception = assertThrows(IllegalArgumentException.class, () -> new ConeValue("K", "C", 1.0, -2.0));
+            assertEquals("Height must be positive and greater than zero", exception.getMessage());
+
+            assertThrows(IllegalArgumentException.class, () -> new SphereValue("S", "C", 1.0).withRadius(0.0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conversion Tests")
+    class ConversionTests {
+
+        @Test
+        @DisplayName("Values round-trip through the mutable classes")
+        void roundTrip() {
+            Shape3D[] shapes = {
+                new Sphere("Red Ball", "Crimson", 5.0),
+                new Cube("Blue Box", "Navy", 4.0),
+                new Cylinder("Green Tube", "Forest", 3.0, 6.0),
+                new RectangularPrism("Yellow Block", "Gold", 2.0, 4.0, 3.0),
+                new Cone("Purple Peak", "Violet", 4.0, 8.0)
+            };
+            for (Shape3D shape : shapes) {
+                ShapeValue value = ShapeValue.of(shape);
+                Shape3D copy = value.toShape();
+
+                assertEquals(shape.getClass(), copy.getClass());
+                assertNotSame(shape, copy);
+                assertEquals(ShapeType.of(shape), value.type());
+                assertEquals(shape.getName(), value.name());
+                assertEquals(shape.getColor(), value.color());
+                assertEquals(value, ShapeValue.of(copy));
+            }
+        }
+
+        @Test
+        @DisplayName("Values capture a snapshot of the mutable shape")
+        void valuesAreSnapshots() {
+            Cylinder cylinder = new Cylinder("Tube", "Forest", 3.0, 6.0);
+            CylinderValue value = CylinderValue.of(cylinder);
+
+            cylinder.setHeight(1.0);
+
+            assertEquals(6.0, value.height());
+            assertNotEquals(cylinder.getVolume(), value.getVolume());
+        }
+
+        @Test
+        @DisplayName("Flyweight views convert to values of their row")
+        void viewsConvert() {
+            ShapeStore store = new ShapeStore();
+            store.add(new Cone("Peak", "Violet", 4.0, 8.0));
+
+            assertEquals(new ConeValue("Peak", "Violet", 4.0, 8.0), ShapeValue.of(store.view(0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Wither Tests")
+    class WitherTests {
+
+        @Test
+        @DisplayName("Withers return updated copies and leave the original unchanged")
+        void withersCopy() {
+            RectangularPrismValue prism = new RectangularPrismValue("Block", "Gold", 2.0, 4.0, 3.0);
+            RectangularPrismValue taller = prism.withHeight(6.0);
+
+            assertEquals(24.0, prism.getVolume());
+            assertEquals(48.0, taller.getVolume());
+            assertEquals(2 * (8.0 + 12.0 + 24.0), taller.getSurfaceArea());
+            assertEquals("Block", taller.name());
+            assertEquals(new RectangularPrismValue("Block", "Gold", 5.0, 4.0, 3.0), prism.withLength(5.0));
+        }
+
+        @Test
+        @DisplayName("Renaming and recoloring keep dimensions and metrics")
+        void nameAndColor() {
+            ShapeValue sphere = new SphereValue("Ball", "Red", 2.0);
+            ShapeValue renamed = sphere.withName("Globe").withColor("Blue");
+
+            assertEquals(new SphereValue("Globe", "Blue", 2.0), renamed);
+            assertEquals(sphere.getVolume(), renamed.getVolume());
+            assertEquals("Ball", sphere.name());
+        }
+
+        @Test
+        @DisplayName("Values are part of the sealed shape hierarchy")
+        void sealedHierarchy() {
+            assertEquals(2, ThreeDimensionalShape.class.getPermittedSubclasses().length);
+            assertEquals(ShapeType.values().length, ShapeValue.class.getPermittedSubclasses().length);
+            ThreeDimensionalShape shape = new CubeValue("Box", "Navy", 3.0);
+            assertEquals(27.0, shape.getVolume());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Flyweight {@link Shape3D} backed by a row of {@link ShapeColumns}.
+ * A view holds no shape data of its own; every read goes through to the
+ * underlying columns, and a single view can be repositioned with
+ * {@link #moveTo(int)} to walk a whole store without allocating.
+ * A memoized view is invalidated when it is repositioned, but does not
+ * observe dimension changes made directly to the columns.
+ */
+public final class ShapeView extends Shape3D {
+    private final ShapeColumns columns;
+    private int row;
+
+    /**
+     * Constructor with backing columns and row
+     * @param columns The columns to read through to
+     * @param row The row index
+     */
+    ShapeView(ShapeColumns columns, int row) {
+        super(null, null);
+        this.columns = columns;
+        this.row = row;
+    }
+
+    /**
+     * Repositions this view at another row
+     * @param row The new row index
+     * @return This view
+     */
+    public ShapeView moveTo(int row) {
+        this.row = row;
+        dimensionsChanged();
+        return this;
+    }
+
+    /**
+     * Gets the row this view is positioned at
+     * @return The row index
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the columns backing this view
+     * @return The backing columns
+     */
+    public ShapeColumns getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the shape type of the current row
+     * @return The shape type
+     */
+    public ShapeType getType() {
+        return columns.getType(row);
+    }
+
+    /**
+     * Gets a dimension slot of the current row
+     * @param slot The dimension slot (0 to 2)
+     * @return The dimension value, or zero for unused slots
+     */
+    public double getDimension(int slot) {
+        return columns.getDimension(row, slot);
+    }
+
+    @Override
+    public String getName() {
+        return columns.getName(row);
+    }
+
+    @Override
+    public String getColor() {
+        return columns.getColor(row);
+    }
+
+    /**
+     * Looks up the current row's name in the shared dictionary, which a view never adds to.
+     * This hashes the name on every call; aggregate a {@link ShapeStore} directly to group by codes.
+     * @return The name code, or {@link AttributeDictionary#ABSENT_CODE} if no shape object has used the name
+     */
+    @Override
+    public int getNameCode() {
+        return getNameDictionary().lookup(getName());
+    }
+
+    /**
+     * Looks up the current row's color in the shared dictionary, which a view never adds to.
+     * This hashes the color on every call; aggregate a {@link ShapeStore} directly to group by codes.
+     * @return The color code, or {@link AttributeDictionary#ABSENT_CODE} if no shape object has used the color
+     */
+    @Override
+    public int getColorCode() {
+        return getColorDictionary().lookup(getColor());
+    }
+
+    @Override
+    public void setName(String name) {
+        columns.setName(row, name);
+        attributesChanged();
+    }
+
+    @Override
+    public void setColor(String color) {
+        columns.setColor(row, color);
+        attributesChanged();
+    }
+
+    @Override
+    protected double calculateVolume() {
+        return columns.getVolume(row);
+    }
+
+    @Override
+    protected double calculateSurfaceArea() {
+        return columns.getSurfaceArea(row);
+    }
+
+    /**
+     * Materializes the current row as a regular shape object
+     * @return A new independent shape
+     */
+    public Shape3D toShape() {
+        return columns.toShape(row);
+    }
+
+    /**
+     * Returns the same representation as the materialized concrete shape
+     * @return Formatted string with shape information
+     */
+    @Override
+    public String toString() {
+        return toShape().toString();
+    }
+}
@@ -19,7 +19,7 @@ package com.csc205.project2.shapes;
  * - Volume formula verified against: V = (4/3)πr³
  * - Surface area formula verified against: SA = 4πr²
  */
-public class Sphere extends Shape3D {
+public final class Sphere extends Shape3D {
     private double radius;
     
     /**
@@ -81,6 +81,7 @@ public class Sphere extends Shape3D {
     public void setRadius(double radius) {
         validateRadius(radius);
         this.radius = radius;
+        dimensionsChanged();
     }
     
     /**
@@ -90,7 +91,7 @@ public class Sphere extends Shape3D {
      */
     @Override
     protected double calculateVolume() {
-        return (4.0 / 3.0) * Math.PI * Math.pow(radius, 3);
+        return GeometryMath.sphereVolume(radius);
     }
     
     /**
@@ -100,7 +101,7 @@ public class Sphere extends Shape3D {
      */
     @Override
     protected double calculateSurfaceArea() {
-        return 4 * Math.PI * Math.pow(radius, 2);
+        return GeometryMath.sphereSurfaceArea(radius);
     }
     
     /**
@@ -109,8 +110,11 @@ public class Sphere extends Shape3D {
      */
     @Override
     public String toString() {
-        return String.format("%s [Color: %s, Radius: %.2f, Volume: %.2f, Surface Area: %.2f]", 
-                           getName(), getColor(), radius, getVolume(), getSurfaceArea());
+        StringBuilder text = new StringBuilder(96)
+            .append(getName()).append(" [Color: ").append(getColor()).append(", Radius: ");
+        ReportWriter.appendFixed(text, radius, 2).append(", Volume: ");
+        ReportWriter.appendFixed(text, getVolume(), 2).append(", Surface Area: ");
+        return ReportWriter.appendFixed(text, getSurfaceArea(), 2).append(']').toString();
     }
     
     /**
@@ -0,0 +1,87 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable sphere value; see {@link ShapeValue}.
+ * The volume and surface area components are derived: the canonical
+ * constructor always recomputes them from the radius.
+ * @param name The name of the sphere
+ * @param color The color of the sphere
+ * @param radius The radius
+ * @param volume The volume, (4/3)πr³
+ * @param surfaceArea The surface area, 4πr²
+ */
+public record SphereValue(String name, String color, double radius, double volume, double surfaceArea)
+        implements ShapeValue {
+
+    /**
+     * Canonical constructor
+     * @throws IllegalArgumentException if radius is negative or zero
+     */
+    public SphereValue {
+        if (radius <= 0) {
+            throw new IllegalArgumentException("Radius must be positive and greater than zero");
+        }
+        volume = GeometryMath.sphereVolume(radius);
+        surfaceArea = GeometryMath.sphereSurfaceArea(radius);
+    }
+
+    /**
+     * Constructor with name, color, and radius
+     * @param name The name of the sphere
+     * @param color The color of the sphere
+     * @param radius The radius of the sphere
+     * @throws IllegalArgumentException if radius is negative or zero
+     */
+    public SphereValue(String name, String color, double radius) {
+        this(name, color, radius, 0.0, 0.0);
+    }
+
+    /**
+     * Captures the current state of a sphere
+     * @param sphere The sphere to copy
+     * @return A new value
+     */
+    public static SphereValue of(Sphere sphere) {
+        return new SphereValue(sphere.getName(), sphere.getColor(), sphere.getRadius());
+    }
+
+    /**
+     * Returns a copy with another radius
+     * @param radius The new radius
+     * @return A new value
+     * @throws IllegalArgumentException if radius is negative or zero
+     */
+    public SphereValue withRadius(double radius) {
+        return new SphereValue(name, color, radius);
+    }
+
+    @Override
+    public SphereValue withName(String name) {
+        return new SphereValue(name, color, radius);
+    }
+
+    @Override
+    public SphereValue withColor(String color) {
+        return new SphereValue(name, color, radius);
+    }
+
+    @Override
+    public ShapeType type() {
+        return ShapeType.SPHERE;
+    }
+
+    @Override
+    public Sphere toShape() {
+        return new Sphere(name, color, radius);
+    }
+
+    @Override
+    public double getVolume() {
+        return volume;
+    }
+
+    @Override
+    public double getSurfaceArea() {
+        return surfaceArea;
+    }
+}
@@ -1,6 +1,6 @@
 package com.csc205.project2.shapes;
 
-public interface ThreeDimensionalShape {
+public sealed interface ThreeDimensionalShape permits Shape3D, ShapeValue {
 
     double getSurfaceArea();
     double getVolume();
@@ -0,0 +1,230 @@
+package com.csc205.project2.shapes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Result of a {@link ShapeValidator} pass over dimension arrays.
+ *
+ * Invalid rows are marked in a bitmap, and each invalid row keeps the
+ * dimension slot the constructors would have rejected first. Messages are
+ * built only when asked for. The report keeps references to the validated
+ * arrays, so the valid rows can be turned into shapes or store rows later;
+ * the arrays must not change in between.
+ */
+public final class ValidationReport {
+    // Slot recorded for rows without a shape type
+    private static final byte MISSING_TYPE = -1;
+
+    /**
+     * An invalid row and the reason it was rejected
+     * @param row The row index
+     * @param reason The message the constructor would have thrown
+     */
+    public record Violation(int row, String reason) {
+    }
+
+    private final ShapeType type;
+    private final ShapeType[] types;
+    private final double[] d0;
+    private final double[] d1;
+    private final double[] d2;
+    private final int rowCount;
+    private final long[] invalid;
+    private int[] invalidRows = new int[16];
+    private byte[] invalidSlots = new byte[16];
+    private int invalidCount;
+
+    ValidationReport(ShapeType type, ShapeType[] types, double[] d0, double[] d1, double[] d2, int rowCount) {
+        this.type = type;
+        this.types = types;
+        this.d0 = d0;
+        this.d1 = d1;
+        this.d2 = d2;
+        this.rowCount = rowCount;
+        this.invalid = new long[(rowCount + 63) >>> 6];
+    }
+
+    // Rows must be recorded in increasing order
+    void reject(int row, int slot) {
+        invalid[row >>> 6] |= 1L << row;
+        if (invalidCount == invalidRows.length) {
+            invalidRows = Arrays.copyOf(invalidRows, invalidCount * 2);
+            invalidSlots = Arrays.copyOf(invalidSlots, invalidCount * 2);
+        }
+        invalidRows[invalidCount] = row;
+        invalidSlots[invalidCount] = (byte) slot;
+        invalidCount++;
+    }
+
+    void rejectMissingType(int row) {
+        reject(row, MISSING_TYPE);
+    }
+
+    /**
+     * Gets the number of validated rows
+     * @return The row count
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the number of rows that passed validation
+     * @return The valid row count
+     */
+    public int validCount() {
+        return rowCount - invalidCount;
+    }
+
+    /**
+     * Gets the number of rows that failed validation
+     * @return The invalid row count
+     */
+    public int invalidCount() {
+        return invalidCount;
+    }
+
+    /**
+     * Checks whether any row failed validation
+     * @return true if at least one row is invalid
+     */
+    public boolean hasErrors() {
+        return invalidCount > 0;
+    }
+
+    /**
+     * Checks whether a row passed validation
+     * @param row The row index
+     * @return true if the row is valid
+     * @throws IndexOutOfBoundsException if row is outside the validated range
+     */
+    public boolean isValid(int row) {
+        checkRow(row);
+        return (invalid[row >>> 6] & (1L << row)) == 0;
+    }
+
+    /**
+     * Finds the next invalid row by scanning the bitmap
+     * @param fromRow The first row to consider
+     * @return The first invalid row at or after fromRow, or -1 if there is none
+     */
+    public int nextInvalidRow(int fromRow) {
+        if (fromRow < 0) {
+            fromRow = 0;
+        }
+        int word = fromRow >>> 6;
+        if (word >= invalid.length) {
+            return -1;
+        }
+        long bits = invalid[word] & (-1L << fromRow);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == invalid.length) {
+                return -1;
+            }
+            bits = invalid[word];
+        }
+    }
+
+    /**
+     * Gets the invalid rows in increasing order
+     * @return A new array of row indices
+     */
+    public int[] invalidRows() {
+        return Arrays.copyOf(invalidRows, invalidCount);
+    }
+
+    /**
+     * Gets the reason a row was rejected
+     * @param row The row index
+     * @return The message the constructor would have thrown, or null if the row is valid
+     * @throws IndexOutOfBoundsException if row is outside the validated range
+     */
+    public String reason(int row) {
+        if (isValid(row)) {
+            return null;
+        }
+        return reasonAt(Arrays.binarySearch(invalidRows, 0, invalidCount, row));
+    }
+
+    /**
+     * Lists every invalid row with its reason
+     * @return A new list in row order
+     */
+    public List<Violation> violations() {
+        List<Violation> violations = new ArrayList<>(invalidCount);
+        for (int i = 0; i < invalidCount; i++) {
+            violations.add(new Violation(invalidRows[i], reasonAt(i)));
+        }
+        return violations;
+    }
+
+    /**
+     * Creates shapes for the valid rows only; no row is rejected by a constructor
+     * @param names The name of each row
+     * @param colors The color of each row
+     * @return A new list of shapes in row order
+     * @throws IllegalArgumentException if names or colors has fewer elements than the validated rows
+     */
+    public List<Shape3D> createValid(String[] names, String[] colors) {
+        checkAttributes(names, colors);
+        List<Shape3D> shapes = new ArrayList<>(validCount());
+        for (int row = 0; row < rowCount; row++) {
+            if ((invalid[row >>> 6] & (1L << row)) == 0) {
+                shapes.add(typeAt(row).create(names[row], colors[row], d0[row], slot(d1, row), slot(d2, row)));
+            }
+        }
+        return shapes;
+    }
+
+    /**
+     * Appends the valid rows to a columnar store without creating shape objects
+     * @param store The store to append to
+     * @param names The name of each row
+     * @param colors The color of each row
+     * @return The number of rows appended
+     * @throws IllegalArgumentException if names or colors has fewer elements than the validated rows
+     */
+    public int addValidTo(ShapeStore store, String[] names, String[] colors) {
+        checkAttributes(names, colors);
+        for (int row = 0; row < rowCount; row++) {
+            if ((invalid[row >>> 6] & (1L << row)) == 0) {
+                store.add(typeAt(row), names[row], colors[row], d0[row], slot(d1, row), slot(d2, row));
+            }
+        }
+        return validCount();
+    }
+
+    private String reasonAt(int index) {
+        byte slot = invalidSlots[index];
+        if (slot == MISSING_TYPE) {
+            return "Shape type is missing";
+        }
+        return typeAt(invalidRows[index]).invalidDimensionMessage(slot);
+    }
+
+    private ShapeType typeAt(int row) {
+        return type != null ? type : types[row];
+    }
+
+    // Unused slots of a single-type report may have no array
+    private static double slot(double[] values, int row) {
+        return values == null ? 0.0 : values[row];
+    }
+
+    private void checkAttributes(String[] names, String[] colors) {
+        if (names.length < rowCount || colors.length < rowCount) {
+            throw new IllegalArgumentException("Names and colors must cover every validated row");
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + rowCount + " rows");
+        }
+    }
+}
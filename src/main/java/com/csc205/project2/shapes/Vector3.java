@@ -0,0 +1,78 @@
+package com.csc205.project2.shapes;
+
+/**
+ * Immutable three-dimensional vector, used for positions, directions and extents.
+ * @param x The x component
+ * @param y The y component
+ * @param z The z component
+ */
+public record Vector3(double x, double y, double z) {
+    /** The zero vector */
+    public static final Vector3 ZERO = new Vector3(0.0, 0.0, 0.0);
+
+    /**
+     * Adds another vector
+     * @param other The vector to add
+     * @return The sum
+     */
+    public Vector3 plus(Vector3 other) {
+        return new Vector3(x + other.x, y + other.y, z + other.z);
+    }
+
+    /**
+     * Subtracts another vector
+     * @param other The vector to subtract
+     * @return The difference
+     */
+    public Vector3 minus(Vector3 other) {
+        return new Vector3(x - other.x, y - other.y, z - other.z);
+    }
+
+    /**
+     * Scales this vector
+     * @param factor The scale factor
+     * @return The scaled vector
+     */
+    public Vector3 times(double factor) {
+        return new Vector3(x * factor, y * factor, z * factor);
+    }
+
+    /**
+     * Computes the dot product with another vector
+     * @param other The other vector
+     * @return The dot product
+     */
+    public double dot(Vector3 other) {
+        return Math.fma(x, other.x, Math.fma(y, other.y, z * other.z));
+    }
+
+    /**
+     * Computes the cross product with another vector
+     * @param other The other vector
+     * @return This × other
+     */
+    public Vector3 cross(Vector3 other) {
+        return new Vector3(y * other.z - z * other.y, z * other.x - x * other.z, x * other.y - y * other.x);
+    }
+
+    /**
+     * Computes the length of this vector
+     * @return The Euclidean length
+     */
+    public double length() {
+        return GeometryMath.length(x, y, z);
+    }
+
+    /**
+     * Scales this vector to unit length
+     * @return The unit vector in the same direction
+     * @throws IllegalArgumentException if this vector has zero or non-finite length
+     */
+    public Vector3 normalized() {
+        double length = length();
+        if (!(length > 0) || Double.isInfinite(length)) {
+            throw new IllegalArgumentException("Vector must have a finite non-zero length");
+        }
+        return times(1.0 / length);
+    }
+}
@@ -0,0 +1,117 @@
+package com.csc205.project2.shapes;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementations of the batch shape formulas.
+ * Processes the largest multiple of the preferred vector width lane-wise and
+ * hands the remaining tail to {@link ScalarShapeKernels}. This class must only
+ * be loaded when the jdk.incubator.vector module is present.
+ */
+final class VectorShapeKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorShapeKernels() {
+    }
+
+    static void sphereVolumes(double[] radii, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector r = DoubleVector.fromArray(SPECIES, radii, i);
+            r.mul(r).mul(r).mul(ScalarShapeKernels.SPHERE_VOLUME_FACTOR).intoArray(out, i);
+        }
+        ScalarShapeKernels.sphereVolumes(radii, out, i, n);
+    }
+
+    static void sphereSurfaceAreas(double[] radii, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector r = DoubleVector.fromArray(SPECIES, radii, i);
+            r.mul(r).mul(ScalarShapeKernels.SPHERE_SURFACE_FACTOR).intoArray(out, i);
+        }
+        ScalarShapeKernels.sphereSurfaceAreas(radii, out, i, n);
+    }
+
+    static void cubeVolumes(double[] sides, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector s = DoubleVector.fromArray(SPECIES, sides, i);
+            s.mul(s).mul(s).intoArray(out, i);
+        }
+        ScalarShapeKernels.cubeVolumes(sides, out, i, n);
+    }
+
+    static void cubeSurfaceAreas(double[] sides, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector s = DoubleVector.fromArray(SPECIES, sides, i);
+            s.mul(s).mul(6.0).intoArray(out, i);
+        }
+        ScalarShapeKernels.cubeSurfaceAreas(sides, out, i, n);
+    }
+
+    static void cylinderVolumes(double[] radii, double[] heights, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector r = DoubleVector.fromArray(SPECIES, radii, i);
+            DoubleVector h = DoubleVector.fromArray(SPECIES, heights, i);
+            r.mul(r).mul(h).mul(Math.PI).intoArray(out, i);
+        }
+        ScalarShapeKernels.cylinderVolumes(radii, heights, out, i, n);
+    }
+
+    static void cylinderSurfaceAreas(double[] radii, double[] heights, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector r = DoubleVector.fromArray(SPECIES, radii, i);
+            DoubleVector h = DoubleVector.fromArray(SPECIES, heights, i);
+            r.mul(r.add(h)).mul(ScalarShapeKernels.TWO_PI).intoArray(out, i);
+        }
+        ScalarShapeKernels.cylinderSurfaceAreas(radii, heights, out, i, n);
+    }
+
+    static void prismVolumes(double[] lengths, double[] widths, double[] heights, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector l = DoubleVector.fromArray(SPECIES, lengths, i);
+            DoubleVector w = DoubleVector.fromArray(SPECIES, widths, i);
+            DoubleVector h = DoubleVector.fromArray(SPECIES, heights, i);
+            l.mul(w).mul(h).intoArray(out, i);
+        }
+        ScalarShapeKernels.prismVolumes(lengths, widths, heights, out, i, n);
+    }
+
+    static void prismSurfaceAreas(double[] lengths, double[] widths, double[] heights, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector l = DoubleVector.fromArray(SPECIES, lengths, i);
+            DoubleVector w = DoubleVector.fromArray(SPECIES, widths, i);
+            DoubleVector h = DoubleVector.fromArray(SPECIES, heights, i);
+            l.mul(w).add(l.mul(h)).add(w.mul(h)).mul(2.0).intoArray(out, i);
+        }
+        ScalarShapeKernels.prismSurfaceAreas(lengths, widths, heights, out, i, n);
+    }
+
+    static void coneVolumes(double[] radii, double[] heights, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector r = DoubleVector.fromArray(SPECIES, radii, i);
+            DoubleVector h = DoubleVector.fromArray(SPECIES, heights, i);
+            r.mul(r).mul(h).mul(ScalarShapeKernels.CONE_VOLUME_FACTOR).intoArray(out, i);
+        }
+        ScalarShapeKernels.coneVolumes(radii, heights, out, i, n);
+    }
+
+    static void coneSurfaceAreas(double[] radii, double[] heights, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector r = DoubleVector.fromArray(SPECIES, radii, i);
+            DoubleVector h = DoubleVector.fromArray(SPECIES, heights, i);
+            DoubleVector slant = r.mul(r).add(h.mul(h)).lanewise(VectorOperators.SQRT);
+            r.mul(r.add(slant)).mul(Math.PI).intoArray(out, i);
+        }
+        ScalarShapeKernels.coneSurfaceAreas(radii, heights, out, i, n);
+    }
+}